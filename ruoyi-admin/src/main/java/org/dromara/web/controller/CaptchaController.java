@@ -163,8 +163,8 @@ public class CaptchaController {
         // 将验证码存入Redis，设置过期时间（默认5分钟）
         RedisUtils.setCacheObject(key, code, Duration.ofMinutes(Constants.CAPTCHA_EXPIRATION));
         try {
-            // 发送文本邮件，包含验证码和有效期信息
-            MailUtils.sendText(email, "登录验证码", "您本次验证码为：" + code + "，有效性为" + Constants.CAPTCHA_EXPIRATION + "分钟，请尽快填写。");
+            // 异步发送文本邮件，包含验证码和有效期信息，不阻塞请求线程等待SMTP握手
+            MailUtils.sendTextAsync(email, "登录验证码", "您本次验证码为：" + code + "，有效性为" + Constants.CAPTCHA_EXPIRATION + "分钟，请尽快填写。");
         } catch (Exception e) {
             // 记录错误日志
             log.error("验证码短信发送异常 => {}", e.getMessage());
@@ -0,0 +1,211 @@
+package org.dromara.test;
+
+import cn.hutool.core.util.IdUtil;
+import cn.hutool.extra.mail.MailAccount;
+import com.icegreen.greenmail.util.GreenMail;
+import com.icegreen.greenmail.util.ServerSetup;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import org.dromara.common.core.constant.GlobalConstants;
+import org.dromara.common.core.utils.SpringUtils;
+import org.dromara.common.mail.core.MailDispatcher;
+import org.dromara.common.mail.core.MailTransportPool;
+import org.dromara.common.mail.utils.MailUtils;
+import org.dromara.common.redis.utils.RedisUtils;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 邮件投递测试案例
+ * 使用 GreenMail 内嵌 SMTP 服务接收邮件，需要本地 Redis 与数据库环境
+ * 每次运行使用独立的邮件队列，不与本地环境的投递节点争抢消息
+ *
+ * @author Lion Li
+ */
+@SpringBootTest(properties = {
+    "mail.enabled=true",
+    "mail.host=127.0.0.1",
+    "mail.port=" + MailDispatcherTest.SMTP_PORT,
+    "mail.auth=false",
+    "mail.from=sender@ruoyi.test",
+    "mail.user=sender@ruoyi.test",
+    "mail.pass=",
+    "mail.starttls-enable=false",
+    "mail.ssl-enable=false",
+    "mail.timeout=5000",
+    "mail.connection-timeout=5000",
+    "mail.dispatcher.retry-delay=1s",
+    "mail.dispatcher.claim-idle=3s",
+    "mail.dispatcher.domain-rate-limit[throttle.test]=1"
+})
+@DisplayName("邮件投递测试案例")
+public class MailDispatcherTest {
+
+    static final int SMTP_PORT = 3025;
+
+    private static final GreenMail GREEN_MAIL = new GreenMail(new ServerSetup(SMTP_PORT, "127.0.0.1", ServerSetup.PROTOCOL_SMTP));
+
+    private static final String STREAM_KEY = "mail_stream_test_" + IdUtil.fastSimpleUUID();
+
+    @Autowired
+    private MailTransportPool mailTransportPool;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @DynamicPropertySource
+    static void mailProperties(DynamicPropertyRegistry registry) {
+        registry.add("mail.dispatcher.stream-key", () -> STREAM_KEY);
+    }
+
+    @BeforeAll
+    public static void startServer() {
+        GREEN_MAIL.start();
+    }
+
+    @AfterAll
+    public static void stopServer() {
+        GREEN_MAIL.stop();
+        // 停止投递线程后清理本次运行的队列与限流数据
+        SpringUtils.getBean(MailDispatcher.class).destroy();
+        RedisUtils.deleteObject(GlobalConstants.GLOBAL_REDIS_KEY + STREAM_KEY);
+        RedisUtils.deleteKeys(GlobalConstants.GLOBAL_REDIS_KEY + STREAM_KEY + "_rate_limit:*");
+    }
+
+    @DisplayName("测试 同步发送复用连接池")
+    @Test
+    public void testPooledSend() {
+        String token = IdUtil.fastSimpleUUID();
+        // 不设置用户名，由 defaultIfEmpty 补全
+        MailAccount account = new MailAccount();
+        account.setHost("127.0.0.1");
+        account.setPort(SMTP_PORT);
+        account.setAuth(false);
+        account.setFrom("sender@ruoyi.test");
+        MailUtils.send(account, "sync@ruoyi.test", token + "-1", "content", false);
+        MailUtils.send(account, "sync@ruoyi.test", token + "-2", "content", false);
+        Assertions.assertEquals(2, await(token, 2, 5000));
+
+        // 投递线程与默认账号共用连接，使用独立用户名的账号统计连接数
+        MailAccount pooledAccount = new MailAccount();
+        pooledAccount.setHost("127.0.0.1");
+        pooledAccount.setPort(SMTP_PORT);
+        pooledAccount.setAuth(false);
+        pooledAccount.setFrom("sender@ruoyi.test");
+        pooledAccount.setUser(token + "@ruoyi.test");
+        for (int i = 0; i < 3; i++) {
+            MailUtils.send(pooledAccount, "sync@ruoyi.test", token + "-pooled-" + i, "content", false);
+        }
+        Assertions.assertEquals(3, await(token + "-pooled-", 3, 5000));
+        // 顺序发送只新建一个连接，之后均复用池中连接
+        Assertions.assertEquals(1, mailTransportPool.getCreatedCount(pooledAccount));
+        FunctionCounter created = meterRegistry.find("mail.transport.created").functionCounter();
+        Assertions.assertNotNull(created);
+        Assertions.assertTrue(created.count() >= 1);
+    }
+
+    @DisplayName("测试 异步批量发送")
+    @Test
+    public void testBatchSend() {
+        String token = IdUtil.fastSimpleUUID();
+        for (int i = 0; i < 50; i++) {
+            MailUtils.sendTextAsync("batch" + i + "@ruoyi.test", token + "-" + i, "content");
+        }
+        Assertions.assertEquals(50, await(token, 50, 30000));
+        // 不重复发送
+        sleep(2000);
+        Assertions.assertEquals(50, received(token));
+    }
+
+    @DisplayName("测试 发送失败退避重试")
+    @Test
+    public void testRetry() {
+        String token = IdUtil.fastSimpleUUID();
+        double retries = count("retry");
+        // 服务不可用时首次发送失败，按退避时间重试
+        GREEN_MAIL.stop();
+        try {
+            MailUtils.sendTextAsync("retry@ruoyi.test", token, "content");
+            sleep(1500);
+        } finally {
+            GREEN_MAIL.start();
+        }
+        Assertions.assertEquals(1, await(token, 1, 30000));
+        Assertions.assertTrue(count("retry") > retries);
+        sleep(2000);
+        Assertions.assertEquals(1, received(token));
+    }
+
+    @DisplayName("测试 按域名限流")
+    @Test
+    public void testDomainThrottle() {
+        String token = IdUtil.fastSimpleUUID();
+        double throttled = count("throttled");
+        long start = System.currentTimeMillis();
+        // 每秒 1 封，等待时间超过接管时间，验证等待中的邮件不会被重复接管发送
+        for (int i = 0; i < 6; i++) {
+            MailUtils.sendTextAsync("user" + i + "@throttle.test", token + "-" + i, "content");
+        }
+        Assertions.assertEquals(6, await(token, 6, 30000));
+        Assertions.assertTrue(System.currentTimeMillis() - start >= 4000);
+        Assertions.assertTrue(count("throttled") > throttled);
+        sleep(4000);
+        Assertions.assertEquals(6, received(token));
+    }
+
+    /**
+     * 等待收到指定数量的邮件
+     */
+    private static int await(String token, int expected, long timeout) {
+        long deadline = System.currentTimeMillis() + timeout;
+        int count = received(token);
+        while (count < expected && System.currentTimeMillis() < deadline) {
+            sleep(200);
+            count = received(token);
+        }
+        return count;
+    }
+
+    /**
+     * 统计标题包含指定标识的邮件数量
+     */
+    private static int received(String token) {
+        int count = 0;
+        for (MimeMessage message : GREEN_MAIL.getReceivedMessages()) {
+            try {
+                if (message.getSubject() != null && message.getSubject().startsWith(token)) {
+                    count++;
+                }
+            } catch (MessagingException e) {
+                Assertions.fail(e);
+            }
+        }
+        return count;
+    }
+
+    private double count(String result) {
+        Counter counter = meterRegistry.find("mail.dispatch").tag("result", result).counter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            TimeUnit.MILLISECONDS.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+}
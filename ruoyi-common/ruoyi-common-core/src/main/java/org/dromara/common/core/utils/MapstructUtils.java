@@ -15,6 +15,10 @@ import cn.hutool.core.util.ObjectUtil;
 // Mapstruct-plus转换器接口，提供对象转换的核心API
 // Converter是Mapstruct-plus提供的核心转换器，支持对象、集合、Map等多种转换
 import io.github.linpeilie.Converter;
+// Mapstruct-plus生成的转换器接口与转换器工厂
+// 通过工厂按源类型、目标类型获取编译期生成的转换器实现
+import io.github.linpeilie.BaseMapper;
+import io.github.linpeilie.ConverterFactory;
 // Lombok注解：设置构造方法访问级别为私有，防止类被实例化
 // 工具类不应该被实例化，所有方法都是静态方法
 import lombok.AccessLevel;
@@ -22,9 +26,12 @@ import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
 
 // Java List集合接口，用于存储对象列表
+import java.util.ArrayList;
 import java.util.List;
 // Java Map接口，用于存储键值对
 import java.util.Map;
+// 并发Map，缓存目标类型对应的转换器
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Mapstruct-plus 对象转换工具类
@@ -55,6 +62,24 @@ public class MapstructUtils {
     // Converter是Mapstruct-plus提供的核心转换器，线程安全
     private final static Converter CONVERTER = SpringUtils.getBean(Converter.class);
 
+    /**
+     * Mapstruct-plus转换器工厂
+     * 用于按源类型、目标类型获取编译期生成的转换器
+     */
+    private final static ConverterFactory CONVERTER_FACTORY = SpringUtils.getBean(ConverterFactory.class);
+
+    /**
+     * 转换器缓存：源类型 -> (目标类型 -> 转换器)
+     * Converter每次转换都会拼接类型名查找转换器，这里按类型对象缓存，每对类型只查找一次
+     * 使用ClassValue与源类型的类加载器绑定，不阻止热部署时类的卸载
+     */
+    private final static ClassValue<Map<Class<?>, BaseMapper<?, ?>>> MAPPERS = new ClassValue<>() {
+        @Override
+        protected Map<Class<?>, BaseMapper<?, ?>> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
     /**
      * 将源对象转换为目标类型的对象
      * 基于Mapstruct-plus的注解配置，自动映射相同名称的属性
@@ -90,6 +115,11 @@ public class MapstructUtils {
         // 基于注解配置自动映射相同名称的属性
         // 转换逻辑在编译期生成，运行时性能极高
         // 性能是BeanUtils的10倍以上，因为避免了反射调用
+        // 优先使用缓存的转换器，找不到时交由Converter处理（抛出转换异常）
+        BaseMapper<T, V> mapper = getMapper(source.getClass(), desc);
+        if (mapper != null) {
+            return mapper.convert(source);
+        }
         return CONVERTER.convert(source, desc);
     }
 
@@ -161,11 +191,44 @@ public class MapstructUtils {
             // 返回空ArrayList，避免返回null导致调用方需要额外判空
             return CollUtil.newArrayList();
         }
-        // 调用Mapstruct-plus的Converter进行集合转换
-        // 批量转换集合中的每个对象
-        // Mapstruct-plus会优化批量转换的性能
-        // 性能优于循环调用单个转换，因为可以批量处理
-        return CONVERTER.convert(sourceList, desc);
+        // 批量转换集合中的每个对象，转换器只查找一次
+        return convertList(sourceList, desc);
+    }
+
+    /**
+     * 将源对象列表批量转换为目标类型的对象列表
+     * 按首个元素类型查找一次转换器后应用于整个列表，避免逐行查找转换器
+     * 列表中类型不同的元素（如子类）单独查找对应的转换器
+     *
+     * @param <T>  源对象类型
+     * @param <V>  目标对象类型
+     * @param sourceList 源对象列表
+     * @param desc       目标对象类型
+     * @return 转换后的目标对象列表，如果源列表为null则返回null，为空则返回空列表
+     */
+    public static <T, V> List<V> convertList(List<T> sourceList, Class<V> desc) {
+        if (ObjectUtil.isNull(sourceList)) {
+            return null;
+        }
+        if (CollUtil.isEmpty(sourceList)) {
+            return CollUtil.newArrayList();
+        }
+        Class<?> sourceType = null;
+        BaseMapper<T, V> mapper = null;
+        List<V> result = new ArrayList<>(sourceList.size());
+        for (T source : sourceList) {
+            if (source == null) {
+                result.add(null);
+                continue;
+            }
+            // 元素类型变化时重新查找转换器
+            if (source.getClass() != sourceType) {
+                sourceType = source.getClass();
+                mapper = getMapper(sourceType, desc);
+            }
+            result.add(mapper != null ? mapper.convert(source) : CONVERTER.convert(source, desc));
+        }
+        return result;
     }
 
     /**
@@ -205,4 +268,24 @@ public class MapstructUtils {
         return CONVERTER.convert(map, beanClass);
     }
 
+    /**
+     * 获取并缓存源类型到目标类型的转换器
+     *
+     * @param sourceType 源类型
+     * @param targetType 目标类型
+     * @return 转换器，不存在时返回null
+     */
+    @SuppressWarnings("unchecked")
+    private static <T, V> BaseMapper<T, V> getMapper(Class<?> sourceType, Class<V> targetType) {
+        Map<Class<?>, BaseMapper<?, ?>> mappers = MAPPERS.get(sourceType);
+        BaseMapper<?, ?> mapper = mappers.get(targetType);
+        if (mapper == null) {
+            mapper = CONVERTER_FACTORY.getMapper((Class<Object>) sourceType, targetType);
+            if (mapper != null) {
+                mappers.put(targetType, mapper);
+            }
+        }
+        return (BaseMapper<T, V>) mapper;
+    }
+
 }
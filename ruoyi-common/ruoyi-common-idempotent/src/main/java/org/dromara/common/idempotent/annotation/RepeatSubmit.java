@@ -40,4 +40,11 @@ public @interface RepeatSubmit {
      */
     String message() default "{repeat.submit.message}";
 
+    /**
+     * 幂等key，支持Spring EL表达式，如 #bo.orderNo
+     * 为空时使用请求体（JSON请求）或请求参数计算指纹
+     * 表达式每个方法只解析一次
+     */
+    String key() default "";
+
 }
@@ -1,16 +1,16 @@
 package org.dromara.common.idempotent.aspectj;
 
 import cn.dev33.satoken.SaManager;
-import cn.hutool.core.util.ArrayUtil;
-import cn.hutool.core.util.ObjectUtil;
-import cn.hutool.crypto.SecureUtil;
+import cn.hutool.core.io.IoUtil;
+import cn.hutool.core.lang.hash.MurmurHash;
+import cn.hutool.core.util.IdUtil;
 import jakarta.servlet.http.HttpServletRequest;
-import jakarta.servlet.http.HttpServletResponse;
 import org.aspectj.lang.JoinPoint;
 import org.aspectj.lang.annotation.AfterReturning;
 import org.aspectj.lang.annotation.AfterThrowing;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.annotation.Before;
+import org.aspectj.lang.reflect.MethodSignature;
 import org.dromara.common.core.constant.GlobalConstants;
 import org.dromara.common.core.domain.R;
 import org.dromara.common.core.exception.ServiceException;
@@ -18,25 +18,50 @@ import org.dromara.common.core.utils.MessageUtils;
 import org.dromara.common.core.utils.ServletUtils;
 import org.dromara.common.core.utils.StringUtils;
 import org.dromara.common.idempotent.annotation.RepeatSubmit;
-import org.dromara.common.json.utils.JsonUtils;
 import org.dromara.common.redis.utils.RedisUtils;
-import org.springframework.validation.BindingResult;
-import org.springframework.web.multipart.MultipartFile;
+import org.redisson.api.RBucket;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.context.expression.MethodBasedEvaluationContext;
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.expression.Expression;
+import org.springframework.expression.ExpressionParser;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.http.MediaType;
 
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
-import java.util.Collection;
+import java.util.Arrays;
 import java.util.Map;
-import java.util.StringJoiner;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 防止重复提交(参考美团GTIS防重系统)
+ * <p>
+ * 指纹默认由 token + 请求体(JSON请求)或请求参数 的 Murmur3 哈希组成，不再序列化方法参数；
+ * 注解指定 key 时使用其 SpEL 表达式的值。
  *
  * @author Lion Li
  */
 @Aspect
 public class RepeatSubmitAspect {
 
-    private static final ThreadLocal<String> KEY_CACHE = new ThreadLocal<>();
+    /**
+     * 当前请求占用的幂等key与占用标识
+     */
+    private static final ThreadLocal<String[]> KEY_CACHE = new ThreadLocal<>();
+
+    private final ExpressionParser parser = new SpelExpressionParser();
+
+    private final ParameterNameDiscoverer pnd = new DefaultParameterNameDiscoverer();
+
+    /**
+     * 已解析的SpEL表达式缓存，每个方法只解析一次
+     */
+    private final Map<Method, Expression> expressionCache = new ConcurrentHashMap<>();
 
     @Before("@annotation(repeatSubmit)")
     public void doBefore(JoinPoint point, RepeatSubmit repeatSubmit) throws Throwable {
@@ -47,7 +72,6 @@ public class RepeatSubmitAspect {
             throw new ServiceException("重复提交间隔时间不能小于'1'秒");
         }
         HttpServletRequest request = ServletUtils.getRequest();
-        String nowParams = argsArrayToString(point.getArgs());
 
         // 请求地址（作为存放cache的key值）
         String url = request.getRequestURI();
@@ -55,11 +79,15 @@ public class RepeatSubmitAspect {
         // 唯一值（没有消息头则使用请求地址）
         String submitKey = StringUtils.trimToEmpty(request.getHeader(SaManager.getConfig().getTokenName()));
 
-        submitKey = SecureUtil.md5(submitKey + ":" + nowParams);
+        submitKey = fingerprint(submitKey, StringUtils.isNotBlank(repeatSubmit.key())
+            ? evaluateKey(point, repeatSubmit.key()) : requestContent(request));
         // 唯一标识（指定key + url + 消息头）
         String cacheRepeatKey = GlobalConstants.REPEAT_SUBMIT_KEY + url + submitKey;
-        if (RedisUtils.setObjectIfAbsent(cacheRepeatKey, "", Duration.ofMillis(interval))) {
-            KEY_CACHE.set(cacheRepeatKey);
+        // 占用标识，释放时只删除自己占用的key
+        String owner = IdUtil.fastSimpleUUID();
+        RBucket<String> bucket = RedisUtils.getClient().getBucket(cacheRepeatKey, StringCodec.INSTANCE);
+        if (bucket.setIfAbsent(owner, Duration.ofMillis(interval))) {
+            KEY_CACHE.set(new String[]{cacheRepeatKey, owner});
         } else {
             String message = repeatSubmit.message();
             if (StringUtils.startsWith(message, "{") && StringUtils.endsWith(message, "}")) {
@@ -76,16 +104,13 @@ public class RepeatSubmitAspect {
      */
     @AfterReturning(pointcut = "@annotation(repeatSubmit)", returning = "jsonResult")
     public void doAfterReturning(JoinPoint joinPoint, RepeatSubmit repeatSubmit, Object jsonResult) {
-        if (jsonResult instanceof R<?> r) {
-            try {
-                // 成功则不删除redis数据 保证在有效时间内无法重复提交
-                if (r.getCode() == R.SUCCESS) {
-                    return;
-                }
-                RedisUtils.deleteObject(KEY_CACHE.get());
-            } finally {
-                KEY_CACHE.remove();
+        try {
+            // 成功则不删除redis数据 保证在有效时间内无法重复提交
+            if (jsonResult instanceof R<?> r && r.getCode() != R.SUCCESS) {
+                release();
             }
+        } finally {
+            KEY_CACHE.remove();
         }
     }
 
@@ -97,50 +122,56 @@ public class RepeatSubmitAspect {
      */
     @AfterThrowing(value = "@annotation(repeatSubmit)", throwing = "e")
     public void doAfterThrowing(JoinPoint joinPoint, RepeatSubmit repeatSubmit, Exception e) {
-        RedisUtils.deleteObject(KEY_CACHE.get());
-        KEY_CACHE.remove();
+        try {
+            release();
+        } finally {
+            KEY_CACHE.remove();
+        }
     }
 
     /**
-     * 参数拼装
+     * 释放当前请求占用的key
+     * 通过 compareAndSet(owner, null) 原子比较并删除，避免误删过期后被其他请求重新占用的key
      */
-    private String argsArrayToString(Object[] paramsArray) {
-        StringJoiner params = new StringJoiner(" ");
-        if (ArrayUtil.isEmpty(paramsArray)) {
-            return params.toString();
+    private void release() {
+        String[] cache = KEY_CACHE.get();
+        if (cache == null) {
+            return;
         }
-        for (Object o : paramsArray) {
-            if (ObjectUtil.isNotNull(o) && !isFilterObject(o)) {
-                params.add(JsonUtils.toJsonString(o));
-            }
-        }
-        return params.toString();
+        RedisUtils.getClient().getBucket(cache[0], StringCodec.INSTANCE).compareAndSet(cache[1], null);
     }
 
     /**
-     * 判断是否需要过滤的对象。
-     *
-     * @param o 对象信息。
-     * @return 如果是需要过滤的对象，则返回true；否则返回false。
+     * 计算指纹
      */
-    @SuppressWarnings("rawtypes")
-    public boolean isFilterObject(final Object o) {
-        Class<?> clazz = o.getClass();
-        if (clazz.isArray()) {
-            return MultipartFile.class.isAssignableFrom(clazz.getComponentType());
-        } else if (Collection.class.isAssignableFrom(clazz)) {
-            Collection collection = (Collection) o;
-            for (Object value : collection) {
-                return value instanceof MultipartFile;
-            }
-        } else if (Map.class.isAssignableFrom(clazz)) {
-            Map map = (Map) o;
-            for (Object value : map.values()) {
-                return value instanceof MultipartFile;
-            }
+    private String fingerprint(String token, byte[] content) {
+        long[] body = MurmurHash.hash128(content);
+        long[] hash = MurmurHash.hash128((token + ":" + body[0] + ":" + body[1]).getBytes(StandardCharsets.UTF_8));
+        return Long.toHexString(hash[0]) + Long.toHexString(hash[1]);
+    }
+
+    /**
+     * 计算SpEL表达式key
+     */
+    private byte[] evaluateKey(JoinPoint point, String key) {
+        Method method = ((MethodSignature) point.getSignature()).getMethod();
+        Expression expression = expressionCache.computeIfAbsent(method, m -> parser.parseExpression(key));
+        MethodBasedEvaluationContext context = new MethodBasedEvaluationContext(null, method, point.getArgs(), pnd);
+        return StringUtils.trimToEmpty(expression.getValue(context, String.class)).getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 获取请求内容
+     * JSON请求读取可重复读取的请求体，其余请求使用排序后的请求参数
+     */
+    private byte[] requestContent(HttpServletRequest request) throws IOException {
+        if (StringUtils.startsWithIgnoreCase(request.getContentType(), MediaType.APPLICATION_JSON_VALUE)) {
+            return IoUtil.readBytes(request.getInputStream(), false);
         }
-        return o instanceof MultipartFile || o instanceof HttpServletRequest || o instanceof HttpServletResponse
-               || o instanceof BindingResult;
+        StringBuilder params = new StringBuilder();
+        new TreeMap<>(request.getParameterMap()).forEach((name, values) ->
+            params.append(name).append('=').append(Arrays.toString(values)).append('&'));
+        return params.toString().getBytes(StandardCharsets.UTF_8);
     }
 
 }
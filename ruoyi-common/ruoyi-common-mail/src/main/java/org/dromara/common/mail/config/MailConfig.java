@@ -4,6 +4,14 @@ package org.dromara.common.mail.config;
 import cn.hutool.extra.mail.MailAccount;
 // 邮件配置属性类，用于读取application.yml中的配置
 import org.dromara.common.mail.config.properties.MailProperties;
+// 邮件异步投递器
+import org.dromara.common.mail.core.MailDispatcher;
+// SMTP连接池
+import org.dromara.common.mail.core.MailTransportPool;
+// Redisson客户端，邮件队列基于Redis Stream
+import org.redisson.api.RedissonClient;
+// Spring Bean限定注解，按名称注入线程池
+import org.springframework.beans.factory.annotation.Qualifier;
 // Spring Boot自动配置注解，标识这是一个自动配置类
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 // Spring Boot条件注解，根据配置项决定是否创建Bean
@@ -13,6 +21,9 @@ import org.springframework.boot.context.properties.EnableConfigurationProperties
 // Spring Bean注解，将方法返回值注册为Spring容器中的Bean
 import org.springframework.context.annotation.Bean;
 
+// 定时任务线程池
+import java.util.concurrent.ScheduledExecutorService;
+
 /**
  * JavaMail 自动配置类
  * 负责根据配置文件创建MailAccount Bean
@@ -93,4 +104,38 @@ public class MailConfig {
         return account;
     }
 
+    /**
+     * 创建SMTP连接池
+     * 按账号复用已登录的连接，避免每封邮件重新握手和认证
+     *
+     * @param mailProperties 邮件配置属性
+     * @return SMTP连接池
+     */
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(value = "mail.enabled", havingValue = "true")
+    public MailTransportPool mailTransportPool(MailProperties mailProperties) {
+        MailProperties.Dispatcher dispatcher = mailProperties.getDispatcher();
+        return new MailTransportPool(dispatcher.getPoolSize(), dispatcher.getIdleTimeout().toMillis());
+    }
+
+    /**
+     * 创建邮件异步投递器
+     * 邮件写入Redis Stream持久化，后台线程批量发送，失败自动重试
+     *
+     * @param mailAccount              邮件账户
+     * @param mailProperties           邮件配置属性
+     * @param mailTransportPool        SMTP连接池
+     * @param redissonClient           Redisson客户端
+     * @param scheduledExecutorService 定时任务线程池，用于延迟重试和清理空闲连接
+     * @return 邮件异步投递器
+     */
+    @Bean
+    @ConditionalOnProperty(value = "mail.enabled", havingValue = "true")
+    public MailDispatcher mailDispatcher(MailAccount mailAccount, MailProperties mailProperties,
+                                         MailTransportPool mailTransportPool, RedissonClient redissonClient,
+                                         @Qualifier("scheduledExecutorService") ScheduledExecutorService scheduledExecutorService) {
+        return new MailDispatcher(mailAccount, mailProperties.getDispatcher(), mailTransportPool,
+            redissonClient, scheduledExecutorService);
+    }
+
 }
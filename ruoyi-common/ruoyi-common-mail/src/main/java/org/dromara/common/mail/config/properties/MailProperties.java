@@ -3,6 +3,10 @@ package org.dromara.common.mail.config.properties;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
 /**
  * JavaMail 配置属性
  *
@@ -72,4 +76,65 @@ public class MailProperties {
      * Socket连接超时值，单位毫秒，缺省值不超时
      */
     private Long connectionTimeout;
+
+    /**
+     * 异步投递配置
+     */
+    private Dispatcher dispatcher = new Dispatcher();
+
+    @Data
+    public static class Dispatcher {
+
+        /**
+         * 邮件队列 Stream 名称，多套环境共用同一 Redis 时需区分，消费组与域名限流随之隔离
+         */
+        private String streamKey = "mail_stream";
+
+        /**
+         * 本地缓冲队列容量，队列满时暂停从 Redis 读取
+         */
+        private Integer queueCapacity = 1000;
+
+        /**
+         * 每个连接单次连续发送的最大邮件数
+         */
+        private Integer batchSize = 20;
+
+        /**
+         * 发送线程数
+         */
+        private Integer threads = 2;
+
+        /**
+         * 每个账号最多保持的 SMTP 连接数
+         */
+        private Integer poolSize = 2;
+
+        /**
+         * SMTP 连接空闲超过该时间后关闭
+         */
+        private Duration idleTimeout = Duration.ofMinutes(1);
+
+        /**
+         * 最大重试次数，超过后丢弃并记录日志
+         */
+        private Integer maxRetries = 5;
+
+        /**
+         * 首次重试间隔，之后按指数退避
+         */
+        private Duration retryDelay = Duration.ofSeconds(10);
+
+        /**
+         * 已读取但超过该时间未确认的邮件由其他节点接管（节点宕机后恢复）
+         */
+        private Duration claimIdle = Duration.ofMinutes(10);
+
+        /**
+         * 按收件人域名限流，每秒最多发送数，key为域名，如 qq.com: 10
+         */
+        private Map<String, Integer> domainRateLimit = new HashMap<>();
+
+    }
+
 }
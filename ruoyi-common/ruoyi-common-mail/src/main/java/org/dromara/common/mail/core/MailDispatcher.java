@@ -0,0 +1,518 @@
+package org.dromara.common.mail.core;
+
+import cn.hutool.core.collection.CollUtil;
+import cn.hutool.core.util.IdUtil;
+import cn.hutool.core.util.StrUtil;
+import cn.hutool.extra.mail.MailAccount;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.mail.Message;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Session;
+import jakarta.mail.internet.InternetAddress;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.dromara.common.core.constant.GlobalConstants;
+import org.dromara.common.mail.config.properties.MailProperties;
+import org.dromara.common.mail.core.MailTransportPool.PooledTransport;
+import org.dromara.common.redis.utils.RedisUtils;
+import org.redisson.api.RStream;
+import org.redisson.api.RateType;
+import org.redisson.api.RedissonClient;
+import org.redisson.api.StreamMessageId;
+import org.redisson.api.stream.AutoClaimResult;
+import org.redisson.api.stream.StreamAddArgs;
+import org.redisson.api.stream.StreamCreateGroupArgs;
+import org.redisson.api.stream.StreamReadGroupArgs;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 邮件异步投递器
+ * <p>
+ * 提交的邮件先写入 Redis Stream 持久化，读取线程按消费组读入本地有界队列，发送线程从队列批量取出，
+ * 借用同一个 SMTP 连接连续发送。发送成功后确认并删除，失败按指数退避重新入队，超过最大次数后丢弃。
+ * 被限流或退避未到期的邮件暂存在本地延迟队列，期间保持未确认状态并定期刷新空闲时间，避免被接管重复发送。
+ * 节点宕机时已读取未确认的邮件在超过接管时间后由其他节点（或重启后的本节点）重新投递。
+ *
+ * @author Michelle.Chung
+ */
+@Slf4j
+public class MailDispatcher implements MeterBinder, InitializingBean, DisposableBean {
+
+    /**
+     * 消费组名称
+     */
+    private static final String GROUP = "mail_dispatcher";
+
+    /**
+     * Stream 中的字段名
+     */
+    private static final String FIELD = "mail";
+
+    /**
+     * 读取阻塞等待时间
+     */
+    private static final Duration READ_TIMEOUT = Duration.ofSeconds(2);
+
+    /**
+     * 被限流的邮件延后重新入队的时间
+     */
+    private static final long THROTTLE_DELAY = 1000L;
+
+    private final MailAccount account;
+    private final MailProperties.Dispatcher config;
+    private final MailTransportPool transportPool;
+    private final ScheduledExecutorService scheduledExecutorService;
+    private final RStream<String, MailMessage> stream;
+    private final BlockingQueue<Entry> buffer;
+
+    /**
+     * 域名限流 key 前缀，与邮件队列一一对应
+     */
+    private final String rateLimitKey;
+
+    /**
+     * 被限流或退避未到期的邮件，到期后由读取线程放回本地队列
+     */
+    private final DelayQueue<Entry> delayed = new DelayQueue<>();
+
+    /**
+     * 本节点已读取、尚未确认的消息ID，数量不超过本地队列容量
+     * 接管时跳过已在本节点处理中的消息，避免同一消息重复放入队列
+     */
+    private final Set<StreamMessageId> inFlight = ConcurrentHashMap.newKeySet();
+
+    /**
+     * 本节点消费者名称
+     */
+    private final String consumer = IdUtil.fastSimpleUUID();
+
+    private final List<Thread> threads = new ArrayList<>();
+    private volatile boolean running;
+    private volatile long lastClaimTime;
+    private volatile long lastTouchTime;
+
+    private volatile Counter sentCounter;
+    private volatile Counter retryCounter;
+    private volatile Counter failedCounter;
+    private volatile Counter throttledCounter;
+    private volatile Timer batchTimer;
+
+    public MailDispatcher(MailAccount account, MailProperties.Dispatcher config, MailTransportPool transportPool,
+                          RedissonClient redissonClient, ScheduledExecutorService scheduledExecutorService) {
+        this.account = account.defaultIfEmpty();
+        this.config = config;
+        this.transportPool = transportPool;
+        this.scheduledExecutorService = scheduledExecutorService;
+        this.stream = redissonClient.getStream(GlobalConstants.GLOBAL_REDIS_KEY + config.getStreamKey());
+        this.rateLimitKey = GlobalConstants.GLOBAL_REDIS_KEY + config.getStreamKey() + "_rate_limit:";
+        this.buffer = new ArrayBlockingQueue<>(config.getQueueCapacity());
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        try {
+            stream.createGroup(StreamCreateGroupArgs.name(GROUP).id(StreamMessageId.ALL).makeStream());
+        } catch (Exception e) {
+            // 消费组已存在
+            log.debug("邮件消费组已存在: {}", e.getMessage());
+        }
+        running = true;
+        startThread("mail-reader", this::readLoop);
+        for (int i = 0; i < config.getThreads(); i++) {
+            startThread("mail-sender-" + i, this::sendLoop);
+        }
+        long interval = Math.max(config.getIdleTimeout().toMillis() / 2, 1000L);
+        scheduledExecutorService.scheduleWithFixedDelay(transportPool::evictIdle, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void destroy() {
+        running = false;
+        threads.forEach(Thread::interrupt);
+    }
+
+    private void startThread(String name, Runnable task) {
+        Thread thread = new Thread(task, name);
+        thread.setDaemon(true);
+        thread.start();
+        threads.add(thread);
+    }
+
+    /**
+     * 提交邮件，写入 Redis 后立即返回
+     *
+     * @param message 邮件
+     * @return 队列中的消息ID
+     */
+    public String submit(MailMessage message) {
+        checkRecipients(message);
+        return stream.add(StreamAddArgs.entry(FIELD, message)).toString();
+    }
+
+    /**
+     * 使用连接池同步发送
+     *
+     * @param mailAccount 邮件账号
+     * @param message     邮件
+     * @return message-id
+     */
+    public String send(MailAccount mailAccount, MailMessage message) throws MessagingException {
+        checkRecipients(message);
+        // 与Hutool发送保持一致，补全发件人、用户名、端口等默认值
+        mailAccount.defaultIfEmpty();
+        PooledTransport pooled = transportPool.borrow(mailAccount);
+        try {
+            MimeMessage mime = buildMessage(pooled.getSession(), mailAccount, message);
+            pooled.getTransport().sendMessage(mime, mime.getAllRecipients());
+            return mime.getMessageID();
+        } finally {
+            transportPool.release(pooled);
+        }
+    }
+
+    private static void checkRecipients(MailMessage message) {
+        if (CollUtil.isEmpty(message.getTos())) {
+            throw new IllegalArgumentException("收件人不能为空");
+        }
+    }
+
+    /**
+     * 从 Stream 读取新邮件及超时未确认的邮件放入本地队列
+     */
+    private void readLoop() {
+        while (running) {
+            try {
+                releaseDelayed();
+                touchInFlight();
+                // 处理中的邮件（含延迟队列）总数不超过本地队列容量
+                int count = Math.min(config.getBatchSize(),
+                    Math.min(buffer.remainingCapacity(), config.getQueueCapacity() - inFlight.size()));
+                if (count <= 0) {
+                    TimeUnit.MILLISECONDS.sleep(200);
+                    continue;
+                }
+                claimIdle(count);
+                Map<StreamMessageId, Map<String, MailMessage>> messages = stream.readGroup(GROUP, consumer,
+                    StreamReadGroupArgs.neverDelivered().count(count).timeout(READ_TIMEOUT));
+                enqueue(messages);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                if (!running) {
+                    return;
+                }
+                log.error("读取邮件队列异常: {}", e.getMessage());
+                sleepQuietly();
+            }
+        }
+    }
+
+    /**
+     * 接管超过接管时间仍未确认的邮件
+     */
+    private void claimIdle(int count) throws InterruptedException {
+        long now = System.currentTimeMillis();
+        long claimIdle = config.getClaimIdle().toMillis();
+        if (now - lastClaimTime < claimIdle / 2) {
+            return;
+        }
+        lastClaimTime = now;
+        AutoClaimResult<String, MailMessage> result = stream.autoClaim(GROUP, consumer, claimIdle,
+            TimeUnit.MILLISECONDS, StreamMessageId.MIN, count);
+        enqueue(result.getMessages());
+    }
+
+    private void enqueue(Map<StreamMessageId, Map<String, MailMessage>> messages) throws InterruptedException {
+        if (CollUtil.isEmpty(messages)) {
+            return;
+        }
+        for (Map.Entry<StreamMessageId, Map<String, MailMessage>> entry : messages.entrySet()) {
+            MailMessage message = entry.getValue().get(FIELD);
+            if (message == null) {
+                ack(entry.getKey());
+                continue;
+            }
+            // 已在本节点处理中（队列或延迟队列中），不重复放入
+            if (!inFlight.add(entry.getKey())) {
+                continue;
+            }
+            buffer.put(new Entry(entry.getKey(), message, 0));
+        }
+    }
+
+    /**
+     * 将到期的延迟邮件放回本地队列，队列已满时留待下次
+     */
+    private void releaseDelayed() {
+        Entry entry;
+        while (buffer.remainingCapacity() > 0 && (entry = delayed.poll()) != null) {
+            if (!buffer.offer(entry)) {
+                delayed.offer(entry);
+                return;
+            }
+        }
+    }
+
+    /**
+     * 刷新本节点处理中消息的空闲时间，避免等待限流或退避期间超过接管时间被其他节点接管
+     */
+    private void touchInFlight() {
+        long now = System.currentTimeMillis();
+        if (inFlight.isEmpty() || now - lastTouchTime < config.getClaimIdle().toMillis() / 3) {
+            return;
+        }
+        lastTouchTime = now;
+        for (List<StreamMessageId> ids : CollUtil.split(inFlight, 100)) {
+            stream.fastClaim(GROUP, consumer, 0, TimeUnit.MILLISECONDS, ids.toArray(new StreamMessageId[0]));
+        }
+    }
+
+    /**
+     * 批量取出本地队列中的邮件，通过同一个连接发送
+     */
+    private void sendLoop() {
+        while (running) {
+            try {
+                Entry first = buffer.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                List<Entry> batch = new ArrayList<>(config.getBatchSize());
+                batch.add(first);
+                buffer.drainTo(batch, config.getBatchSize() - 1);
+                sendBatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("邮件发送线程异常: {}", e.getMessage(), e);
+            }
+        }
+    }
+
+    private void sendBatch(List<Entry> batch) {
+        long start = System.nanoTime();
+        long now = System.currentTimeMillis();
+        PooledTransport pooled = null;
+        try {
+            for (Entry entry : batch) {
+                MailMessage message = entry.message;
+                if (message.getNotBefore() > now) {
+                    // 退避中的重试邮件，到期后重新入队，期间保持未确认状态
+                    delayed.offer(entry.delay(message.getNotBefore()));
+                    continue;
+                }
+                if (!tryAcquire(message)) {
+                    increment(throttledCounter);
+                    delayed.offer(entry.delay(now + THROTTLE_DELAY));
+                    continue;
+                }
+                try {
+                    if (pooled == null) {
+                        pooled = transportPool.borrow(account);
+                    }
+                    MimeMessage mime = buildMessage(pooled.getSession(), account, message);
+                    pooled.getTransport().sendMessage(mime, mime.getAllRecipients());
+                    ack(entry.id);
+                    increment(sentCounter);
+                } catch (Exception e) {
+                    log.warn("邮件发送失败 id => {}, tos => {}, error => {}", entry.id, message.getTos(), e.getMessage());
+                    retry(entry);
+                    // 连接已断开时后续邮件使用新连接
+                    if (pooled != null && !pooled.getTransport().isConnected()) {
+                        transportPool.release(pooled);
+                        pooled = null;
+                    }
+                }
+            }
+        } finally {
+            transportPool.release(pooled);
+            Timer timer = batchTimer;
+            if (timer != null) {
+                timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
+    /**
+     * 失败重试：写入新的带退避时间的消息后确认原消息，超过最大次数则丢弃
+     */
+    private void retry(Entry entry) {
+        MailMessage message = entry.message;
+        try {
+            if (message.getRetryCount() + 1 >= config.getMaxRetries()) {
+                log.error("邮件超过最大重试次数已丢弃 tos => {}, subject => {}", message.getTos(), message.getSubject());
+                increment(failedCounter);
+            } else {
+                // 指数退避，最长不超过接管时间的一半
+                long delay = Math.min(config.getRetryDelay().toMillis() << Math.min(message.getRetryCount(), 10),
+                    config.getClaimIdle().toMillis() / 2);
+                message.setRetryCount(message.getRetryCount() + 1);
+                message.setNotBefore(System.currentTimeMillis() + delay);
+                stream.add(StreamAddArgs.entry(FIELD, message));
+                increment(retryCounter);
+            }
+            ack(entry.id);
+        } catch (Exception e) {
+            // 未确认的消息超过接管时间后会被重新投递
+            inFlight.remove(entry.id);
+            log.error("邮件重试入队失败 id => {}, error => {}", entry.id, e.getMessage());
+        }
+    }
+
+    /**
+     * 按收件人域名限流，任一域名超出时本次跳过
+     */
+    private boolean tryAcquire(MailMessage message) {
+        Map<String, Integer> limits = config.getDomainRateLimit();
+        if (CollUtil.isEmpty(limits)) {
+            return true;
+        }
+        Set<String> domains = new LinkedHashSet<>();
+        collectDomains(domains, message.getTos());
+        collectDomains(domains, message.getCcs());
+        collectDomains(domains, message.getBccs());
+        for (String domain : domains) {
+            Integer rate = limits.get(domain);
+            if (rate != null && rate > 0 && RedisUtils.rateLimiter(rateLimitKey + domain, RateType.OVERALL, rate, 1) == -1) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void collectDomains(Set<String> domains, List<String> addresses) {
+        if (CollUtil.isEmpty(addresses)) {
+            return;
+        }
+        for (String address : addresses) {
+            String domain = StrUtil.subAfter(StrUtil.trim(address), '@', true);
+            domains.add(StrUtil.removeSuffix(domain, ">").toLowerCase());
+        }
+    }
+
+    private void ack(StreamMessageId id) {
+        try {
+            stream.ack(GROUP, id);
+            stream.remove(id);
+        } finally {
+            inFlight.remove(id);
+        }
+    }
+
+    private static MimeMessage buildMessage(Session session, MailAccount mailAccount, MailMessage message) throws MessagingException {
+        String charset = mailAccount.getCharset().name();
+        MimeMessage mime = new MimeMessage(session);
+        mime.setFrom(InternetAddress.parse(mailAccount.getFrom())[0]);
+        mime.setRecipients(Message.RecipientType.TO, parse(message.getTos()));
+        if (CollUtil.isNotEmpty(message.getCcs())) {
+            mime.setRecipients(Message.RecipientType.CC, parse(message.getCcs()));
+        }
+        if (CollUtil.isNotEmpty(message.getBccs())) {
+            mime.setRecipients(Message.RecipientType.BCC, parse(message.getBccs()));
+        }
+        mime.setSubject(message.getSubject(), charset);
+        mime.setSentDate(new Date());
+        if (message.isHtml()) {
+            mime.setText(message.getContent(), charset, "html");
+        } else {
+            mime.setText(message.getContent(), charset);
+        }
+        mime.saveChanges();
+        return mime;
+    }
+
+    private static InternetAddress[] parse(List<String> addresses) throws MessagingException {
+        return InternetAddress.parse(CollUtil.join(addresses, ","));
+    }
+
+    private static void increment(Counter counter) {
+        if (counter != null) {
+            counter.increment();
+        }
+    }
+
+    private static void sleepQuietly() {
+        try {
+            TimeUnit.SECONDS.sleep(1);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        sentCounter = counter(registry, "success");
+        retryCounter = counter(registry, "retry");
+        failedCounter = counter(registry, "failure");
+        throttledCounter = counter(registry, "throttled");
+        batchTimer = Timer.builder("mail.dispatch.batch")
+            .description("邮件批量发送耗时")
+            .register(registry);
+        Gauge.builder("mail.dispatch.buffer", buffer, BlockingQueue::size)
+            .description("邮件本地队列长度")
+            .register(registry);
+        Gauge.builder("mail.dispatch.delayed", delayed, DelayQueue::size)
+            .description("邮件限流与退避等待数")
+            .register(registry);
+        FunctionCounter.builder("mail.transport.created", transportPool, MailTransportPool::getCreatedCount)
+            .description("SMTP连接新建次数")
+            .register(registry);
+        Gauge.builder("mail.transport.idle", transportPool, MailTransportPool::getIdleCount)
+            .description("SMTP连接池空闲连接数")
+            .register(registry);
+    }
+
+    private static Counter counter(MeterRegistry registry, String result) {
+        return Counter.builder("mail.dispatch")
+            .tag("result", result)
+            .description("邮件投递次数")
+            .register(registry);
+    }
+
+    /**
+     * 本地队列中的邮件
+     *
+     * @param dueTime 延迟队列中的到期时间（毫秒时间戳）
+     */
+    private record Entry(StreamMessageId id, MailMessage message, long dueTime) implements Delayed {
+
+        private Entry delay(long dueTime) {
+            return new Entry(id, message, dueTime);
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(dueTime - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(dueTime, ((Entry) other).dueTime);
+        }
+
+    }
+
+}
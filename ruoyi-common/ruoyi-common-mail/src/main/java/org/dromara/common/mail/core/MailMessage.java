@@ -0,0 +1,62 @@
+package org.dromara.common.mail.core;
+
+import lombok.Data;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * 待投递邮件，写入 Redis Stream 持久化
+ * <p>
+ * 仅支持正文邮件，附件和内嵌图片依赖本地文件或流，只能通过同步方式发送
+ *
+ * @author Michelle.Chung
+ */
+@Data
+public class MailMessage implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 收件人
+     */
+    private List<String> tos;
+
+    /**
+     * 抄送人
+     */
+    private List<String> ccs;
+
+    /**
+     * 密送人
+     */
+    private List<String> bccs;
+
+    /**
+     * 标题
+     */
+    private String subject;
+
+    /**
+     * 正文
+     */
+    private String content;
+
+    /**
+     * 是否为HTML
+     */
+    private boolean html;
+
+    /**
+     * 已重试次数
+     */
+    private int retryCount;
+
+    /**
+     * 最早发送时间（毫秒时间戳），重试退避时使用
+     */
+    private long notBefore;
+
+}
@@ -0,0 +1,174 @@
+package org.dromara.common.mail.core;
+
+import cn.hutool.core.util.StrUtil;
+import cn.hutool.extra.mail.MailAccount;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Session;
+import jakarta.mail.Transport;
+import lombok.extern.slf4j.Slf4j;
+import org.dromara.common.mail.utils.MailUtils;
+
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * SMTP 连接池
+ * <p>
+ * 按账号（服务器、端口、用户名、密码）复用已登录的 Transport，避免每封邮件重新握手和认证
+ * Transport 非线程安全，借出期间由借用方独占，归还后供其他线程复用
+ *
+ * @author Michelle.Chung
+ */
+@Slf4j
+public class MailTransportPool {
+
+    private final int poolSize;
+    private final long idleTimeout;
+
+    private final Map<String, BlockingQueue<PooledTransport>> pools = new ConcurrentHashMap<>();
+
+    /**
+     * 各账号累计新建的连接数，用于监控连接复用情况
+     */
+    private final Map<String, LongAdder> created = new ConcurrentHashMap<>();
+
+    public MailTransportPool(int poolSize, long idleTimeout) {
+        this.poolSize = poolSize;
+        this.idleTimeout = idleTimeout;
+    }
+
+    /**
+     * 借出一个已连接的 Transport，无空闲连接时新建
+     *
+     * @param account 邮件账号
+     * @return 已连接的 Transport
+     */
+    public PooledTransport borrow(MailAccount account) throws MessagingException {
+        String key = key(account);
+        BlockingQueue<PooledTransport> pool = pools.computeIfAbsent(key, k -> new LinkedBlockingQueue<>(poolSize));
+        PooledTransport pooled;
+        while ((pooled = pool.poll()) != null) {
+            if (!pooled.isExpired(idleTimeout) && pooled.transport.isConnected()) {
+                return pooled;
+            }
+            pooled.close();
+        }
+        Session session = MailUtils.getSession(account, false);
+        Transport transport = session.getTransport("smtp");
+        transport.connect(account.getHost(), account.getPort(), account.getUser(), account.getPass());
+        created.computeIfAbsent(key, k -> new LongAdder()).increment();
+        return new PooledTransport(key, session, transport);
+    }
+
+    /**
+     * 归还 Transport，连接已断开或池已满时直接关闭
+     *
+     * @param pooled 借出的 Transport
+     */
+    public void release(PooledTransport pooled) {
+        if (pooled == null) {
+            return;
+        }
+        BlockingQueue<PooledTransport> pool = pools.get(pooled.key);
+        pooled.lastUsed = System.currentTimeMillis();
+        if (pool == null || !pooled.transport.isConnected() || !pool.offer(pooled)) {
+            pooled.close();
+        }
+    }
+
+    /**
+     * 关闭空闲超时的连接
+     */
+    public void evictIdle() {
+        pools.values().forEach(pool -> pool.removeIf(pooled -> {
+            if (pooled.isExpired(idleTimeout)) {
+                pooled.close();
+                return true;
+            }
+            return false;
+        }));
+    }
+
+    /**
+     * 关闭全部连接
+     */
+    public void close() {
+        pools.values().forEach(pool -> {
+            PooledTransport pooled;
+            while ((pooled = pool.poll()) != null) {
+                pooled.close();
+            }
+        });
+    }
+
+    /**
+     * 累计新建的连接数
+     */
+    public long getCreatedCount() {
+        return created.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+
+    /**
+     * 指定账号累计新建的连接数
+     *
+     * @param account 邮件账号
+     */
+    public long getCreatedCount(MailAccount account) {
+        LongAdder count = created.get(key(account));
+        return count == null ? 0 : count.sum();
+    }
+
+    /**
+     * 池中空闲的连接数
+     */
+    public int getIdleCount() {
+        return pools.values().stream().mapToInt(BlockingQueue::size).sum();
+    }
+
+    private static String key(MailAccount account) {
+        return StrUtil.join(":", account.getHost(), account.getPort(), account.getUser(),
+            account.getPass() == null ? 0 : account.getPass().hashCode());
+    }
+
+    /**
+     * 池中的连接
+     */
+    public static final class PooledTransport {
+
+        private final String key;
+        private final Session session;
+        private final Transport transport;
+        private volatile long lastUsed = System.currentTimeMillis();
+
+        private PooledTransport(String key, Session session, Transport transport) {
+            this.key = key;
+            this.session = session;
+            this.transport = transport;
+        }
+
+        public Session getSession() {
+            return session;
+        }
+
+        public Transport getTransport() {
+            return transport;
+        }
+
+        private boolean isExpired(long idleTimeout) {
+            return System.currentTimeMillis() - lastUsed > idleTimeout;
+        }
+
+        private void close() {
+            try {
+                transport.close();
+            } catch (MessagingException e) {
+                log.debug("关闭SMTP连接失败: {}", e.getMessage());
+            }
+        }
+
+    }
+
+}
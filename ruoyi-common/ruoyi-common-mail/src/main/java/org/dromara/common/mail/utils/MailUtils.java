@@ -16,8 +16,12 @@ import cn.hutool.extra.mail.JakartaMail;
 import cn.hutool.extra.mail.JakartaUserPassAuthenticator;
 // Hutool邮件账户类，封装SMTP配置
 import cn.hutool.extra.mail.MailAccount;
+// Hutool邮件异常类
+import cn.hutool.extra.mail.MailException;
 // Jakarta Mail认证器接口
 import jakarta.mail.Authenticator;
+// Jakarta Mail消息异常类
+import jakarta.mail.MessagingException;
 // Jakarta Mail会话类
 import jakarta.mail.Session;
 // Lombok访问级别注解
@@ -28,6 +32,10 @@ import lombok.NoArgsConstructor;
 import org.dromara.common.core.utils.SpringUtils;
 // 字符串工具类，提供字符串操作方法
 import org.dromara.common.core.utils.StringUtils;
+// 邮件异步投递器，提供连接池发送和异步队列
+import org.dromara.common.mail.core.MailDispatcher;
+// 待投递邮件
+import org.dromara.common.mail.core.MailMessage;
 
 // 文件类
 import java.io.File;
@@ -46,6 +54,7 @@ import java.util.Map.Entry;
  * 邮件工具类
  * 提供静态方法发送邮件，支持文本/HTML格式、附件、抄送/密送、内嵌图片等功能
  * 基于Hutool的JakartaMail封装，简化JavaMail的复杂API
+ * 同步发送复用连接池中的SMTP连接，异步发送（*Async）写入投递队列后立即返回
  * 使用Lombok的@NoArgsConstructor(access = AccessLevel.PRIVATE)防止实例化
  */
 // Lombok注解：生成私有访问级别的无参构造函数
@@ -60,6 +69,12 @@ public class MailUtils {
      */
     private static final MailAccount ACCOUNT = SpringUtils.getBean(MailAccount.class);
 
+    /**
+     * 静态常量：从Spring容器中获取邮件投递器
+     * 同步发送时复用连接池中的SMTP连接，异步发送时写入投递队列
+     */
+    private static final MailDispatcher DISPATCHER = SpringUtils.getBean(MailDispatcher.class);
+
     /**
      * 获取邮件发送实例
      * 返回从Spring容器中获取的MailAccount对象
@@ -448,6 +463,64 @@ public class MailUtils {
         return send(mailAccount, false, tos, ccs, bccs, subject, content, imageMap, isHtml, files);
     }
 
+    /**
+     * 使用配置文件中设置的账户异步发送文本邮件，写入投递队列后立即返回<br>
+     * 多个收件人可以使用逗号“,”分隔，也可以通过分号“;”分隔
+     * 适用于验证码、通知等不需要等待发送结果的场景，发送失败会自动重试
+     *
+     * @param to      收件人邮箱地址，支持单个或多个（用逗号或分号分隔）
+     * @param subject 邮件标题
+     * @param content 邮件正文（纯文本格式）
+     * @return 投递队列中的消息ID
+     */
+    public static String sendTextAsync(String to, String subject, String content) {
+        // 拆分收件人后异步发送纯文本邮件
+        return sendAsync(splitAddress(to), null, null, subject, content, false);
+    }
+
+    /**
+     * 使用配置文件中设置的账户异步发送HTML邮件，写入投递队列后立即返回<br>
+     * 多个收件人可以使用逗号“,”分隔，也可以通过分号“;”分隔
+     *
+     * @param to      收件人邮箱地址，支持单个或多个（用逗号或分号分隔）
+     * @param subject 邮件标题
+     * @param content 邮件正文（HTML格式）
+     * @return 投递队列中的消息ID
+     */
+    public static String sendHtmlAsync(String to, String subject, String content) {
+        // 拆分收件人后异步发送HTML邮件
+        return sendAsync(splitAddress(to), null, null, subject, content, true);
+    }
+
+    /**
+     * 使用配置文件中设置的账户异步发送文本邮件，发送给多个收件人
+     *
+     * @param tos     收件人列表
+     * @param subject 邮件标题
+     * @param content 邮件正文（纯文本格式）
+     * @return 投递队列中的消息ID
+     */
+    public static String sendTextAsync(Collection<String> tos, String subject, String content) {
+        return sendAsync(tos, null, null, subject, content, false);
+    }
+
+    /**
+     * 使用配置文件中设置的账户异步发送邮件，写入投递队列后立即返回
+     * 不支持附件和内嵌图片，需要时使用同步方法
+     *
+     * @param tos     收件人列表
+     * @param ccs     抄送人列表，可以为null或空
+     * @param bccs    密送人列表，可以为null或空
+     * @param subject 邮件标题
+     * @param content 邮件正文
+     * @param isHtml  是否为HTML格式
+     * @return 投递队列中的消息ID
+     */
+    public static String sendAsync(Collection<String> tos, Collection<String> ccs, Collection<String> bccs, String subject, String content, boolean isHtml) {
+        // 构建待投递邮件并写入队列
+        return DISPATCHER.submit(buildMessage(tos, ccs, bccs, subject, content, isHtml));
+    }
+
     /**
      * 根据配置文件，获取邮件客户端会话
      *
@@ -498,6 +571,16 @@ public class MailUtils {
      */
     private static String send(MailAccount mailAccount, boolean useGlobalSession, Collection<String> tos, Collection<String> ccs, Collection<String> bccs, String subject, String content,
                                Map<String, InputStream> imageMap, boolean isHtml, File... files) {
+        // 没有附件和内嵌图片时复用连接池中的SMTP连接发送，避免每封邮件重新建立连接和认证
+        if (MapUtil.isEmpty(imageMap) && (files == null || files.length == 0)) {
+            try {
+                return DISPATCHER.send(mailAccount, buildMessage(tos, ccs, bccs, subject, content, isHtml));
+            } catch (MessagingException e) {
+                // 与Hutool发送保持一致，统一抛出MailException
+                throw new MailException(e);
+            }
+        }
+
         // 创建JakartaMail对象，Hutool对JavaMail的封装
         // setUseGlobalSession设置是否使用全局共享Session
         final JakartaMail mail = JakartaMail.create(mailAccount).setUseGlobalSession(useGlobalSession);
@@ -546,6 +629,28 @@ public class MailUtils {
         return mail.send();
     }
 
+    /**
+     * 构建待投递邮件
+     *
+     * @param tos     收件人列表
+     * @param ccs     抄送人列表
+     * @param bccs    密送人列表
+     * @param subject 邮件标题
+     * @param content 邮件正文
+     * @param isHtml  是否为HTML格式
+     * @return 待投递邮件
+     */
+    private static MailMessage buildMessage(Collection<String> tos, Collection<String> ccs, Collection<String> bccs, String subject, String content, boolean isHtml) {
+        MailMessage message = new MailMessage();
+        message.setTos(tos == null ? null : CollUtil.newArrayList(tos));
+        message.setCcs(CollUtil.isEmpty(ccs) ? null : CollUtil.newArrayList(ccs));
+        message.setBccs(CollUtil.isEmpty(bccs) ? null : CollUtil.newArrayList(bccs));
+        message.setSubject(subject);
+        message.setContent(content);
+        message.setHtml(isHtml);
+        return message;
+    }
+
     /**
      * 将收件人字符串转换为列表
      * 支持逗号和分号两种分隔符
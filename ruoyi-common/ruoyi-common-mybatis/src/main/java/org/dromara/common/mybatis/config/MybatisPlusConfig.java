@@ -1,13 +1,16 @@
 package org.dromara.common.mybatis.config;
 
 import cn.hutool.core.net.NetUtil;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.baomidou.mybatisplus.core.handlers.MetaObjectHandler;
 import com.baomidou.mybatisplus.core.handlers.PostInitTableInfoHandler;
 import com.baomidou.mybatisplus.core.incrementer.DefaultIdentifierGenerator;
 import com.baomidou.mybatisplus.core.incrementer.IdentifierGenerator;
+import com.baomidou.mybatisplus.core.injector.ISqlInjector;
+import com.baomidou.mybatisplus.extension.parser.JsqlParserGlobal;
+import com.baomidou.mybatisplus.extension.parser.cache.JdkSerialCaffeineJsqlParseCache;
 import com.baomidou.mybatisplus.extension.plugins.MybatisPlusInterceptor;
 import com.baomidou.mybatisplus.extension.plugins.inner.OptimisticLockerInnerInterceptor;
-import com.baomidou.mybatisplus.extension.plugins.inner.PaginationInnerInterceptor;
 import com.baomidou.mybatisplus.extension.plugins.inner.TenantLineInnerInterceptor;
 import org.dromara.common.core.factory.YmlPropertySourceFactory;
 import org.dromara.common.core.utils.SpringUtils;
@@ -15,10 +18,15 @@ import org.dromara.common.mybatis.aspect.DataPermissionPointcutAdvisor;
 import org.dromara.common.mybatis.handler.InjectionMetaObjectHandler;
 import org.dromara.common.mybatis.handler.MybatisExceptionHandler;
 import org.dromara.common.mybatis.handler.PlusPostInitTableInfoHandler;
+import org.dromara.common.mybatis.injector.PlusSqlInjector;
 import org.dromara.common.mybatis.interceptor.PlusDataPermissionInterceptor;
+import org.dromara.common.mybatis.interceptor.PlusPaginationInnerInterceptor;
+import org.dromara.common.mybatis.interceptor.PlusRowCapInterceptor;
+import org.dromara.common.mybatis.properties.PaginationProperties;
 import org.mybatis.spring.annotation.MapperScan;
 import org.springframework.beans.BeansException;
 import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.PropertySource;
 import org.springframework.context.annotation.Role;
@@ -33,10 +41,19 @@ import org.springframework.transaction.annotation.EnableTransactionManagement;
 @EnableTransactionManagement(proxyTargetClass = true)
 @MapperScan("${mybatis-plus.mapperPackage}")
 @PropertySource(value = "classpath:common-mybatis.yml", factory = YmlPropertySourceFactory.class)
+@EnableConfigurationProperties(PaginationProperties.class)
 public class MybatisPlusConfig {
 
+    /**
+     * SQL解析缓存上限
+     */
+    private static final int PARSE_CACHE_SIZE = 2048;
+
     @Bean
-    public MybatisPlusInterceptor mybatisPlusInterceptor() {
+    public MybatisPlusInterceptor mybatisPlusInterceptor(PaginationProperties paginationProperties) {
+        // SQL解析缓存 多租户、数据权限、分页插件共用 相同SQL只解析一次 命中时反序列化出副本供各插件改写
+        JsqlParserGlobal.setJsqlParseCache(new JdkSerialCaffeineJsqlParseCache(
+            Caffeine.newBuilder().maximumSize(PARSE_CACHE_SIZE).build()));
         MybatisPlusInterceptor interceptor = new MybatisPlusInterceptor();
         // 多租户插件 必须放到第一位
         try {
@@ -47,7 +64,7 @@ public class MybatisPlusConfig {
         // 数据权限处理
         interceptor.addInnerInterceptor(dataPermissionInterceptor());
         // 分页插件
-        interceptor.addInnerInterceptor(paginationInnerInterceptor());
+        interceptor.addInnerInterceptor(paginationInnerInterceptor(paginationProperties));
         // 乐观锁插件
         interceptor.addInnerInterceptor(optimisticLockerInnerInterceptor());
         return interceptor;
@@ -70,15 +87,23 @@ public class MybatisPlusConfig {
     }
 
     /**
-     * 分页插件，自动识别数据库类型
+     * 分页插件，自动识别数据库类型，按配置选择总数统计方式
      */
-    public PaginationInnerInterceptor paginationInnerInterceptor() {
-        PaginationInnerInterceptor paginationInnerInterceptor = new PaginationInnerInterceptor();
+    public PlusPaginationInnerInterceptor paginationInnerInterceptor(PaginationProperties paginationProperties) {
+        PlusPaginationInnerInterceptor paginationInnerInterceptor = new PlusPaginationInnerInterceptor(paginationProperties);
         // 分页合理化
         paginationInnerInterceptor.setOverflow(true);
         return paginationInnerInterceptor;
     }
 
+    /**
+     * 查询行数保护插件，限制不分页查询的返回行数并记录返回行数指标
+     */
+    @Bean
+    public PlusRowCapInterceptor plusRowCapInterceptor(PaginationProperties paginationProperties) {
+        return new PlusRowCapInterceptor(paginationProperties);
+    }
+
     /**
      * 乐观锁插件
      */
@@ -111,6 +136,14 @@ public class MybatisPlusConfig {
         return new MybatisExceptionHandler();
     }
 
+    /**
+     * SQL注入器，注入多行VALUES批量插入方法
+     */
+    @Bean
+    public ISqlInjector sqlInjector() {
+        return new PlusSqlInjector();
+    }
+
     /**
      * 初始化表对象处理器
      */
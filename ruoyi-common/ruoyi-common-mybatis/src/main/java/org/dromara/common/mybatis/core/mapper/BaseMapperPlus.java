@@ -6,6 +6,8 @@ package org.dromara.common.mybatis.core.mapper;
 import cn.hutool.core.collection.CollUtil;
 // Hutool对象工具类，用于判空
 import cn.hutool.core.util.ObjectUtil;
+// MyBatis-Plus拦截器忽略注解
+import com.baomidou.mybatisplus.annotation.InterceptorIgnore;
 // MyBatis-Plus条件构造器
 import com.baomidou.mybatisplus.core.conditions.Wrapper;
 import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
@@ -13,8 +15,9 @@ import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 // MyBatis-Plus分页接口
 import com.baomidou.mybatisplus.core.metadata.IPage;
-// MyBatis-Plus泛型工具类，用于解析泛型类型
-import com.baomidou.mybatisplus.core.toolkit.reflect.GenericTypeUtils;
+// MyBatis-Plus表信息，用于获取主键列和字段映射
+import com.baomidou.mybatisplus.core.metadata.TableInfo;
+import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
 // MyBatis-Plus分页实现类
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 // MyBatis-Plus数据库工具类，提供批量操作方法
@@ -22,10 +25,18 @@ import com.baomidou.mybatisplus.extension.toolkit.Db;
 // MyBatis日志接口
 import org.apache.ibatis.logging.Log;
 import org.apache.ibatis.logging.LogFactory;
+// MyBatis参数注解
+import org.apache.ibatis.annotations.Param;
 // MapStruct转换工具类，用于实体和VO之间的转换
 import org.dromara.common.core.utils.MapstructUtils;
 // Stream工具类，用于流式处理
 import org.dromara.common.core.utils.StreamUtils;
+// 游标分页与表格分页数据对象
+import org.dromara.common.mybatis.core.page.SeekCursor;
+import org.dromara.common.mybatis.core.page.TableDataInfo;
+// 自动填充处理器与批量写入助手
+import org.dromara.common.mybatis.handler.InjectionMetaObjectHandler;
+import org.dromara.common.mybatis.helper.BatchHelper;
 
 import java.io.Serializable;
 import java.util.Collection;
@@ -54,10 +65,10 @@ public interface BaseMapperPlus<T, V> extends BaseMapper<T> {
      * @return 返回当前实例对象关联的泛型类型 V 的 Class 对象
      */
     // 默认方法：获取VO类的Class对象，用于后续的VO转换
-    // 通过MyBatis-Plus的GenericTypeUtils解析泛型参数
+    // 泛型参数按Mapper代理类缓存，只在首次访问时解析
     default Class<V> currentVoClass() {
-        // 解析当前实现类的泛型参数，返回第二个泛型类型（VO类型）
-        return (Class<V>) GenericTypeUtils.resolveTypeArguments(this.getClass(), BaseMapperPlus.class)[1];
+        // 返回第二个泛型类型（VO类型）
+        return (Class<V>) MapperTypeCache.get(this.getClass())[1];
     }
 
     /**
@@ -67,8 +78,8 @@ public interface BaseMapperPlus<T, V> extends BaseMapper<T> {
      */
     // 默认方法：获取实体类的Class对象
     default Class<T> currentModelClass() {
-        // 解析当前实现类的泛型参数，返回第一个泛型类型（实体类型）
-        return (Class<T>) GenericTypeUtils.resolveTypeArguments(this.getClass(), BaseMapperPlus.class)[0];
+        // 返回第一个泛型类型（实体类型）
+        return (Class<T>) MapperTypeCache.get(this.getClass())[0];
     }
 
     /**
@@ -89,9 +100,9 @@ public interface BaseMapperPlus<T, V> extends BaseMapper<T> {
      * @return 插入操作是否成功的布尔值
      */
     // 默认方法：批量插入实体列表
-    // 使用MyBatis-Plus的Db工具类，自动处理批处理
+    // 非Oracle数据库使用多行VALUES语句，Oracle使用JDBC批处理
     default boolean insertBatch(Collection<T> entityList) {
-        return Db.saveBatch(entityList);
+        return this.insertBatch(entityList, BatchHelper.DEFAULT_BATCH_SIZE);
     }
 
     /**
@@ -102,7 +113,7 @@ public interface BaseMapperPlus<T, V> extends BaseMapper<T> {
      */
     // 默认方法：批量更新实体列表
     default boolean updateBatchById(Collection<T> entityList) {
-        return Db.updateBatchById(entityList);
+        return this.updateBatchById(entityList, BatchHelper.DEFAULT_BATCH_SIZE);
     }
 
     /**
@@ -114,7 +125,7 @@ public interface BaseMapperPlus<T, V> extends BaseMapper<T> {
     // 默认方法：批量插入或更新实体列表
     // 根据主键判断是插入还是更新
     default boolean insertOrUpdateBatch(Collection<T> entityList) {
-        return Db.saveOrUpdateBatch(entityList);
+        return this.insertOrUpdateBatch(entityList, BatchHelper.DEFAULT_BATCH_SIZE);
     }
 
     /**
@@ -125,9 +136,10 @@ public interface BaseMapperPlus<T, V> extends BaseMapper<T> {
      * @return 插入操作是否成功的布尔值
      */
     // 默认方法：批量插入实体列表，指定批处理大小
-    // 控制每次提交的记录数，避免内存溢出
+    // 控制每条语句写入的记录数，同时受数据库绑定参数上限约束
+    // 同一批数据只获取一次登录用户用于自动填充
     default boolean insertBatch(Collection<T> entityList, int batchSize) {
-        return Db.saveBatch(entityList, batchSize);
+        return InjectionMetaObjectHandler.batchFill(() -> BatchHelper.insertBatch(this, entityList, batchSize));
     }
 
     /**
@@ -138,8 +150,9 @@ public interface BaseMapperPlus<T, V> extends BaseMapper<T> {
      * @return 更新操作是否成功的布尔值
      */
     // 默认方法：批量更新实体列表，指定批处理大小
+    // 更新语句随非空字段变化，仍使用JDBC批处理
     default boolean updateBatchById(Collection<T> entityList, int batchSize) {
-        return Db.updateBatchById(entityList, batchSize);
+        return InjectionMetaObjectHandler.batchFill(() -> Db.updateBatchById(entityList, batchSize));
     }
 
     /**
@@ -150,10 +163,24 @@ public interface BaseMapperPlus<T, V> extends BaseMapper<T> {
      * @return 插入或更新操作是否成功的布尔值
      */
     // 默认方法：批量插入或更新实体列表，指定批处理大小
+    // 通过一次IN查询区分插入与更新，避免逐条按主键查询
     default boolean insertOrUpdateBatch(Collection<T> entityList, int batchSize) {
-        return Db.saveOrUpdateBatch(entityList, batchSize);
+        return InjectionMetaObjectHandler.batchFill(() -> BatchHelper.insertOrUpdateBatch(this, entityList, batchSize));
     }
 
+    /**
+     * 多行 VALUES 批量插入，由 {@link org.dromara.common.mybatis.injector.PlusSqlInjector} 注入
+     * 请使用 {@link #insertBatch(Collection)}，列与占位符由 {@link BatchHelper} 生成
+     * 租户列由 {@link BatchHelper} 生成语句时补充，不经过多租户插件解析
+     *
+     * @param columns    插入列
+     * @param values     与插入列对应的参数占位符
+     * @param entityList 实体对象集合
+     * @return 插入行数
+     */
+    @InterceptorIgnore(tenantLine = "true")
+    int insertBatchValues(@Param("columns") List<String> columns, @Param("values") List<String> values, @Param("rows") List<T> entityList);
+
     /**
      * 根据ID查询单个VO对象
      *
@@ -215,7 +242,7 @@ public interface BaseMapperPlus<T, V> extends BaseMapper<T> {
             return CollUtil.newArrayList();
         }
         // 使用MapStruct批量转换为VO列表
-        return MapstructUtils.convert(list, voClass);
+        return MapstructUtils.convertList(list, voClass);
     }
 
     /**
@@ -247,7 +274,7 @@ public interface BaseMapperPlus<T, V> extends BaseMapper<T> {
             return CollUtil.newArrayList();
         }
         // 使用MapStruct批量转换为VO列表
-        return MapstructUtils.convert(list, voClass);
+        return MapstructUtils.convertList(list, voClass);
     }
 
     /**
@@ -350,7 +377,7 @@ public interface BaseMapperPlus<T, V> extends BaseMapper<T> {
             return CollUtil.newArrayList();
         }
         // 使用MapStruct批量转换为VO列表
-        return MapstructUtils.convert(list, voClass);
+        return MapstructUtils.convertList(list, voClass);
     }
 
     /**
@@ -378,8 +405,9 @@ public interface BaseMapperPlus<T, V> extends BaseMapper<T> {
      */
     // 默认方法：分页查询记录并转换为指定VO类分页对象
     default <C, P extends IPage<C>> P selectVoPage(IPage<T> page, Wrapper<T> wrapper, Class<C> voClass) {
-        // 根据条件分页查询实体对象列表
-        List<T> list = this.selectList(page, wrapper);
+        // 根据条件分页查询实体对象列表，回填到分页对象以便按统计方式修正当前页数据与总数
+        page.setRecords(this.selectList(page, wrapper));
+        List<T> list = page.getRecords();
         // 创建一个新的VO对象分页列表，并设置分页信息
         IPage<C> voPage = new Page<>(page.getCurrent(), page.getSize(), page.getTotal());
         // 如果结果为空直接返回空分页对象
@@ -387,10 +415,51 @@ public interface BaseMapperPlus<T, V> extends BaseMapper<T> {
             return (P) voPage;
         }
         // 使用MapStruct批量转换为VO列表并设置到分页对象
-        voPage.setRecords(MapstructUtils.convert(list, voClass));
+        voPage.setRecords(MapstructUtils.convertList(list, voClass));
         return (P) voPage;
     }
 
+    /**
+     * 根据条件游标分页查询VO对象列表
+     * 查询条件中的排序改写为排序键比较条件，深分页不再扫描前面的记录，且不执行COUNT
+     *
+     * @param wrapper 查询条件Wrapper，排序规则取自其中的ORDER BY，未包含主键时自动追加
+     * @param cursor  上一页返回的游标，为空时查询第一页
+     * @param size    每页大小
+     * @return 查询到的VO对象列表与下一页游标
+     */
+    default TableDataInfo<V> selectVoSeekPage(Wrapper<T> wrapper, String cursor, long size) {
+        return selectVoSeekPage(wrapper, cursor, size, this.currentVoClass());
+    }
+
+    /**
+     * 根据条件游标分页查询实体对象列表，并将其转换为指定的VO对象列表
+     *
+     * @param wrapper 查询条件Wrapper，排序规则取自其中的ORDER BY，未包含主键时自动追加
+     * @param cursor  上一页返回的游标，为空时查询第一页
+     * @param size    每页大小
+     * @param voClass 要转换的VO类的Class对象
+     * @param <C>     VO类的类型
+     * @return 查询到的VO对象列表与下一页游标
+     */
+    default <C> TableDataInfo<C> selectVoSeekPage(Wrapper<T> wrapper, String cursor, long size, Class<C> voClass) {
+        TableInfo tableInfo = TableInfoHelper.getTableInfo(this.currentModelClass());
+        SeekCursor seek = SeekCursor.of(wrapper, tableInfo.getKeyColumn(), cursor);
+        List<T> list = this.selectList(seek.page(size), wrapper);
+        // 按列名找到实体属性，读取最后一条记录的排序键
+        String nextCursor = seek.next(list, (row, column) -> {
+            if (column.equalsIgnoreCase(tableInfo.getKeyColumn())) {
+                return tableInfo.getPropertyValue(row, tableInfo.getKeyProperty());
+            }
+            return tableInfo.getFieldList().stream()
+                .filter(field -> column.equalsIgnoreCase(field.getColumn()))
+                .findFirst()
+                .map(field -> tableInfo.getPropertyValue(row, field.getProperty()))
+                .orElse(null);
+        });
+        return TableDataInfo.buildSeek(MapstructUtils.convertList(list, voClass), nextCursor);
+    }
+
     /**
      * 根据条件查询符合条件的对象，并将其转换为指定类型的对象列表
      *
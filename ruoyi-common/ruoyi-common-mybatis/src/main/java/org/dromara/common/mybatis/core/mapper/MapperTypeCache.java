@@ -0,0 +1,36 @@
+package org.dromara.common.mybatis.core.mapper;
+
+import com.baomidou.mybatisplus.core.toolkit.reflect.GenericTypeUtils;
+
+/**
+ * Mapper 泛型类型缓存
+ * 按 Mapper 代理类缓存 {@link BaseMapperPlus} 的实体与 VO 泛型，每个 Mapper 只解析一次
+ *
+ * @author Lion Li
+ */
+final class MapperTypeCache {
+
+    /**
+     * Mapper 代理类 -> [实体类型, VO 类型]
+     */
+    private static final ClassValue<Class<?>[]> TYPES = new ClassValue<>() {
+        @Override
+        protected Class<?>[] computeValue(Class<?> mapperClass) {
+            return GenericTypeUtils.resolveTypeArguments(mapperClass, BaseMapperPlus.class);
+        }
+    };
+
+    private MapperTypeCache() {
+    }
+
+    /**
+     * 获取 Mapper 的泛型类型
+     *
+     * @param mapperClass Mapper 代理类
+     * @return [实体类型, VO 类型]
+     */
+    static Class<?>[] get(Class<?> mapperClass) {
+        return TYPES.get(mapperClass);
+    }
+
+}
@@ -16,10 +16,16 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Data;
 // 业务异常类
 import org.dromara.common.core.exception.ServiceException;
+// Spring工具类，用于读取分页配置
+import org.dromara.common.core.utils.SpringUtils;
 // 字符串工具类
 import org.dromara.common.core.utils.StringUtils;
 // SQL工具类，用于SQL注入防护
 import org.dromara.common.core.utils.sql.SqlUtil;
+// 分页总数统计方式
+import org.dromara.common.mybatis.enums.PageCountMode;
+// 分页配置属性
+import org.dromara.common.mybatis.properties.PaginationProperties;
 
 import java.io.Serial;
 import java.io.Serializable;
@@ -63,31 +69,46 @@ public class PageQuery implements Serializable {
      */
     private String isAsc;
 
+    /**
+     * 游标，传入时使用游标分页（首页传空字符串），取值为上一页返回的nextCursor
+     * 游标分页按主键等固定排序，忽略pageNum与排序参数
+     */
+    private String cursor;
+
     /**
      * 当前记录起始索引默认值，第一页
      */
     public static final int DEFAULT_PAGE_NUM = 1;
 
     /**
-     * 每页显示记录数默认值，默认查全部（Integer.MAX_VALUE）
+     * 每页显示记录数默认值，未传分页大小时只查询一页，避免误加载全表
      */
-    public static final int DEFAULT_PAGE_SIZE = Integer.MAX_VALUE;
+    public static final int DEFAULT_PAGE_SIZE = 10;
 
     /**
      * 构建分页对象
      */
     // 构建MyBatis-Plus的Page对象，设置分页参数和排序规则
     public <T> Page<T> build() {
+        return build(null);
+    }
+
+    /**
+     * 构建分页对象并指定总数统计方式
+     *
+     * @param countMode 总数统计方式，为空时使用全局配置
+     */
+    public <T> Page<T> build(PageCountMode countMode) {
         // 获取页码，如果为null使用默认值1
         Integer pageNum = ObjectUtil.defaultIfNull(getPageNum(), DEFAULT_PAGE_NUM);
-        // 获取每页大小，如果为null使用默认值Integer.MAX_VALUE（查询全部）
+        // 获取每页大小，如果为null使用默认值
         Integer pageSize = ObjectUtil.defaultIfNull(getPageSize(), DEFAULT_PAGE_SIZE);
         // 页码不能小于等于0，否则设置为默认值1
         if (pageNum <= 0) {
             pageNum = DEFAULT_PAGE_NUM;
         }
         // 创建Page对象，设置当前页和每页大小
-        Page<T> page = new Page<>(pageNum, pageSize);
+        Page<T> page = new PlusPage<>(pageNum, pageSize, countMode);
         // 构建排序规则
         List<OrderItem> orderItems = buildOrderItem();
         // 如果排序规则不为空，添加到Page对象
@@ -158,6 +179,25 @@ public class PageQuery implements Serializable {
         return (pageNum - 1) * pageSize;
     }
 
+    /**
+     * 是否使用游标分页
+     */
+    @JsonIgnore
+    public boolean isSeek() {
+        return cursor != null;
+    }
+
+    /**
+     * 游标分页每页大小
+     * 限制在 1 到单页最大条数之间，游标分页不经过 PlusPage 的截断
+     */
+    @JsonIgnore
+    public long getSeekSize() {
+        long size = Math.max(1, ObjectUtil.defaultIfNull(getPageSize(), DEFAULT_PAGE_SIZE));
+        long maxLimit = SpringUtils.getBean(PaginationProperties.class).getMaxLimit();
+        return maxLimit > 0 ? Math.min(size, maxLimit) : size;
+    }
+
     // 构造函数：创建分页查询对象
     public PageQuery(Integer pageSize, Integer pageNum) {
         this.pageSize = pageSize;
@@ -0,0 +1,84 @@
+// 定义分页对象的包路径，属于MyBatis-Plus核心分页组件
+package org.dromara.common.mybatis.core.page;
+
+// MyBatis-Plus分页对象
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+// Lombok注解，生成getter方法
+import lombok.Getter;
+// 分页总数统计方式
+import org.dromara.common.mybatis.enums.PageCountMode;
+
+import java.io.Serial;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 扩展分页对象
+ * 携带总数统计方式，由分页插件按方式统计总数
+ * HAS_NEXT 方式下分页插件多查一条，回填结果时截掉多出的一条并推算总数
+ *
+ * @author Lion Li
+ */
+@Getter
+public class PlusPage<T> extends Page<T> {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 总数统计方式，为空时使用全局配置
+     */
+    private final PageCountMode countMode;
+
+    /**
+     * 多查一条时的实际每页大小，未多查时为 -1
+     */
+    private long probeSize = -1;
+
+    public PlusPage(long current, long size, PageCountMode countMode) {
+        super(current, size);
+        this.countMode = countMode;
+    }
+
+    /**
+     * 改为多查一条且不执行 COUNT，由分页插件调用
+     */
+    public void probeNext() {
+        this.probeSize = getSize();
+        setSize(probeSize + 1);
+        // 多查的一条不受单页最大条数限制
+        setMaxLimit(probeSize + 1);
+        setSearchCount(false);
+    }
+
+    /**
+     * 多查一条时仍按实际每页大小计算偏移量
+     */
+    @Override
+    public long offset() {
+        if (probeSize < 0) {
+            return super.offset();
+        }
+        return getCurrent() <= 1 ? 0L : (getCurrent() - 1) * probeSize;
+    }
+
+    /**
+     * 回填查询结果，多查一条时截掉多出的一条并推算总数
+     */
+    @Override
+    public Page<T> setRecords(List<T> records) {
+        if (probeSize >= 0 && records != null) {
+            long pageSize = probeSize;
+            boolean hasNext = records.size() > pageSize;
+            if (hasNext) {
+                records = new ArrayList<>(records.subList(0, (int) pageSize));
+            }
+            long offset = offset();
+            probeSize = -1;
+            setSize(pageSize);
+            setTotal(offset + records.size() + (hasNext ? 1 : 0));
+        }
+        return super.setRecords(records);
+    }
+
+}
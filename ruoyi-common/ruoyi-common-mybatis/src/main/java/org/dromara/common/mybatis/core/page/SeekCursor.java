@@ -0,0 +1,224 @@
+// 定义游标分页对象的包路径，属于MyBatis-Plus核心分页组件
+package org.dromara.common.mybatis.core.page;
+
+// Hutool Base64编解码工具类
+import cn.hutool.core.codec.Base64;
+// Hutool Bean工具类，用于读取属性值
+import cn.hutool.core.bean.BeanUtil;
+// MyBatis-Plus条件构造器
+import com.baomidou.mybatisplus.core.conditions.AbstractWrapper;
+import com.baomidou.mybatisplus.core.conditions.Wrapper;
+// MyBatis-Plus排序项
+import com.baomidou.mybatisplus.core.metadata.OrderItem;
+// MyBatis-Plus分页对象
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+// 业务异常类
+import org.dromara.common.core.exception.ServiceException;
+// 字符串工具类
+import org.dromara.common.core.utils.StringUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.StringJoiner;
+import java.util.function.BiFunction;
+
+/**
+ * 游标（键集）分页
+ * 将查询条件中的 ORDER BY 改写为 (排序列, 主键) &lt; (?, ?) 形式的比较条件，只查询一页加一条数据且不执行 COUNT
+ * 比较条件展开为 OR 形式，兼容不支持行值比较的 Oracle、SQLServer
+ * 游标为上一页最后一条记录的排序键，对前端不透明
+ *
+ * @author Lion Li
+ */
+public class SeekCursor {
+
+    /**
+     * 排序列，最后一列为主键
+     */
+    private final List<String> columns = new ArrayList<>();
+
+    /**
+     * 排序方向，与排序列一一对应
+     */
+    private final List<Boolean> ascs = new ArrayList<>();
+
+    /**
+     * 主键排序项，查询条件中未按主键排序时由分页对象追加
+     */
+    private OrderItem keyOrder;
+
+    /**
+     * 分页对象，分页插件按单页上限截断后的大小即实际查询条数
+     */
+    private Page<?> page;
+
+    private SeekCursor() {
+    }
+
+    /**
+     * 解析查询条件中的排序并追加游标条件
+     *
+     * @param wrapper   查询条件，仅支持 QueryWrapper 和 LambdaQueryWrapper
+     * @param keyColumn 主键列，用于保证排序唯一
+     * @param cursor    上一页返回的游标，为空时查询第一页
+     * @return 游标分页对象
+     */
+    public static SeekCursor of(Wrapper<?> wrapper, String keyColumn, String cursor) {
+        if (!(wrapper instanceof AbstractWrapper<?, ?, ?> abstractWrapper)) {
+            throw new ServiceException("游标分页不支持当前查询条件类型");
+        }
+        SeekCursor seek = new SeekCursor();
+        String orderBy = StringUtils.trim(abstractWrapper.getExpression().getOrderBy().getSqlSegment());
+        if (StringUtils.startsWithIgnoreCase(orderBy, "ORDER BY")) {
+            for (String item : StringUtils.split(orderBy.substring("ORDER BY".length()), StringUtils.SEPARATOR)) {
+                String[] parts = StringUtils.split(item.trim());
+                seek.columns.add(parts[0]);
+                seek.ascs.add(parts.length < 2 || !"DESC".equalsIgnoreCase(parts[1]));
+                // 主键之后的排序列不影响顺序
+                if (parts[0].equalsIgnoreCase(keyColumn)) {
+                    break;
+                }
+            }
+        }
+        // 未按主键排序时追加主键排序，方向与最后一个排序列一致
+        if (seek.columns.isEmpty() || !seek.columns.get(seek.columns.size() - 1).equalsIgnoreCase(keyColumn)) {
+            boolean asc = !seek.ascs.isEmpty() && seek.ascs.get(seek.ascs.size() - 1);
+            seek.columns.add(keyColumn);
+            seek.ascs.add(asc);
+            seek.keyOrder = asc ? OrderItem.asc(keyColumn) : OrderItem.desc(keyColumn);
+        }
+        if (StringUtils.isNotBlank(cursor)) {
+            abstractWrapper.apply(seek.buildCondition(), seek.decode(cursor).toArray());
+        }
+        return seek;
+    }
+
+    /**
+     * 构建分页对象，多查一条用于判断是否存在下一页，不执行 COUNT
+     *
+     * @param size 每页大小
+     * @return 分页对象
+     */
+    public <T> Page<T> page(long size) {
+        Page<T> page = new Page<>(1, Math.max(1, size) + 1, false);
+        if (keyOrder != null) {
+            page.addOrder(keyOrder);
+        }
+        this.page = page;
+        return page;
+    }
+
+    /**
+     * 截取当前页数据并生成下一页游标，属性名由列名转驼峰得到
+     *
+     * @param rows 查询结果，多出的一条会被移除
+     * @return 下一页游标，没有下一页时返回null
+     */
+    public <R> String next(List<R> rows) {
+        return next(rows, (row, column) ->
+            BeanUtil.getFieldValue(row, StringUtils.toCamelCase(StringUtils.substringAfterLast("." + column, "."))));
+    }
+
+    /**
+     * 截取当前页数据并生成下一页游标
+     *
+     * @param rows        查询结果，多出的一条会被移除
+     * @param valueGetter 按列名读取记录中排序键的函数
+     * @return 下一页游标，没有下一页时返回null
+     */
+    public <R> String next(List<R> rows, BiFunction<R, String, Object> valueGetter) {
+        // 实际每页大小为查询条数减去多查的一条
+        if (rows.size() <= page.getSize() - 1) {
+            return null;
+        }
+        rows.remove(rows.size() - 1);
+        // 单页上限被配置为1时截断后没有数据
+        if (rows.isEmpty()) {
+            return null;
+        }
+        R last = rows.get(rows.size() - 1);
+        StringJoiner joiner = new StringJoiner(StringUtils.SEPARATOR);
+        for (String column : columns) {
+            joiner.add(encodeValue(valueGetter.apply(last, column)));
+        }
+        return Base64.encodeUrlSafe(joiner.toString());
+    }
+
+    /**
+     * 构建游标条件
+     * 如 (a, b, id) 降序时为 (a &lt; {0} OR (a = {0} AND b &lt; {1}) OR (a = {0} AND b = {1} AND id &lt; {2}))
+     */
+    private String buildCondition() {
+        StringBuilder sql = new StringBuilder("(");
+        for (int i = 0; i < columns.size(); i++) {
+            if (i > 0) {
+                sql.append(" OR ");
+            }
+            sql.append("(");
+            for (int j = 0; j < i; j++) {
+                sql.append(columns.get(j)).append(" = {").append(j).append("} AND ");
+            }
+            sql.append(columns.get(i)).append(ascs.get(i) ? " > {" : " < {").append(i).append("})");
+        }
+        return sql.append(")").toString();
+    }
+
+    /**
+     * 编码排序键，以类型前缀保留取值类型，避免日期、小数等类型在比较时丢失精度
+     */
+    private static String encodeValue(Object value) {
+        if (value == null) {
+            throw new ServiceException("排序字段值为空，无法生成分页游标");
+        }
+        if (value instanceof Date date) {
+            return "D" + date.getTime();
+        }
+        if (value instanceof LocalDateTime dateTime) {
+            return "T" + dateTime;
+        }
+        if (value instanceof BigDecimal decimal) {
+            return "B" + decimal.toPlainString();
+        }
+        if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return "L" + value;
+        }
+        if (value instanceof Number number) {
+            // 浮点数、BigInteger等按精确的十进制值编码
+            return "B" + new BigDecimal(number.toString()).toPlainString();
+        }
+        return "S" + Base64.encodeUrlSafe(value.toString());
+    }
+
+    /**
+     * 解码游标
+     */
+    private List<Object> decode(String cursor) {
+        try {
+            String[] items = StringUtils.split(Base64.decodeStr(cursor), StringUtils.SEPARATOR);
+            if (items.length != columns.size()) {
+                throw new ServiceException("分页游标无效");
+            }
+            List<Object> values = new ArrayList<>(items.length);
+            for (String item : items) {
+                String value = item.substring(1);
+                values.add(switch (item.charAt(0)) {
+                    case 'D' -> new Date(Long.parseLong(value));
+                    case 'T' -> LocalDateTime.parse(value);
+                    case 'B' -> new BigDecimal(value);
+                    case 'L' -> Long.parseLong(value);
+                    case 'S' -> Base64.decodeStr(value);
+                    default -> throw new ServiceException("分页游标无效");
+                });
+            }
+            return values;
+        } catch (ServiceException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            throw new ServiceException("分页游标无效");
+        }
+    }
+
+}
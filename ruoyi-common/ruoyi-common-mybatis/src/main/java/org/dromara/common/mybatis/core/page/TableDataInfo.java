@@ -60,6 +60,12 @@ public class TableDataInfo<T> implements Serializable {
      */
     private String msg;
 
+    /**
+     * 下一页游标
+     * 游标分页时返回，为空表示没有下一页
+     */
+    private String nextCursor;
+
     /**
      * 分页构造函数
      * 用于手动构建分页结果
@@ -122,6 +128,24 @@ public class TableDataInfo<T> implements Serializable {
         return rspData;
     }
 
+    /**
+     * 构建游标分页数据对象
+     * 游标分页不统计总记录数，前端根据nextCursor判断是否存在下一页
+     *
+     * @param list       当前页数据
+     * @param nextCursor 下一页游标
+     * @param <T>        数据类型
+     * @return 构造好的TableDataInfo对象
+     */
+    public static <T> TableDataInfo<T> buildSeek(List<T> list, String nextCursor) {
+        TableDataInfo<T> rspData = new TableDataInfo<>();
+        rspData.setCode(HttpStatus.HTTP_OK);
+        rspData.setMsg("查询成功");
+        rspData.setRows(list);
+        rspData.setNextCursor(nextCursor);
+        return rspData;
+    }
+
     /**
      * 构建空的分页数据对象
      * 用于返回空数据场景
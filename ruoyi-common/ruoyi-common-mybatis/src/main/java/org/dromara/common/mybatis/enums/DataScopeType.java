@@ -42,8 +42,9 @@ public enum DataScopeType {
 
     /**
      * 部门及以下数据权限
+     * 通过部门层级关系表 sys_dept_closure 子查询过滤，不展开部门ID列表
      */
-    DEPT_AND_CHILD("4", " #{#deptName} IN ( #{@sdss.getDeptAndChild( #user.deptId )} )", " 1 = 0 "),
+    DEPT_AND_CHILD("4", " #{#deptName} IN ( SELECT descendant_id FROM sys_dept_closure WHERE ancestor_id = #{#user.deptId} ) ", " 1 = 0 "),
 
     /**
      * 仅本人数据权限
@@ -52,8 +53,9 @@ public enum DataScopeType {
 
     /**
      * 部门及以下或本人数据权限
+     * 通过部门层级关系表 sys_dept_closure 子查询过滤，不展开部门ID列表
      */
-    DEPT_AND_CHILD_OR_SELF("6", " #{#deptName} IN ( #{@sdss.getDeptAndChild( #user.deptId )} ) OR #{#userName} = #{#user.userId} ", " 1 = 0 ");
+    DEPT_AND_CHILD_OR_SELF("6", " #{#deptName} IN ( SELECT descendant_id FROM sys_dept_closure WHERE ancestor_id = #{#user.deptId} ) OR #{#userName} = #{#user.userId} ", " 1 = 0 ");
 
     private final String code;
 
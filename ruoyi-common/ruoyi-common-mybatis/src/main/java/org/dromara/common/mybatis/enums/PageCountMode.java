@@ -0,0 +1,33 @@
+package org.dromara.common.mybatis.enums;
+
+/**
+ * 分页总数统计方式
+ *
+ * @author Lion Li
+ */
+public enum PageCountMode {
+
+    /**
+     * 每次分页都精确执行 COUNT
+     */
+    EXACT,
+
+    /**
+     * 精确执行 COUNT，结果按 SQL + 参数 + 数据源短时缓存
+     * 相同条件翻页时不重复统计
+     */
+    CACHED,
+
+    /**
+     * 单表且无任何过滤条件时读取数据库执行计划的行数估算（MySQL、PostgreSQL）
+     * 不满足条件时退化为 CACHED
+     */
+    ESTIMATE,
+
+    /**
+     * 不执行 COUNT，多查一条判断是否存在下一页
+     * 总数为 已翻过的条数 + 当前页条数 (+1 表示存在下一页)
+     */
+    HAS_NEXT
+
+}
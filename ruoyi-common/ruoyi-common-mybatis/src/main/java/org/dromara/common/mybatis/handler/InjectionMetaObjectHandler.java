@@ -24,6 +24,8 @@ import org.dromara.common.satoken.utils.LoginHelper;
 
 // Java日期类，用于记录创建时间和更新时间
 import java.util.Date;
+// Java函数式接口
+import java.util.function.Supplier;
 
 /**
  * MyBatis-Plus元对象字段自动填充处理器
@@ -44,6 +46,30 @@ public class InjectionMetaObjectHandler implements MetaObjectHandler {
      */
     private static final Long DEFAULT_USER_ID = -1L;
 
+    /**
+     * 批量填充上下文，批量写入期间登录用户与当前时间只获取一次
+     */
+    private static final ThreadLocal<FillContext> BATCH_CONTEXT = new ThreadLocal<>();
+
+    /**
+     * 在批量填充上下文中执行批量写入
+     * 同一批数据共用一次登录用户查询与同一填充时间，嵌套调用时沿用外层上下文
+     *
+     * @param supplier 批量写入逻辑
+     * @return 批量写入结果
+     */
+    public static <R> R batchFill(Supplier<R> supplier) {
+        if (BATCH_CONTEXT.get() != null) {
+            return supplier.get();
+        }
+        BATCH_CONTEXT.set(new FillContext(getLoginUser(), System.currentTimeMillis()));
+        try {
+            return supplier.get();
+        } finally {
+            BATCH_CONTEXT.remove();
+        }
+    }
+
     /**
      * 插入填充方法，用于在插入数据时自动填充实体对象中的创建时间、更新时间、创建人、更新人等信息
      * 该方法在MyBatis-Plus执行insert操作前自动调用
@@ -58,7 +84,8 @@ public class InjectionMetaObjectHandler implements MetaObjectHandler {
                 // 获取当前时间作为创建时间和更新时间
                 // 如果实体中createTime字段已经有值（手动设置），则使用已有值，否则使用当前时间
                 // 这样可以支持导入历史数据时保留原始创建时间
-                Date current = ObjectUtils.notNull(baseEntity.getCreateTime(), new Date());
+                FillContext context = BATCH_CONTEXT.get();
+                Date current = ObjectUtils.notNull(baseEntity.getCreateTime(), context != null ? new Date(context.now()) : new Date());
                 // 设置创建时间
                 baseEntity.setCreateTime(current);
                 // 设置更新时间（插入时创建时间和更新时间相同）
@@ -66,8 +93,8 @@ public class InjectionMetaObjectHandler implements MetaObjectHandler {
 
                 // 判断创建人字段是否为空，如果为空则自动填充当前登录用户
                 if (ObjectUtil.isNull(baseEntity.getCreateBy())) {
-                    // 获取当前登录用户信息
-                    LoginUser loginUser = getLoginUser();
+                    // 获取当前登录用户信息，批量写入时使用上下文中的登录用户
+                    LoginUser loginUser = context != null ? context.loginUser() : getLoginUser();
                     // 如果用户已登录
                     if (ObjectUtil.isNotNull(loginUser)) {
                         // 获取用户ID
@@ -114,12 +141,15 @@ public class InjectionMetaObjectHandler implements MetaObjectHandler {
             if (ObjectUtil.isNotNull(metaObject) && metaObject.getOriginalObject() instanceof BaseEntity baseEntity) {
                 // 获取当前时间作为更新时间
                 // 更新操作总是使用当前时间，覆盖原有值
-                Date current = new Date();
+                FillContext context = BATCH_CONTEXT.get();
+                Date current = context != null ? new Date(context.now()) : new Date();
                 // 设置更新时间
                 baseEntity.setUpdateTime(current);
 
-                // 获取当前登录用户的ID
-                Long userId = LoginHelper.getUserId();
+                // 获取当前登录用户的ID，批量写入时使用上下文中的登录用户
+                Long userId = context != null
+                    ? (context.loginUser() != null ? context.loginUser().getUserId() : null)
+                    : LoginHelper.getUserId();
                 // 如果用户已登录，填充更新人
                 if (ObjectUtil.isNotNull(userId)) {
                     baseEntity.setUpdateBy(userId);
@@ -144,7 +174,7 @@ public class InjectionMetaObjectHandler implements MetaObjectHandler {
      *
      * @return 当前登录用户的信息，如果用户未登录则返回 null
      */
-    private LoginUser getLoginUser() {
+    private static LoginUser getLoginUser() {
         LoginUser loginUser;
         try {
             // 调用LoginHelper获取当前登录用户
@@ -156,4 +186,13 @@ public class InjectionMetaObjectHandler implements MetaObjectHandler {
         return loginUser;
     }
 
+    /**
+     * 批量填充上下文
+     *
+     * @param loginUser 当前登录用户，未登录时为null
+     * @param now       填充时间（毫秒时间戳）
+     */
+    private record FillContext(LoginUser loginUser, long now) {
+    }
+
 }
@@ -13,6 +13,8 @@ import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
 // 统一响应结果类
 import org.dromara.common.core.domain.R;
+// 业务异常类
+import org.dromara.common.core.exception.ServiceException;
 // MyBatis系统异常，MyBatis操作失败时抛出
 import org.mybatis.spring.MyBatisSystemException;
 // Spring数据访问异常，主键重复时抛出
@@ -84,6 +86,12 @@ public class MybatisExceptionHandler {
             return R.fail(HttpStatus.HTTP_INTERNAL_ERROR, "未找到数据源，请联系管理员确认");
         }
         
+        // 判断根本原因是否为业务异常（如查询结果超过最大返回行数）
+        if (root instanceof ServiceException se) {
+            log.error("请求地址'{}',{}", requestURI, se.getMessage());
+            return R.fail(se.getMessage());
+        }
+
         // 其他MyBatis系统异常，记录详细错误日志
         log.error("请求地址'{}', Mybatis系统异常", requestURI, e);
         // 返回服务器错误响应，包含异常消息
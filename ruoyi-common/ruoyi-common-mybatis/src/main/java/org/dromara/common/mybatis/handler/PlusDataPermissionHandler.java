@@ -23,10 +23,13 @@ import org.dromara.common.satoken.utils.LoginHelper;
 import org.springframework.context.expression.BeanFactoryResolver;
 import org.springframework.expression.*;
 import org.springframework.expression.common.TemplateParserContext;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelParserConfiguration;
 import org.springframework.expression.spel.standard.SpelExpressionParser;
 import org.springframework.expression.spel.support.StandardEvaluationContext;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 
 /**
@@ -39,10 +42,15 @@ import java.util.function.Function;
 public class PlusDataPermissionHandler {
 
     /**
-     * spel 解析器
+     * spel 解析器 开启混合编译模式 多次执行后编译为字节码 无法编译的节点仍解释执行
      */
-    private final ExpressionParser parser = new SpelExpressionParser();
+    private final ExpressionParser parser = new SpelExpressionParser(
+        new SpelParserConfiguration(SpelCompilerMode.MIXED, PlusDataPermissionHandler.class.getClassLoader()));
     private final ParserContext parserContext = new TemplateParserContext();
+    /**
+     * 已解析的 sql 模板 每个模板只解析一次
+     */
+    private final Map<String, org.springframework.expression.Expression> templateCache = new ConcurrentHashMap<>();
     /**
      * bean解析器 用于处理 spel 表达式中对 bean 的调用
      */
@@ -56,6 +64,16 @@ public class PlusDataPermissionHandler {
      * @return 数据过滤条件的 SQL 片段
      */
     public Expression getSqlSegment(Expression where, boolean isSelect) {
+        return appendFilter(where, getFilter(isSelect));
+    }
+
+    /**
+     * 获取当前数据权限的过滤条件
+     *
+     * @param isSelect 是否为查询语句
+     * @return 过滤条件，超级管理员、租户管理员或全部数据权限时返回 null
+     */
+    public Expression getFilter(boolean isSelect) {
         try {
             // 获取数据权限配置
             DataPermission dataPermission = getDataPermission();
@@ -67,21 +85,20 @@ public class PlusDataPermissionHandler {
             }
             // 如果是超级管理员或租户管理员，则不过滤数据
             if (LoginHelper.isSuperAdmin() || LoginHelper.isTenantAdmin()) {
-                return where;
-            }
-            // 构造数据过滤条件的 SQL 片段
-            String dataFilterSql = buildDataFilter(dataPermission, isSelect);
-            if (StringUtils.isBlank(dataFilterSql)) {
-                return where;
+                return null;
             }
-            Expression expression = CCJSqlParserUtil.parseExpression(dataFilterSql);
-            // 数据权限使用单独的括号 防止与其他条件冲突
-            ParenthesedExpressionList<Expression> parenthesis = new ParenthesedExpressionList<>(expression);
-            if (ObjectUtil.isNotNull(where)) {
-                return new AndExpression(where, parenthesis);
-            } else {
-                return parenthesis;
+            // 同一请求内相同注解、变量的过滤条件只构建与解析一次
+            FilterKey key = new FilterKey(dataPermission, isSelect, currentUser.getUserId(), variables());
+            Map<FilterKey, Optional<Expression>> filterCache = DataPermissionHelper.getFilterCache();
+            Optional<Expression> filter = filterCache.get(key);
+            if (filter == null) {
+                // 构造数据过滤条件的 SQL 片段
+                String dataFilterSql = buildDataFilter(dataPermission, isSelect);
+                filter = StringUtils.isBlank(dataFilterSql)
+                    ? Optional.empty() : Optional.of(CCJSqlParserUtil.parseExpression(dataFilterSql));
+                filterCache.put(key, filter);
             }
+            return filter.orElse(null);
         } catch (JSQLParserException e) {
             throw new ServiceException("数据权限解析异常 => " + e.getMessage());
         } finally {
@@ -89,6 +106,26 @@ public class PlusDataPermissionHandler {
         }
     }
 
+    /**
+     * 将过滤条件追加到原始查询条件
+     *
+     * @param where  原始的查询条件表达式
+     * @param filter 数据过滤条件
+     * @return 追加后的查询条件
+     */
+    public static Expression appendFilter(Expression where, Expression filter) {
+        if (ObjectUtil.isNull(filter)) {
+            return where;
+        }
+        // 数据权限使用单独的括号 防止与其他条件冲突
+        ParenthesedExpressionList<Expression> parenthesis = new ParenthesedExpressionList<>(filter);
+        if (ObjectUtil.isNotNull(where)) {
+            return new AndExpression(where, parenthesis);
+        } else {
+            return parenthesis;
+        }
+    }
+
     /**
      * 构建数据过滤条件的 SQL 语句
      *
@@ -161,7 +198,7 @@ public class PlusDataPermissionHandler {
                 }
                 // 忽略数据权限 防止spel表达式内有其他sql查询导致死循环调用
                 String sql = DataPermissionHelper.ignore(() ->
-                    parser.parseExpression(type.getSqlTemplate(), parserContext).getValue(context, String.class)
+                    getTemplate(type.getSqlTemplate()).getValue(context, String.class)
                 );
                 // 解析sql模板并填充
                 conditions.add(joinStr + sql);
@@ -180,6 +217,22 @@ public class PlusDataPermissionHandler {
         return StringUtils.EMPTY;
     }
 
+    /**
+     * 获取已解析的 sql 模板
+     */
+    private org.springframework.expression.Expression getTemplate(String template) {
+        return templateCache.computeIfAbsent(template, t -> parser.parseExpression(t, parserContext));
+    }
+
+    /**
+     * 获取除当前用户外的数据权限上下文变量 用于区分过滤条件缓存
+     */
+    private Map<String, Object> variables() {
+        Map<String, Object> variables = new HashMap<>(DataPermissionHelper.getContext());
+        variables.remove("user");
+        return variables;
+    }
+
     /**
      * 根据映射语句 ID 或类名获取对应的 DataPermission 注解对象
      *
@@ -198,6 +251,17 @@ public class PlusDataPermissionHandler {
         return getDataPermission() == null;
     }
 
+    /**
+     * 数据过滤条件缓存键
+     *
+     * @param dataPermission 数据权限注解
+     * @param isSelect       是否为查询语句
+     * @param userId         当前用户
+     * @param variables      数据权限上下文变量
+     */
+    private record FilterKey(DataPermission dataPermission, boolean isSelect, Long userId, Map<String, Object> variables) {
+    }
+
     /**
      * 对所有null变量找不到的变量返回默认值
      */
@@ -0,0 +1,283 @@
+package org.dromara.common.mybatis.helper;
+
+import cn.hutool.core.convert.Convert;
+import cn.hutool.core.util.ObjectUtil;
+import com.baomidou.mybatisplus.annotation.FieldStrategy;
+import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.core.conditions.query.QueryWrapper;
+import com.baomidou.mybatisplus.core.config.GlobalConfig;
+import com.baomidou.mybatisplus.core.handlers.MetaObjectHandler;
+import com.baomidou.mybatisplus.core.incrementer.IdentifierGenerator;
+import com.baomidou.mybatisplus.core.metadata.TableFieldInfo;
+import com.baomidou.mybatisplus.core.metadata.TableInfo;
+import com.baomidou.mybatisplus.core.metadata.TableInfoHelper;
+import com.baomidou.mybatisplus.core.plugins.InterceptorIgnoreHelper;
+import com.baomidou.mybatisplus.core.toolkit.GlobalConfigUtils;
+import com.baomidou.mybatisplus.extension.plugins.MybatisPlusInterceptor;
+import com.baomidou.mybatisplus.extension.plugins.handler.TenantLineHandler;
+import com.baomidou.mybatisplus.extension.plugins.inner.InnerInterceptor;
+import com.baomidou.mybatisplus.extension.plugins.inner.TenantLineInnerInterceptor;
+import com.baomidou.mybatisplus.extension.toolkit.Db;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.apache.ibatis.reflection.MetaObject;
+import org.dromara.common.core.utils.SpringUtils;
+import org.dromara.common.core.utils.StringUtils;
+import org.dromara.common.mybatis.core.mapper.BaseMapperPlus;
+import org.dromara.common.mybatis.enums.DataBaseType;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * 批量写入助手
+ * <p>
+ * 批量插入按插入列分组后生成多行 VALUES 语句，一条语句写入多行，减少网络往返与语句解析次数
+ * 每条语句的行数同时受批次大小与数据库绑定参数上限约束
+ * Oracle 不支持多行 VALUES，仍使用 JDBC 批处理
+ * 多行语句按行数不同各不相同，不经过多租户插件解析改写，租户列按插件规则在生成语句时补充
+ *
+ * @author Lion Li
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class BatchHelper {
+
+    /**
+     * 默认批次大小，与 MyBatis-Plus 保持一致
+     */
+    public static final int DEFAULT_BATCH_SIZE = 1000;
+
+    /**
+     * 主键存在性查询每次 IN 条件的最大数量
+     */
+    private static final int IN_SIZE = 1000;
+
+    /**
+     * 事务模板，多条语句写入且当前没有事务时保证整体提交或回滚
+     */
+    private static volatile TransactionTemplate transactionTemplate;
+
+    /**
+     * 多租户处理器，未启用多租户时为空
+     */
+    private static volatile Optional<TenantLineHandler> tenantLineHandler;
+
+    /**
+     * 批量插入
+     *
+     * @param mapper     实体对应的 Mapper
+     * @param entityList 实体集合
+     * @param batchSize  每条语句最多写入的行数
+     * @return 是否执行
+     */
+    public static <T> boolean insertBatch(BaseMapperPlus<T, ?> mapper, Collection<T> entityList, int batchSize) {
+        if (entityList == null || entityList.isEmpty()) {
+            return false;
+        }
+        TableInfo tableInfo = TableInfoHelper.getTableInfo(entityList.iterator().next().getClass());
+        DataBaseType dataBaseType = DataBaseHelper.getDataBaseType();
+        // Oracle 不支持多行 VALUES，SQLServer 多行插入无法回填全部自增主键
+        if (dataBaseType.isOracle() || (dataBaseType.isSqlServer() && tableInfo.getIdType() == IdType.AUTO)) {
+            return Db.saveBatch(entityList, batchSize);
+        }
+        // 按插入列分组，保证同一语句中每行的列一致，未赋值的列仍使用数据库默认值
+        Map<List<TableFieldInfo>, List<T>> groups = new LinkedHashMap<>();
+        for (T entity : prepare(tableInfo, entityList)) {
+            List<TableFieldInfo> fields = new ArrayList<>();
+            for (TableFieldInfo field : tableInfo.getFieldList()) {
+                if (isInsertColumn(field, tableInfo.getPropertyValue(entity, field.getProperty()))) {
+                    fields.add(field);
+                }
+            }
+            boolean hasKey = tableInfo.havePK() && tableInfo.getIdType() != IdType.AUTO
+                && ObjectUtil.isNotNull(tableInfo.getPropertyValue(entity, tableInfo.getKeyProperty()));
+            // 主键列以 null 占位放在分组键首位
+            if (hasKey) {
+                fields.add(0, null);
+            }
+            groups.computeIfAbsent(fields, k -> new ArrayList<>()).add(entity);
+        }
+        int maxParams = switch (dataBaseType) {
+            case SQL_SERVER -> 2000;
+            case POSTGRE_SQL -> 30000;
+            default -> 60000;
+        };
+        int size = batchSize > 0 ? batchSize : DEFAULT_BATCH_SIZE;
+        TenantLineHandler tenantHandler = getTenantLineHandler(tableInfo);
+        List<Runnable> statements = new ArrayList<>();
+        groups.forEach((fields, list) -> {
+            List<String> columns = new ArrayList<>(fields.size());
+            List<String> values = new ArrayList<>(fields.size());
+            for (TableFieldInfo field : fields) {
+                if (field == null) {
+                    columns.add(tableInfo.getKeyColumn());
+                    values.add("#{et." + tableInfo.getKeyProperty() + "}");
+                } else {
+                    columns.add(field.getColumn());
+                    values.add("#{et." + field.getEl() + "}");
+                }
+            }
+            // 与多租户插件一致，实体未指定租户时以当前租户常量补充租户列
+            if (tenantHandler != null && columns.stream().noneMatch(tenantHandler.getTenantIdColumn()::equalsIgnoreCase)) {
+                columns.add(tenantHandler.getTenantIdColumn());
+                values.add(tenantHandler.getTenantId().toString());
+            }
+            int rows = Math.max(1, Math.min(size, maxParams / Math.max(1, columns.size())));
+            for (int i = 0; i < list.size(); i += rows) {
+                List<T> chunk = list.subList(i, Math.min(i + rows, list.size()));
+                statements.add(() -> mapper.insertBatchValues(columns, values, chunk));
+            }
+        });
+        if (statements.size() > 1 && !TransactionSynchronizationManager.isActualTransactionActive()) {
+            getTransactionTemplate().executeWithoutResult(status -> statements.forEach(Runnable::run));
+        } else {
+            statements.forEach(Runnable::run);
+        }
+        return true;
+    }
+
+    /**
+     * 批量插入或更新
+     * 已有主键的实体通过 IN 查询一次性判断是否存在，存在则按主键批量更新，其余批量插入
+     *
+     * @param mapper     实体对应的 Mapper
+     * @param entityList 实体集合
+     * @param batchSize  批次大小
+     * @return 是否执行
+     */
+    public static <T> boolean insertOrUpdateBatch(BaseMapperPlus<T, ?> mapper, Collection<T> entityList, int batchSize) {
+        if (entityList == null || entityList.isEmpty()) {
+            return false;
+        }
+        TableInfo tableInfo = TableInfoHelper.getTableInfo(entityList.iterator().next().getClass());
+        if (!tableInfo.havePK()) {
+            return Db.saveOrUpdateBatch(entityList, batchSize);
+        }
+        List<T> withId = new ArrayList<>();
+        List<T> withoutId = new ArrayList<>();
+        for (T entity : entityList) {
+            Object id = tableInfo.getPropertyValue(entity, tableInfo.getKeyProperty());
+            if (ObjectUtil.isEmpty(id)) {
+                withoutId.add(entity);
+            } else {
+                withId.add(entity);
+            }
+        }
+        Set<String> existIds = new HashSet<>();
+        for (int i = 0; i < withId.size(); i += IN_SIZE) {
+            List<Object> ids = new ArrayList<>();
+            for (T entity : withId.subList(i, Math.min(i + IN_SIZE, withId.size()))) {
+                ids.add(tableInfo.getPropertyValue(entity, tableInfo.getKeyProperty()));
+            }
+            QueryWrapper<T> wrapper = new QueryWrapper<T>().select(tableInfo.getKeyColumn()).in(tableInfo.getKeyColumn(), ids);
+            for (Object id : mapper.selectObjs(wrapper)) {
+                existIds.add(Convert.toStr(id));
+            }
+        }
+        List<T> updateList = new ArrayList<>();
+        for (T entity : withId) {
+            if (existIds.contains(Convert.toStr(tableInfo.getPropertyValue(entity, tableInfo.getKeyProperty())))) {
+                updateList.add(entity);
+            } else {
+                withoutId.add(entity);
+            }
+        }
+        Supplier<Boolean> action = () -> {
+            if (!updateList.isEmpty()) {
+                Db.updateBatchById(updateList, batchSize);
+            }
+            if (!withoutId.isEmpty()) {
+                insertBatch(mapper, withoutId, batchSize);
+            }
+            return true;
+        };
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return action.get();
+        }
+        return Boolean.TRUE.equals(getTransactionTemplate().execute(status -> action.get()));
+    }
+
+    /**
+     * 生成主键并执行插入填充，与单条插入时参数处理器的行为一致
+     * 插入列由填充后的字段值决定，因此需要在分组前完成，每个实体只填充一次
+     */
+    private static <T> List<T> prepare(TableInfo tableInfo, Collection<T> entityList) {
+        GlobalConfig globalConfig = GlobalConfigUtils.getGlobalConfig(tableInfo.getConfiguration());
+        IdentifierGenerator identifierGenerator = globalConfig.getIdentifierGenerator();
+        MetaObjectHandler metaObjectHandler = tableInfo.isWithInsertFill() ? globalConfig.getMetaObjectHandler() : null;
+        IdType idType = tableInfo.getIdType();
+        boolean assignKey = tableInfo.havePK() && (idType == IdType.ASSIGN_ID || idType == IdType.ASSIGN_UUID);
+        List<T> list = new ArrayList<>(entityList.size());
+        for (T entity : entityList) {
+            MetaObject metaObject = tableInfo.getConfiguration().newMetaObject(entity);
+            if (assignKey && ObjectUtil.isEmpty(metaObject.getValue(tableInfo.getKeyProperty()))) {
+                Object id = idType == IdType.ASSIGN_UUID
+                    ? identifierGenerator.nextUUID(entity)
+                    : Convert.convert(tableInfo.getKeyType(), identifierGenerator.nextId(entity));
+                metaObject.setValue(tableInfo.getKeyProperty(), id);
+            }
+            if (metaObjectHandler != null) {
+                metaObjectHandler.insertFill(metaObject);
+            }
+            list.add(entity);
+        }
+        return list;
+    }
+
+    /**
+     * 按字段插入策略判断是否写入该列
+     */
+    private static boolean isInsertColumn(TableFieldInfo field, Object value) {
+        if (field.isWithInsertFill()) {
+            return true;
+        }
+        FieldStrategy strategy = field.getInsertStrategy();
+        return switch (strategy) {
+            case NEVER -> false;
+            case IGNORED, ALWAYS -> true;
+            case NOT_EMPTY -> value instanceof CharSequence cs ? StringUtils.isNotEmpty(cs) : value != null;
+            default -> value != null;
+        };
+    }
+
+    /**
+     * 获取需要补充租户列时的多租户处理器
+     * 未启用多租户、当前线程忽略租户或表不需要租户过滤时返回null
+     */
+    private static TenantLineHandler getTenantLineHandler(TableInfo tableInfo) {
+        if (tenantLineHandler == null) {
+            TenantLineHandler handler = null;
+            for (InnerInterceptor interceptor : SpringUtils.getBean(MybatisPlusInterceptor.class).getInterceptors()) {
+                if (interceptor instanceof TenantLineInnerInterceptor tenantInterceptor) {
+                    handler = tenantInterceptor.getTenantLineHandler();
+                }
+            }
+            tenantLineHandler = Optional.ofNullable(handler);
+        }
+        TenantLineHandler handler = tenantLineHandler.orElse(null);
+        // 批量插入语句已通过注解忽略多租户插件，空语句ID只检查当前线程的忽略策略
+        if (handler == null || InterceptorIgnoreHelper.willIgnoreTenantLine(StringUtils.EMPTY)
+            || handler.ignoreTable(tableInfo.getTableName())) {
+            return null;
+        }
+        return handler;
+    }
+
+    private static TransactionTemplate getTransactionTemplate() {
+        if (transactionTemplate == null) {
+            transactionTemplate = new TransactionTemplate(SpringUtils.getBean(PlatformTransactionManager.class));
+        }
+        return transactionTemplate;
+    }
+
+}
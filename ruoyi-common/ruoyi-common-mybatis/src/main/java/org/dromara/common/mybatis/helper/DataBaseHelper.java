@@ -14,6 +14,8 @@ import java.sql.DatabaseMetaData;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * 数据库助手
@@ -25,22 +27,34 @@ public class DataBaseHelper {
 
     private static final DynamicRoutingDataSource DS = SpringUtils.getBean(DynamicRoutingDataSource.class);
 
+    /**
+     * 数据源对应的数据库类型缓存，数据源类型在运行期不会变化，避免每次获取连接读取元数据
+     */
+    private static final Map<DataSource, DataBaseType> TYPE_CACHE = new ConcurrentHashMap<>();
+
     /**
      * 获取当前数据源对应的数据库类型
      * <p>
      * 通过 DynamicRoutingDataSource 获取当前线程绑定的数据源，
      * 然后从数据源获取数据库连接，利用连接的元数据获取数据库产品名称，
      * 最后调用 DataBaseType.find 方法将数据库名称转换为对应的枚举类型
+     * 结果按数据源缓存，每个数据源只读取一次元数据
      *
      * @return 当前数据库对应的 DataBaseType 枚举，找不到时默认返回 MY_SQL
      * @throws ServiceException 当获取数据库连接或元数据出现异常时抛出业务异常
      */
     public static DataBaseType getDataBaseType() {
         DataSource dataSource = DS.determineDataSource();
+        DataBaseType type = TYPE_CACHE.get(dataSource);
+        if (type != null) {
+            return type;
+        }
         try (Connection conn = dataSource.getConnection()) {
             DatabaseMetaData metaData = conn.getMetaData();
             String databaseProductName = metaData.getDatabaseProductName();
-            return DataBaseType.find(databaseProductName);
+            type = DataBaseType.find(databaseProductName);
+            TYPE_CACHE.put(dataSource, type);
+            return type;
         } catch (SQLException e) {
             throw new ServiceException(e.getMessage());
         }
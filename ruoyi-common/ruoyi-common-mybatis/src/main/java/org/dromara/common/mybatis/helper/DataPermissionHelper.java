@@ -42,6 +42,9 @@ public class DataPermissionHelper {
     // SaStorage中存储数据权限上下文的Key，用于在请求上下文中传递数据权限参数
     private static final String DATA_PERMISSION_KEY = "data:permission";
 
+    // SaStorage中存储数据过滤条件缓存的Key，同一请求内复用已构建的过滤条件
+    private static final String DATA_FILTER_KEY = "data:permission:filter";
+
     // 可重入忽略计数器，使用ThreadLocal存储每个线程的调用栈
     // Stack<Integer>存储忽略深度，支持嵌套调用
     private static final ThreadLocal<Stack<Integer>> REENTRANT_IGNORE = ThreadLocal.withInitial(Stack::new);
@@ -132,6 +135,31 @@ public class DataPermissionHelper {
         throw new NullPointerException("data permission context type exception");
     }
 
+    /**
+     * 获取当前请求的数据过滤条件缓存
+     * 同一请求内用户与角色不变，相同 Mapper 方法与变量的数据过滤条件只构建一次
+     *
+     * @return 存储在SaStorage中的Map对象，随请求结束失效
+     */
+    public static <K, V> Map<K, V> getFilterCache() {
+        SaStorage saStorage = SaHolder.getStorage();
+        Object attribute = saStorage.get(DATA_FILTER_KEY);
+        if (attribute instanceof Map map) {
+            return map;
+        }
+        Map<K, V> cache = new HashMap<>();
+        saStorage.set(DATA_FILTER_KEY, cache);
+        return cache;
+    }
+
+    /**
+     * 清除当前请求的数据过滤条件缓存
+     * 在同一请求内修改角色数据范围、部门后调用，后续查询重新构建过滤条件
+     */
+    public static void clearFilterCache() {
+        SaHolder.getStorage().delete(DATA_FILTER_KEY);
+    }
+
     // 私有方法：通过反射获取MyBatis-Plus的忽略策略ThreadLocal
     // 这是框架内部实现，可能随版本变化
     private static IgnoreStrategy getIgnoreStrategy() {
@@ -0,0 +1,55 @@
+package org.dromara.common.mybatis.injector;
+
+import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.core.injector.AbstractMethod;
+import com.baomidou.mybatisplus.core.metadata.TableInfo;
+import org.apache.ibatis.executor.keygen.Jdbc3KeyGenerator;
+import org.apache.ibatis.executor.keygen.KeyGenerator;
+import org.apache.ibatis.executor.keygen.NoKeyGenerator;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.SqlSource;
+
+/**
+ * 多行 VALUES 批量插入
+ * <p>
+ * 生成 INSERT INTO table (c1, c2) VALUES (...), (...) 语句，一条语句写入多行
+ * 列名与参数占位符由调用方按实体元数据传入，同一批实体的插入列必须一致
+ * 主键、自动填充字段由 {@link org.dromara.common.mybatis.helper.BatchHelper} 在分组前按行处理一次
+ * 实体集合参数名为 rows 而非 list，避免 MyBatis-Plus 参数处理器再次填充
+ * 语句不经过多租户插件，租户列由调用方补充，多行语句不进入 SQL 解析缓存
+ *
+ * @author Lion Li
+ */
+public class InsertBatchValues extends AbstractMethod {
+
+    /**
+     * 注入的方法名
+     */
+    public static final String METHOD = "insertBatchValues";
+
+    private static final String SQL = """
+        <script>
+        INSERT INTO %s (<foreach collection="columns" item="c" separator=",">${c}</foreach>) VALUES
+        <foreach collection="rows" item="et" separator=",">(<foreach collection="values" item="v" separator=",">${v}</foreach>)</foreach>
+        </script>""";
+
+    public InsertBatchValues() {
+        super(METHOD);
+    }
+
+    @Override
+    public MappedStatement injectMappedStatement(Class<?> mapperClass, Class<?> modelClass, TableInfo tableInfo) {
+        KeyGenerator keyGenerator = NoKeyGenerator.INSTANCE;
+        String keyProperty = null;
+        String keyColumn = null;
+        // 自增主键回填到 rows 参数中的实体
+        if (tableInfo.havePK() && tableInfo.getIdType() == IdType.AUTO) {
+            keyGenerator = Jdbc3KeyGenerator.INSTANCE;
+            keyProperty = "rows." + tableInfo.getKeyProperty();
+            keyColumn = tableInfo.getKeyColumn();
+        }
+        SqlSource sqlSource = languageDriver.createSqlSource(configuration, SQL.formatted(tableInfo.getTableName()), modelClass);
+        return this.addInsertMappedStatement(mapperClass, modelClass, methodName, sqlSource, keyGenerator, keyProperty, keyColumn);
+    }
+
+}
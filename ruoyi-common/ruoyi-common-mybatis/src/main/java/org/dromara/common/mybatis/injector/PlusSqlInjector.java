@@ -0,0 +1,25 @@
+package org.dromara.common.mybatis.injector;
+
+import com.baomidou.mybatisplus.core.injector.AbstractMethod;
+import com.baomidou.mybatisplus.core.injector.DefaultSqlInjector;
+import com.baomidou.mybatisplus.core.metadata.TableInfo;
+import org.apache.ibatis.session.Configuration;
+
+import java.util.List;
+
+/**
+ * 自定义 SQL 注入器
+ * 在默认方法基础上注入多行 VALUES 批量插入
+ *
+ * @author Lion Li
+ */
+public class PlusSqlInjector extends DefaultSqlInjector {
+
+    @Override
+    public List<AbstractMethod> getMethodList(Configuration configuration, Class<?> mapperClass, TableInfo tableInfo) {
+        List<AbstractMethod> methodList = super.getMethodList(configuration, mapperClass, tableInfo);
+        methodList.add(new InsertBatchValues());
+        return methodList;
+    }
+
+}
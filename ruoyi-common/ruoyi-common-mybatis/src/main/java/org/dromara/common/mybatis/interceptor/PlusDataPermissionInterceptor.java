@@ -11,6 +11,9 @@ import com.baomidou.mybatisplus.extension.plugins.handler.MultiDataPermissionHan
 import com.baomidou.mybatisplus.extension.plugins.inner.BaseMultiTableInnerInterceptor;
 // MyBatis-Plus内部拦截器接口
 import com.baomidou.mybatisplus.extension.plugins.inner.InnerInterceptor;
+// Caffeine本地缓存
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 // Lombok日志注解，自动生成slf4j日志对象
 import lombok.extern.slf4j.Slf4j;
 // JSqlParser表达式接口，用于构建SQL条件
@@ -54,6 +57,7 @@ import java.util.List;
  * 通过拦截SQL语句，动态注入数据权限条件，实现部门级数据隔离
  * 支持查询、更新、删除操作的数据权限控制
  * 基于JSqlParser解析SQL，修改WHERE条件
+ * 改写结果只取决于原始SQL与过滤条件，按 (SQL, 过滤条件, 语句类型) 缓存，相同语句在相同数据范围下只解析、改写一次
  *
  * @author Lion Li
  * @version 3.5.0
@@ -68,6 +72,11 @@ public class PlusDataPermissionInterceptor extends BaseMultiTableInnerIntercepto
     // 使用final修饰，确保线程安全
     private final PlusDataPermissionHandler dataPermissionHandler = new PlusDataPermissionHandler();
 
+    // 改写后的SQL缓存，过滤条件中包含用户的部门、角色等取值，数据范围变更后自然生成新的缓存键
+    private final Cache<SqlKey, String> sqlCache = Caffeine.newBuilder()
+        .maximumSize(4096)
+        .build();
+
     /**
      * 在执行查询之前拦截，检查并处理数据权限相关逻辑
      * 该方法在MyBatis执行查询前调用，用于注入数据权限条件
@@ -92,11 +101,16 @@ public class PlusDataPermissionInterceptor extends BaseMultiTableInnerIntercepto
         if (dataPermissionHandler.invalid()) {
             return;
         }
+        // 获取过滤条件，无需过滤时不解析SQL
+        Expression filter = dataPermissionHandler.getFilter(true);
+        if (filter == null) {
+            return;
+        }
         // 解析SQL并注入数据权限条件
         // 使用PluginUtils包装BoundSql，获取MyBatis-Plus扩展的BoundSql
         PluginUtils.MPBoundSql mpBs = PluginUtils.mpBoundSql(boundSql);
         // 调用parserSingle方法解析单表SQL，注入权限条件
-        mpBs.sql(parserSingle(mpBs.sql(), ms.getId()));
+        mpBs.sql(rewrite(mpBs.sql(), filter, false));
     }
 
     /**
@@ -127,12 +141,30 @@ public class PlusDataPermissionInterceptor extends BaseMultiTableInnerIntercepto
             if (dataPermissionHandler.invalid()) {
                 return;
             }
+            // 获取过滤条件，无需过滤时不解析SQL
+            Expression filter = dataPermissionHandler.getFilter(false);
+            if (filter == null) {
+                return;
+            }
             // 获取BoundSql并解析多表SQL，注入权限条件
             PluginUtils.MPBoundSql mpBs = mpSh.mPBoundSql();
-            mpBs.sql(parserMulti(mpBs.sql(), ms.getId()));
+            mpBs.sql(rewrite(mpBs.sql(), filter, true));
         }
     }
 
+    /**
+     * 注入过滤条件，命中缓存时直接返回改写结果
+     *
+     * @param sql    原始SQL语句
+     * @param filter 数据过滤条件
+     * @param multi  是否为多语句解析（更新、删除）
+     * @return 改写后的SQL语句
+     */
+    private String rewrite(String sql, Expression filter, boolean multi) {
+        SqlKey key = new SqlKey(sql, filter.toString(), multi);
+        return sqlCache.get(key, k -> multi ? parserMulti(sql, filter) : parserSingle(sql, filter));
+    }
+
     /**
      * 处理SELECT查询语句中的WHERE条件
      * 解析SELECT语句，为查询注入数据权限条件
@@ -140,20 +172,20 @@ public class PlusDataPermissionInterceptor extends BaseMultiTableInnerIntercepto
      * @param select SELECT查询对象
      * @param index  查询语句的索引（用于多表联合查询）
      * @param sql    原始SQL语句
-     * @param obj    WHERE条件参数（映射语句ID）
+     * @param obj    数据过滤条件
      */
     @Override
     protected void processSelect(Select select, int index, String sql, Object obj) {
         // 判断SELECT语句类型
         if (select instanceof PlainSelect) {
             // 普通SELECT语句，设置WHERE条件
-            this.setWhere((PlainSelect) select, (String) obj);
+            this.setWhere((PlainSelect) select, (Expression) obj);
         } else if (select instanceof SetOperationList setOperationList) {
             // UNION、UNION ALL等集合操作语句
             // 获取所有SELECT子句
             List<Select> selectBodyList = setOperationList.getSelects();
             // 为每个SELECT子句设置WHERE条件
-            selectBodyList.forEach(s -> this.setWhere((PlainSelect) s, (String) obj));
+            selectBodyList.forEach(s -> this.setWhere((PlainSelect) s, (Expression) obj));
         }
     }
 
@@ -164,12 +196,12 @@ public class PlusDataPermissionInterceptor extends BaseMultiTableInnerIntercepto
      * @param update UPDATE查询对象
      * @param index  查询语句的索引
      * @param sql    原始SQL语句
-     * @param obj    WHERE条件参数（映射语句ID）
+     * @param obj    数据过滤条件
      */
     @Override
     protected void processUpdate(Update update, int index, String sql, Object obj) {
         // 获取数据权限SQL片段
-        Expression sqlSegment = dataPermissionHandler.getSqlSegment(update.getWhere(), false);
+        Expression sqlSegment = PlusDataPermissionHandler.appendFilter(update.getWhere(), (Expression) obj);
         // 如果SQL片段不为空，设置到UPDATE语句的WHERE条件中
         if (null != sqlSegment) {
             update.setWhere(sqlSegment);
@@ -183,12 +215,12 @@ public class PlusDataPermissionInterceptor extends BaseMultiTableInnerIntercepto
      * @param delete DELETE查询对象
      * @param index  查询语句的索引
      * @param sql    原始SQL语句
-     * @param obj    WHERE条件参数（映射语句ID）
+     * @param obj    数据过滤条件
      */
     @Override
     protected void processDelete(Delete delete, int index, String sql, Object obj) {
         // 获取数据权限SQL片段
-        Expression sqlSegment = dataPermissionHandler.getSqlSegment(delete.getWhere(), false);
+        Expression sqlSegment = PlusDataPermissionHandler.appendFilter(delete.getWhere(), (Expression) obj);
         // 如果SQL片段不为空，设置到DELETE语句的WHERE条件中
         if (null != sqlSegment) {
             delete.setWhere(sqlSegment);
@@ -197,14 +229,14 @@ public class PlusDataPermissionInterceptor extends BaseMultiTableInnerIntercepto
 
     /**
      * 设置SELECT语句的WHERE条件
-     * 调用数据权限处理器生成SQL片段并设置到SELECT语句中
+     * 将数据过滤条件追加到SELECT语句的WHERE条件中
      *
-     * @param plainSelect       SELECT查询对象
-     * @param mappedStatementId 映射语句的ID（Mapper方法全限定名）
+     * @param plainSelect SELECT查询对象
+     * @param filter      数据过滤条件
      */
-    protected void setWhere(PlainSelect plainSelect, String mappedStatementId) {
-        // 获取数据权限SQL片段，isSelect=true表示是查询操作
-        Expression sqlSegment = dataPermissionHandler.getSqlSegment(plainSelect.getWhere(), true);
+    protected void setWhere(PlainSelect plainSelect, Expression filter) {
+        // 获取数据权限SQL片段
+        Expression sqlSegment = PlusDataPermissionHandler.appendFilter(plainSelect.getWhere(), filter);
         // 如果SQL片段不为空，设置到SELECT语句的WHERE条件中
         if (null != sqlSegment) {
             plainSelect.setWhere(sqlSegment);
@@ -228,5 +260,15 @@ public class PlusDataPermissionInterceptor extends BaseMultiTableInnerIntercepto
         // 调用处理器的getSqlSegment方法生成SQL片段
         return handler.getSqlSegment(table, where, whereSegment);
     }
-}
 
+    /**
+     * 改写结果缓存键
+     *
+     * @param sql    原始SQL语句
+     * @param filter 数据过滤条件
+     * @param multi  是否为多语句解析（更新、删除）
+     */
+    private record SqlKey(String sql, String filter, boolean multi) {
+    }
+
+}
@@ -0,0 +1,228 @@
+// 定义分页拦截器包路径，实现MyBatis-Plus插件机制
+package org.dromara.common.mybatis.interceptor;
+
+// 多数据源上下文，用于区分不同数据源的统计结果
+import com.baomidou.dynamic.datasource.toolkit.DynamicDataSourceContextHolder;
+// MyBatis-Plus分页接口
+import com.baomidou.mybatisplus.core.metadata.IPage;
+// MyBatis-Plus参数工具类，用于从参数中查找分页对象
+import com.baomidou.mybatisplus.core.toolkit.ParameterUtils;
+// MyBatis-Plus分页对象
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+// MyBatis-Plus JSqlParser全局解析器
+import com.baomidou.mybatisplus.extension.parser.JsqlParserGlobal;
+// MyBatis-Plus分页插件
+import com.baomidou.mybatisplus.extension.plugins.inner.PaginationInnerInterceptor;
+// MyBatis-Plus JDBC工具类，用于识别数据库类型
+import com.baomidou.mybatisplus.extension.toolkit.JdbcUtils;
+// Caffeine本地缓存
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+// Lombok日志注解，自动生成slf4j日志对象
+import lombok.extern.slf4j.Slf4j;
+// JSqlParser语句对象
+import net.sf.jsqlparser.schema.Table;
+import net.sf.jsqlparser.statement.Statement;
+import net.sf.jsqlparser.statement.select.PlainSelect;
+// MyBatis缓存键，包含语句ID、SQL与参数值
+import org.apache.ibatis.cache.CacheKey;
+// MyBatis执行器接口
+import org.apache.ibatis.executor.Executor;
+// MyBatis BoundSql对象，包含SQL语句和参数
+import org.apache.ibatis.mapping.BoundSql;
+// MyBatis映射语句对象
+import org.apache.ibatis.mapping.MappedStatement;
+// MyBatis结果处理器
+import org.apache.ibatis.session.ResultHandler;
+// MyBatis分页对象
+import org.apache.ibatis.session.RowBounds;
+// 字符串工具类
+import org.dromara.common.core.utils.StringUtils;
+// 扩展分页对象
+import org.dromara.common.mybatis.core.page.PlusPage;
+// 分页总数统计方式
+import org.dromara.common.mybatis.enums.PageCountMode;
+// 分页配置属性
+import org.dromara.common.mybatis.properties.PaginationProperties;
+
+// Java SQL类
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+// Java集合类
+import java.util.Map;
+
+/**
+ * 分页插件
+ * 在 MyBatis-Plus 分页插件基础上按 {@link PageCountMode} 选择总数统计方式，并按全局或Mapper配置限制单页最大条数
+ * 分页插件位于多租户与数据权限插件之后，统计前的 SQL 已包含租户与数据权限条件，
+ * 因此缓存键中的 SQL 本身即区分了租户与数据范围
+ *
+ * @author Lion Li
+ */
+@Slf4j
+public class PlusPaginationInnerInterceptor extends PaginationInnerInterceptor {
+
+    /**
+     * 默认总数统计方式
+     */
+    private final PageCountMode defaultCountMode;
+
+    /**
+     * 估算行数可信阈值
+     */
+    private final long estimateThreshold;
+
+    /**
+     * 按Mapper配置的单页最大条数
+     */
+    private final Map<String, Long> mapperMaxLimit;
+
+    /**
+     * 总数缓存，键为查询语句的缓存键（语句ID + SQL + 参数值）与数据源
+     */
+    private final Cache<CacheKey, Long> countCache;
+
+    public PlusPaginationInnerInterceptor(PaginationProperties properties) {
+        this.defaultCountMode = properties.getCountMode();
+        this.estimateThreshold = properties.getEstimateThreshold();
+        this.mapperMaxLimit = Map.copyOf(properties.getMapperMaxLimit());
+        if (properties.getMaxLimit() > 0) {
+            setMaxLimit(properties.getMaxLimit());
+        }
+        this.countCache = Caffeine.newBuilder()
+            .maximumSize(properties.getCountCacheSize())
+            .expireAfterWrite(properties.getCountCacheTtl())
+            .build();
+    }
+
+    /**
+     * 查询前按统计方式设置分页总数
+     */
+    @Override
+    public boolean willDoQuery(Executor executor, MappedStatement ms, Object parameter, RowBounds rowBounds, ResultHandler resultHandler, BoundSql boundSql) throws SQLException {
+        IPage<?> page = ParameterUtils.findPage(parameter).orElse(null);
+        if (page != null) {
+            applyMaxLimit(ms, page);
+        }
+        if (page == null || page.getSize() < 0 || !page.searchCount() || resultHandler != Executor.NO_RESULT_HANDLER) {
+            return super.willDoQuery(executor, ms, parameter, rowBounds, resultHandler, boundSql);
+        }
+        PageCountMode mode = defaultCountMode;
+        if (page instanceof PlusPage<?> plusPage && plusPage.getCountMode() != null) {
+            mode = plusPage.getCountMode();
+        }
+        // 仅多查一条，不统计总数
+        if (mode == PageCountMode.HAS_NEXT && page instanceof PlusPage<?> plusPage) {
+            plusPage.probeNext();
+            return true;
+        }
+        if (mode != PageCountMode.CACHED && mode != PageCountMode.ESTIMATE) {
+            return super.willDoQuery(executor, ms, parameter, rowBounds, resultHandler, boundSql);
+        }
+        // 单表无过滤条件时使用执行计划估算值
+        if (mode == PageCountMode.ESTIMATE) {
+            Long estimated = estimate(executor, boundSql.getSql());
+            if (estimated != null) {
+                page.setTotal(estimated);
+                return continuePage(page);
+            }
+        }
+        // 相同条件短时间内翻页复用统计结果
+        CacheKey cacheKey = executor.createCacheKey(ms, parameter, RowBounds.DEFAULT, boundSql);
+        cacheKey.update(page.countId());
+        cacheKey.update(DynamicDataSourceContextHolder.peek());
+        Long total = countCache.getIfPresent(cacheKey);
+        if (total != null) {
+            page.setTotal(total);
+            return continuePage(page);
+        }
+        boolean proceed = super.willDoQuery(executor, ms, parameter, rowBounds, resultHandler, boundSql);
+        countCache.put(cacheKey, page.getTotal());
+        return proceed;
+    }
+
+    /**
+     * 按Mapper或全局配置限制单页条数，统计总数前执行以保证总页数正确
+     * 前端传入的不分页参数（size &lt; 0）同样受限制
+     */
+    private void applyMaxLimit(MappedStatement ms, IPage<?> page) {
+        Long limit = page.maxLimit();
+        if (limit == null) {
+            limit = mapperMaxLimit.getOrDefault(StringUtils.substringBeforeLast(ms.getId(), "."), getMaxLimit());
+            // 写入分页对象，使分页插件截断时使用同一上限
+            if (limit != null && page instanceof Page<?> p) {
+                p.setMaxLimit(limit);
+            }
+        }
+        if (limit == null || limit <= 0) {
+            return;
+        }
+        if (page.getSize() > limit || (page.getSize() < 0 && page instanceof PlusPage)) {
+            page.setSize(limit);
+        }
+    }
+
+    /**
+     * 读取执行计划的表行数估算值
+     *
+     * @param executor 执行器，复用当前连接
+     * @param sql      原始查询SQL
+     * @return 估算行数，不满足估算条件或低于可信阈值时返回null
+     */
+    private Long estimate(Executor executor, String sql) {
+        String tableName = singleTableWithoutFilter(sql);
+        if (tableName == null) {
+            return null;
+        }
+        String estimateSql = switch (JdbcUtils.getDbType(executor)) {
+            case MYSQL, MARIADB -> "select table_rows from information_schema.tables where table_schema = database() and table_name = ?";
+            case POSTGRE_SQL -> "select reltuples::bigint from pg_class where oid = to_regclass(?)";
+            default -> null;
+        };
+        if (estimateSql == null) {
+            return null;
+        }
+        try {
+            Connection connection = executor.getTransaction().getConnection();
+            try (PreparedStatement ps = connection.prepareStatement(estimateSql)) {
+                ps.setString(1, tableName);
+                try (ResultSet rs = ps.executeQuery()) {
+                    if (rs.next()) {
+                        long rows = rs.getLong(1);
+                        return rows >= estimateThreshold ? rows : null;
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            log.debug("读取表行数估算值失败 table => {}", tableName, e);
+        }
+        return null;
+    }
+
+    /**
+     * 判断是否为无过滤条件的单表查询
+     *
+     * @param sql 查询SQL
+     * @return 表名，不满足条件时返回null
+     */
+    private String singleTableWithoutFilter(String sql) {
+        try {
+            Statement statement = JsqlParserGlobal.parse(sql);
+            if (!(statement instanceof PlainSelect select)
+                || !(select.getFromItem() instanceof Table table)
+                || select.getWhere() != null
+                || select.getJoins() != null && !select.getJoins().isEmpty()
+                || select.getGroupBy() != null
+                || select.getHaving() != null
+                || select.getDistinct() != null) {
+                return null;
+            }
+            return StringUtils.strip(table.getName(), "`\"[]");
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+}
@@ -0,0 +1,191 @@
+// 定义查询行数保护拦截器包路径，实现MyBatis插件机制
+package org.dromara.common.mybatis.interceptor;
+
+// MyBatis-Plus拦截器忽略辅助类，用于判断是否豁免行数限制
+import com.baomidou.mybatisplus.core.plugins.InterceptorIgnoreHelper;
+// MyBatis-Plus参数工具类，用于判断是否为分页查询
+import com.baomidou.mybatisplus.core.toolkit.ParameterUtils;
+// MyBatis-Plus插件工具类，用于获取代理的真实对象
+import com.baomidou.mybatisplus.core.toolkit.PluginUtils;
+// Micrometer指标类
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+// Lombok日志注解，自动生成slf4j日志对象
+import lombok.extern.slf4j.Slf4j;
+// MyBatis缓存键
+import org.apache.ibatis.cache.CacheKey;
+// MyBatis执行器接口
+import org.apache.ibatis.executor.Executor;
+// MyBatis StatementHandler接口
+import org.apache.ibatis.executor.statement.StatementHandler;
+// MyBatis BoundSql与映射语句对象
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.SqlCommandType;
+// MyBatis插件相关类
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+// MyBatis反射工具类
+import org.apache.ibatis.reflection.SystemMetaObject;
+// MyBatis结果处理器与分页对象
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+// 服务异常类
+import org.dromara.common.core.exception.ServiceException;
+// 分页配置属性
+import org.dromara.common.mybatis.properties.PaginationProperties;
+
+// Java SQL语句接口
+import java.sql.Statement;
+// Java集合类
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 查询行数保护拦截器
+ * 不分页的列表查询最多读取 rowCap + 1 行（JDBC maxRows），超出时按配置中止或截断，避免误加载全表
+ * 同时按 Mapper 方法记录每次查询返回的行数，便于定位大结果集查询
+ * 使用 ResultHandler 或 Cursor 流式读取的查询不受限制
+ *
+ * @author Lion Li
+ */
+@Slf4j
+@Intercepts({
+    @Signature(type = Executor.class, method = "query", args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class}),
+    @Signature(type = Executor.class, method = "query", args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class, CacheKey.class, BoundSql.class}),
+    @Signature(type = StatementHandler.class, method = "parameterize", args = {Statement.class})
+})
+public class PlusRowCapInterceptor implements Interceptor, MeterBinder {
+
+    /**
+     * 豁免行数限制的忽略键，配合 {@code @InterceptorIgnore(others = "rowCap@true")} 使用
+     */
+    public static final String IGNORE_KEY = "rowCap";
+
+    /**
+     * 最大返回行数
+     */
+    private final long rowCap;
+
+    /**
+     * 超出最大返回行数时的处理方式
+     */
+    private final PaginationProperties.RowCapAction action;
+
+    /**
+     * 指标注册器，未引入监控时为空
+     */
+    private volatile MeterRegistry registry;
+
+    /**
+     * 各 Mapper 方法返回行数分布
+     */
+    private final Map<String, DistributionSummary> rowSummaries = new ConcurrentHashMap<>();
+
+    public PlusRowCapInterceptor(PaginationProperties properties) {
+        this.rowCap = properties.getRowCap();
+        this.action = properties.getRowCapAction();
+    }
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        Object[] args = invocation.getArgs();
+        // 为受限查询设置驱动层最大行数，超出部分不会从数据库读取
+        if (invocation.getTarget() instanceof StatementHandler sh) {
+            Object rowBounds = SystemMetaObject.forObject(PluginUtils.realTarget(sh)).getValue("delegate.rowBounds");
+            if (rowBounds instanceof CappedRowBounds capped) {
+                ((Statement) args[0]).setMaxRows(capped.getLimit());
+            }
+            return invocation.proceed();
+        }
+        MappedStatement ms = (MappedStatement) args[0];
+        boolean capped = isCapped(ms, args[1], (RowBounds) args[2], (ResultHandler<?>) args[3]);
+        if (capped) {
+            CappedRowBounds rowBounds = new CappedRowBounds((int) rowCap + 1);
+            args[2] = rowBounds;
+            if (args.length == 6) {
+                ((CacheKey) args[4]).update(rowBounds.getLimit());
+            }
+        }
+        Object result = invocation.proceed();
+        if (!(result instanceof List<?> list)) {
+            return result;
+        }
+        record(ms.getId(), list.size());
+        if (!capped || list.size() <= rowCap) {
+            return list;
+        }
+        count(ms.getId());
+        if (action == PaginationProperties.RowCapAction.TRUNCATE) {
+            log.warn("查询结果超过{}行，已截断 statement => {}", rowCap, ms.getId());
+            return new ArrayList<>(list.subList(0, (int) rowCap));
+        }
+        log.warn("查询结果超过{}行，已中止 statement => {}", rowCap, ms.getId());
+        throw new ServiceException("查询结果超过" + rowCap + "行，请缩小查询范围或分页查询");
+    }
+
+    /**
+     * 是否为需要限制行数的不分页查询
+     */
+    private boolean isCapped(MappedStatement ms, Object parameter, RowBounds rowBounds, ResultHandler<?> resultHandler) {
+        return rowCap > 0
+            && rowCap < Integer.MAX_VALUE
+            && ms.getSqlCommandType() == SqlCommandType.SELECT
+            && rowBounds == RowBounds.DEFAULT
+            && resultHandler == Executor.NO_RESULT_HANDLER
+            && ParameterUtils.findPage(parameter).isEmpty()
+            && !InterceptorIgnoreHelper.willIgnoreOthersByKey(ms.getId(), IGNORE_KEY);
+    }
+
+    /**
+     * 记录返回行数
+     */
+    private void record(String statement, int rows) {
+        MeterRegistry meterRegistry = this.registry;
+        if (meterRegistry == null) {
+            return;
+        }
+        rowSummaries.computeIfAbsent(statement, id -> DistributionSummary.builder("mybatis.query.rows")
+                .tag("statement", id)
+                .description("MyBatis查询返回行数")
+                .register(meterRegistry))
+            .record(rows);
+    }
+
+    /**
+     * 记录超出最大返回行数的查询次数
+     */
+    private void count(String statement) {
+        MeterRegistry meterRegistry = this.registry;
+        if (meterRegistry != null) {
+            Counter.builder("mybatis.query.capped")
+                .tag("statement", statement)
+                .description("MyBatis查询超过最大返回行数次数")
+                .register(meterRegistry)
+                .increment();
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * 受限查询的分页对象，用于在创建语句时识别并设置最大行数
+     */
+    private static final class CappedRowBounds extends RowBounds {
+
+        CappedRowBounds(int limit) {
+            super(RowBounds.NO_ROW_OFFSET, limit);
+        }
+
+    }
+
+}
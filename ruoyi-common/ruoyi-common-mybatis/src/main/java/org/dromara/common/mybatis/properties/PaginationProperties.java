@@ -0,0 +1,78 @@
+package org.dromara.common.mybatis.properties;
+
+import lombok.Data;
+import org.dromara.common.mybatis.enums.PageCountMode;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 分页 配置属性
+ *
+ * @author Lion Li
+ */
+@Data
+@ConfigurationProperties(prefix = "mybatis-plus.pagination")
+public class PaginationProperties {
+
+    /**
+     * 默认总数统计方式，可在 PageQuery 中按接口指定
+     */
+    private PageCountMode countMode = PageCountMode.EXACT;
+
+    /**
+     * 总数缓存有效期
+     */
+    private Duration countCacheTtl = Duration.ofSeconds(10);
+
+    /**
+     * 总数缓存最大条数
+     */
+    private long countCacheSize = 1000;
+
+    /**
+     * 估算行数可信阈值，估算值低于该值时仍精确统计
+     */
+    private long estimateThreshold = 100000;
+
+    /**
+     * 单页最大条数，小于等于0时不限制，默认不限制以兼容现有调用方
+     */
+    private long maxLimit = 0;
+
+    /**
+     * 按Mapper配置单页最大条数，key为Mapper全限定类名，优先于 maxLimit
+     */
+    private Map<String, Long> mapperMaxLimit = new HashMap<>();
+
+    /**
+     * 不分页查询的最大返回行数，小于等于0时不限制，默认不限制
+     * 导出等不分页查询同样受限制，开启前需为这些Mapper方法配置 {@code @InterceptorIgnore(others = "rowCap@true")} 豁免
+     */
+    private long rowCap = 0;
+
+    /**
+     * 不分页查询超过最大返回行数时的处理方式，默认截断并告警
+     */
+    private RowCapAction rowCapAction = RowCapAction.TRUNCATE;
+
+    /**
+     * 超过最大返回行数时的处理方式
+     */
+    public enum RowCapAction {
+
+        /**
+         * 中止查询并抛出异常
+         */
+        ABORT,
+
+        /**
+         * 只返回前 rowCap 行并记录警告日志
+         */
+        TRUNCATE
+
+    }
+
+}
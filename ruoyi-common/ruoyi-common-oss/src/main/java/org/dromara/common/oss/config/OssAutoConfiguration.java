@@ -0,0 +1,43 @@
+package org.dromara.common.oss.config;
+
+import org.dromara.common.oss.core.OssDiskCache;
+import org.dromara.common.oss.listener.OssCacheTopicListener;
+import org.dromara.common.oss.listener.OssConfigTopicListener;
+import org.dromara.common.oss.properties.OssCacheProperties;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * OSS 自动装配
+ *
+ * @author Lion Li
+ */
+// Spring Boot自动配置类
+@AutoConfiguration
+// 启用配置属性绑定，将oss.cache开头的配置项绑定到OssCacheProperties类
+@EnableConfigurationProperties(OssCacheProperties.class)
+public class OssAutoConfiguration {
+
+    // 创建OssConfigTopicListener Bean，用于监听OSS配置变更主题
+    @Bean
+    public OssConfigTopicListener ossConfigTopicListener() {
+        return new OssConfigTopicListener();
+    }
+
+    // 创建OssDiskCache Bean，当oss.cache.enabled=true时启用本地磁盘缓存
+    @Bean
+    @ConditionalOnProperty(value = "oss.cache.enabled", havingValue = "true")
+    public OssDiskCache ossDiskCache(OssCacheProperties properties) {
+        return new OssDiskCache(properties);
+    }
+
+    // 创建OssCacheTopicListener Bean，开启本地磁盘缓存时订阅缓存淘汰主题
+    @Bean
+    @ConditionalOnProperty(value = "oss.cache.enabled", havingValue = "true")
+    public OssCacheTopicListener ossCacheTopicListener(OssDiskCache ossDiskCache) {
+        return new OssCacheTopicListener(ossDiskCache);
+    }
+
+}
@@ -27,6 +27,18 @@ public interface OssConstant {
     // 使用GlobalConstants.GLOBAL_REDIS_KEY作为前缀，确保Redis key全局唯一
     String DEFAULT_CONFIG_KEY = GlobalConstants.GLOBAL_REDIS_KEY + "sys_oss:default_config";
 
+    /**
+     * OSS配置变更通知主题
+     * 配置新增、修改、删除或切换默认配置时发布配置KEY，各节点收到后刷新本地客户端实例
+     */
+    String CONFIG_REFRESH_TOPIC = GlobalConstants.GLOBAL_REDIS_KEY + "sys_oss:config_refresh";
+
+    /**
+     * OSS本地磁盘缓存淘汰通知主题
+     * 删除文件时发布缓存KEY（配置KEY:对象KEY），开启本地磁盘缓存的各节点收到后移除缓存文件
+     */
+    String CACHE_EVICT_TOPIC = GlobalConstants.GLOBAL_REDIS_KEY + "sys_oss:cache_evict";
+
     /**
      * 预览列表资源开关配置Key
      * 用于控制是否开启OSS资源列表预览功能
@@ -34,6 +46,13 @@ public interface OssConstant {
      */
     String PEREVIEW_LIST_RESOURCE_KEY = "sys.oss.previewListResource";
 
+    /**
+     * 下载重定向开关配置Key
+     * 开启后文件下载直接302重定向到存储服务的预签名URL，不再经过应用服务器转发
+     * 配置在参数设置中，如：sys.oss.downloadRedirect=true
+     */
+    String DOWNLOAD_REDIRECT_KEY = "sys.oss.downloadRedirect";
+
     /**
      * 系统内置OSS配置ID列表
      * 这些ID对应数据库中的系统默认OSS配置，不允许用户删除
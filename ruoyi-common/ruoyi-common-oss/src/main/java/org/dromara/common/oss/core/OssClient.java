@@ -41,6 +41,8 @@ import software.amazon.awssdk.services.s3.S3AsyncClient;
 import software.amazon.awssdk.services.s3.S3Configuration;
 // AWS SDK S3获取对象响应类
 import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+// AWS SDK S3服务异常类
+import software.amazon.awssdk.services.s3.model.S3Exception;
 // AWS SDK S3预签名生成器
 import software.amazon.awssdk.services.s3.presigner.S3Presigner;
 // AWS SDK S3传输管理器
@@ -59,13 +61,14 @@ import java.net.URL;
 // Java NIO通道类
 import java.nio.channels.Channels;
 import java.nio.channels.WritableByteChannel;
-// Java NIO文件类
-import java.nio.file.Files;
+// Java NIO文件路径类
 import java.nio.file.Path;
 // Java时间Duration类
 import java.time.Duration;
 // Java Optional类
 import java.util.Optional;
+// Java并发异常类
+import java.util.concurrent.CompletionException;
 // Java函数式接口
 import java.util.function.Consumer;
 
@@ -358,30 +361,71 @@ public class OssClient {
                 .ifPresent(lengthConsumer -> lengthConsumer.accept(publisher.response().contentLength()));
 
             // 构建写出订阅器对象
-            return out -> {
-                // 创建可写入的字节通道
-                try(WritableByteChannel channel = Channels.newChannel(out)){
-                    // 订阅数据并写入通道
-                    publisher.subscribe(byteBuffer -> {
-                        // 循环直到ByteBuffer数据全部写入
-                        while (byteBuffer.hasRemaining()) {
-                            try {
-                                // 写入数据到通道
-                                channel.write(byteBuffer);
-                            } catch (IOException e) {
-                                // 抛出运行时异常
-                                throw new RuntimeException(e);
-                            }
-                        }
-                    }).join(); // 等待完成
-                }
-            };
+            return writeOut(publisher);
         } catch (Exception e) {
             // 抛出下载失败异常
             throw new OssException("文件下载失败，错误信息:[" + e.getMessage() + "]");
         }
     }
 
+    /**
+     * 按字节范围获取OSS对象的响应发布者
+     * 直接透传Range与If-None-Match到S3 GetObject请求，不经过传输管理器和临时文件
+     *
+     * @param key         OSS对象键（文件路径）
+     * @param range       HTTP Range头，如 bytes=0-1023，为空表示获取完整对象
+     * @param ifNoneMatch HTTP If-None-Match头，为空表示不做条件判断
+     * @return 响应发布者，对象未修改（304）时返回null
+     * @throws OssException 下载失败或范围无效时抛出异常
+     */
+    public ResponsePublisher<GetObjectResponse> getObject(String key, String range, String ifNoneMatch) {
+        try {
+            // 调用S3异步客户端获取对象，响应体以发布者形式返回
+            return client.getObject(
+                x -> x.bucket(properties.getBucketName()) // 设置存储桶
+                    .key(key) // 设置对象键
+                    .range(StringUtils.isNotBlank(range) ? range : null) // 设置字节范围（可选）
+                    .ifNoneMatch(StringUtils.isNotBlank(ifNoneMatch) ? ifNoneMatch : null) // 设置ETag条件（可选）
+                    .build(),
+                AsyncResponseTransformer.toPublisher()).join();
+        } catch (CompletionException e) {
+            // 对象ETag未变化时S3返回304，交由调用方响应未修改
+            if (e.getCause() instanceof S3Exception s3e && s3e.statusCode() == 304) {
+                return null;
+            }
+            // 抛出下载失败异常
+            throw new OssException("文件下载失败，错误信息:[" + e.getMessage() + "]");
+        }
+    }
+
+    /**
+     * 将响应发布者包装为写出订阅器
+     * 发布者按顺序逐块请求数据，上一块写入输出流后才请求下一块，实现背压控制
+     *
+     * @param publisher 响应发布者
+     * @return WriteOutSubscriber写出订阅器
+     */
+    public static WriteOutSubscriber<OutputStream> writeOut(ResponsePublisher<GetObjectResponse> publisher) {
+        return out -> {
+            // 创建可写入的字节通道
+            try(WritableByteChannel channel = Channels.newChannel(out)){
+                // 订阅数据并写入通道
+                publisher.subscribe(byteBuffer -> {
+                    // 循环直到ByteBuffer数据全部写入
+                    while (byteBuffer.hasRemaining()) {
+                        try {
+                            // 写入数据到通道
+                            channel.write(byteBuffer);
+                        } catch (IOException e) {
+                            // 抛出运行时异常
+                            throw new RuntimeException(e);
+                        }
+                    }
+                }).join(); // 等待完成
+            }
+        };
+    }
+
     /**
      * 删除OSS中的文件
      *
@@ -423,6 +467,30 @@ public class OssClient {
         return url.toString();
     }
 
+    /**
+     * 获取带下载文件名的临时访问URL（预签名URL）
+     * 用于下载重定向模式，客户端直接从存储服务下载，不经过应用服务器
+     *
+     * @param objectKey          OSS对象键（文件路径）
+     * @param expiredTime        URL过期时间
+     * @param contentDisposition 响应的Content-Disposition头，用于指定下载文件名
+     * @return 预签名URL
+     */
+    public String getPrivateUrl(String objectKey, Duration expiredTime, String contentDisposition) {
+        // 使用S3预签名生成器获取对象的预签名URL，并覆盖响应头
+        URL url = presigner.presignGetObject(
+                x -> x.signatureDuration(expiredTime) // 设置签名持续时间
+                    .getObjectRequest(
+                        y -> y.bucket(properties.getBucketName()) // 设置存储桶
+                            .key(objectKey) // 设置对象键
+                            .responseContentDisposition(contentDisposition) // 设置下载文件名
+                            .build())
+                    .build())
+            .url(); // 获取URL对象
+        // 返回URL字符串
+        return url.toString();
+    }
+
     /**
      * 上传字节数组到OSS，使用指定后缀构造对象键
      * 自动生成文件路径：前缀/日期路径/UUID.后缀
@@ -470,21 +538,24 @@ public class OssClient {
 
     /**
      * 获取文件输入流
-     * 先下载到临时文件，再创建输入流，最后删除临时文件
+     * 直接以阻塞输入流的形式读取响应体，不再落盘临时文件
      *
      * @param path OSS对象键（文件路径）
-     * @return 输入流
+     * @return 输入流，调用方负责关闭
      * @throws IOException IO异常
      */
     public InputStream getObjectContent(String path) throws IOException {
-        // 下载文件到临时目录
-        Path tempFilePath = fileDownload(path);
-        // 创建输入流
-        InputStream inputStream = Files.newInputStream(tempFilePath);
-        // 删除临时文件
-        FileUtils.del(tempFilePath);
-        // 返回对象内容的输入流
-        return inputStream;
+        try {
+            // 调用S3异步客户端获取对象，响应体转换为阻塞输入流
+            return client.getObject(
+                x -> x.bucket(properties.getBucketName()) // 设置存储桶
+                    .key(removeBaseUrl(path)) // 移除基础URL获取相对路径
+                    .build(),
+                AsyncResponseTransformer.toBlockingInputStream()).join();
+        } catch (CompletionException e) {
+            // 包装为IO异常，保持原有方法签名语义
+            throw new IOException("文件下载失败，错误信息:[" + e.getMessage() + "]", e);
+        }
     }
 
     /**
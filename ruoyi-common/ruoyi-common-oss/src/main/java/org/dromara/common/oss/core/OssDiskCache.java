@@ -0,0 +1,390 @@
+// 定义OSS本地磁盘缓存类的包路径
+package org.dromara.common.oss.core;
+
+// Hutool ID生成工具类，用于生成临时文件名
+import cn.hutool.core.util.IdUtil;
+// Micrometer指标类
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+// Lombok日志注解，自动生成slf4j日志对象
+import lombok.extern.slf4j.Slf4j;
+// 文件工具类
+import org.dromara.common.core.utils.file.FileUtils;
+// OSS异常类
+import org.dromara.common.oss.exception.OssException;
+// OSS本地磁盘缓存配置属性类
+import org.dromara.common.oss.properties.OssCacheProperties;
+// AWS SDK响应发布者
+import software.amazon.awssdk.core.async.ResponsePublisher;
+// AWS SDK S3获取对象响应类
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+
+// Java IO类
+import java.io.IOException;
+import java.io.OutputStream;
+// Java NIO通道类
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+// Java字符集
+import java.nio.charset.StandardCharsets;
+// Java NIO文件类
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+// Java集合类
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+// Java并发类
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * OSS本地磁盘缓存
+ * 按最近最少使用策略管理的有界缓存目录，首次读取时从对象存储拉取并落盘
+ * 缓存文件以 配置KEY+对象KEY+ETag 命名，命中时通过FileChannel.transferTo直接写出，不访问对象存储
+ * 对象KEY为上传时生成，内容不会变化，删除文件时通过Redis主题通知各节点移除缓存
+ * 配置了校验间隔时，超过间隔的缓存以ETag向对象存储发起条件请求，未变化（304）时继续使用，已被覆盖时使用本次响应刷新
+ * 同一对象的并发拉取与校验合并为一次请求
+ *
+ * @author Lion Li
+ */
+// Lombok日志注解：自动生成slf4j日志对象log
+@Slf4j
+public class OssDiskCache implements MeterBinder {
+
+    /**
+     * 缓存文件所在的子目录，启动时只清空该目录，不影响配置目录中的其他文件
+     */
+    private static final String CACHE_DIR = "oss-disk-cache";
+
+    /**
+     * 缓存根目录
+     */
+    private final Path root;
+
+    /**
+     * 缓存目录最大占用字节数
+     */
+    private final long maxBytes;
+
+    /**
+     * 单个文件最大缓存字节数
+     */
+    private final long maxObjectBytes;
+
+    /**
+     * 缓存校验间隔毫秒数，小于等于0时不校验
+     */
+    private final long revalidateMillis;
+
+    /**
+     * 缓存索引，按访问顺序排列，用于最近最少使用淘汰
+     * key格式：配置KEY:对象KEY
+     */
+    private final LinkedHashMap<String, CachedObject> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * 当前缓存占用字节数，由entries锁保护
+     */
+    private long usedBytes;
+
+    /**
+     * 正在拉取中的对象，用于合并同一对象的并发请求
+     */
+    private final Map<String, CompletableFuture<CachedObject>> loading = new ConcurrentHashMap<>();
+
+    /**
+     * 命中次数
+     */
+    private final LongAdder hits = new LongAdder();
+
+    /**
+     * 未命中次数
+     */
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * 构造方法，初始化缓存目录
+     * 上次运行残留的缓存文件没有索引，启动时清空缓存专用的子目录
+     *
+     * @param properties 本地磁盘缓存配置
+     */
+    public OssDiskCache(OssCacheProperties properties) {
+        this.root = Paths.get(properties.getPath()).resolve(CACHE_DIR).toAbsolutePath().normalize();
+        this.maxBytes = properties.getMaxSize().toBytes();
+        this.maxObjectBytes = properties.getMaxObjectSize().toBytes();
+        this.revalidateMillis = properties.getRevalidateAfter() == null ? 0 : properties.getRevalidateAfter().toMillis();
+        // 清空并重建缓存子目录
+        FileUtils.del(root.toFile());
+        FileUtils.mkdir(root.toFile());
+        log.info("初始化OSS本地磁盘缓存 path => {}", root);
+    }
+
+    /**
+     * 判断指定大小的文件是否允许进入缓存
+     *
+     * @param size 文件大小，未知时为null
+     * @return 是否允许缓存
+     */
+    public boolean isCacheable(Long size) {
+        return size != null && size <= maxObjectBytes;
+    }
+
+    /**
+     * 生成缓存KEY
+     *
+     * @param configKey 配置KEY
+     * @param objectKey OSS对象键（文件路径）
+     * @return 缓存KEY，格式：配置KEY:对象KEY
+     */
+    public static String cacheKey(String configKey, String objectKey) {
+        return configKey + ":" + objectKey;
+    }
+
+    /**
+     * 获取缓存对象，命中时直接返回，未命中时从对象存储拉取并落盘
+     * 缓存超过校验间隔时以ETag发起条件请求，对象已被覆盖时使用本次响应刷新缓存
+     *
+     * @param client    OSS客户端
+     * @param objectKey OSS对象键（文件路径）
+     * @return 缓存对象
+     * @throws OssException 拉取失败时抛出异常
+     */
+    public CachedObject get(OssClient client, String objectKey) {
+        String key = cacheKey(client.getConfigKey(), objectKey);
+        CachedObject cached = lookup(key);
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+        // 同一对象只允许一个线程拉取或校验，其余线程等待其结果
+        CompletableFuture<CachedObject> future = new CompletableFuture<>();
+        CompletableFuture<CachedObject> existing = loading.putIfAbsent(key, future);
+        if (existing != null) {
+            try {
+                return existing.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof OssException oe ? oe : new OssException(e.getMessage());
+            }
+        }
+        try {
+            CachedObject loaded = fetch(client, objectKey, key);
+            future.complete(loaded);
+            return loaded;
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(key);
+        }
+    }
+
+    /**
+     * 查询无需校验即可使用的缓存对象
+     */
+    private CachedObject lookup(String key) {
+        CachedObject cached;
+        synchronized (entries) {
+            cached = entries.get(key);
+        }
+        if (cached == null || (revalidateMillis > 0 && System.currentTimeMillis() - cached.validatedAt() >= revalidateMillis)) {
+            return null;
+        }
+        return cached;
+    }
+
+    /**
+     * 拉取或校验缓存对象，仅由持有拉取权的线程调用
+     */
+    private CachedObject fetch(OssClient client, String objectKey, String key) {
+        // 等待拉取权期间其他线程可能已完成拉取
+        CachedObject fresh = lookup(key);
+        if (fresh != null) {
+            hits.increment();
+            return fresh;
+        }
+        CachedObject cached;
+        synchronized (entries) {
+            cached = entries.get(key);
+        }
+        if (cached == null) {
+            misses.increment();
+            return load(client.getObject(objectKey, null, null), key);
+        }
+        // 对象未变化时存储服务返回304，不传输文件内容，只刷新校验时间
+        ResponsePublisher<GetObjectResponse> publisher = client.getObject(objectKey, null, cached.eTag());
+        if (publisher == null) {
+            hits.increment();
+            CachedObject validated = new CachedObject(cached.path(), cached.eTag(), cached.size(), System.currentTimeMillis());
+            synchronized (entries) {
+                // 校验期间已被淘汰的不再放回，文件与占用空间不变
+                if (entries.get(key) == cached) {
+                    entries.put(key, validated);
+                }
+            }
+            return validated;
+        }
+        // 对象已被覆盖，直接使用本次响应刷新缓存
+        misses.increment();
+        return load(publisher, key);
+    }
+
+    /**
+     * 将缓存对象写出到输出流
+     *
+     * @param cached 缓存对象
+     * @param out    输出流
+     * @return 是否写出成功，缓存文件已被并发淘汰时返回false
+     * @throws IOException IO异常
+     */
+    public boolean transferTo(CachedObject cached, OutputStream out) throws IOException {
+        try (FileChannel channel = FileChannel.open(cached.path(), StandardOpenOption.READ)) {
+            // 目标为Socket通道时由操作系统零拷贝发送，否则退化为内核缓冲拷贝
+            WritableByteChannel target = Channels.newChannel(out);
+            long size = channel.size();
+            long position = 0;
+            while (position < size) {
+                position += channel.transferTo(position, size - position, target);
+            }
+            return true;
+        } catch (NoSuchFileException e) {
+            return false;
+        }
+    }
+
+    /**
+     * 移除本节点的缓存对象
+     * 由缓存淘汰通知触发，删除文件时应发布 {@link org.dromara.common.oss.constant.OssConstant#CACHE_EVICT_TOPIC} 通知所有节点
+     *
+     * @param key 缓存KEY，格式：配置KEY:对象KEY
+     */
+    public void evict(String key) {
+        CachedObject removed;
+        synchronized (entries) {
+            removed = entries.remove(key);
+            if (removed != null) {
+                usedBytes -= removed.size();
+            }
+        }
+        if (removed != null) {
+            deleteQuietly(removed.path());
+        }
+    }
+
+    /**
+     * 将对象存储的响应写入缓存目录
+     */
+    private CachedObject load(ResponsePublisher<GetObjectResponse> publisher, String key) {
+        GetObjectResponse response = publisher.response();
+        // 以 配置KEY+对象KEY+ETag 生成缓存文件名，对象内容变化时文件名随之变化
+        String name = UUID.nameUUIDFromBytes((key + ":" + response.eTag()).getBytes(StandardCharsets.UTF_8)).toString();
+        Path file = root.resolve(name);
+        Path temp = root.resolve(name + "." + IdUtil.fastSimpleUUID() + ".tmp");
+        try {
+            // 先写入临时文件，完成后原子替换，避免读到不完整的文件
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                OssClient.writeOut(publisher).writeTo(out);
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            deleteQuietly(temp);
+            throw new OssException("缓存文件写入失败，错误信息:[" + e.getMessage() + "]");
+        }
+        CachedObject cached = new CachedObject(file, response.eTag(), response.contentLength(), System.currentTimeMillis());
+        put(key, cached);
+        return cached;
+    }
+
+    /**
+     * 写入缓存索引，并按最近最少使用淘汰超出容量的文件
+     */
+    private void put(String key, CachedObject cached) {
+        synchronized (entries) {
+            CachedObject previous = entries.put(key, cached);
+            if (previous != null) {
+                usedBytes -= previous.size();
+                // 对象被覆盖后ETag变化，旧文件名不再使用
+                if (!previous.path().equals(cached.path())) {
+                    deleteQuietly(previous.path());
+                }
+            }
+            usedBytes += cached.size();
+            Iterator<Map.Entry<String, CachedObject>> iterator = entries.entrySet().iterator();
+            while (usedBytes > maxBytes && iterator.hasNext()) {
+                Map.Entry<String, CachedObject> eldest = iterator.next();
+                // 保留刚写入的对象
+                if (eldest.getValue() == cached) {
+                    continue;
+                }
+                iterator.remove();
+                usedBytes -= eldest.getValue().size();
+                deleteQuietly(eldest.getValue().path());
+            }
+        }
+    }
+
+    /**
+     * 删除文件，忽略异常
+     */
+    private void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("删除OSS缓存文件失败 path => {}", path, e);
+        }
+    }
+
+    /**
+     * 注册缓存指标：命中、未命中次数，占用空间与文件数
+     *
+     * @param registry 指标注册器
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("oss.cache.requests", hits, LongAdder::sum)
+            .tag("result", "hit")
+            .description("OSS本地磁盘缓存命中次数")
+            .register(registry);
+        FunctionCounter.builder("oss.cache.requests", misses, LongAdder::sum)
+            .tag("result", "miss")
+            .description("OSS本地磁盘缓存未命中次数")
+            .register(registry);
+        Gauge.builder("oss.cache.size", this, cache -> {
+                synchronized (cache.entries) {
+                    return cache.usedBytes;
+                }
+            })
+            .baseUnit("bytes")
+            .description("OSS本地磁盘缓存占用空间")
+            .register(registry);
+        Gauge.builder("oss.cache.entries", this, cache -> {
+                synchronized (cache.entries) {
+                    return cache.entries.size();
+                }
+            })
+            .description("OSS本地磁盘缓存文件数")
+            .register(registry);
+    }
+
+    /**
+     * 缓存对象
+     *
+     * @param path        缓存文件路径
+     * @param eTag        对象ETag
+     * @param size        文件大小
+     * @param validatedAt 最近一次从对象存储拉取或校验的时间
+     */
+    public record CachedObject(Path path, String eTag, long size, long validatedAt) {
+    }
+
+}
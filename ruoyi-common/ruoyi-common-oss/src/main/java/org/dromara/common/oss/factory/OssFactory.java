@@ -22,18 +22,18 @@ import org.dromara.common.redis.utils.CacheUtils;
 // Redis工具类
 import org.dromara.common.redis.utils.RedisUtils;
 
+// Java HashMap集合，用于复制快照
+import java.util.HashMap;
 // Java Map集合
 import java.util.Map;
-// Java并发Map，线程安全
-import java.util.concurrent.ConcurrentHashMap;
 // Java可重入锁
 import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * OSS文件上传工厂类
  * 负责创建和管理OSS客户端实例，采用单例模式+工厂模式
- * 支持多租户隔离，每个租户有独立的OSS客户端实例
- * 使用ConcurrentHashMap缓存客户端实例，提升性能
+ * 支持多租户隔离，客户端实例按 租户ID:配置KEY 保存在不可变快照Map中，稳态下获取实例无需加锁
+ * 配置变更时通过Redis主题通知各节点，各节点跳过本地一级缓存从Redis读取最新配置，配置确有变化才重建实例
  *
  * @author Lion Li
  */
@@ -43,31 +43,49 @@ import java.util.concurrent.locks.ReentrantLock;
 public class OssFactory {
 
     /**
-     * OSS客户端实例缓存
-     * 使用ConcurrentHashMap实现线程安全的缓存
+     * OSS客户端实例快照
+     * 不可变Map，写入时复制后整体替换，读取无需加锁
      * key格式：租户ID:配置KEY 或 配置KEY（单租户场景）
      */
-    private static final Map<String, OssClient> CLIENT_CACHE = new ConcurrentHashMap<>();
-    
+    private static volatile Map<String, OssClient> CLIENT_CACHE = Map.of();
+
+    /**
+     * 配置KEY到客户端实例key的索引快照
+     * 与实例快照一同替换，用于不读取配置直接定位实例
+     */
+    private static volatile Map<String, String> CLIENT_KEYS = Map.of();
+
+    /**
+     * 本地缓存的默认配置KEY
+     * 为空时从Redis重新加载
+     */
+    private static volatile String DEFAULT_CONFIG_KEY;
+
     /**
      * 可重入锁
-     * 用于双重检查锁定模式，防止并发创建相同key的客户端实例
+     * 仅在快照未命中时用于串行化客户端创建与快照替换
      */
     private static final ReentrantLock LOCK = new ReentrantLock();
 
     /**
      * 获取默认OSS客户端实例
-     * 从Redis读取默认配置KEY，然后调用instance(configKey)获取实例
+     * 优先使用本地缓存的默认配置KEY，未缓存时从Redis读取
      *
      * @return OSS客户端实例
      * @throws OssException 如果未配置默认OSS类型
      */
     public static OssClient instance() {
-        // 从Redis获取默认OSS配置KEY
-        String configKey = RedisUtils.getCacheObject(OssConstant.DEFAULT_CONFIG_KEY);
-        // 如果未配置默认KEY，抛出异常
+        // 读取本地缓存的默认配置KEY
+        String configKey = DEFAULT_CONFIG_KEY;
+        // 本地未缓存，从Redis获取默认OSS配置KEY
         if (StringUtils.isEmpty(configKey)) {
-            throw new OssException("文件存储服务类型无法找到!");
+            configKey = RedisUtils.getCacheObject(OssConstant.DEFAULT_CONFIG_KEY);
+            // 如果未配置默认KEY，抛出异常
+            if (StringUtils.isEmpty(configKey)) {
+                throw new OssException("文件存储服务类型无法找到!");
+            }
+            // 缓存到本地
+            DEFAULT_CONFIG_KEY = configKey;
         }
         // 调用重载方法获取实例
         return instance(configKey);
@@ -75,55 +93,126 @@ public class OssFactory {
 
     /**
      * 根据配置KEY获取OSS客户端实例
-     * 支持多租户隔离，使用租户ID作为key前缀
-     * 采用双重检查锁定模式确保线程安全
+     * 快照命中时直接返回，未命中时加锁创建实例并替换快照
      *
      * @param configKey 配置KEY
      * @return OSS客户端实例
      * @throws OssException 如果配置信息不存在
      */
     public static OssClient instance(String configKey) {
-        // 从缓存获取JSON格式的配置信息
-        String json = CacheUtils.get(CacheNames.SYS_OSS_CONFIG, configKey);
+        // 从快照获取客户端实例
+        OssClient client = getClient(configKey);
+        // 快照命中直接返回
+        if (client != null) {
+            return client;
+        }
+        // 获取锁，确保只有一个线程创建实例
+        LOCK.lock();
+        try {
+            // 双重检查，防止其他线程已创建实例
+            client = getClient(configKey);
+            if (client != null) {
+                return client;
+            }
+            // 从Redis读取最新配置并创建实例
+            return createClient(configKey, loadProperties(configKey));
+        } finally {
+            // 释放锁
+            LOCK.unlock();
+        }
+    }
+
+    /**
+     * 刷新指定配置KEY的客户端实例
+     * 由配置变更通知触发，清空本地默认配置KEY，并从Redis读取最新配置与现有实例比较
+     * 配置被删除时移除实例，配置有变化时重建实例，配置未变化时保留现有实例
+     *
+     * @param configKey 配置KEY
+     */
+    public static void refresh(String configKey) {
+        LOCK.lock();
+        try {
+            // 清空本地默认配置KEY，下次从Redis重新读取
+            DEFAULT_CONFIG_KEY = null;
+            // 本节点未创建过该实例，下次获取时按最新配置创建
+            OssClient client = getClient(configKey);
+            if (client == null) {
+                return;
+            }
+            // 跳过本地一级缓存，避免读到修改前的配置
+            String json = CacheUtils.getRemote(CacheNames.SYS_OSS_CONFIG, configKey);
+            if (json == null) {
+                // 配置已删除，移除实例
+                replace(configKey, null, null);
+                log.info("移除OSS实例 key => {}", configKey);
+                return;
+            }
+            OssProperties properties = JsonUtils.parseObject(json, OssProperties.class);
+            // 配置未变化，保留现有实例
+            if (client.checkPropertiesSame(properties)) {
+                return;
+            }
+            createClient(configKey, properties);
+        } finally {
+            // 释放锁
+            LOCK.unlock();
+        }
+    }
+
+    /**
+     * 从快照获取客户端实例
+     */
+    private static OssClient getClient(String configKey) {
+        String key = CLIENT_KEYS.get(configKey);
+        return key == null ? null : CLIENT_CACHE.get(key);
+    }
+
+    /**
+     * 跳过本地一级缓存，从Redis读取配置信息
+     */
+    private static OssProperties loadProperties(String configKey) {
+        String json = CacheUtils.getRemote(CacheNames.SYS_OSS_CONFIG, configKey);
         // 如果配置不存在，抛出异常
         if (json == null) {
             throw new OssException("系统异常, '" + configKey + "'配置信息不存在!");
         }
         // 将JSON字符串解析为OssProperties对象
-        OssProperties properties = JsonUtils.parseObject(json, OssProperties.class);
-        
-        // 构建缓存key，使用租户标识避免多个租户相同key实例覆盖
+        return JsonUtils.parseObject(json, OssProperties.class);
+    }
+
+    /**
+     * 创建客户端实例并放入快照，需持有锁调用
+     */
+    private static OssClient createClient(String configKey, OssProperties properties) {
+        // 使用租户ID作为key前缀，不同租户的实例互不共用
         String key = configKey;
-        // 如果配置了租户ID，将租户ID作为前缀
         if (StringUtils.isNotBlank(properties.getTenantId())) {
             key = properties.getTenantId() + ":" + configKey;
         }
-        
-        // 从缓存获取客户端实例
-        OssClient client = CLIENT_CACHE.get(key);
-        // 客户端不存在或配置不相同则重新构建
-        if (client == null || !client.checkPropertiesSame(properties)) {
-            // 获取锁，确保只有一个线程创建实例
-            LOCK.lock();
-            try {
-                // 双重检查，防止其他线程已创建实例
-                client = CLIENT_CACHE.get(key);
-                // 再次检查，确保实例确实需要创建
-                if (client == null || !client.checkPropertiesSame(properties)) {
-                    // 创建新的OSS客户端实例并放入缓存
-                    CLIENT_CACHE.put(key, new OssClient(configKey, properties));
-                    // 记录日志
-                    log.info("创建OSS实例 key => {}", configKey);
-                    // 返回新创建的实例
-                    return CLIENT_CACHE.get(key);
-                }
-            } finally {
-                // 释放锁
-                LOCK.unlock();
-            }
-        }
-        // 返回缓存中的实例
+        OssClient client = new OssClient(configKey, properties);
+        replace(configKey, key, client);
+        // 记录日志
+        log.info("创建OSS实例 key => {}", key);
         return client;
     }
 
+    /**
+     * 复制快照替换指定配置KEY的实例后整体替换，实例为空时移除，需持有锁调用
+     */
+    private static void replace(String configKey, String key, OssClient client) {
+        Map<String, OssClient> clients = new HashMap<>(CLIENT_CACHE);
+        Map<String, String> keys = new HashMap<>(CLIENT_KEYS);
+        String oldKey = keys.remove(configKey);
+        if (oldKey != null) {
+            clients.remove(oldKey);
+        }
+        if (client != null) {
+            clients.put(key, client);
+            keys.put(configKey, key);
+        }
+        // 两个快照短暂不一致时读取只会得到空，随后进入加锁路径
+        CLIENT_CACHE = Map.copyOf(clients);
+        CLIENT_KEYS = Map.copyOf(keys);
+    }
+
 }
@@ -0,0 +1,51 @@
+package org.dromara.common.oss.listener;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.dromara.common.oss.constant.OssConstant;
+import org.dromara.common.oss.core.OssDiskCache;
+import org.dromara.common.redis.utils.RedisUtils;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+
+/**
+ * OSS本地磁盘缓存淘汰主题订阅监听器
+ *
+ * @author Lion Li
+ */
+// Lombok日志注解，自动生成log日志对象
+@Slf4j
+// Lombok注解，生成包含final字段的构造函数
+@RequiredArgsConstructor
+public class OssCacheTopicListener implements ApplicationRunner, Ordered {
+
+    // OSS本地磁盘缓存
+    private final OssDiskCache diskCache;
+
+    /**
+     * 在Spring Boot应用程序启动时订阅缓存淘汰主题
+     *
+     * @param args 应用程序参数
+     * @throws Exception 初始化过程中可能抛出的异常
+     */
+    // 实现ApplicationRunner接口，在Spring Boot启动完成后执行
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        // 订阅Redis的缓存淘汰主题，收到缓存KEY后移除本节点的缓存文件
+        RedisUtils.subscribe(OssConstant.CACHE_EVICT_TOPIC, String.class, key -> {
+            // 记录接收到的缓存KEY
+            log.debug("OSS缓存淘汰主题收到消息 key={}", key);
+            // 移除本地缓存文件
+            diskCache.evict(key);
+        });
+        // 记录初始化成功日志
+        log.info("初始化OSS缓存淘汰主题订阅监听器成功");
+    }
+
+    // 实现Ordered接口，设置执行顺序为-1（最高优先级）
+    @Override
+    public int getOrder() {
+        return -1;
+    }
+}
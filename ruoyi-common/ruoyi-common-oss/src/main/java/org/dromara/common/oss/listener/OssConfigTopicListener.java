@@ -0,0 +1,45 @@
+package org.dromara.common.oss.listener;
+
+import lombok.extern.slf4j.Slf4j;
+import org.dromara.common.oss.constant.OssConstant;
+import org.dromara.common.oss.factory.OssFactory;
+import org.dromara.common.redis.utils.RedisUtils;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+
+/**
+ * OSS配置变更主题订阅监听器
+ *
+ * @author Lion Li
+ */
+// Lombok日志注解，自动生成log日志对象
+@Slf4j
+public class OssConfigTopicListener implements ApplicationRunner, Ordered {
+
+    /**
+     * 在Spring Boot应用程序启动时订阅OSS配置变更主题
+     *
+     * @param args 应用程序参数
+     * @throws Exception 初始化过程中可能抛出的异常
+     */
+    // 实现ApplicationRunner接口，在Spring Boot启动完成后执行
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        // 订阅Redis的OSS配置变更主题，收到配置KEY后刷新本地客户端实例
+        RedisUtils.subscribe(OssConstant.CONFIG_REFRESH_TOPIC, String.class, configKey -> {
+            // 记录接收到的配置KEY
+            log.info("OSS配置变更主题收到消息 configKey={}", configKey);
+            // 刷新本地客户端实例
+            OssFactory.refresh(configKey);
+        });
+        // 记录初始化成功日志
+        log.info("初始化OSS配置变更主题订阅监听器成功");
+    }
+
+    // 实现Ordered接口，设置执行顺序为-1（最高优先级）
+    @Override
+    public int getOrder() {
+        return -1;
+    }
+}
@@ -0,0 +1,53 @@
+// 定义OSS本地磁盘缓存配置属性类的包路径
+package org.dromara.common.oss.properties;
+
+// Lombok注解，自动生成getter、setter、toString、equals、hashCode方法
+import lombok.Data;
+// Spring Boot配置属性注解
+import org.springframework.boot.context.properties.ConfigurationProperties;
+// Spring数据大小类型，支持 10MB、1GB 等写法
+import org.springframework.util.unit.DataSize;
+
+// Java时间间隔类
+import java.time.Duration;
+
+/**
+ * OSS本地磁盘缓存配置属性类
+ * 用于头像、缩略图等热点小文件的读穿缓存
+ *
+ * @author Lion Li
+ */
+// Lombok注解，自动生成getter、setter、toString、equals、hashCode方法
+@Data
+// Spring Boot配置属性注解，将配置文件中以oss.cache开头的属性绑定到此类
+@ConfigurationProperties(prefix = "oss.cache")
+public class OssCacheProperties {
+
+    /**
+     * 是否开启本地磁盘缓存
+     */
+    private Boolean enabled = false;
+
+    /**
+     * 缓存目录
+     * 缓存文件写入该目录下的 oss-disk-cache 子目录，启动时只清空该子目录
+     */
+    private String path = "./oss-cache";
+
+    /**
+     * 缓存目录最大占用空间，超出后按最近最少使用淘汰
+     */
+    private DataSize maxSize = DataSize.ofGigabytes(1);
+
+    /**
+     * 单个文件最大缓存大小，超出的文件不进入缓存
+     */
+    private DataSize maxObjectSize = DataSize.ofMegabytes(10);
+
+    /**
+     * 缓存校验间隔，超过间隔后以ETag向对象存储校验一次
+     * 对象KEY上传时生成不会被覆盖，删除时会通知各节点移除缓存，默认不校验，命中时不访问对象存储
+     */
+    private Duration revalidateAfter;
+
+}
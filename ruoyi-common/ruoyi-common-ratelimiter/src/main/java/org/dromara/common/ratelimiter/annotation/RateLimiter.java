@@ -62,4 +62,12 @@ public @interface RateLimiter {
      */
     int timeout() default 86400;
 
+    /**
+     * 本地令牌租约比例，取值 (0, 1]，默认0表示关闭
+     * 开启后各节点每次从Redis批量获取 count * leaseRatio 个令牌，在本地令牌桶中消费，租约在一个时间窗口后失效
+     * 集群整体不会超过限流次数，未用完的租约最多造成 节点数 * 租约大小 的少放行误差
+     * 适用于高并发接口，可将Redis调用降低到原来的 leaseRatio 倍左右
+     */
+    double leaseRatio() default 0;
+
 }
@@ -1,6 +1,9 @@
 // 定义限流切面类的包路径
 package org.dromara.common.ratelimiter.aspectj;
 
+// Caffeine本地缓存
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 // Lombok日志注解，自动生成slf4j日志对象
 import lombok.extern.slf4j.Slf4j;
 // AOP连接点接口
@@ -29,8 +32,12 @@ import org.dromara.common.ratelimiter.annotation.RateLimiter;
 import org.dromara.common.ratelimiter.enums.LimitType;
 // Redis工具类
 import org.dromara.common.redis.utils.RedisUtils;
+// Redisson限流器接口
+import org.redisson.api.RRateLimiter;
 // Redisson限流类型枚举
 import org.redisson.api.RateType;
+// Redisson执行异常
+import org.redisson.client.RedisException;
 // Spring Bean工厂解析器
 import org.springframework.context.expression.BeanFactoryResolver;
 // 基于方法的SpEL评估上下文
@@ -52,6 +59,13 @@ import org.springframework.expression.spel.standard.SpelExpressionParser;
 
 // Java反射Method类
 import java.lang.reflect.Method;
+// Java时间Duration类
+import java.time.Duration;
+// Java并发Map
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+// Java函数式接口
+import java.util.function.LongPredicate;
 
 /**
  * 限流处理切面类
@@ -86,6 +100,30 @@ public class RateLimiterAspect {
      */
     private final ParameterNameDiscoverer pnd = new DefaultParameterNameDiscoverer();
 
+    /**
+     * 已解析的SpEL表达式缓存
+     * 每个方法的key表达式只解析一次
+     */
+    private final Map<Method, Expression> expressionCache = new ConcurrentHashMap<>();
+
+    /**
+     * 已设置速率的限流器缓存
+     * 每个限流key只在首次访问时执行trySetRate，之后只执行tryAcquire
+     */
+    private final Cache<String, RRateLimiter> limiterCache = Caffeine.newBuilder()
+        .maximumSize(10000)
+        .expireAfterAccess(Duration.ofMinutes(10))
+        .build();
+
+    /**
+     * 本地令牌租约缓存
+     * 开启leaseRatio时，每个限流key在本节点持有一份租约
+     */
+    private final Cache<String, TokenLease> leaseCache = Caffeine.newBuilder()
+        .maximumSize(10000)
+        .expireAfterAccess(Duration.ofMinutes(10))
+        .build();
+
     /**
      * 前置通知处理方法
      * 在目标方法执行前进行限流检查
@@ -111,10 +149,23 @@ public class RateLimiterAspect {
             if (rateLimiter.limitType() == LimitType.CLUSTER) {
                 rateType = RateType.PER_CLIENT;
             }
-            // 调用Redis限流工具，返回剩余令牌数
-            long number = RedisUtils.rateLimiter(combineKey, rateType, count, time, timeout);
-            // 如果返回-1，表示已触发限流
-            if (number == -1) {
+            // 最终使用的限流类型
+            RateType finalRateType = rateType;
+            // 从Redis获取指定数量令牌的函数
+            LongPredicate acquirer = permits -> tryAcquire(combineKey, finalRateType, count, time, timeout, permits);
+            // 是否获取到令牌
+            boolean acquired;
+            if (rateLimiter.leaseRatio() > 0) {
+                // 租约模式：本地令牌耗尽时才批量访问Redis
+                long leaseSize = Math.max(1L, Math.min(count, (long) (count * rateLimiter.leaseRatio())));
+                TokenLease lease = leaseCache.get(combineKey, k -> new TokenLease());
+                acquired = lease.tryAcquire(leaseSize, time * 1000L, acquirer);
+            } else {
+                // 普通模式：每次请求获取一个令牌
+                acquired = acquirer.test(1L);
+            }
+            // 未获取到令牌，表示已触发限流
+            if (!acquired) {
                 // 获取提示消息
                 String message = rateLimiter.message();
                 // 如果消息是国际化格式（如{rate.limiter.message}），则进行国际化转换
@@ -124,8 +175,8 @@ public class RateLimiterAspect {
                 // 抛出服务异常，提示用户触发限流
                 throw new ServiceException(message);
             }
-            // 记录日志，显示限制令牌数、剩余令牌数和缓存key
-            log.info("限制令牌 => {}, 剩余令牌 => {}, 缓存key => '{}'", count, number, combineKey);
+            // 记录日志，显示限制令牌数和缓存key
+            log.debug("限制令牌 => {}, 缓存key => '{}'", count, combineKey);
         } catch (Exception e) {
             // 如果是服务异常（已触发限流），直接抛出
             if (e instanceof ServiceException) {
@@ -161,16 +212,17 @@ public class RateLimiterAspect {
                 new MethodBasedEvaluationContext(null, targetMethod, args, pnd);
             // 设置Bean解析器，支持引用Spring Bean
             context.setBeanResolver(new BeanFactoryResolver(SpringUtils.getBeanFactory()));
-            // SpEL表达式对象
-            Expression expression;
-            // 如果key符合模板格式（如#{#code}），使用模板解析
-            if (StringUtils.startsWith(key, parserContext.getExpressionPrefix())
-                && StringUtils.endsWith(key, parserContext.getExpressionSuffix())) {
-                expression = parser.parseExpression(key, parserContext);
-            } else {
+            // 从缓存获取SpEL表达式对象，首次访问时解析
+            String finalKey = key;
+            Expression expression = expressionCache.computeIfAbsent(targetMethod, m -> {
+                // 如果key符合模板格式（如#{#code}），使用模板解析
+                if (StringUtils.startsWith(finalKey, parserContext.getExpressionPrefix())
+                    && StringUtils.endsWith(finalKey, parserContext.getExpressionSuffix())) {
+                    return parser.parseExpression(finalKey, parserContext);
+                }
                 // 否则直接解析
-                expression = parser.parseExpression(key);
-            }
+                return parser.parseExpression(finalKey);
+            });
             // 计算表达式值，获取最终的key字符串
             key = expression.getValue(context, String.class);
         }
@@ -189,4 +241,76 @@ public class RateLimiterAspect {
         // 追加最终的key值
         return stringBuffer.append(key).toString();
     }
+
+    /**
+     * 从Redis限流器获取令牌
+     * 限流器速率只在首次访问时设置，Redis中的限流器过期后自动重新设置
+     *
+     * @param key          限流key
+     * @param rateType     限流类型
+     * @param rate         速率
+     * @param rateInterval 速率间隔（秒）
+     * @param timeout      限流器存活时间（秒）
+     * @param permits      令牌数量
+     * @return 是否获取成功
+     */
+    private boolean tryAcquire(String key, RateType rateType, int rate, int rateInterval, int timeout, long permits) {
+        // 从缓存获取限流器，首次访问时设置速率
+        RRateLimiter limiter = limiterCache.get(key, k -> {
+            RRateLimiter rl = RedisUtils.getClient().getRateLimiter(k);
+            rl.trySetRate(rateType, rate, Duration.ofSeconds(rateInterval), Duration.ofSeconds(timeout));
+            return rl;
+        });
+        try {
+            // 尝试获取令牌
+            return limiter.tryAcquire(permits);
+        } catch (RedisException e) {
+            // 限流器在Redis中已过期，重新设置速率后重试
+            limiter.trySetRate(rateType, rate, Duration.ofSeconds(rateInterval), Duration.ofSeconds(timeout));
+            return limiter.tryAcquire(permits);
+        }
+    }
+
+    /**
+     * 本地令牌租约
+     * 从Redis批量获取的令牌在本地消费，租约超过一个时间窗口后作废，避免长期占用集群配额
+     */
+    private static final class TokenLease {
+
+        /**
+         * 本地剩余令牌数
+         */
+        private long remaining;
+
+        /**
+         * 租约过期时间（毫秒时间戳）
+         */
+        private long expireAt;
+
+        /**
+         * 获取一个本地令牌，本地令牌耗尽或过期时从Redis续租
+         *
+         * @param leaseSize 每次续租的令牌数
+         * @param ttlMillis 租约有效期（毫秒）
+         * @param acquirer  从Redis获取指定数量令牌的函数
+         * @return 是否获取成功
+         */
+        synchronized boolean tryAcquire(long leaseSize, long ttlMillis, LongPredicate acquirer) {
+            long now = System.currentTimeMillis();
+            // 本地租约有效且有剩余令牌，直接消费
+            if (remaining > 0 && now < expireAt) {
+                remaining--;
+                return true;
+            }
+            // 从Redis批量续租
+            if (acquirer.test(leaseSize)) {
+                remaining = leaseSize - 1;
+                expireAt = now + ttlMillis;
+                return true;
+            }
+            // Redis剩余令牌不足一整批时退化为单个获取
+            remaining = 0;
+            return leaseSize > 1 && acquirer.test(1L);
+        }
+    }
 }
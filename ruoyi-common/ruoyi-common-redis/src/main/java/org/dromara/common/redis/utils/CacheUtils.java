@@ -7,11 +7,16 @@ import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
 // Spring工具类，用于获取Spring容器中的Bean
 import org.dromara.common.core.utils.SpringUtils;
+// Redisson缓存空值占位对象
+import org.redisson.spring.cache.NullValue;
 // Spring Cache接口，提供缓存操作API
 import org.springframework.cache.Cache;
 // Spring CacheManager接口，管理缓存实例
 import org.springframework.cache.CacheManager;
 
+// Java Map接口
+import java.util.Map;
+
 /**
  * Spring Cache操作工具类
  * 基于Spring Cache抽象层封装，提供统一的缓存操作入口
@@ -48,6 +53,29 @@ public class CacheUtils {
         return wrapper != null ? (T) wrapper.get() : null;
     }
 
+    /**
+     * 获取缓存值（跳过本地一级缓存）
+     * 直接读取Redis中的值，用于收到变更通知后读取其他节点刚写入的最新数据
+     *
+     * @param cacheNames 缓存组名称（如：userCache、dictCache）
+     * @param key        缓存key
+     * @param <T>        返回值类型
+     * @return 缓存值，不存在返回null
+     */
+    public static <T> T getRemote(String cacheNames, Object key) {
+        // 获取缓存实例
+        Cache cache = CACHE_MANAGER.getCache(cacheNames);
+        // 原生缓存为Redisson的RMap，直接读取不经过Caffeine
+        if (cache.getNativeCache() instanceof Map<?, ?> map) {
+            Object value = map.get(key);
+            // 允许缓存空值时Redis中保存的是NullValue占位
+            return value instanceof NullValue ? null : (T) value;
+        }
+        // 其他缓存实现退回普通读取
+        Cache.ValueWrapper wrapper = cache.get(key);
+        return wrapper != null ? (T) wrapper.get() : null;
+    }
+
     /**
      * 保存缓存值（覆盖模式）
      * 如果key已存在则覆盖，不存在则创建
@@ -9,6 +9,7 @@ import org.dromara.common.redis.config.properties.RedissonProperties;
 import org.dromara.common.tenant.core.TenantSaTokenDao;
 import org.dromara.common.tenant.handle.PlusTenantLineHandler;
 import org.dromara.common.tenant.handle.TenantKeyPrefixHandler;
+import org.dromara.common.tenant.interceptor.PlusTenantLineInnerInterceptor;
 import org.dromara.common.tenant.manager.TenantSpringCacheManager;
 import org.dromara.common.tenant.properties.TenantProperties;
 import org.redisson.config.ClusterServersConfig;
@@ -47,8 +48,8 @@ public class TenantConfig {
         // 创建TenantLineInnerInterceptor Bean，用于MyBatis-Plus多租户SQL拦截
         @Bean
         public TenantLineInnerInterceptor tenantLineInnerInterceptor(TenantProperties tenantProperties) {
-            // 使用PlusTenantLineHandler处理租户逻辑
-            return new TenantLineInnerInterceptor(new PlusTenantLineHandler(tenantProperties));
+            // 使用PlusTenantLineHandler处理租户逻辑，按SQL与租户缓存改写结果
+            return new PlusTenantLineInnerInterceptor(new PlusTenantLineHandler(tenantProperties));
         }
 
     }
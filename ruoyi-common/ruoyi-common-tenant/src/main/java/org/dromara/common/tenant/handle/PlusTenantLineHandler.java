@@ -1,8 +1,6 @@
 package org.dromara.common.tenant.handle;
 
-import cn.hutool.core.collection.ListUtil;
 import com.baomidou.mybatisplus.extension.plugins.handler.TenantLineHandler;
-import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import net.sf.jsqlparser.expression.Expression;
 import net.sf.jsqlparser.expression.NullValue;
@@ -11,7 +9,9 @@ import org.dromara.common.core.utils.StringUtils;
 import org.dromara.common.tenant.helper.TenantHelper;
 import org.dromara.common.tenant.properties.TenantProperties;
 
-import java.util.List;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
 
 /**
  * 自定义租户处理器
@@ -20,12 +20,22 @@ import java.util.List;
  */
 // Lombok日志注解，自动生成log日志对象
 @Slf4j
-// Lombok注解，生成包含所有final字段的构造函数
-@AllArgsConstructor
 public class PlusTenantLineHandler implements TenantLineHandler {
 
-    // 租户配置属性，包含需要排除的表列表
-    private final TenantProperties tenantProperties;
+    // 不需要过滤租户的表（小写），启动时由配置排除表和非业务表合并生成，不可变
+    private final Set<String> ignoreTables;
+
+    public PlusTenantLineHandler(TenantProperties tenantProperties) {
+        // 定义非业务表（代码生成相关表）
+        Set<String> tables = new HashSet<>();
+        tables.add("gen_table");
+        tables.add("gen_table_column");
+        // 合并配置中不需要过滤租户的表列表
+        if (tenantProperties.getExcludes() != null) {
+            tenantProperties.getExcludes().forEach(table -> tables.add(table.toLowerCase(Locale.ROOT)));
+        }
+        this.ignoreTables = Set.copyOf(tables);
+    }
 
     // 获取当前租户ID，用于SQL注入
     @Override
@@ -48,17 +58,8 @@ public class PlusTenantLineHandler implements TenantLineHandler {
         String tenantId = TenantHelper.getTenantId();
         // 判断是否有租户（租户ID不为空才需要过滤）
         if (StringUtils.isNotBlank(tenantId)) {
-            // 获取配置中不需要过滤租户的表列表
-            List<String> excludes = tenantProperties.getExcludes();
-            // 定义非业务表（代码生成相关表）
-            List<String> tables = ListUtil.toList(
-                "gen_table",
-                "gen_table_column"
-            );
-            // 将配置排除表和非业务表合并
-            tables.addAll(excludes);
             // 判断当前表名是否在排除列表中（忽略大小写）
-            return StringUtils.equalsAnyIgnoreCase(tableName, tables.toArray(new String[0]));
+            return ignoreTables.contains(tableName.toLowerCase(Locale.ROOT));
         }
         // 如果没有租户ID，直接返回true（忽略所有表）
         return true;
@@ -55,6 +55,13 @@ public class TenantHelper {
     // 只在当前线程内有效，线程结束后自动清理
     private static final ThreadLocal<String> TEMP_DYNAMIC_TENANT = new ThreadLocal<>();
 
+    // SaStorage中缓存当前请求解析出的租户ID的Key
+    // 同一请求内只解析一次登录信息与动态租户，动态租户变更时清除
+    private static final String TENANT_CONTEXT_KEY = GlobalConstants.GLOBAL_REDIS_KEY + "tenantContext";
+
+    // 租户功能开关，首次读取配置后缓存
+    private static volatile Boolean enable;
+
     // 可重入忽略计数器，使用ThreadLocal存储每个线程的调用栈
     // Stack<Integer>存储忽略深度，支持嵌套调用
     private static final ThreadLocal<Stack<Integer>> REENTRANT_IGNORE = ThreadLocal.withInitial(Stack::new);
@@ -63,9 +70,18 @@ public class TenantHelper {
      * 租户功能是否启用
      */
     // 从Spring配置中读取tenant.enable配置项，默认false
-    // 用于判断系统是否开启多租户功能
+    // 用于判断系统是否开启多租户功能，读取到配置后缓存，避免每条SQL都解析配置
     public static boolean isEnable() {
-        return Convert.toBool(SpringUtils.getProperty("tenant.enable"), false);
+        Boolean value = enable;
+        if (value == null) {
+            String property = SpringUtils.getProperty("tenant.enable");
+            if (property == null) {
+                return false;
+            }
+            value = Convert.toBool(property, false);
+            enable = value;
+        }
+        return value;
     }
 
     // 私有方法：通过反射获取MyBatis-Plus的忽略策略ThreadLocal
@@ -206,7 +222,10 @@ public class TenantHelper {
         // 将租户ID存储到Redis，设置过期时间（默认2小时）
         RedisUtils.setCacheObject(cacheKey, tenantId);
         // 同时存储到SaStorage，当前请求内有效
-        SaHolder.getStorage().set(cacheKey, tenantId);
+        SaStorage storage = SaHolder.getStorage();
+        storage.set(cacheKey, tenantId);
+        // 清除当前请求已解析的租户ID
+        storage.delete(TENANT_CONTEXT_KEY);
     }
 
     /**
@@ -267,7 +286,10 @@ public class TenantHelper {
         // 删除Redis中的租户信息
         RedisUtils.deleteObject(cacheKey);
         // 删除SaStorage中的租户信息
-        SaHolder.getStorage().delete(cacheKey);
+        SaStorage storage = SaHolder.getStorage();
+        storage.delete(cacheKey);
+        // 清除当前请求已解析的租户ID
+        storage.delete(TENANT_CONTEXT_KEY);
     }
 
     /**
@@ -312,19 +334,47 @@ public class TenantHelper {
      * 获取当前租户id(动态租户优先)
      */
     // 获取当前有效的租户ID，优先级：动态租户 > Token租户
-    // 用于MyBatis-Plus租户拦截器获取当前租户ID
+    // 用于MyBatis-Plus租户拦截器获取当前租户ID，每条SQL的每张表都会调用
     public static String getTenantId() {
         // 判断租户功能是否启用，未启用返回null
         if (!isEnable()) {
             return null;
         }
+        // 线程内临时租户优先，不缓存
+        String tenantId = TEMP_DYNAMIC_TENANT.get();
+        if (StringUtils.isNotBlank(tenantId)) {
+            return tenantId;
+        }
+        // 当前请求已解析过租户ID，直接返回
+        SaStorage storage = getStorage();
+        if (storage != null) {
+            tenantId = storage.getString(TENANT_CONTEXT_KEY);
+            if (StringUtils.isNotBlank(tenantId)) {
+                return tenantId;
+            }
+        }
         // 优先获取动态租户（手动设置的租户）
-        String tenantId = TenantHelper.getDynamic();
+        tenantId = TenantHelper.getDynamic();
         // 如果没有动态租户，从Token扩展信息中获取
         if (StringUtils.isBlank(tenantId)) {
             tenantId = LoginHelper.getTenantId();
         }
+        // 只缓存已登录用户的租户ID，登录前后租户会发生变化
+        if (storage != null && StringUtils.isNotBlank(tenantId) && LoginHelper.isLogin()) {
+            storage.set(TENANT_CONTEXT_KEY, tenantId);
+        }
         return tenantId;
     }
 
+    /**
+     * 获取当前请求的存储器，非Web上下文（如定时任务、异步线程）返回null
+     */
+    private static SaStorage getStorage() {
+        try {
+            return SaHolder.getStorage();
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
 }
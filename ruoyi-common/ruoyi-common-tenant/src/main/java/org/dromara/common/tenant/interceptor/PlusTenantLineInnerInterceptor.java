@@ -0,0 +1,63 @@
+package org.dromara.common.tenant.interceptor;
+
+import com.baomidou.mybatisplus.extension.plugins.handler.TenantLineHandler;
+import com.baomidou.mybatisplus.extension.plugins.inner.TenantLineInnerInterceptor;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.dromara.common.core.utils.StringUtils;
+import org.dromara.common.tenant.helper.TenantHelper;
+
+/**
+ * 多租户插件
+ * <p>
+ * 租户条件只取决于原始 SQL 与当前租户，按 (SQL, 租户, 语句类型) 缓存改写后的 SQL
+ * 相同语句在同一租户下只解析、改写一次，忽略租户的语句在进入改写前已由父类跳过
+ *
+ * @author Lion Li
+ */
+public class PlusTenantLineInnerInterceptor extends TenantLineInnerInterceptor {
+
+    /**
+     * 改写结果缓存上限
+     */
+    private static final int MAX_SIZE = 4096;
+
+    /**
+     * 改写后的 SQL 缓存
+     */
+    private final Cache<SqlKey, String> sqlCache = Caffeine.newBuilder()
+        .maximumSize(MAX_SIZE)
+        .build();
+
+    public PlusTenantLineInnerInterceptor(TenantLineHandler tenantLineHandler) {
+        super(tenantLineHandler);
+    }
+
+    @Override
+    public String parserSingle(String sql, Object obj) {
+        return sqlCache.get(new SqlKey(sql, tenantKey(), false), key -> super.parserSingle(sql, obj));
+    }
+
+    @Override
+    public String parserMulti(String sql, Object obj) {
+        return sqlCache.get(new SqlKey(sql, tenantKey(), true), key -> super.parserMulti(sql, obj));
+    }
+
+    /**
+     * 当前租户，无租户时所有表都被忽略，使用空串区分
+     */
+    private static String tenantKey() {
+        return StringUtils.blankToDefault(TenantHelper.getTenantId(), StringUtils.EMPTY);
+    }
+
+    /**
+     * 缓存键
+     *
+     * @param sql      原始 SQL
+     * @param tenantId 当前租户
+     * @param multi    是否为多语句解析（增删改）
+     */
+    private record SqlKey(String sql, String tenantId, boolean multi) {
+    }
+
+}
@@ -6,10 +6,11 @@ import cn.hutool.core.io.IoUtil;
 import cn.hutool.core.map.MapUtil;
 // 导入Hutool的数组工具类，用于数组判空操作
 import cn.hutool.core.util.ArrayUtil;
-// 导入Hutool的字符串工具类，用于字符串转换
-import cn.hutool.core.util.StrUtil;
-// 导入Hutool的HTML工具类，提供HTML标签清理功能，防止XSS攻击
-import cn.hutool.http.HtmlUtil;
+// 导入Jackson的流式JSON读写类，用于逐个token清理字符串值
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 // 导入Servlet读取监听器接口
 import jakarta.servlet.ReadListener;
 // 导入Servlet输入流
@@ -20,6 +21,8 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletRequestWrapper;
 // 导入字符串工具类，用于字符串判断
 import org.dromara.common.core.utils.StringUtils;
+// 导入JSON工具类，复用全局ObjectMapper的JsonFactory
+import org.dromara.common.json.utils.JsonUtils;
 // 导入Spring的HTTP头常量
 import org.springframework.http.HttpHeaders;
 // 导入Spring的MediaType常量，用于判断请求内容类型
@@ -27,19 +30,43 @@ import org.springframework.http.MediaType;
 
 // 导入Java IO相关类
 import java.io.ByteArrayInputStream; // 导入字节数组输入流
+import java.io.ByteArrayOutputStream; // 导入字节数组输出流
 import java.io.IOException; // 导入IO异常类
-import java.nio.charset.StandardCharsets; // 导入标准字符集常量
+import java.util.Collections; // 导入集合工具类
 import java.util.HashMap; // 导入HashMap集合类
 import java.util.Map; // 导入Map接口
+import java.util.regex.Pattern; // 导入正则表达式类
 
 /**
  * XSS攻击防护请求包装器
  * 继承HttpServletRequestWrapper，对请求参数和请求体进行HTML标签清理
  * 防止XSS（跨站脚本攻击）注入恶意脚本
+ * JSON请求体按token流式处理，只清理字符串值，清理后的参数在同一请求内缓存
  *
  * @author ruoyi
  */
 public class XssHttpServletRequestWrapper extends HttpServletRequestWrapper {
+
+    /**
+     * HTML标签匹配正则，与HtmlUtil.cleanHtmlTag规则一致，预编译复用
+     */
+    private static final Pattern HTML_TAG = Pattern.compile("(<[^<]*?>)|(<[\\s]*?/[^<]*?>)|(<[^<]*?/[\\s]*?>)");
+
+    /**
+     * 清理后的参数值缓存，key为参数名
+     */
+    private final Map<String, String[]> cleanedValues = new HashMap<>();
+
+    /**
+     * 清理后的参数Map缓存
+     */
+    private Map<String, String[]> cleanedMap;
+
+    /**
+     * 清理后的JSON请求体缓存
+     */
+    private byte[] cleanedBody;
+
     /**
      * 构造函数
      * 调用父类构造函数保存原始请求对象
@@ -60,15 +87,10 @@ public class XssHttpServletRequestWrapper extends HttpServletRequestWrapper {
      */
     @Override
     public String getParameter(String name) {
-        // 从父类获取原始参数值
-        String value = super.getParameter(name);
-        // 如果值为null，直接返回null
-        if (value == null) {
-            return null;
-        }
-        // 使用Hutool的HtmlUtil清理HTML标签，并去除前后空格
-        // 防止XSS攻击，移除所有HTML标签
-        return HtmlUtil.cleanHtmlTag(value).trim();
+        // 复用清理后的参数值数组，取第一个值
+        String[] values = getParameterValues(name);
+        // 如果数组为空，返回null
+        return ArrayUtil.isEmpty(values) ? null : values[0];
     }
 
     /**
@@ -79,6 +101,10 @@ public class XssHttpServletRequestWrapper extends HttpServletRequestWrapper {
      */
     @Override
     public Map<String, String[]> getParameterMap() {
+        // 已清理过直接返回缓存
+        if (cleanedMap != null) {
+            return cleanedMap;
+        }
         // 从父类获取原始参数Map
         Map<String, String[]> valueMap = super.getParameterMap();
         // 如果Map为空，直接返回
@@ -86,43 +112,30 @@ public class XssHttpServletRequestWrapper extends HttpServletRequestWrapper {
             return valueMap;
         }
         // 为了避免某些容器不允许修改原始参数Map，创建一份副本进行修改
-        // 创建新的HashMap，容量为原始Map大小
         Map<String, String[]> map = new HashMap<>(valueMap.size());
-        // 将原始Map所有数据复制到新Map
-        map.putAll(valueMap);
-        // 遍历Map中的所有键值对
-        for (Map.Entry<String, String[]> entry : map.entrySet()) {
-            // 获取参数值数组
-            String[] values = entry.getValue();
-            // 如果值不为null
-            if (values != null) {
-                // 获取数组长度
-                int length = values.length;
-                // 创建新的字符串数组存储清理后的值
-                String[] escapseValues = new String[length];
-                // 遍历数组每个元素
-                for (int i = 0; i < length; i++) {
-                    // 对每个值进行HTML标签清理和前后空格过滤
-                    // 防止XSS攻击，移除所有HTML标签
-                    escapseValues[i] = HtmlUtil.cleanHtmlTag(values[i]).trim();
-                }
-                // 将清理后的数组放回Map
-                map.put(entry.getKey(), escapseValues);
-            }
+        // 遍历Map中的所有键值对，复用单个参数的清理缓存
+        for (String name : valueMap.keySet()) {
+            map.put(name, getParameterValues(name));
         }
-        // 返回清理后的Map
-        return map;
+        // 缓存并返回不可修改的Map
+        cleanedMap = Collections.unmodifiableMap(map);
+        return cleanedMap;
     }
 
     /**
      * 获取指定参数名的所有值
-     * 对参数值数组进行HTML标签清理和前后空格过滤
+     * 对参数值数组进行HTML标签清理和前后空格过滤，结果在同一请求内缓存
      *
      * @param name 参数名
      * @return 清理后的参数值数组
      */
     @Override
     public String[] getParameterValues(String name) {
+        // 命中缓存直接返回副本，防止调用方修改缓存内容
+        String[] cached = cleanedValues.get(name);
+        if (cached != null) {
+            return cached.clone();
+        }
         // 从父类获取原始参数值数组
         String[] values = super.getParameterValues(name);
         // 如果数组为空，直接返回
@@ -136,16 +149,17 @@ public class XssHttpServletRequestWrapper extends HttpServletRequestWrapper {
         // 遍历数组每个元素
         for (int i = 0; i < length; i++) {
             // 对每个值进行HTML标签清理和前后空格过滤
-            // 防止XSS攻击，移除所有HTML标签
-            escapseValues[i] = HtmlUtil.cleanHtmlTag(values[i]).trim();
+            escapseValues[i] = cleanHtmlTag(values[i]).trim();
         }
-        // 返回清理后的数组
-        return escapseValues;
+        // 缓存清理结果
+        cleanedValues.put(name, escapseValues);
+        // 返回清理后的数组副本
+        return escapseValues.clone();
     }
 
     /**
      * 获取Servlet输入流
-     * 对JSON请求体进行HTML标签清理和前后空格过滤
+     * 对JSON请求体中的字符串值进行HTML标签清理
      *
      * @return ServletInputStream对象
      * @throws IOException IO异常
@@ -156,33 +170,22 @@ public class XssHttpServletRequestWrapper extends HttpServletRequestWrapper {
         if (!isJsonRequest()) {
             return super.getInputStream();
         }
-
-        // 读取请求体内容为字符串
-        // 使用Hutool的IoUtil读取字节数组，再转换为UTF-8字符串
-        String json = StrUtil.str(IoUtil.readBytes(super.getInputStream(), false), StandardCharsets.UTF_8);
-        // 如果请求体为空，直接返回原始输入流
-        if (StringUtils.isEmpty(json)) {
-            return super.getInputStream();
+        // 首次读取时清理并缓存请求体
+        if (cleanedBody == null) {
+            cleanedBody = cleanJson(IoUtil.readBytes(super.getInputStream(), false));
         }
-
-        // 对JSON字符串进行XSS过滤
-        // 使用Hutool的HtmlUtil清理HTML标签，并去除前后空格
-        json = HtmlUtil.cleanHtmlTag(json).trim();
-        // 将清理后的字符串转换为UTF-8字节数组
-        byte[] jsonBytes = json.getBytes(StandardCharsets.UTF_8);
         // 从字节数组创建ByteArrayInputStream
-        final ByteArrayInputStream bis = IoUtil.toStream(jsonBytes);
+        final ByteArrayInputStream bis = IoUtil.toStream(cleanedBody);
         // 返回自定义的ServletInputStream实现
         return new ServletInputStream() {
             /**
              * 是否读取完成
-             * 对于ByteArrayInputStream，始终返回true（表示可以重复读取）
              *
-             * @return true
+             * @return 字节数组是否已读完
              */
             @Override
             public boolean isFinished() {
-                return true;
+                return bis.available() == 0;
             }
 
             /**
@@ -198,14 +201,13 @@ public class XssHttpServletRequestWrapper extends HttpServletRequestWrapper {
 
             /**
              * 获取可读字节数
-             * 返回字节数组的长度
              *
              * @return 可读字节数
              * @throws IOException IO异常
              */
             @Override
             public int available() throws IOException {
-                return jsonBytes.length;
+                return bis.available();
             }
 
             /**
@@ -230,9 +232,64 @@ public class XssHttpServletRequestWrapper extends HttpServletRequestWrapper {
             public int read() throws IOException {
                 return bis.read();
             }
+
+            /**
+             * 批量读取字节
+             * 委托给ByteArrayInputStream的read方法，避免逐字节读取
+             *
+             * @return 读取的字节数，-1表示流结束
+             */
+            @Override
+            public int read(byte[] b, int off, int len) {
+                return bis.read(b, off, len);
+            }
         };
     }
 
+    /**
+     * 清理JSON请求体
+     * 单次遍历JSON token，只对字符串值清理HTML标签，字段名、数字等原样输出
+     * 字符串中的 '<' 可能以Unicode转义形式书写，必须解码后逐个判断，不能按原始字节跳过
+     *
+     * @param json 原始JSON字节
+     * @return 清理后的JSON字节
+     */
+    private static byte[] cleanJson(byte[] json) throws IOException {
+        JsonFactory factory = JsonUtils.getObjectMapper().getFactory();
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length);
+        try (JsonParser parser = factory.createParser(json);
+             JsonGenerator generator = factory.createGenerator(out)) {
+            JsonToken token;
+            while ((token = parser.nextToken()) != null) {
+                if (token == JsonToken.VALUE_STRING) {
+                    // 只清理字符串值
+                    generator.writeString(cleanHtmlTag(parser.getText()));
+                } else {
+                    // 其余token原样复制，数字保持原始精度
+                    generator.copyCurrentEventExact(parser);
+                }
+            }
+        } catch (IOException e) {
+            // 非法JSON原样交给后续的消息转换器报错
+            return json;
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * 清理字符串中的HTML标签
+     * 不含 '<' 的字符串直接返回，跳过正则匹配
+     *
+     * @param value 原始字符串
+     * @return 清理后的字符串
+     */
+    private static String cleanHtmlTag(String value) {
+        if (value.indexOf('<') < 0) {
+            return value;
+        }
+        return HTML_TAG.matcher(value).replaceAll(StringUtils.EMPTY);
+    }
+
     /**
      * 判断是否为JSON请求
      * 检查Content-Type请求头是否以application/json开头
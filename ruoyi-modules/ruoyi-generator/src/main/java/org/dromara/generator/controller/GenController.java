@@ -6,9 +6,6 @@ import cn.dev33.satoken.annotation.SaCheckPermission;
 // 导入Hutool的类型转换工具类，用于将字符串转换为数组
 // Convert.toStrArray方法将逗号分隔的字符串转换为String数组
 import cn.hutool.core.convert.Convert;
-// 导入Hutool的IO工具类，用于文件下载流操作
-// IoUtil.write方法将字节数组写入输出流
-import cn.hutool.core.io.IoUtil;
 // 导入分布式锁注解，防止同步数据库等操作并发执行
 // @Lock4j注解基于Redis实现分布式锁，确保方法同一时间只能被一个线程执行
 import com.baomidou.lock.annotation.Lock4j;
@@ -61,6 +58,8 @@ import org.springframework.web.bind.annotation.*;
 
 // 导入IO异常类
 import java.io.IOException;
+// 导入Arrays工具类
+import java.util.Arrays;
 // 导入HashMap类
 import java.util.HashMap;
 // 导入List接口
@@ -288,10 +287,12 @@ public class GenController extends BaseController {
     // 使用@GetMapping注解，映射GET请求，路径为/tool/gen/download/{tableId}
     @GetMapping("/download/{tableId}")
     public void download(HttpServletResponse response, @PathVariable("tableId") Long tableId) throws IOException {
-        // 生成代码字节数组：调用服务层生成ZIP文件并返回字节数组
-        byte[] data = genTableService.downloadCode(tableId);
-        // 设置响应头并写入数据：调用父类BaseController的genCode方法
-        genCode(response, data);
+        // 先查询表信息，表不存在时返回错误信息而不是残缺的压缩包
+        List<GenTable> tables = genTableService.selectDownloadTables(List.of(tableId));
+        // 设置下载响应头
+        genCode(response);
+        // 生成代码：调用服务层生成ZIP文件，直接写入响应输出流
+        genTableService.downloadCode(tables, response.getOutputStream());
     }
 
     /**
@@ -340,6 +341,27 @@ public class GenController extends BaseController {
         return R.ok();
     }
 
+    /**
+     * 批量同步数据库
+     * 按数据源一次读取已导入表的结构，只同步结构发生变化的表
+     * 需要tool:gen:edit权限
+     *
+     * @param dataName 数据源名称，为空时同步全部数据源
+     * @return 字段发生变化的表数量
+     */
+    // 使用@SaCheckPermission注解进行权限校验
+    @SaCheckPermission("tool:gen:edit")
+    // 使用@Log注解记录操作日志
+    @Log(title = "代码生成", businessType = BusinessType.UPDATE)
+    // 使用@Lock4j注解添加分布式锁，全库同步耗时较长，锁超时时间设置为10分钟
+    @Lock4j(expire = 600000)
+    // 使用@GetMapping注解，映射GET请求，路径为/tool/gen/synchDbBatch
+    @GetMapping("/synchDbBatch")
+    public R<Integer> synchDbBatch(String dataName) {
+        // 调用服务层批量同步数据库
+        return R.ok(genTableService.synchDbBatch(dataName));
+    }
+
     /**
      * 批量生成代码
      * 批量生成多个表的代码并打包下载
@@ -355,24 +377,25 @@ public class GenController extends BaseController {
     // 使用@GetMapping注解，映射GET请求，路径为/tool/gen/batchGenCode
     @GetMapping("/batchGenCode")
     public void batchGenCode(HttpServletResponse response, String tableIdStr) throws IOException {
-        // 将ID字符串转换为数组：使用Hutool的Convert.toStrArray方法
-        // 例如："1,2,3" -> ["1", "2", "3"]
-        String[] tableIds = Convert.toStrArray(tableIdStr);
-        // 批量生成代码：调用服务层生成多个表的ZIP文件
-        byte[] data = genTableService.downloadCode(tableIds);
-        // 设置响应头并写入数据：调用父类BaseController的genCode方法
-        genCode(response, data);
+        // 将ID字符串转换为数组：使用Hutool的Convert.toLongArray方法
+        // 例如："1,2,3" -> [1, 2, 3]
+        Long[] tableIds = Convert.toLongArray(tableIdStr);
+        // 先查询全部表信息，表不存在时返回错误信息而不是残缺的压缩包
+        List<GenTable> tables = genTableService.selectDownloadTables(Arrays.asList(tableIds));
+        // 设置下载响应头
+        genCode(response);
+        // 批量生成代码：调用服务层并行渲染多个表，ZIP直接写入响应输出流
+        genTableService.downloadCode(tables, response.getOutputStream());
     }
 
     /**
-     * 生成zip文件
-     * 设置文件下载响应头，将字节数组写入响应流
+     * 设置zip文件下载响应头
+     * ZIP内容边生成边写入响应流，长度未知，不设置Content-Length
      * 私有方法，供download和batchGenCode方法调用
      *
      * @param response 响应对象
-     * @param data     字节数组数据（ZIP文件内容）
      */
-    private void genCode(HttpServletResponse response, byte[] data) throws IOException {
+    private void genCode(HttpServletResponse response) {
         // 重置响应：清除之前的响应状态
         response.reset();
         // 设置跨域访问允许：允许所有域名访问（*表示所有域名）
@@ -381,12 +404,8 @@ public class GenController extends BaseController {
         response.addHeader("Access-Control-Expose-Headers", "Content-Disposition");
         // 设置下载文件名：固定为ruoyi.zip
         response.setHeader("Content-Disposition", "attachment; filename=\"ruoyi.zip\"");
-        // 设置内容长度：让浏览器显示下载进度
-        response.addHeader("Content-Length", "" + data.length);
         // 设置内容类型为二进制流：application/octet-stream表示二进制数据
         response.setContentType("application/octet-stream; charset=UTF-8");
-        // 将字节数组写入响应输出流：使用Hutool的IoUtil.write方法
-        IoUtil.write(response.getOutputStream(), false, data);
     }
 
     /**
@@ -48,4 +48,21 @@ public interface GenTableMapper extends BaseMapperPlus<GenTable, GenTable> {
      */
     @DS("")
     List<String> selectTableNameList(String dataName);
+
+    /**
+     * 查询指定数据源下已导入的表及字段配置
+     *
+     * @param dataName 数据源名称
+     * @return 业务信息集合
+     */
+    @DS("")
+    List<GenTable> selectGenTableListByDataName(String dataName);
+
+    /**
+     * 查询已导入表的数据源名称列表
+     *
+     * @return 数据源名称列表
+     */
+    @DS("")
+    List<String> selectDataNameList();
 }
@@ -12,6 +12,9 @@ import cn.hutool.core.util.ObjectUtil;
 import com.baomidou.dynamic.datasource.annotation.DS;
 // 导入动态数据源事务注解，确保跨数据源操作的事务一致性
 import com.baomidou.dynamic.datasource.annotation.DSTransactional;
+// 导入多数据源本地事务上下文与事务同步回调
+import com.baomidou.dynamic.datasource.tx.TransactionContext;
+import com.baomidou.dynamic.datasource.tx.TransactionSynchronization;
 // 导入MyBatis-Plus的Lambda查询包装器，支持类型安全的字段引用
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 // 导入MyBatis-Plus的查询包装器，用于构建SQL查询条件
@@ -22,28 +25,22 @@ import com.baomidou.mybatisplus.core.incrementer.IdentifierGenerator;
 import com.baomidou.mybatisplus.core.toolkit.Wrappers;
 // 导入MyBatis-Plus的分页插件，支持物理分页
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+// 导入销毁回调注解，用于关闭渲染线程池
+import jakarta.annotation.PreDestroy;
 // 导入Lombok的RequiredArgsConstructor注解，自动生成包含final字段的构造函数
 import lombok.RequiredArgsConstructor;
 // 导入Lombok的Slf4j注解，自动生成日志对象
 import lombok.extern.slf4j.Slf4j;
-// 导入Anyline的列元数据类，用于获取数据库列信息
-import org.anyline.metadata.Column;
 // 导入Anyline的表元数据类，用于获取数据库表信息
 import org.anyline.metadata.Table;
 // 导入Anyline的服务代理类，用于获取元数据服务
 import org.anyline.proxy.ServiceProxy;
-// 导入Velocity模板类，用于渲染模板
-import org.apache.velocity.Template;
+// 导入线程工厂构建器，用于创建渲染线程池的线程
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
 // 导入Velocity上下文类，存储模板变量
 import org.apache.velocity.VelocityContext;
-// 导入Velocity引擎类，用于加载和渲染模板
-import org.apache.velocity.app.Velocity;
-// 导入系统常量类，包含UTF8等常量
-import org.dromara.common.core.constant.Constants;
 // 导入业务异常类，用于抛出业务逻辑异常
 import org.dromara.common.core.exception.ServiceException;
-// 导入Spring工具类，用于获取Spring容器中的Bean
-import org.dromara.common.core.utils.SpringUtils;
 // 导入Stream工具类，提供流式操作增强
 import org.dromara.common.core.utils.StreamUtils;
 // 导入字符串工具类，提供字符串操作增强
@@ -66,6 +63,10 @@ import org.dromara.generator.domain.GenTableColumn;
 import org.dromara.generator.mapper.GenTableColumnMapper;
 // 导入代码生成表Mapper
 import org.dromara.generator.mapper.GenTableMapper;
+// 导入数据库元数据批量读取工具类
+import org.dromara.generator.util.GenMetadataUtils;
+import org.dromara.generator.util.GenMetadataUtils.SchemaMetadata;
+import org.dromara.generator.util.GenMetadataUtils.TableMetadata;
 // 导入代码生成工具类
 import org.dromara.generator.util.GenUtils;
 // 导入Velocity初始化工具类
@@ -76,19 +77,28 @@ import org.dromara.generator.util.VelocityUtils;
 import org.springframework.stereotype.Service;
 // 导入Spring的事务注解，确保方法在事务中执行
 import org.springframework.transaction.annotation.Transactional;
+// 导入Spring事务同步管理器
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
-// 导入字节数组输出流，用于内存中构建字节数组
-import java.io.ByteArrayOutputStream;
 // 导入文件类，用于文件操作
 import java.io.File;
 // 导入IO异常类
 import java.io.IOException;
+// 导入输出流，ZIP直接写入响应流
+import java.io.OutputStream;
 // 导入字符串写入器，用于将数据写入字符串
 import java.io.StringWriter;
 // 导入标准字符集类，指定UTF-8编码
 import java.nio.charset.StandardCharsets;
 // 导入集合工具类
 import java.util.*;
+// 导入并发工具类，用于并行渲染
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 // 导入ZIP条目类，表示ZIP文件中的一个条目
 import java.util.zip.ZipEntry;
 // 导入ZIP输出流，用于创建ZIP文件
@@ -122,6 +132,42 @@ public class GenTableServiceImpl implements IGenTableService {
      */
     private final IdentifierGenerator identifierGenerator;
 
+    /**
+     * 批量下载时同时渲染的表数量
+     * 只有这些表的渲染结果驻留内存，写入ZIP后即释放，下载再多的表内存占用也保持不变
+     */
+    private static final int RENDER_PARALLELISM = Math.max(2, Runtime.getRuntime().availableProcessors());
+
+    /**
+     * 模板渲染线程池
+     * 渲染为CPU密集型任务，使用独立的有界线程池，避免大批量下载占满公共定时任务线程池
+     * 排队已满时由请求线程自行渲染，起到限流作用
+     */
+    private final ExecutorService renderExecutor = new ThreadPoolExecutor(RENDER_PARALLELISM, RENDER_PARALLELISM,
+        60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(RENDER_PARALLELISM * 4),
+        new BasicThreadFactory.Builder().namingPattern("gen-render-%d").daemon(true).build(),
+        new ThreadPoolExecutor.CallerRunsPolicy());
+
+    /**
+     * 批量同步时同时读取元数据的数据源数量
+     */
+    private static final int METADATA_PARALLELISM = 4;
+
+    /**
+     * 元数据读取线程池
+     * 读取元数据为阻塞的数据库查询，使用独立的有界线程池，不占用公共定时任务线程池
+     * 排队已满时由请求线程自行读取
+     */
+    private final ExecutorService metadataExecutor = new ThreadPoolExecutor(METADATA_PARALLELISM, METADATA_PARALLELISM,
+        60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(METADATA_PARALLELISM * 4),
+        new BasicThreadFactory.Builder().namingPattern("gen-metadata-%d").daemon(true).build(),
+        new ThreadPoolExecutor.CallerRunsPolicy());
+
+    /**
+     * 字段批量写入的每批数量
+     */
+    private static final int BATCH_SIZE = 1000;
+
     /**
      * 需要忽略的表前缀数组
      * 代码生成时自动过滤以这些前缀开头的表（如sj_、flow_、gen_）
@@ -407,88 +453,48 @@ public class GenTableServiceImpl implements IGenTableService {
     @DSTransactional
     @Override
     public void importGenTable(List<GenTable> tableList, String dataName) {
+        if (CollUtil.isEmpty(tableList)) {
+            return;
+        }
         try {
+            // 一次读取所有导入表的字段结构，不再逐表查询
+            SchemaMetadata schema = GenMetadataUtils.loadSchema(dataName, StreamUtils.toList(tableList, GenTable::getTableName));
             // 遍历需要导入的表列表
             for (GenTable table : tableList) {
-                // 获取表名
-                String tableName = table.getTableName();
                 // 初始化表信息：设置类名、包路径、模块名、业务名、功能名、作者等
                 GenUtils.initTable(table);
                 // 设置数据源名称
                 table.setDataName(dataName);
-                // 插入主表记录
-                int row = baseMapper.insert(table);
-                // 如果插入成功，保存字段信息
-                if (row > 0) {
-                    // 通过AOP代理调用，确保@DS注解生效（解决同类方法调用导致注解失效问题）
-                    List<GenTableColumn> genTableColumns = SpringUtils.getAopProxy(this).selectDbTableColumnsByName(tableName, dataName);
-                    // 创建保存列表
-                    List<GenTableColumn> saveColumns = new ArrayList<>();
-                    // 遍历字段列表，初始化字段属性
-                    for (GenTableColumn column : genTableColumns) {
-                        // 初始化字段属性：Java字段名、Java类型、HTML控件类型、是否插入/编辑/列表/查询等
-                        GenUtils.initColumnField(column, table);
-                        // 添加到保存列表
-                        saveColumns.add(column);
-                    }
-                    // 如果字段列表不为空，批量插入
-                    if (CollUtil.isNotEmpty(saveColumns)) {
-                        genTableColumnMapper.insertBatch(saveColumns);
-                    }
+            }
+            // 批量插入主表记录（插入前已分配主键）
+            baseMapper.insertBatch(tableList);
+            // 创建保存列表
+            List<GenTableColumn> saveColumns = new ArrayList<>();
+            List<TableMetadata> synced = new ArrayList<>();
+            for (GenTable table : tableList) {
+                TableMetadata metadata = schema.tables().get(table.getTableName());
+                if (metadata == null) {
+                    continue;
                 }
+                // 初始化字段属性：Java字段名、Java类型、HTML控件类型、是否插入/编辑/列表/查询等
+                for (GenTableColumn column : metadata.copyColumns()) {
+                    GenUtils.initColumnField(column, table);
+                    saveColumns.add(column);
+                }
+                synced.add(metadata);
+            }
+            // 所有表的字段一起分批插入
+            if (CollUtil.isNotEmpty(saveColumns)) {
+                genTableColumnMapper.insertBatch(saveColumns, BATCH_SIZE);
             }
+            // 事务提交后记录已同步的表结构，后续批量同步时跳过未变化的表
+            afterCommit(() -> synced.forEach(metadata -> GenMetadataUtils.markSynced(schema, metadata)));
         } catch (Exception e) {
             // 捕获异常并转换为ServiceException，提供友好的错误提示
             throw new ServiceException("导入失败：" + e.getMessage());
         }
     }
 
-    /**
-     * 根据表名称查询列信息
-     * 从指定数据源查询表的字段结构信息
-     * 使用Anyline框架获取元数据，转换为GenTableColumn对象
-     *
-     * @param tableName 表名称
-     * @param dataName  数据源名称
-     * @return 列信息（GenTableColumn列表）
-     */
-    // 使用@DS注解指定动态数据源，#dataName表示从参数dataName获取数据源名称
-    @DS("#dataName")
-    @Override
-    public List<GenTableColumn> selectDbTableColumnsByName(String tableName, String dataName) {
-        // 通过Anyline获取指定表的元数据
-        Table<?> table = ServiceProxy.metadata().table(tableName);
-        // 如果表不存在，返回空列表
-        if (ObjectUtil.isNull(table)) {
-            return new ArrayList<>();
-        }
-        // 获取表的所有列元数据
-        LinkedHashMap<String, Column> columns = table.getColumns();
-        // 创建返回列表
-        List<GenTableColumn> tableColumns = new ArrayList<>();
-        // 遍历列元数据，转换为GenTableColumn对象
-        columns.forEach((columnName, column) -> {
-            GenTableColumn tableColumn = new GenTableColumn();
-            // 设置是否主键：通过Column的isPrimaryKey方法判断
-            tableColumn.setIsPk(column.isPrimaryKey() ? "1" : "0");
-            // 设置列名
-            tableColumn.setColumnName(column.getName());
-            // 设置列注释
-            tableColumn.setColumnComment(column.getComment());
-            // 设置列类型（转换为小写）
-            tableColumn.setColumnType(column.getOriginType().toLowerCase());
-            // 设置排序号（字段位置）
-            tableColumn.setSort(column.getPosition());
-            // 设置是否必填：通过Column的isNullable方法判断（反向）
-            tableColumn.setIsRequired(column.isNullable() ? "0" : "1");
-            // 设置是否自增：通过Column的isAutoIncrement方法判断
-            tableColumn.setIsIncrement(column.isAutoIncrement() ? "1" : "0");
-            // 添加到列表
-            tableColumns.add(tableColumn);
-        });
-        return tableColumns;
-    }
-
     /**
      * 预览代码
      * 根据表ID生成代码预览，返回所有模板渲染后的结果
@@ -513,47 +519,34 @@ public class GenTableServiceImpl implements IGenTableService {
         table.setMenuIds(menuIds);
         // 设置主键列信息
         setPkColumn(table);
-        // 初始化Velocity引擎
-        VelocityInitializer.initVelocity();
-
-        // 准备Velocity上下文，设置所有模板变量
-        VelocityContext context = VelocityUtils.prepareContext(table);
-
-        // 获取模板列表（根据模板类型：crud/tree）
-        List<String> templates = VelocityUtils.getTemplateList(table.getTplCategory());
-        // 遍历模板列表，逐个渲染
-        for (String template : templates) {
-            // 渲染模板：创建StringWriter用于接收渲染结果
-            StringWriter sw = new StringWriter();
-            // 获取Velocity模板对象，指定UTF-8编码
-            Template tpl = Velocity.getTemplate(template, Constants.UTF8);
-            // 合并上下文并渲染到StringWriter
-            tpl.merge(context, sw);
-            // 将渲染结果放入Map，key为模板路径
-            dataMap.put(template, sw.toString());
-        }
+        // 获取模板列表（根据模板类型：crud/tree）并逐个渲染，key为模板路径
+        dataMap.putAll(renderTemplates(table, VelocityUtils.getTemplateList(table.getTplCategory())));
         return dataMap;
     }
 
     /**
-     * 生成代码（下载方式）
-     * 根据表ID生成代码并打包为ZIP文件，返回字节数组供下载
+     * 查询下载代码所需的表信息
+     * 在写出下载响应之前调用，表不存在时抛出的异常仍能以正常的错误响应返回
      *
-     * @param tableId 表名称（gen_table表的table_id）
-     * @return ZIP文件字节数组
+     * @param tableIds 表ID列表
+     * @return 表信息列表（已设置菜单ID和主键列）
      */
     @Override
-    public byte[] downloadCode(Long tableId) {
-        // 创建字节数组输出流，用于在内存中构建ZIP文件
-        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-        // 创建ZIP输出流，包装字节数组输出流
-        ZipOutputStream zip = new ZipOutputStream(outputStream);
-        // 调用生成代码方法，将结果写入ZIP
-        generatorCode(tableId, zip);
-        // 关闭ZIP输出流（Hutool的IoUtil自动处理异常）
-        IoUtil.close(zip);
-        // 返回ZIP文件字节数组
-        return outputStream.toByteArray();
+    public List<GenTable> selectDownloadTables(Collection<Long> tableIds) {
+        if (CollUtil.isEmpty(tableIds)) {
+            throw new ServiceException("请选择要生成的表");
+        }
+        // 单表与批量下载使用同一流程
+        return StreamUtils.toList(tableIds, this::prepareDownloadTable);
+    }
+
+    /**
+     * 关闭模板渲染与元数据读取线程池
+     */
+    @PreDestroy
+    public void destroy() {
+        renderExecutor.shutdown();
+        metadataExecutor.shutdown();
     }
 
     /**
@@ -570,35 +563,22 @@ public class GenTableServiceImpl implements IGenTableService {
         // 设置主键列信息
         setPkColumn(table);
 
-        // 初始化Velocity引擎
-        VelocityInitializer.initVelocity();
-
-        // 准备Velocity上下文，设置所有模板变量
-        VelocityContext context = VelocityUtils.prepareContext(table);
-
         // 获取模板列表（根据模板类型：crud/tree）
-        List<String> templates = VelocityUtils.getTemplateList(table.getTplCategory());
-        // 遍历模板列表
-        for (String template : templates) {
-            // 过滤掉SQL和前端模板：只生成Java代码（Domain、Mapper、Service、Controller）
-            if (!StringUtils.containsAny(template, "sql.vm", "api.ts.vm", "types.ts.vm", "index.vue.vm", "index-tree.vue.vm")) {
-                // 渲染模板：创建StringWriter用于接收渲染结果
-                StringWriter sw = new StringWriter();
-                // 获取Velocity模板对象，指定UTF-8编码
-                Template tpl = Velocity.getTemplate(template, Constants.UTF8);
-                // 合并上下文并渲染到StringWriter
-                tpl.merge(context, sw);
-                try {
-                    // 获取生成路径
-                    String path = getGenPath(table, template);
-                    // 将渲染结果写入文件（UTF-8编码）
-                    FileUtils.writeUtf8String(sw.toString(), path);
-                } catch (Exception e) {
-                    // 捕获异常并抛出业务异常，提供友好的错误提示
-                    throw new ServiceException("渲染模板失败，表名：" + table.getTableName());
-                }
+        // 过滤掉SQL和前端模板：只生成Java代码（Domain、Mapper、Service、Controller）
+        List<String> templates = StreamUtils.filter(VelocityUtils.getTemplateList(table.getTplCategory()),
+            template -> !StringUtils.containsAny(template, "sql.vm", "api.ts.vm", "types.ts.vm", "index.vue.vm", "index-tree.vue.vm"));
+        // 渲染后逐个写入文件
+        renderTemplates(table, templates).forEach((template, content) -> {
+            try {
+                // 获取生成路径
+                String path = getGenPath(table, template);
+                // 将渲染结果写入文件（UTF-8编码）
+                FileUtils.writeUtf8String(content, path);
+            } catch (Exception e) {
+                // 捕获异常并抛出业务异常，提供友好的错误提示
+                throw new ServiceException("渲染模板失败，表名：" + table.getTableName());
             }
-        }
+        });
     }
 
     /**
@@ -615,104 +595,274 @@ public class GenTableServiceImpl implements IGenTableService {
     public void synchDb(Long tableId) {
         // 查询当前配置信息
         GenTable table = baseMapper.selectGenTableById(tableId);
-        // 获取当前配置的字段列表
-        List<GenTableColumn> tableColumns = table.getColumns();
-        // 将字段列表转换为Map，key为列名，value为GenTableColumn对象，方便快速查找
-        Map<String, GenTableColumn> tableColumnMap = StreamUtils.toIdentityMap(tableColumns, GenTableColumn::getColumnName);
-
-        // 通过AOP代理调用，确保@DS注解生效，查询数据库中的最新字段结构
-        List<GenTableColumn> dbTableColumns = SpringUtils.getAopProxy(this).selectDbTableColumnsByName(table.getTableName(), table.getDataName());
+        // 查询数据库中的最新字段结构
+        SchemaMetadata schema = GenMetadataUtils.loadSchema(table.getDataName(), List.of(table.getTableName()));
+        TableMetadata metadata = schema.tables().get(table.getTableName());
         // 如果查询结果为空，抛出异常
-        if (CollUtil.isEmpty(dbTableColumns)) {
+        if (metadata == null || CollUtil.isEmpty(metadata.copyColumns())) {
             throw new ServiceException("同步数据失败，原表结构不存在");
         }
-        // 提取数据库中的列名列表
-        List<String> dbTableColumnNames = StreamUtils.toList(dbTableColumns, GenTableColumn::getColumnName);
+        // 对比字段差异并批量写入
+        ColumnChanges changes = new ColumnChanges();
+        diffColumns(table, metadata.copyColumns(), changes);
+        saveColumnChanges(changes);
+        afterCommit(() -> GenMetadataUtils.markSynced(schema, metadata));
+    }
 
-        // 创建保存列表
-        List<GenTableColumn> saveColumns = new ArrayList<>();
-        // 遍历数据库中的字段列表
-        dbTableColumns.forEach(column -> {
-            // 初始化字段属性：Java字段名、Java类型、HTML控件类型等
-            GenUtils.initColumnField(column, table);
-            // 如果该字段在配置中已存在，保留用户配置
-            if (tableColumnMap.containsKey(column.getColumnName())) {
-                // 获取原配置中的字段信息
-                GenTableColumn prevColumn = tableColumnMap.get(column.getColumnName());
-                // 设置字段ID（更新时需要）
-                column.setColumnId(prevColumn.getColumnId());
-                // 如果是列表字段，保留用户配置的查询方式和字典类型
-                if (column.isList()) {
-                    // 保留字典类型
-                    column.setDictType(prevColumn.getDictType());
-                    // 保留查询方式
-                    column.setQueryType(prevColumn.getQueryType());
+    /**
+     * 批量同步数据库
+     * 按数据源一次读取已导入表的结构（多个数据源并行读取），只对比结构与上次同步相比发生变化的表，
+     * 字段的新增、修改、删除汇总后分批写入
+     *
+     * @param dataName 数据源名称，为空时同步所有已导入表的数据源
+     * @return 字段发生变化的表数量
+     */
+    @DSTransactional
+    @Override
+    public int synchDbBatch(String dataName) {
+        List<String> dataNames = StringUtils.isNotBlank(dataName)
+            ? List.of(dataName) : StreamUtils.filter(baseMapper.selectDataNameList(), StringUtils::isNotBlank);
+        // 各数据源只读取已导入的表，元数据并行读取
+        Map<String, List<GenTable>> genTables = new LinkedHashMap<>();
+        Map<String, Future<SchemaMetadata>> futures = new LinkedHashMap<>();
+        for (String name : dataNames) {
+            List<GenTable> list = baseMapper.selectGenTableListByDataName(name);
+            if (CollUtil.isEmpty(list)) {
+                continue;
+            }
+            genTables.put(name, list);
+            List<String> tableNames = StreamUtils.toList(list, GenTable::getTableName);
+            futures.put(name, metadataExecutor.submit(() -> GenMetadataUtils.loadSchema(name, tableNames)));
+        }
+        ColumnChanges changes = new ColumnChanges();
+        List<Runnable> synced = new ArrayList<>();
+        int changed = 0;
+        for (Map.Entry<String, Future<SchemaMetadata>> entry : futures.entrySet()) {
+            SchemaMetadata schema = getSchema(entry.getValue());
+            for (GenTable table : genTables.get(entry.getKey())) {
+                TableMetadata metadata = schema.tables().get(table.getTableName());
+                if (metadata == null) {
+                    // 原表已删除，保留配置由用户决定是否删除
+                    log.warn("同步数据库跳过不存在的表 dataName => {}, tableName => {}", entry.getKey(), table.getTableName());
+                    continue;
                 }
-                // 如果是(新增/修改&非主键/非忽略及父属性)，保留必填和显示类型配置
-                if (StringUtils.isNotEmpty(prevColumn.getIsRequired()) && !column.isPk()
-                    && (column.isInsert() || column.isEdit())
-                    && ((column.isUsableColumn()) || (!column.isSuperColumn()))) {
-                    // 保留必填配置
-                    column.setIsRequired(prevColumn.getIsRequired());
-                    // 保留显示类型配置
-                    column.setHtmlType(prevColumn.getHtmlType());
+                // 结构与上次同步相同则跳过
+                if (GenMetadataUtils.isSynced(schema, metadata)) {
+                    continue;
                 }
+                if (diffColumns(table, metadata.copyColumns(), changes)) {
+                    changed++;
+                }
+                synced.add(() -> GenMetadataUtils.markSynced(schema, metadata));
+            }
+        }
+        saveColumnChanges(changes);
+        // 提交成功后才记录结构摘要，回滚时下次仍会重新对比
+        afterCommit(() -> synced.forEach(Runnable::run));
+        log.info("批量同步数据库完成 dataNames => {}, 变化表数 => {}, 新增字段 => {}, 修改字段 => {}, 删除字段 => {}",
+            dataNames, changed, changes.inserts().size(), changes.updates().size(), changes.deletes().size());
+        return changed;
+    }
+
+    /**
+     * 在当前事务提交后执行，回滚或提交失败时不执行，不在事务中时立即执行
+     * {@link DSTransactional} 为多数据源本地事务，不经过Spring事务管理器，需注册到其自身的事务上下文
+     */
+    private static void afterCommit(Runnable action) {
+        if (StringUtils.isNotEmpty(TransactionContext.getXID())) {
+            TransactionContext.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new org.springframework.transaction.support.TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * 获取并行读取的元数据结果
+     */
+    private SchemaMetadata getSchema(Future<SchemaMetadata> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceException("同步数据库已中断");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof ServiceException se) {
+                throw se;
+            }
+            throw new ServiceException("同步数据库失败：" + e.getCause().getMessage());
+        }
+    }
+
+    /**
+     * 对比表配置与数据库字段结构
+     * 保留用户已配置的查询方式、字典类型、必填/显示类型等设置，只记录发生变化的字段
+     *
+     * @param table     表配置（包含已配置的字段）
+     * @param dbColumns 数据库中的字段结构
+     * @param changes   字段变化汇总
+     * @return 是否有字段变化
+     */
+    private boolean diffColumns(GenTable table, List<GenTableColumn> dbColumns, ColumnChanges changes) {
+        // 获取当前配置的字段列表
+        List<GenTableColumn> tableColumns = CollUtil.emptyIfNull(table.getColumns());
+        // 将字段列表转换为Map，key为列名，value为GenTableColumn对象，方便快速查找
+        Map<String, GenTableColumn> tableColumnMap = StreamUtils.toIdentityMap(tableColumns, GenTableColumn::getColumnName);
+        // 提取数据库中的列名
+        Set<String> dbTableColumnNames = StreamUtils.toSet(dbColumns, GenTableColumn::getColumnName);
+        boolean changed = false;
+        for (GenTableColumn column : dbColumns) {
+            // 初始化字段属性：Java字段名、Java类型、HTML控件类型等
+            GenUtils.initColumnField(column, table);
+            // 获取原配置中的字段信息
+            GenTableColumn prevColumn = tableColumnMap.get(column.getColumnName());
+            if (prevColumn == null) {
+                // 新增字段
+                changes.inserts().add(column);
+                changed = true;
+                continue;
+            }
+            // 设置字段ID（更新时需要）
+            column.setColumnId(prevColumn.getColumnId());
+            // 如果是列表字段，保留用户配置的查询方式和字典类型
+            if (column.isList()) {
+                column.setDictType(prevColumn.getDictType());
+                column.setQueryType(prevColumn.getQueryType());
+            }
+            // 如果是(新增/修改&非主键/非忽略及父属性)，保留必填和显示类型配置
+            if (StringUtils.isNotEmpty(prevColumn.getIsRequired()) && !column.isPk()
+                && (column.isInsert() || column.isEdit())
+                && ((column.isUsableColumn()) || (!column.isSuperColumn()))) {
+                column.setIsRequired(prevColumn.getIsRequired());
+                column.setHtmlType(prevColumn.getHtmlType());
+            }
+            // 只更新发生变化的字段
+            if (!isSameColumn(prevColumn, column)) {
+                changes.updates().add(column);
+                changed = true;
             }
-            // 添加到保存列表
-            saveColumns.add(column);
-        });
-        // 如果保存列表不为空，批量插入或更新
-        if (CollUtil.isNotEmpty(saveColumns)) {
-            // 使用MyBatis-Plus的insertOrUpdateBatch方法，根据ID判断插入或更新
-            genTableColumnMapper.insertOrUpdateBatch(saveColumns);
         }
         // 找出已删除的字段：在配置中存在但在数据库中不存在的字段
-        List<GenTableColumn> delColumns = StreamUtils.filter(tableColumns, column -> !dbTableColumnNames.contains(column.getColumnName()));
-        // 如果存在需要删除的字段
-        if (CollUtil.isNotEmpty(delColumns)) {
-            // 提取字段ID列表
-            List<Long> ids = StreamUtils.toList(delColumns, GenTableColumn::getColumnId);
-            // 如果ID列表不为空，批量删除
-            if (CollUtil.isNotEmpty(ids)) {
-                genTableColumnMapper.deleteByIds(ids);
+        for (GenTableColumn column : tableColumns) {
+            if (column.getColumnId() != null && !dbTableColumnNames.contains(column.getColumnName())) {
+                changes.deletes().add(column.getColumnId());
+                changed = true;
             }
         }
+        return changed;
     }
 
     /**
-     * 批量生成代码（下载方式）
-     * 根据多个表ID批量生成代码并打包为ZIP文件
+     * 判断字段配置是否相同
+     */
+    private static boolean isSameColumn(GenTableColumn a, GenTableColumn b) {
+        return Objects.equals(a.getColumnComment(), b.getColumnComment())
+            && Objects.equals(a.getColumnType(), b.getColumnType())
+            && Objects.equals(a.getJavaType(), b.getJavaType())
+            && Objects.equals(a.getJavaField(), b.getJavaField())
+            && Objects.equals(a.getIsPk(), b.getIsPk())
+            && Objects.equals(a.getIsIncrement(), b.getIsIncrement())
+            && Objects.equals(a.getIsRequired(), b.getIsRequired())
+            && Objects.equals(a.getIsInsert(), b.getIsInsert())
+            && Objects.equals(a.getIsEdit(), b.getIsEdit())
+            && Objects.equals(a.getIsList(), b.getIsList())
+            && Objects.equals(a.getIsQuery(), b.getIsQuery())
+            && Objects.equals(a.getQueryType(), b.getQueryType())
+            && Objects.equals(a.getHtmlType(), b.getHtmlType())
+            && Objects.equals(a.getDictType(), b.getDictType())
+            && Objects.equals(a.getSort(), b.getSort());
+    }
+
+    /**
+     * 分批写入字段变化
      *
-     * @param tableIds 表ID数组
-     * @return ZIP文件字节数组
+     * @param changes 字段变化汇总
+     */
+    private void saveColumnChanges(ColumnChanges changes) {
+        if (CollUtil.isNotEmpty(changes.inserts())) {
+            genTableColumnMapper.insertBatch(changes.inserts(), BATCH_SIZE);
+        }
+        if (CollUtil.isNotEmpty(changes.updates())) {
+            genTableColumnMapper.updateBatchById(changes.updates(), BATCH_SIZE);
+        }
+        for (List<Long> ids : CollUtil.split(changes.deletes(), BATCH_SIZE)) {
+            genTableColumnMapper.deleteByIds(ids);
+        }
+    }
+
+    /**
+     * 字段变化汇总
+     *
+     * @param inserts 新增字段
+     * @param updates 修改字段
+     * @param deletes 删除字段ID
+     */
+    private record ColumnChanges(List<GenTableColumn> inserts, List<GenTableColumn> updates, List<Long> deletes) {
+
+        private ColumnChanges() {
+            this(new ArrayList<>(), new ArrayList<>(), new ArrayList<>());
+        }
+
+    }
+
+    /**
+     * 生成代码（下载方式）
+     * 模板渲染在独立线程池中并行执行，每张表使用各自的上下文
+     * 同时渲染的表数量有上限，按表的顺序依次写入ZIP，写入后释放渲染结果
+     *
+     * @param tables 表信息列表，由 {@link #selectDownloadTables(Collection)} 查询
+     * @param out    输出流（ZIP文件内容）
      */
     @Override
-    public byte[] downloadCode(String[] tableIds) {
-        // 创建字节数组输出流
-        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
-        // 创建ZIP输出流
-        ZipOutputStream zip = new ZipOutputStream(outputStream);
-        // 遍历表ID数组，逐个生成代码并写入ZIP
-        for (String tableId : tableIds) {
-            generatorCode(Long.parseLong(tableId), zip);
+    public void downloadCode(List<GenTable> tables, OutputStream out) throws IOException {
+        // ZIP直接写入输出流，不在内存中整体构建
+        ZipOutputStream zip = new ZipOutputStream(out);
+        // 渲染中的表，按提交顺序排列
+        Deque<Future<RenderResult>> window = new ArrayDeque<>();
+        try {
+            for (GenTable table : tables) {
+                window.add(renderExecutor.submit(() -> new RenderResult(table,
+                    renderTemplates(table, VelocityUtils.getTemplateList(table.getTplCategory())))));
+                // 达到并行上限时先写出最早提交的表
+                if (window.size() >= RENDER_PARALLELISM) {
+                    writeEntries(zip, window.poll());
+                }
+            }
+            while (!window.isEmpty()) {
+                writeEntries(zip, window.poll());
+            }
+            // 写入ZIP目录结构，输出流由调用方关闭
+            zip.finish();
+            zip.flush();
+        } finally {
+            // 出现异常时取消尚未完成的渲染
+            window.forEach(future -> future.cancel(true));
         }
-        // 关闭ZIP输出流
-        IoUtil.close(zip);
-        // 返回ZIP文件字节数组
-        return outputStream.toByteArray();
     }
 
     /**
-     * 查询表信息并生成代码（写入ZIP）
-     * 内部方法，被downloadCode方法调用
-     * 查询表信息、准备模板上下文、渲染模板、写入ZIP文件
+     * 查询表信息并设置下载所需的菜单ID和主键列
      *
      * @param tableId 表ID
-     * @param zip ZIP输出流
+     * @return 表信息
      */
-    private void generatorCode(Long tableId, ZipOutputStream zip) {
+    private GenTable prepareDownloadTable(Long tableId) {
         // 查询表配置信息
         GenTable table = baseMapper.selectGenTableById(tableId);
+        if (table == null) {
+            throw new ServiceException("代码生成表不存在，表ID：{}", tableId);
+        }
         // 生成6个菜单ID（用于生成菜单SQL）
         List<Long> menuIds = new ArrayList<>();
         for (int i = 0; i < 6; i++) {
@@ -722,37 +872,66 @@ public class GenTableServiceImpl implements IGenTableService {
         table.setMenuIds(menuIds);
         // 设置主键列信息
         setPkColumn(table);
+        return table;
+    }
 
-        // 初始化Velocity引擎
-        VelocityInitializer.initVelocity();
+    /**
+     * 将一张表的渲染结果写入ZIP
+     *
+     * @param zip    ZIP输出流
+     * @param future 渲染任务
+     */
+    private void writeEntries(ZipOutputStream zip, Future<RenderResult> future) throws IOException {
+        RenderResult result;
+        try {
+            result = future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceException("代码生成已中断");
+        } catch (ExecutionException e) {
+            log.error("渲染模板失败", e.getCause());
+            throw new ServiceException("渲染模板失败：" + e.getCause().getMessage());
+        }
+        GenTable table = result.table();
+        for (Map.Entry<String, String> entry : result.files().entrySet()) {
+            // 添加到zip：创建ZIP条目
+            zip.putNextEntry(new ZipEntry(VelocityUtils.getFileName(entry.getKey(), table)));
+            // 将渲染结果写入ZIP（UTF-8编码）
+            IoUtil.write(zip, StandardCharsets.UTF_8, false, entry.getValue());
+            // 关闭当前ZIP条目
+            zip.closeEntry();
+        }
+    }
 
-        // 准备Velocity上下文
+    /**
+     * 渲染模板
+     * 模板从缓存中获取，只在首次使用时解析；上下文每次新建，可在多个线程中并发调用
+     *
+     * @param table     表信息
+     * @param templates 模板路径列表
+     * @return 渲染结果，key为模板路径，value为渲染后的代码内容，按模板顺序排列
+     */
+    private Map<String, String> renderTemplates(GenTable table, List<String> templates) {
+        // 准备Velocity上下文，设置所有模板变量
         VelocityContext context = VelocityUtils.prepareContext(table);
-
-        // 获取模板列表
-        List<String> templates = VelocityUtils.getTemplateList(table.getTplCategory());
-        // 遍历模板列表
+        Map<String, String> result = new LinkedHashMap<>();
         for (String template : templates) {
-            // 渲染模板
+            // 渲染模板：创建StringWriter用于接收渲染结果
             StringWriter sw = new StringWriter();
-            Template tpl = Velocity.getTemplate(template, Constants.UTF8);
-            tpl.merge(context, sw);
-            try {
-                // 添加到zip：创建ZIP条目
-                zip.putNextEntry(new ZipEntry(VelocityUtils.getFileName(template, table)));
-                // 将渲染结果写入ZIP（UTF-8编码）
-                IoUtil.write(zip, StandardCharsets.UTF_8, false, sw.toString());
-                // 关闭StringWriter
-                IoUtil.close(sw);
-                // 刷新ZIP输出流
-                zip.flush();
-                // 关闭当前ZIP条目
-                zip.closeEntry();
-            } catch (IOException e) {
-                // 记录错误日志，不影响其他表的生成
-                log.error("渲染模板失败，表名：" + table.getTableName(), e);
-            }
+            // 获取已解析的模板并合并上下文
+            VelocityInitializer.getTemplate(template).merge(context, sw);
+            result.put(template, sw.toString());
         }
+        return result;
+    }
+
+    /**
+     * 单张表的渲染结果
+     *
+     * @param table 表信息
+     * @param files 渲染结果，key为模板路径
+     */
+    private record RenderResult(GenTable table, Map<String, String> files) {
     }
 
     /**
@@ -5,6 +5,9 @@ import org.dromara.common.mybatis.core.page.TableDataInfo;
 import org.dromara.generator.domain.GenTable;
 import org.dromara.generator.domain.GenTableColumn;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 
@@ -85,15 +88,6 @@ public interface IGenTableService {
      */
     void importGenTable(List<GenTable> tableList, String dataName);
 
-    /**
-     * 根据表名称查询列信息
-     *
-     * @param tableName 表名称
-     * @param dataName  数据源名称
-     * @return 列信息
-     */
-    List<GenTableColumn> selectDbTableColumnsByName(String tableName, String dataName);
-
     /**
      * 预览代码
      *
@@ -103,12 +97,21 @@ public interface IGenTableService {
     Map<String, String> previewCode(Long tableId);
 
     /**
-     * 生成代码（下载方式）
+     * 查询下载代码所需的表信息，表不存在时抛出异常
+     * 需在写出下载响应之前调用
      *
-     * @param tableId 表名称
-     * @return 数据
+     * @param tableIds 表ID列表
+     * @return 表信息列表
+     */
+    List<GenTable> selectDownloadTables(Collection<Long> tableIds);
+
+    /**
+     * 生成代码（下载方式），ZIP直接写入输出流
+     *
+     * @param tables 表信息列表
+     * @param out    输出流
      */
-    byte[] downloadCode(Long tableId);
+    void downloadCode(List<GenTable> tables, OutputStream out) throws IOException;
 
     /**
      * 生成代码（自定义路径）
@@ -125,12 +128,12 @@ public interface IGenTableService {
     void synchDb(Long tableId);
 
     /**
-     * 批量生成代码（下载方式）
+     * 批量同步数据库
      *
-     * @param tableIds 表ID数组
-     * @return 数据
+     * @param dataName 数据源名称，为空时同步全部数据源
+     * @return 字段发生变化的表数量
      */
-    byte[] downloadCode(String[] tableIds);
+    int synchDbBatch(String dataName);
 
     /**
      * 修改保存参数校验
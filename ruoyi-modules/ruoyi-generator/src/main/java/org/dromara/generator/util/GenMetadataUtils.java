@@ -0,0 +1,349 @@
+package org.dromara.generator.util;
+
+import com.baomidou.dynamic.datasource.DynamicRoutingDataSource;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.dromara.common.core.exception.ServiceException;
+import org.dromara.common.core.utils.SpringUtils;
+import org.dromara.common.core.utils.StringUtils;
+import org.dromara.common.mybatis.enums.DataBaseType;
+import org.dromara.generator.domain.GenTableColumn;
+import org.springframework.util.DigestUtils;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 数据库元数据批量读取工具类
+ * 一个数据源（schema）的表、字段、主键、注释各用一次查询读取，只需少量表时按表名读取
+ * 并按（数据源、schema、表名）缓存最近一次同步时的元数据摘要，批量同步时跳过结构未变化的表
+ *
+ * @author Lion Li
+ */
+@Slf4j
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class GenMetadataUtils {
+
+    private static final DynamicRoutingDataSource DS = SpringUtils.getBean(DynamicRoutingDataSource.class);
+
+    /**
+     * 已同步的表结构摘要，key为 数据源:schema:表名，value为结构摘要
+     */
+    private static final Map<String, String> SNAPSHOT_CACHE = new ConcurrentHashMap<>();
+
+    /**
+     * 需要忽略的表前缀
+     */
+    private static final String[] TABLE_IGNORE = new String[]{"sj_", "flow_", "gen_"};
+
+    /**
+     * 指定的表不超过该数量时逐表读取，超过时整库读取一次
+     */
+    private static final int PER_TABLE_LIMIT = 50;
+
+    /**
+     * 读取数据源中表的结构
+     * 指定的表较少时逐表读取表与字段，较多或未指定时整库读取一次再按表名过滤
+     *
+     * @param dataName   数据源名称
+     * @param tableNames 表名称，为空时读取全部表
+     * @return 表结构，key为表名（忽略大小写）
+     */
+    public static SchemaMetadata loadSchema(String dataName, Collection<String> tableNames) {
+        // 需要读取的表名，为null时读取全部表
+        Set<String> names = null;
+        if (tableNames != null && !tableNames.isEmpty()) {
+            names = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+            names.addAll(tableNames);
+        }
+        DataSource dataSource = DS.getDataSource(dataName);
+        try (Connection conn = dataSource.getConnection()) {
+            DatabaseMetaData metaData = conn.getMetaData();
+            DataBaseType type = DataBaseType.find(metaData.getDatabaseProductName());
+            String catalog = conn.getCatalog();
+            // MySQL 的库对应 catalog，其余数据库使用 schema
+            String schema = type == DataBaseType.MY_SQL ? null : conn.getSchema();
+            String schemaName = StringUtils.blankToDefault(schema, catalog);
+            // 少量表逐表按名称读取，否则整库读取一次
+            List<String> patterns = names != null && names.size() <= PER_TABLE_LIMIT ? new ArrayList<>(names) : List.of("%");
+
+            Map<String, TableMetadata> tables = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+            for (String pattern : patterns) {
+                try (ResultSet rs = metaData.getTables(catalog, schema, pattern, new String[]{"TABLE"})) {
+                    while (rs.next()) {
+                        String name = rs.getString("TABLE_NAME");
+                        // 表名中的下划线在元数据查询中是通配符，读取后再按表名精确过滤
+                        if (StringUtils.startWithAnyIgnoreCase(name, TABLE_IGNORE) || (names != null && !names.contains(name))) {
+                            continue;
+                        }
+                        tables.put(name, new TableMetadata(name, rs.getString("REMARKS")));
+                    }
+                }
+            }
+            for (String pattern : patterns) {
+                try (ResultSet rs = metaData.getColumns(catalog, schema, pattern, "%")) {
+                    while (rs.next()) {
+                        TableMetadata table = tables.get(rs.getString("TABLE_NAME"));
+                        if (table == null) {
+                            continue;
+                        }
+                        GenTableColumn column = new GenTableColumn();
+                        column.setColumnName(rs.getString("COLUMN_NAME"));
+                        column.setColumnComment(rs.getString("REMARKS"));
+                        column.setColumnType(StringUtils.removeEnd(StringUtils.lowerCase(rs.getString("TYPE_NAME")), " unsigned"));
+                        column.setSort(rs.getInt("ORDINAL_POSITION"));
+                        column.setIsRequired("NO".equals(rs.getString("IS_NULLABLE")) ? "1" : "0");
+                        column.setIsIncrement("YES".equals(rs.getString("IS_AUTOINCREMENT")) ? "1" : "0");
+                        column.setIsPk("0");
+                        table.columns.add(column);
+                    }
+                }
+            }
+            if (!tables.isEmpty()) {
+                // 按表名过滤的条件只在表较少时使用，避免超出 IN 条件数量限制
+                List<String> filter = names != null && names.size() <= PER_TABLE_LIMIT ? new ArrayList<>(tables.keySet()) : null;
+                loadPrimaryKeys(conn, metaData, type, catalog, schema, tables, filter);
+                loadComments(conn, type, tables, filter);
+            }
+            tables.values().forEach(table -> {
+                table.columns.sort((a, b) -> Integer.compare(a.getSort(), b.getSort()));
+                table.hash = digest(table);
+            });
+            return new SchemaMetadata(dataName, schemaName, Collections.unmodifiableMap(tables));
+        } catch (SQLException e) {
+            log.error("读取数据源【{}】元数据失败", dataName, e);
+            throw new ServiceException("读取数据源【{}】元数据失败：{}", dataName, e.getMessage());
+        }
+    }
+
+    /**
+     * 表结构是否与上次同步时相同
+     *
+     * @param schema 数据源结构
+     * @param table  表结构
+     * @return 相同返回true
+     */
+    public static boolean isSynced(SchemaMetadata schema, TableMetadata table) {
+        return table.hash.equals(SNAPSHOT_CACHE.get(snapshotKey(schema, table)));
+    }
+
+    /**
+     * 记录表结构已同步
+     *
+     * @param schema 数据源结构
+     * @param table  表结构
+     */
+    public static void markSynced(SchemaMetadata schema, TableMetadata table) {
+        SNAPSHOT_CACHE.put(snapshotKey(schema, table), table.hash);
+    }
+
+    private static String snapshotKey(SchemaMetadata schema, TableMetadata table) {
+        return schema.dataName() + ":" + schema.schemaName() + ":" + table.tableName.toLowerCase();
+    }
+
+    /**
+     * 批量读取主键，不支持的数据库逐表读取
+     *
+     * @param filter 需要读取的表名，为null时读取全部表
+     */
+    private static void loadPrimaryKeys(Connection conn, DatabaseMetaData metaData, DataBaseType type, String catalog,
+                                        String schema, Map<String, TableMetadata> tables, List<String> filter) throws SQLException {
+        String sql = switch (type) {
+            case MY_SQL -> "select table_name tn, column_name cn from information_schema.key_column_usage"
+                + " where constraint_name = 'PRIMARY' and table_schema = ?";
+            case ORACLE -> "select c.table_name tn, c.column_name cn from user_constraints k"
+                + " join user_cons_columns c on k.constraint_name = c.constraint_name where k.constraint_type = 'P'";
+            default -> "select kcu.table_name tn, kcu.column_name cn from information_schema.table_constraints tc"
+                + " join information_schema.key_column_usage kcu on tc.constraint_name = kcu.constraint_name"
+                + " and tc.table_schema = kcu.table_schema and tc.table_name = kcu.table_name"
+                + " where tc.constraint_type = 'PRIMARY KEY' and tc.table_schema = ?";
+        };
+        Map<String, Set<String>> primaryKeys = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        try (PreparedStatement ps = conn.prepareStatement(filterByTable(sql, filter))) {
+            int index = 1;
+            if (type != DataBaseType.ORACLE) {
+                ps.setString(index++, type == DataBaseType.MY_SQL ? catalog : schema);
+            }
+            setTableNames(ps, index, filter);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    primaryKeys.computeIfAbsent(rs.getString(1), k -> new HashSet<>()).add(rs.getString(2).toLowerCase());
+                }
+            }
+        } catch (SQLException e) {
+            log.warn("批量读取主键失败，改为逐表读取: {}", e.getMessage());
+            primaryKeys.clear();
+            for (TableMetadata table : tables.values()) {
+                try (ResultSet rs = metaData.getPrimaryKeys(catalog, schema, table.tableName)) {
+                    while (rs.next()) {
+                        primaryKeys.computeIfAbsent(table.tableName, k -> new HashSet<>()).add(rs.getString("COLUMN_NAME").toLowerCase());
+                    }
+                }
+            }
+        }
+        primaryKeys.forEach((tableName, columns) -> {
+            TableMetadata table = tables.get(tableName);
+            if (table != null) {
+                table.columns.stream()
+                    .filter(column -> columns.contains(column.getColumnName().toLowerCase()))
+                    .forEach(column -> column.setIsPk("1"));
+            }
+        });
+    }
+
+    /**
+     * Oracle 与 SQL Server 的驱动默认不返回注释，单独批量读取
+     *
+     * @param filter 需要读取的表名，为null时读取全部表
+     */
+    private static void loadComments(Connection conn, DataBaseType type, Map<String, TableMetadata> tables, List<String> filter) {
+        String sql = switch (type) {
+            case ORACLE -> "select table_name tn, null cn, comments cm from user_tab_comments"
+                + " union all select table_name, column_name, comments from user_col_comments";
+            case SQL_SERVER -> "select t.name tn, c.name cn, cast(ep.value as nvarchar(4000)) cm from sys.extended_properties ep"
+                + " join sys.tables t on ep.major_id = t.object_id"
+                + " left join sys.columns c on ep.major_id = c.object_id and ep.minor_id = c.column_id"
+                + " where ep.class = 1 and ep.name = 'MS_Description'";
+            default -> null;
+        };
+        if (sql == null) {
+            return;
+        }
+        try (PreparedStatement ps = conn.prepareStatement(filterByTable(sql, filter))) {
+            setTableNames(ps, 1, filter);
+            try (ResultSet rs = ps.executeQuery()) {
+                Map<String, Map<String, String>> columnComments = new HashMap<>();
+                while (rs.next()) {
+                    TableMetadata table = tables.get(rs.getString(1));
+                    if (table == null) {
+                        continue;
+                    }
+                    String columnName = rs.getString(2);
+                    if (StringUtils.isBlank(columnName)) {
+                        table.tableComment = rs.getString(3);
+                    } else {
+                        columnComments.computeIfAbsent(table.tableName, k -> new HashMap<>())
+                            .put(columnName.toLowerCase(), rs.getString(3));
+                    }
+                }
+                columnComments.forEach((tableName, comments) -> tables.get(tableName).columns
+                    .forEach(column -> column.setColumnComment(comments.get(column.getColumnName().toLowerCase()))));
+            }
+        } catch (SQLException e) {
+            log.warn("批量读取注释失败: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 按表名过滤查询结果，查询的第一列须为表名（别名 tn）
+     */
+    private static String filterByTable(String sql, List<String> filter) {
+        if (filter == null) {
+            return sql;
+        }
+        return "select * from (" + sql + ") x where x.tn in (" + String.join(", ", Collections.nCopies(filter.size(), "?")) + ")";
+    }
+
+    /**
+     * 设置表名过滤条件的参数
+     */
+    private static void setTableNames(PreparedStatement ps, int index, List<String> filter) throws SQLException {
+        if (filter == null) {
+            return;
+        }
+        for (String tableName : filter) {
+            ps.setString(index++, tableName);
+        }
+    }
+
+    /**
+     * 计算表结构摘要
+     */
+    private static String digest(TableMetadata table) {
+        StringBuilder sb = new StringBuilder(table.tableComment == null ? "" : table.tableComment);
+        for (GenTableColumn column : table.columns) {
+            sb.append('\n').append(column.getColumnName())
+                .append('|').append(column.getColumnType())
+                .append('|').append(column.getColumnComment())
+                .append('|').append(column.getIsPk())
+                .append('|').append(column.getIsRequired())
+                .append('|').append(column.getIsIncrement())
+                .append('|').append(column.getSort());
+        }
+        return DigestUtils.md5DigestAsHex(sb.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 数据源结构
+     *
+     * @param dataName   数据源名称
+     * @param schemaName schema名称
+     * @param tables     表结构，key为表名（忽略大小写）
+     */
+    public record SchemaMetadata(String dataName, String schemaName, Map<String, TableMetadata> tables) {
+    }
+
+    /**
+     * 表结构
+     */
+    public static final class TableMetadata {
+
+        private final String tableName;
+        private final List<GenTableColumn> columns = new ArrayList<>();
+        private String tableComment;
+        private String hash;
+
+        private TableMetadata(String tableName, String tableComment) {
+            this.tableName = tableName;
+            this.tableComment = tableComment;
+        }
+
+        public String getTableName() {
+            return tableName;
+        }
+
+        public String getTableComment() {
+            return tableComment;
+        }
+
+        /**
+         * 字段列表副本，调用方可以自由修改
+         *
+         * @return 按字段位置排序的字段列表
+         */
+        public List<GenTableColumn> copyColumns() {
+            List<GenTableColumn> list = new ArrayList<>(columns.size());
+            for (GenTableColumn column : columns) {
+                GenTableColumn copy = new GenTableColumn();
+                copy.setColumnName(column.getColumnName());
+                copy.setColumnComment(column.getColumnComment());
+                copy.setColumnType(column.getColumnType());
+                copy.setSort(column.getSort());
+                copy.setIsRequired(column.getIsRequired());
+                copy.setIsIncrement(column.getIsIncrement());
+                copy.setIsPk(column.getIsPk());
+                list.add(copy);
+            }
+            return list;
+        }
+
+    }
+
+}
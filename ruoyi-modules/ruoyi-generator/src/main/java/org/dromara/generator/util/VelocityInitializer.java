@@ -6,10 +6,14 @@ import org.dromara.common.core.constant.Constants;
 import lombok.AccessLevel;
 // 导入Lombok的无参构造函数注解，并设置访问级别为PRIVATE，防止实例化
 import lombok.NoArgsConstructor;
+// 导入Velocity模板类
+import org.apache.velocity.Template;
 // 导入Velocity引擎类
 import org.apache.velocity.app.Velocity;
 
+import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * VelocityEngine工厂
@@ -21,26 +25,61 @@ import java.util.Properties;
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
 public class VelocityInitializer {
 
+    /**
+     * 已解析的模板缓存，key为模板路径
+     * 模板位于classpath中运行期不会变化，解析后只读，可由多个线程使用各自的上下文并发渲染
+     */
+    private static final Map<String, Template> TEMPLATE_CACHE = new ConcurrentHashMap<>();
+
+    /**
+     * 是否已初始化
+     */
+    private static volatile boolean initialized;
+
     /**
      * 初始化vm方法
      * 配置Velocity模板引擎的基本属性，包括资源加载器和字符编码
      * 使用ClasspathResourceLoader从classpath加载模板文件
+     * 只在首次调用时初始化，之后重复调用直接返回
      */
     public static void initVelocity() {
-        // 创建Properties对象，用于存储Velocity配置
-        Properties p = new Properties();
-        try {
-            // 加载classpath目录下的vm文件
-            // 设置资源加载器为ClasspathResourceLoader，从classpath中加载模板文件
-            p.setProperty("resource.loader.file.class", "org.apache.velocity.runtime.resource.loader.ClasspathResourceLoader");
-            // 定义字符集为UTF-8，确保中文不乱码
-            p.setProperty(Velocity.INPUT_ENCODING, Constants.UTF8);
-            // 初始化Velocity引擎，指定配置Properties
-            Velocity.init(p);
-        } catch (Exception e) {
-            // 如果初始化失败，抛出运行时异常
-            throw new RuntimeException(e);
+        // 已初始化直接返回
+        if (initialized) {
+            return;
         }
+        synchronized (VelocityInitializer.class) {
+            if (initialized) {
+                return;
+            }
+            // 创建Properties对象，用于存储Velocity配置
+            Properties p = new Properties();
+            try {
+                // 加载classpath目录下的vm文件
+                // 设置资源加载器为ClasspathResourceLoader，从classpath中加载模板文件
+                p.setProperty("resource.loader.file.class", "org.apache.velocity.runtime.resource.loader.ClasspathResourceLoader");
+                // 定义字符集为UTF-8，确保中文不乱码
+                p.setProperty(Velocity.INPUT_ENCODING, Constants.UTF8);
+                // 初始化Velocity引擎，指定配置Properties
+                Velocity.init(p);
+                initialized = true;
+            } catch (Exception e) {
+                // 如果初始化失败，抛出运行时异常
+                throw new RuntimeException(e);
+            }
+        }
+    }
+
+    /**
+     * 获取已解析的模板
+     * 首次获取时解析并缓存，之后直接复用，避免每次渲染重新读取和解析模板文件
+     *
+     * @param template 模板路径
+     * @return 模板对象
+     */
+    public static Template getTemplate(String template) {
+        // 确保引擎已初始化
+        initVelocity();
+        return TEMPLATE_CACHE.computeIfAbsent(template, name -> Velocity.getTemplate(name, Constants.UTF8));
     }
 
 }
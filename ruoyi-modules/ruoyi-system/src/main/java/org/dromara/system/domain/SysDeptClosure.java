@@ -0,0 +1,50 @@
+// 包声明：定义当前实体类所在的包路径，org.dromara.system.domain 表示系统模块领域层
+package org.dromara.system.domain;
+
+// MyBatis-Plus核心注解：提供实体类与数据库表映射的注解
+import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableName;
+// Lombok注解：自动生成getter、setter、toString、equals、hashCode等方法
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 部门层级关系 sys_dept_closure
+ * 对应数据库的sys_dept_closure表，存储每个部门与其所有祖先部门（包含自身）的关系
+ * 用于按索引查询部门及以下数据，替代对ancestors字段的FIND_IN_SET全表扫描
+ * 部门ID全局唯一，关系表不区分租户
+ *
+ * @author Lion Li
+ */
+
+// Lombok注解：生成getter、setter、toString、equals、hashCode等方法
+@Data
+@NoArgsConstructor
+// MyBatis-Plus注解：指定对应的数据库表名为sys_dept_closure
+@TableName("sys_dept_closure")
+public class SysDeptClosure {
+
+    /**
+     * 祖先部门ID
+     */
+    @TableId(type = IdType.INPUT)
+    private Long ancestorId;
+
+    /**
+     * 后代部门ID
+     */
+    private Long descendantId;
+
+    /**
+     * 层级距离，自身为0
+     */
+    private Integer depth;
+
+    public SysDeptClosure(Long ancestorId, Long descendantId, Integer depth) {
+        this.ancestorId = ancestorId;
+        this.descendantId = descendantId;
+        this.depth = depth;
+    }
+
+}
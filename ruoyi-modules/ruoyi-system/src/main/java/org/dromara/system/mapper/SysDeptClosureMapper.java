@@ -0,0 +1,106 @@
+// 包声明：定义当前接口所在的包路径，org.dromara.system.mapper 表示系统模块数据访问层
+package org.dromara.system.mapper;
+
+// MyBatis-Plus条件构造器
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+// 公共MyBatis核心Mapper：增强版BaseMapper
+import org.dromara.common.mybatis.core.mapper.BaseMapperPlus;
+// 系统领域实体类：部门层级关系实体
+import org.dromara.system.domain.SysDeptClosure;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 部门层级关系表 数据层
+ * 在部门新增、移动、删除时维护关系，每个部门保存与所有祖先（包含自身）的关系
+ *
+ * @author Lion Li
+ */
+public interface SysDeptClosureMapper extends BaseMapperPlus<SysDeptClosure, SysDeptClosure> {
+
+    /**
+     * 查询某个部门及其所有子部门ID的子查询（含自身）
+     *
+     * @param deptId 部门ID
+     * @return 子查询SQL
+     */
+    static String buildDescendantSql(Long deptId) {
+        return "select descendant_id from sys_dept_closure where ancestor_id = " + deptId;
+    }
+
+    /**
+     * 查询某个部门的所有子部门ID的子查询（不含自身）
+     *
+     * @param deptId 部门ID
+     * @return 子查询SQL
+     */
+    static String buildChildrenSql(Long deptId) {
+        return buildDescendantSql(deptId) + " and depth > 0";
+    }
+
+    /**
+     * 新增部门的层级关系：自身以及父部门的所有祖先
+     *
+     * @param deptId   部门ID
+     * @param parentId 父部门ID
+     */
+    default void insertNode(Long deptId, Long parentId) {
+        List<SysDeptClosure> list = new ArrayList<>();
+        list.add(new SysDeptClosure(deptId, deptId, 0));
+        for (SysDeptClosure parent : this.selectList(new LambdaQueryWrapper<SysDeptClosure>()
+            .eq(SysDeptClosure::getDescendantId, parentId))) {
+            list.add(new SysDeptClosure(parent.getAncestorId(), deptId, parent.getDepth() + 1));
+        }
+        this.insertBatch(list);
+    }
+
+    /**
+     * 将部门及其子树移动到新的父部门下
+     * 删除子树与原祖先的关系，再建立子树与新父部门所有祖先的关系，子树内部关系保持不变
+     *
+     * @param deptId      部门ID
+     * @param newParentId 新父部门ID
+     */
+    default void moveNode(Long deptId, Long newParentId) {
+        // 子树节点（含自身）及其到当前部门的距离
+        List<SysDeptClosure> subtree = this.selectList(new LambdaQueryWrapper<SysDeptClosure>()
+            .eq(SysDeptClosure::getAncestorId, deptId));
+        List<Long> subtreeIds = subtree.stream().map(SysDeptClosure::getDescendantId).toList();
+        // 原祖先（不含自身）
+        List<Long> oldAncestorIds = this.selectList(new LambdaQueryWrapper<SysDeptClosure>()
+                .eq(SysDeptClosure::getDescendantId, deptId)
+                .gt(SysDeptClosure::getDepth, 0))
+            .stream().map(SysDeptClosure::getAncestorId).toList();
+        if (!oldAncestorIds.isEmpty()) {
+            // 每批不超过1000个，兼容Oracle IN条件上限
+            for (int i = 0; i < subtreeIds.size(); i += 1000) {
+                this.delete(new LambdaQueryWrapper<SysDeptClosure>()
+                    .in(SysDeptClosure::getAncestorId, oldAncestorIds)
+                    .in(SysDeptClosure::getDescendantId, subtreeIds.subList(i, Math.min(i + 1000, subtreeIds.size()))));
+            }
+        }
+        List<SysDeptClosure> parents = this.selectList(new LambdaQueryWrapper<SysDeptClosure>()
+            .eq(SysDeptClosure::getDescendantId, newParentId));
+        List<SysDeptClosure> list = new ArrayList<>(parents.size() * subtree.size());
+        for (SysDeptClosure parent : parents) {
+            for (SysDeptClosure node : subtree) {
+                list.add(new SysDeptClosure(parent.getAncestorId(), node.getDescendantId(),
+                    parent.getDepth() + node.getDepth() + 1));
+            }
+        }
+        if (!list.isEmpty()) {
+            this.insertBatch(list);
+        }
+    }
+
+    /**
+     * 删除部门的层级关系，只允许删除没有子部门的部门
+     *
+     * @param deptId 部门ID
+     */
+    default void deleteNode(Long deptId) {
+        this.delete(new LambdaQueryWrapper<SysDeptClosure>().eq(SysDeptClosure::getDescendantId, deptId));
+    }
+
+}
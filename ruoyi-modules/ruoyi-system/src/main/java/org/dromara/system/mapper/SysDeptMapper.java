@@ -23,9 +23,6 @@ import org.dromara.common.mybatis.annotation.DataPermission;
 // 公共MyBatis核心Mapper：增强版BaseMapper，提供VO转换能力
 // BaseMapperPlus是项目封装的增强版BaseMapper，继承MyBatis-Plus的BaseMapper，提供selectVoList、selectVoPage等VO转换方法
 import org.dromara.common.mybatis.core.mapper.BaseMapperPlus;
-// 公共MyBatis辅助类：数据库辅助类，提供数据库相关工具方法
-// DataBaseHelper是项目封装的数据库辅助类，提供findInSet等方法
-import org.dromara.common.mybatis.helper.DataBaseHelper;
 // 系统领域实体类：部门实体
 // SysDept是系统部门实体类，对应数据库的sys_dept表
 import org.dromara.system.domain.SysDept;
@@ -155,20 +152,20 @@ public interface SysDeptMapper extends BaseMapperPlus<SysDept, SysDeptVo> {
 
     /**
      * 根据父部门ID查询其所有子部门的列表
-     * 使用DataBaseHelper.findInSet方法查询祖先字段中包含父部门ID的记录
+     * 通过部门层级关系表按索引查询子部门，避免对祖先字段全表扫描
      * 只查询部门ID字段，提升查询性能
      *
      * @param parentId 父部门ID
      * @return 包含子部门的列表
      */
     // 默认方法，使用LambdaQueryWrapper构建查询条件
-    // 使用apply方法应用自定义SQL条件，findInSet用于查询祖先字段
+    // 使用inSql添加部门层级关系子查询
     default List<SysDept> selectListByParentId(Long parentId) {
         // 创建LambdaQueryWrapper，指定查询部门ID字段
-        // 使用apply方法添加findInSet条件，查询ancestors字段中包含parentId的记录
+        // 使用inSql添加子查询条件，查询parentId的所有子部门
         return this.selectList(new LambdaQueryWrapper<SysDept>()
             .select(SysDept::getDeptId)
-            .apply(DataBaseHelper.findInSet(parentId, "ancestors")));
+            .inSql(SysDept::getDeptId, SysDeptClosureMapper.buildChildrenSql(parentId)));
     }
 
     /**
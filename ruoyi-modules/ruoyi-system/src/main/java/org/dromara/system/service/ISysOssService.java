@@ -61,7 +61,7 @@ public interface ISysOssService {
     SysOssVo upload(File file);
 
     /**
-     * 文件下载方法，支持一次性下载完整文件
+     * 文件下载方法，支持完整下载、Range分段下载与预签名重定向
      *
      * @param ossId    OSS对象ID
      * @param response HttpServletResponse对象，用于设置响应头和向客户端发送文件内容
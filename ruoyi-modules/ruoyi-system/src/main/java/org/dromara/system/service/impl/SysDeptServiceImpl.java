@@ -43,8 +43,6 @@ import org.dromara.common.core.utils.TreeBuildUtils;
 import org.dromara.common.mybatis.core.page.PageQuery;
 // MyBatis-Plus分页组件：分页结果封装
 import org.dromara.common.mybatis.core.page.TableDataInfo;
-// MyBatis-Plus数据库助手：提供数据库相关辅助方法
-import org.dromara.common.mybatis.helper.DataBaseHelper;
 // Redis缓存工具类：提供缓存操作工具
 import org.dromara.common.redis.utils.CacheUtils;
 // Sa-Token工具类：登录助手，提供获取当前登录用户信息的方法
@@ -61,6 +59,8 @@ import org.dromara.system.domain.bo.SysDeptBo;
 import org.dromara.system.domain.vo.SysDeptVo;
 // 系统Mapper接口：部门Mapper
 import org.dromara.system.mapper.SysDeptMapper;
+// 系统Mapper接口：部门层级关系Mapper
+import org.dromara.system.mapper.SysDeptClosureMapper;
 // 系统Mapper接口：角色Mapper
 import org.dromara.system.mapper.SysRoleMapper;
 // 系统Mapper接口：用户Mapper
@@ -100,6 +100,8 @@ public class SysDeptServiceImpl implements ISysDeptService, DeptService {
 
     // 部门Mapper，继承BaseMapperPlus，提供部门表CRUD操作
     private final SysDeptMapper baseMapper;
+    // 部门层级关系Mapper，维护部门与所有祖先的关系
+    private final SysDeptClosureMapper deptClosureMapper;
     // 角色Mapper，用于查询角色信息
     private final SysRoleMapper roleMapper;
     // 用户Mapper，用于查询用户信息
@@ -355,8 +357,8 @@ public class SysDeptServiceImpl implements ISysDeptService, DeptService {
         return baseMapper.selectCount(new LambdaQueryWrapper<SysDept>()
             // 状态为正常（启用）
             .eq(SysDept::getStatus, SystemConstants.NORMAL)
-            // 使用FIND_IN_SET函数查询ancestors字段包含deptId的记录
-            .apply(DataBaseHelper.findInSet(deptId, "ancestors")));
+            // 通过部门层级关系表查询deptId的所有子部门
+            .inSql(SysDept::getDeptId, SysDeptClosureMapper.buildChildrenSql(deptId)));
     }
 
     /**
@@ -443,6 +445,8 @@ public class SysDeptServiceImpl implements ISysDeptService, DeptService {
     // Spring缓存注解：删除部门及子部门缓存（全部条目）
     @CacheEvict(cacheNames = CacheNames.SYS_DEPT_AND_CHILD, allEntries = true)
     @Override
+    // Spring事务注解：部门与层级关系同时写入
+    @Transactional(rollbackFor = Exception.class)
     public int insertDept(SysDeptBo bo) {
         // 查询父部门信息
         SysDept info = baseMapper.selectById(bo.getParentId());
@@ -456,7 +460,10 @@ public class SysDeptServiceImpl implements ISysDeptService, DeptService {
         // 设置祖级列表：父部门祖级列表 + 分隔符 + 父部门ID
         dept.setAncestors(info.getAncestors() + StringUtils.SEPARATOR + dept.getParentId());
         // 插入部门数据
-        return baseMapper.insert(dept);
+        int rows = baseMapper.insert(dept);
+        // 建立部门与所有祖先的层级关系
+        deptClosureMapper.insertNode(dept.getDeptId(), dept.getParentId());
+        return rows;
     }
 
     /**
@@ -499,6 +506,8 @@ public class SysDeptServiceImpl implements ISysDeptService, DeptService {
                 dept.setAncestors(newAncestors);
                 // 更新所有子部门的祖级列表
                 updateDeptChildren(dept.getDeptId(), newAncestors, oldAncestors);
+                // 将部门及其子部门的层级关系移动到新父部门下
+                deptClosureMapper.moveNode(dept.getDeptId(), dept.getParentId());
             }
         } else {
             // 父部门未变化，保持原祖级列表
@@ -544,10 +553,10 @@ public class SysDeptServiceImpl implements ISysDeptService, DeptService {
      * @param oldAncestors 旧的祖级列表
      */
     private void updateDeptChildren(Long deptId, String newAncestors, String oldAncestors) {
-        // 查询所有子部门（ancestors字段包含deptId）
+        // 查询所有子部门
         List<SysDept> children = baseMapper.selectList(new LambdaQueryWrapper<SysDept>()
-            // 使用FIND_IN_SET函数查询ancestors字段包含deptId的记录
-            .apply(DataBaseHelper.findInSet(deptId, "ancestors")));
+            // 通过部门层级关系表查询deptId的所有子部门
+            .inSql(SysDept::getDeptId, SysDeptClosureMapper.buildChildrenSql(deptId)));
         // 创建需要更新的部门列表
         List<SysDept> list = new ArrayList<>();
         // 遍历所有子部门
@@ -584,7 +593,11 @@ public class SysDeptServiceImpl implements ISysDeptService, DeptService {
         @CacheEvict(cacheNames = CacheNames.SYS_DEPT_AND_CHILD, key = "#deptId")
     })
     @Override
+    // Spring事务注解：部门与层级关系同时删除
+    @Transactional(rollbackFor = Exception.class)
     public int deleteDeptById(Long deptId) {
+        // 删除部门的层级关系
+        deptClosureMapper.deleteNode(deptId);
         // 根据部门ID删除部门
         return baseMapper.deleteById(deptId);
     }
@@ -33,6 +33,8 @@ import org.dromara.common.log.event.LogininforEvent;
 import org.dromara.common.mybatis.core.page.PageQuery;
 // MyBatis-Plus分页组件：分页结果封装
 import org.dromara.common.mybatis.core.page.TableDataInfo;
+// MyBatis-Plus分页组件：总数统计方式
+import org.dromara.common.mybatis.enums.PageCountMode;
 // Sa-Token工具类：登录助手，提供获取当前登录用户信息的方法
 import org.dromara.common.satoken.utils.LoginHelper;
 // 系统领域模型：登录日志实体类
@@ -205,12 +207,18 @@ public class SysLogininforServiceImpl implements ISysLogininforService {
             // 时间范围查询登录时间
             .between(params.get("beginTime") != null && params.get("endTime") != null,
                 SysLogininfor::getLoginTime, params.get("beginTime"), params.get("endTime"));
+        // 游标分页：按infoId降序，以上一页最后一条的infoId为起点
+        if (pageQuery.isSeek()) {
+            lqw.orderByDesc(SysLogininfor::getInfoId);
+            return baseMapper.selectVoSeekPage(lqw, pageQuery.getCursor(), pageQuery.getSeekSize());
+        }
         // 如果没有指定排序字段，默认按infoId降序排序
         if (StringUtils.isBlank(pageQuery.getOrderByColumn())) {
             lqw.orderByDesc(SysLogininfor::getInfoId);
         }
         // 调用Mapper执行分页查询
-        Page<SysLogininforVo> page = baseMapper.selectVoPage(pageQuery.build(), lqw);
+        // 日志表数据量大，无过滤条件时使用行数估算值，其余情况短时缓存总数
+        Page<SysLogininforVo> page = baseMapper.selectVoPage(pageQuery.build(PageCountMode.ESTIMATE), lqw);
         // 将MyBatis-Plus的Page对象转换为系统统一的TableDataInfo
         return TableDataInfo.build(page);
     }
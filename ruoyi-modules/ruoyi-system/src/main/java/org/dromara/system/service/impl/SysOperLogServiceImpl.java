@@ -32,6 +32,8 @@ import org.dromara.common.mybatis.core.page.PageQuery;
 // MyBatis-Plus分页组件：分页结果封装
 // TableDataInfo是项目封装的分页结果类，统一返回格式，包含总记录数、当前页数据、页码等信息
 import org.dromara.common.mybatis.core.page.TableDataInfo;
+// 分页组件：总数统计方式
+import org.dromara.common.mybatis.enums.PageCountMode;
 // 系统领域模型：操作日志实体类
 // SysOperLog是操作日志的实体类，对应数据库的操作日志表
 import org.dromara.system.domain.SysOperLog;
@@ -134,6 +136,11 @@ public class SysOperLogServiceImpl implements ISysOperLogService {
         // 构建查询条件
         // 调用buildQueryWrapper方法，根据业务对象构建LambdaQueryWrapper
         LambdaQueryWrapper<SysOperLog> lqw = buildQueryWrapper(operLog);
+        // 游标分页：按operId降序，以上一页最后一条的operId为起点，深分页不扫描前面的日志
+        if (pageQuery.isSeek()) {
+            lqw.orderByDesc(SysOperLog::getOperId);
+            return baseMapper.selectVoSeekPage(lqw, pageQuery.getCursor(), pageQuery.getSeekSize());
+        }
         // 如果没有指定排序字段，默认按operId降序排序
         // 使用StringUtils.isBlank判断排序字段是否为空，为空则按operId降序排序，保证最新日志在前
         if (StringUtils.isBlank(pageQuery.getOrderByColumn())) {
@@ -142,7 +149,8 @@ public class SysOperLogServiceImpl implements ISysOperLogService {
         }
         // 调用Mapper执行分页查询，返回VO对象
         // 使用baseMapper的selectVoPage方法，自动将实体转换为VO对象，减少手动转换工作
-        Page<SysOperLogVo> page = baseMapper.selectVoPage(pageQuery.build(), lqw);
+        // 日志表数据量大，无过滤条件时使用行数估算值，其余情况短时缓存总数
+        Page<SysOperLogVo> page = baseMapper.selectVoPage(pageQuery.build(PageCountMode.ESTIMATE), lqw);
         // 将MyBatis-Plus的Page对象转换为系统统一的TableDataInfo
         // 调用TableDataInfo.build方法，统一分页结果格式，便于前端处理
         return TableDataInfo.build(page);
@@ -174,6 +174,8 @@ public class SysOssConfigServiceImpl implements ISysOssConfigService {
             config = baseMapper.selectById(config.getOssConfigId());
             // 将配置信息序列化为JSON字符串，缓存到Redis
             CacheUtils.put(CacheNames.SYS_OSS_CONFIG, config.getConfigKey(), JsonUtils.toJsonString(config));
+            // 通知各节点刷新OSS客户端实例
+            RedisUtils.publish(OssConstant.CONFIG_REFRESH_TOPIC, config.getConfigKey());
         }
         // 返回是否成功
         return flag;
@@ -212,6 +214,8 @@ public class SysOssConfigServiceImpl implements ISysOssConfigService {
             config = baseMapper.selectById(config.getOssConfigId());
             // 将配置信息序列化为JSON字符串，缓存到Redis
             CacheUtils.put(CacheNames.SYS_OSS_CONFIG, config.getConfigKey(), JsonUtils.toJsonString(config));
+            // 通知各节点刷新OSS客户端实例
+            RedisUtils.publish(OssConstant.CONFIG_REFRESH_TOPIC, config.getConfigKey());
         }
         // 返回是否成功
         return flag;
@@ -264,9 +268,12 @@ public class SysOssConfigServiceImpl implements ISysOssConfigService {
         // 如果删除成功
         if (flag) {
             // 遍历删除的OSS配置列表
-            list.forEach(sysOssConfig ->
+            list.forEach(sysOssConfig -> {
                 // 清除缓存
-                CacheUtils.evict(CacheNames.SYS_OSS_CONFIG, sysOssConfig.getConfigKey()));
+                CacheUtils.evict(CacheNames.SYS_OSS_CONFIG, sysOssConfig.getConfigKey());
+                // 通知各节点刷新OSS客户端实例
+                RedisUtils.publish(OssConstant.CONFIG_REFRESH_TOPIC, sysOssConfig.getConfigKey());
+            });
         }
         // 返回是否成功
         return flag;
@@ -318,6 +325,8 @@ public class SysOssConfigServiceImpl implements ISysOssConfigService {
         if (row > 0) {
             // 将启用的配置Key设置为默认配置，存储到Redis
             RedisUtils.setCacheObject(OssConstant.DEFAULT_CONFIG_KEY, sysOssConfig.getConfigKey());
+            // 通知各节点刷新本地缓存的默认配置KEY
+            RedisUtils.publish(OssConstant.CONFIG_REFRESH_TOPIC, sysOssConfig.getConfigKey());
         }
         // 返回影响的行数
         return row;
@@ -13,6 +13,8 @@ import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.core.toolkit.Wrappers;
 // MyBatis-Plus分页插件：分页对象
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+// Jakarta Servlet API：HTTP请求对象
+import jakarta.servlet.http.HttpServletRequest;
 // Jakarta Servlet API：HTTP响应对象
 import jakarta.servlet.http.HttpServletResponse;
 // Lombok注解：自动生成包含final字段的构造函数，实现依赖注入
@@ -23,10 +25,14 @@ import org.dromara.common.core.constant.CacheNames;
 import org.dromara.common.core.domain.dto.OssDTO;
 // 公共核心异常：业务异常类，用于抛出业务逻辑错误
 import org.dromara.common.core.exception.ServiceException;
+// 公共核心服务接口：参数配置服务接口
+import org.dromara.common.core.service.ConfigService;
 // 公共核心服务接口：OSS服务接口
 import org.dromara.common.core.service.OssService;
 // 公共核心工具类：MapStruct对象转换工具
 import org.dromara.common.core.utils.MapstructUtils;
+// 公共核心工具类：Servlet工具类，获取当前请求
+import org.dromara.common.core.utils.ServletUtils;
 // 公共核心工具类：Spring工具类，提供Spring上下文相关操作
 import org.dromara.common.core.utils.SpringUtils;
 // 公共核心工具类：Stream流操作工具
@@ -41,14 +47,20 @@ import org.dromara.common.json.utils.JsonUtils;
 import org.dromara.common.mybatis.core.page.PageQuery;
 // MyBatis-Plus分页组件：分页结果封装
 import org.dromara.common.mybatis.core.page.TableDataInfo;
+// OSS常量：下载重定向开关配置Key
+import org.dromara.common.oss.constant.OssConstant;
 // OSS核心客户端：OSS操作客户端
 import org.dromara.common.oss.core.OssClient;
+// OSS本地磁盘缓存：热点小文件读穿缓存
+import org.dromara.common.oss.core.OssDiskCache;
 // OSS上传结果：上传操作返回结果
 import org.dromara.common.oss.entity.UploadResult;
 // OSS访问策略类型：PUBLIC/PRIVATE
 import org.dromara.common.oss.enums.AccessPolicyType;
 // OSS工厂类：创建OSS客户端实例
 import org.dromara.common.oss.factory.OssFactory;
+// Redis工具类：发布缓存淘汰通知
+import org.dromara.common.redis.utils.RedisUtils;
 // 系统领域模型：OSS对象实体类
 import org.dromara.system.domain.SysOss;
 // 系统领域模型：OSS扩展信息实体类
@@ -63,14 +75,22 @@ import org.dromara.system.mapper.SysOssMapper;
 import org.dromara.system.service.ISysOssService;
 // JetBrains注解：非空注解
 import org.jetbrains.annotations.NotNull;
+// Spring Bean提供者：按需获取可选Bean
+import org.springframework.beans.factory.ObjectProvider;
 // Spring缓存注解：缓存查询，用于查询时缓存结果
 import org.springframework.cache.annotation.Cacheable;
+// Spring HTTP头常量：Range、ETag等请求响应头名称
+import org.springframework.http.HttpHeaders;
 // Spring HTTP媒体类型：HTTP内容类型定义
 import org.springframework.http.MediaType;
 // Spring服务注解：标记为服务类，交由Spring容器管理
 import org.springframework.stereotype.Service;
 // Spring Web组件：文件上传组件
 import org.springframework.web.multipart.MultipartFile;
+// AWS SDK响应发布者：以流的形式订阅对象内容
+import software.amazon.awssdk.core.async.ResponsePublisher;
+// AWS SDK S3获取对象响应：包含ETag、Content-Range等元数据
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
 
 // Java文件类
 import java.io.File;
@@ -100,6 +120,12 @@ public class SysOssServiceImpl implements ISysOssService, OssService {
     // OSS Mapper，用于OSS对象数据的持久化操作
     private final SysOssMapper baseMapper;
 
+    // 参数配置服务，用于读取下载重定向开关
+    private final ConfigService configService;
+
+    // OSS本地磁盘缓存，未开启时不存在
+    private final ObjectProvider<OssDiskCache> diskCacheProvider;
+
     /**
      * 分页查询OSS对象存储列表
      * 根据查询条件分页查询OSS对象列表，并对私有桶的URL进行临时URL处理
@@ -267,8 +293,9 @@ public class SysOssServiceImpl implements ISysOssService, OssService {
     }
 
     /**
-     * 文件下载方法，支持一次性下载完整文件
-     * 根据OSS对象ID下载文件，设置响应头，通过OSS客户端将文件内容写入响应流
+     * 文件下载方法，支持Range分段下载与ETag协商缓存
+     * 根据OSS对象ID下载文件，透传Range与If-None-Match到对象存储，直接将响应流写入输出流
+     * 开启下载重定向时，直接302跳转到存储服务的预签名URL
      *
      * @param ossId    OSS对象ID
      * @param response HttpServletResponse对象，用于设置响应头和向客户端发送文件内容
@@ -281,14 +308,79 @@ public class SysOssServiceImpl implements ISysOssService, OssService {
         if (ObjectUtil.isNull(sysOss)) {
             throw new ServiceException("文件数据不存在!");
         }
+        // 获取OSS客户端实例
+        OssClient storage = OssFactory.instance(sysOss.getService());
         // 设置响应头，指定下载文件名
         FileUtils.setAttachmentResponseHeader(response, sysOss.getOriginalName());
+        // 下载重定向模式：客户端直接从存储服务下载，跳过应用服务器
+        if (Convert.toBool(configService.getConfigValue(OssConstant.DOWNLOAD_REDIRECT_KEY), false)) {
+            // 生成带下载文件名的预签名URL，有效期120秒
+            String url = storage.getPrivateUrl(sysOss.getFileName(), Duration.ofSeconds(120),
+                response.getHeader(HttpHeaders.CONTENT_DISPOSITION));
+            // 重定向到预签名URL
+            response.sendRedirect(url);
+            return;
+        }
+        // 获取当前请求，读取Range与If-None-Match头
+        HttpServletRequest request = ServletUtils.getRequest();
+        // S3仅支持单个字节范围，多段范围时退化为完整下载
+        String range = request.getHeader(HttpHeaders.RANGE);
+        if (!StringUtils.startsWith(range, "bytes=") || StringUtils.contains(range, StringUtils.SEPARATOR)) {
+            range = null;
+        }
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        // 开启本地磁盘缓存时，完整下载的小文件优先从缓存读取
+        OssDiskCache diskCache = diskCacheProvider.getIfAvailable();
+        if (diskCache != null && range == null && diskCache.isCacheable(getFileSize(sysOss))) {
+            OssDiskCache.CachedObject cached = diskCache.get(storage, sysOss.getFileName());
+            // ETag未变化，直接返回304
+            if (StringUtils.equals(ifNoneMatch, cached.eTag())) {
+                response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+                return;
+            }
+            response.setContentType(MediaType.APPLICATION_OCTET_STREAM_VALUE + "; charset=UTF-8");
+            response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+            response.setHeader(HttpHeaders.ETAG, cached.eTag());
+            response.setContentLengthLong(cached.size());
+            // 缓存文件被并发淘汰时回退到对象存储下载
+            if (diskCache.transferTo(cached, response.getOutputStream())) {
+                return;
+            }
+        }
+        // 按范围获取对象响应发布者
+        ResponsePublisher<GetObjectResponse> publisher = storage.getObject(sysOss.getFileName(), range, ifNoneMatch);
+        // 对象未修改，直接返回304
+        if (publisher == null) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+        GetObjectResponse object = publisher.response();
         // 设置响应内容类型为二进制流
         response.setContentType(MediaType.APPLICATION_OCTET_STREAM_VALUE + "; charset=UTF-8");
-        // 获取OSS客户端实例
-        OssClient storage = OssFactory.instance(sysOss.getService());
-        // 调用OSS客户端下载方法，将文件内容写入响应输出流
-        storage.download(sysOss.getFileName(), response.getOutputStream(), response::setContentLengthLong);
+        // 声明支持字节范围请求
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        // 设置ETag，便于客户端协商缓存与断点续传
+        response.setHeader(HttpHeaders.ETAG, object.eTag());
+        // 部分内容响应，设置206状态码与Content-Range
+        if (StringUtils.isNotBlank(object.contentRange())) {
+            response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+            response.setHeader(HttpHeaders.CONTENT_RANGE, object.contentRange());
+        }
+        // 设置本次响应体长度
+        response.setContentLengthLong(object.contentLength());
+        // 将响应发布者的数据逐块写入响应输出流
+        OssClient.writeOut(publisher).writeTo(response.getOutputStream());
+    }
+
+    /**
+     * 从扩展信息中读取文件大小
+     *
+     * @param oss OSS对象
+     * @return 文件大小，未记录时返回null
+     */
+    private Long getFileSize(SysOssVo oss) {
+        SysOssExt ext = JsonUtils.parseObject(oss.getExt1(), SysOssExt.class);
+        return ext == null ? null : ext.getFileSize();
     }
 
     /**
@@ -408,6 +500,8 @@ public class SysOssServiceImpl implements ISysOssService, OssService {
             OssClient storage = OssFactory.instance(sysOss.getService());
             // 从OSS服务端删除文件
             storage.delete(sysOss.getUrl());
+            // 通知各节点移除本地磁盘缓存（未开启缓存的节点忽略该消息）
+            RedisUtils.publish(OssConstant.CACHE_EVICT_TOPIC, OssDiskCache.cacheKey(storage.getConfigKey(), sysOss.getFileName()));
         }
         // 删除数据库记录
         return baseMapper.deleteByIds(ids) > 0;
@@ -45,6 +45,8 @@ import org.dromara.common.core.utils.StringUtils;
 import org.dromara.common.mybatis.core.page.PageQuery;
 // MyBatis-Plus分页组件：分页结果封装
 import org.dromara.common.mybatis.core.page.TableDataInfo;
+// 数据权限助手：清除当前请求的数据过滤条件缓存
+import org.dromara.common.mybatis.helper.DataPermissionHelper;
 // Sa-Token工具类：登录助手，提供获取当前登录用户信息的方法
 import org.dromara.common.satoken.utils.LoginHelper;
 // 系统领域模型：角色实体类
@@ -508,6 +510,8 @@ public class SysRoleServiceImpl implements ISysRoleService, RoleService {
         baseMapper.updateById(role);
         // 删除角色与部门关联（先清除旧关联）
         roleDeptMapper.delete(new LambdaQueryWrapper<SysRoleDept>().eq(SysRoleDept::getRoleId, role.getRoleId()));
+        // 数据范围已变更，清除当前请求已构建的数据过滤条件
+        DataPermissionHelper.clearFilterCache();
         // 调用insertRoleDept插入新的角色部门关联（数据权限），返回影响的行数
         return insertRoleDept(bo);
     }
@@ -86,6 +86,7 @@ public class SysTenantServiceImpl implements ISysTenantService {
     private final SysTenantPackageMapper tenantPackageMapper;
     private final SysUserMapper userMapper;
     private final SysDeptMapper deptMapper;
+    private final SysDeptClosureMapper deptClosureMapper;
     private final SysRoleMapper roleMapper;
     private final SysRoleMenuMapper roleMenuMapper;
     private final SysRoleDeptMapper roleDeptMapper;
@@ -180,6 +181,7 @@ public class SysTenantServiceImpl implements ISysTenantService {
         dept.setAncestors(Constants.TOP_PARENT_ID.toString());
         deptMapper.insert(dept);
         Long deptId = dept.getDeptId();
+        deptClosureMapper.insertNode(deptId, dept.getParentId());
 
         // 角色和部门关联表
         SysRoleDept roleDept = new SysRoleDept();
@@ -679,12 +681,12 @@ public class SysTenantServiceImpl implements ISysTenantService {
             if (TenantConstants.DEFAULT_TENANT_ID.equals(tenantId)) {
                 continue;
             }
+            // 获取当前租户的参数配置键集合，每个租户只构建一次
+            Set<String> typeSet = StreamUtils.toSet(configMap.get(tenantId), SysConfig::getConfigKey);
             // 根据默认租户的参数配置进行数据同步
             for (SysConfig config : defaultConfigList) {
-                // 获取当前租户的参数配置键列表
-                List<String> typeList = StreamUtils.toList(configMap.get(tenantId), SysConfig::getConfigKey);
                 // 如果当前租户没有该配置键，则需要同步
-                if (!typeList.contains(config.getConfigKey())) {
+                if (!typeSet.contains(config.getConfigKey())) {
                     // 复制配置对象
                     SysConfig type = BeanUtil.toBean(config, SysConfig.class);
                     // 设置配置ID为null，让数据库自动生成
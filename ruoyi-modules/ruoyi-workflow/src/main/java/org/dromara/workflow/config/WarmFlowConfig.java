@@ -1,6 +1,8 @@
 package org.dromara.workflow.config;
 
 import org.dromara.workflow.common.ConditionalOnEnable;
+import org.dromara.workflow.config.properties.WorkflowProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 
 /**
@@ -10,7 +12,7 @@ import org.springframework.context.annotation.Configuration;
  */
 @ConditionalOnEnable
 @Configuration
+@EnableConfigurationProperties(WorkflowProperties.class)
 public class WarmFlowConfig {
 
 }
-
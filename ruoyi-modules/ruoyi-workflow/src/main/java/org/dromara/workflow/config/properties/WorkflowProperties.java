@@ -0,0 +1,105 @@
+package org.dromara.workflow.config.properties;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 工作流 配置属性
+ *
+ * @author may
+ */
+@Data
+@ConfigurationProperties(prefix = "workflow")
+public class WorkflowProperties {
+
+    /**
+     * 按组分配办理人
+     * 开启后角色、部门、岗位办理人以 role:id、dept:id、post:id 保存，不再展开为成员用户
+     * 待办按当前用户的用户、角色、部门、岗位标识匹配，未办结任务无需重新分配即可按新的成员关系匹配
+     * 用户的角色、部门、岗位取自登录信息，成员变动在用户重新登录后生效，已有快照最长还需等待快照有效期
+     */
+    private boolean groupAssign = false;
+
+    /**
+     * 用户办理人标识快照有效期，按登录token缓存
+     */
+    private Duration permissionCacheTtl = Duration.ofSeconds(60);
+
+    /**
+     * 用户办理人标识快照最大条数
+     */
+    private long permissionCacheSize = 10000;
+
+    /**
+     * 流程定义图缓存有效期，发布、修改时会通知所有节点主动清除，有效期用于兜底通知丢失的情况
+     */
+    private Duration definitionCacheTtl = Duration.ofMinutes(30);
+
+    /**
+     * 流程定义图缓存最大条数
+     */
+    private long definitionCacheSize = 1000;
+
+    /**
+     * 批量转办/委派的执行线程数，批量任务在独立线程池中执行，不占用公共定时任务线程池
+     */
+    private int batchThreads = 2;
+
+    /**
+     * 批量转办/委派的最大排队数，超出后拒绝新的批量请求
+     */
+    private int batchQueueCapacity = 20;
+
+    /**
+     * 消息发件箱配置
+     */
+    private Outbox outbox = new Outbox();
+
+    /**
+     * 消息发件箱配置
+     */
+    @Data
+    public static class Outbox {
+
+        /**
+         * 轮询间隔，事务提交后会立即投递一次，轮询用于重试与兜底
+         */
+        private Duration pollInterval = Duration.ofSeconds(10);
+
+        /**
+         * 每次投递读取的最大消息数
+         */
+        private int batchSize = 200;
+
+        /**
+         * 最大重试次数，超过后标记为失败
+         */
+        private int maxRetries = 5;
+
+        /**
+         * 首次重试间隔，之后按次数指数退避
+         */
+        private Duration retryDelay = Duration.ofSeconds(30);
+
+        /**
+         * 投递中状态超时时间，超时后视为节点异常退出，允许其他节点重新投递
+         */
+        private Duration sendingTimeout = Duration.ofMinutes(5);
+
+        /**
+         * 已投递消息保留时长
+         */
+        private Duration retention = Duration.ofDays(7);
+
+        /**
+         * 按消息类型限制每秒发送次数，key为消息类型（system、email、sms），未配置则不限制
+         */
+        private Map<String, Integer> rateLimit = new HashMap<>();
+
+    }
+
+}
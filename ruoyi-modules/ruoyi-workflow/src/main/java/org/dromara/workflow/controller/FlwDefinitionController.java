@@ -14,6 +14,7 @@ import org.dromara.warm.flow.core.service.DefService;
 import org.dromara.warm.flow.orm.entity.FlowDefinition;
 import org.dromara.workflow.common.ConditionalOnEnable;
 import org.dromara.workflow.domain.vo.FlowDefinitionVo;
+import org.dromara.workflow.service.IFlwDefinitionGraphService;
 import org.dromara.workflow.service.IFlwDefinitionService;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.validation.annotation.Validated;
@@ -21,6 +22,7 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -37,6 +39,7 @@ public class FlwDefinitionController extends BaseController {
 
     private final DefService defService;
     private final IFlwDefinitionService flwDefinitionService;
+    private final IFlwDefinitionGraphService flwDefinitionGraphService;
 
     /**
      * 查询流程定义列表
@@ -93,6 +96,7 @@ public class FlwDefinitionController extends BaseController {
     @RepeatSubmit()
     @Transactional(rollbackFor = Exception.class)
     public R<Boolean> edit(@RequestBody FlowDefinition flowDefinition) {
+        flwDefinitionGraphService.evict(Collections.singletonList(flowDefinition.getId()));
         return R.ok(defService.updateById(flowDefinition));
     }
 
@@ -118,6 +122,7 @@ public class FlwDefinitionController extends BaseController {
     @RepeatSubmit()
     @Transactional(rollbackFor = Exception.class)
     public R<Boolean> unPublish(@PathVariable Long id) {
+        flwDefinitionGraphService.evict(List.of(id));
         return R.ok(defService.unPublish(id));
     }
 
@@ -188,6 +193,7 @@ public class FlwDefinitionController extends BaseController {
     @PutMapping("/active/{id}")
     @Transactional(rollbackFor = Exception.class)
     public R<Boolean> active(@PathVariable Long id, @RequestParam boolean active) {
+        flwDefinitionGraphService.evict(List.of(id));
         return R.ok(active ? defService.active(id) : defService.unActive(id));
     }
 
@@ -15,8 +15,10 @@ import org.dromara.warm.flow.core.entity.Node;
 import org.dromara.warm.flow.orm.entity.FlowNode;
 import org.dromara.workflow.common.ConditionalOnEnable;
 import org.dromara.workflow.domain.bo.*;
+import org.dromara.workflow.domain.vo.FlowBatchJobVo;
 import org.dromara.workflow.domain.vo.FlowHisTaskVo;
 import org.dromara.workflow.domain.vo.FlowTaskVo;
+import org.dromara.workflow.service.IFlwTaskBatchService;
 import org.dromara.workflow.service.IFlwTaskService;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
@@ -36,6 +38,7 @@ import java.util.List;
 public class FlwTaskController extends BaseController {
 
     private final IFlwTaskService flwTaskService;
+    private final IFlwTaskBatchService flwTaskBatchService;
 
     /**
      * 启动任务
@@ -62,6 +65,29 @@ public class FlwTaskController extends BaseController {
         return toAjax(flwTaskService.completeTask(completeTaskBo));
     }
 
+    /**
+     * 批量办理任务
+     * 后台逐个在独立事务中办理，返回批量任务id，通过 batchJob 查询进度与失败原因
+     *
+     * @param bo 批量办理参数
+     */
+    @Log(title = "任务管理", businessType = BusinessType.INSERT)
+    @RepeatSubmit()
+    @PostMapping("/completeTaskBatch")
+    public R<String> completeTaskBatch(@Validated(AddGroup.class) @RequestBody CompleteTaskBatchBo bo) {
+        return R.ok("已提交后台办理", flwTaskBatchService.completeTaskBatch(bo));
+    }
+
+    /**
+     * 查询批量任务进度
+     *
+     * @param jobId 批量任务id
+     */
+    @GetMapping("/batchJob/{jobId}")
+    public R<FlowBatchJobVo> getBatchJob(@PathVariable String jobId) {
+        return R.ok(flwTaskBatchService.getBatchJob(jobId));
+    }
+
     /**
      * 查询当前用户的待办任务
      *
@@ -163,6 +189,20 @@ public class FlwTaskController extends BaseController {
         return toAjax(flwTaskService.taskOperation(bo, taskOperation));
     }
 
+    /**
+     * 批量转办/委派任务，后台分批执行，进度通过SSE推送
+     *
+     * @param bo            参数
+     * @param taskOperation 操作类型，委派 delegateTask、转办 transferTask
+     * @return 待处理的任务数
+     */
+    @Log(title = "任务管理", businessType = BusinessType.UPDATE)
+    @RepeatSubmit
+    @PostMapping("/taskOperationBatch/{taskOperation}")
+    public R<Integer> taskOperationBatch(@Validated @RequestBody TaskOperationBatchBo bo, @PathVariable String taskOperation) {
+        return R.ok(flwTaskBatchService.taskOperationBatch(bo, taskOperation));
+    }
+
     /**
      * 修改任务办理人
      *
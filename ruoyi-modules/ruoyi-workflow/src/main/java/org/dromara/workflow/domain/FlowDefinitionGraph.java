@@ -0,0 +1,165 @@
+package org.dromara.workflow.domain;
+
+import lombok.Getter;
+import org.dromara.common.core.utils.StringUtils;
+import org.dromara.warm.flow.core.entity.Definition;
+import org.dromara.warm.flow.core.entity.Node;
+import org.dromara.warm.flow.core.entity.Skip;
+import org.dromara.warm.flow.core.enums.NodeType;
+import org.dromara.warm.flow.core.enums.SkipType;
+import org.dromara.workflow.domain.vo.ButtonPermissionVo;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 编译后的流程定义图
+ * <p>
+ * 一个流程定义ID对应一个版本，定义、节点、跳转线及节点按钮权限在加载时一次性整理好，之后只读
+ * 节点与跳转线为多个请求共享的同一对象，使用方不得修改
+ *
+ * @author may
+ */
+@Getter
+public class FlowDefinitionGraph {
+
+    /**
+     * 流程定义
+     */
+    private final Definition definition;
+
+    /**
+     * 节点，key为节点编码，按节点定义顺序排列
+     */
+    private final Map<String, Node> nodeMap;
+
+    /**
+     * 跳转线，key为起始节点编码
+     */
+    private final Map<String, List<Skip>> skipMap;
+
+    /**
+     * 节点按钮权限，key为节点编码
+     */
+    private final Map<String, List<ButtonPermissionVo>> buttonMap;
+
+    /**
+     * 申请人节点编码（开始节点后的第一个审批节点）
+     */
+    private final String applyNodeCode;
+
+    public FlowDefinitionGraph(Definition definition, List<? extends Node> nodes, List<? extends Skip> skips,
+                               Map<String, List<ButtonPermissionVo>> buttonMap) {
+        this.definition = definition;
+        Map<String, Node> nodeMap = new LinkedHashMap<>();
+        for (Node node : nodes) {
+            nodeMap.put(node.getNodeCode(), node);
+        }
+        Map<String, List<Skip>> skipMap = new LinkedHashMap<>();
+        for (Skip skip : skips) {
+            skipMap.computeIfAbsent(skip.getNowNodeCode(), k -> new ArrayList<>()).add(skip);
+        }
+        skipMap.replaceAll((k, v) -> Collections.unmodifiableList(v));
+        this.nodeMap = Collections.unmodifiableMap(nodeMap);
+        this.skipMap = Collections.unmodifiableMap(skipMap);
+        this.buttonMap = Collections.unmodifiableMap(buttonMap);
+        this.applyNodeCode = findApplyNodeCode();
+    }
+
+    /**
+     * 流程定义ID
+     */
+    public Long getDefinitionId() {
+        return definition.getId();
+    }
+
+    /**
+     * 按节点编码获取节点
+     *
+     * @param nodeCode 节点编码
+     * @return 节点，不存在返回null
+     */
+    public Node getNode(String nodeCode) {
+        return nodeMap.get(nodeCode);
+    }
+
+    /**
+     * 获取节点的按钮权限
+     *
+     * @param nodeCode 节点编码
+     * @return 按钮权限，未配置返回空列表
+     */
+    public List<ButtonPermissionVo> getButtonPermissions(String nodeCode) {
+        return buttonMap.getOrDefault(nodeCode, Collections.emptyList());
+    }
+
+    /**
+     * 获取节点之前的所有节点（沿审批通过的跳转线逆向可达），按节点定义顺序返回
+     *
+     * @param nodeCode 节点编码
+     * @return 前置节点
+     */
+    public List<Node> previousNodeList(String nodeCode) {
+        Map<String, List<String>> reverse = new LinkedHashMap<>();
+        skipMap.values().forEach(list -> list.stream()
+            .filter(FlowDefinitionGraph::isPass)
+            .forEach(skip -> reverse.computeIfAbsent(skip.getNextNodeCode(), k -> new ArrayList<>()).add(skip.getNowNodeCode())));
+        Set<String> visited = new HashSet<>();
+        Deque<String> queue = new ArrayDeque<>();
+        queue.add(nodeCode);
+        while (!queue.isEmpty()) {
+            for (String prev : reverse.getOrDefault(queue.poll(), Collections.emptyList())) {
+                if (visited.add(prev)) {
+                    queue.add(prev);
+                }
+            }
+        }
+        visited.remove(nodeCode);
+        List<Node> result = new ArrayList<>();
+        nodeMap.forEach((code, node) -> {
+            if (visited.contains(code)) {
+                result.add(node);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * 从开始节点沿审批通过的跳转线查找第一个审批节点，网关节点继续向后查找
+     */
+    private String findApplyNodeCode() {
+        Deque<String> queue = new ArrayDeque<>();
+        nodeMap.values().stream()
+            .filter(node -> NodeType.START.getKey().equals(node.getNodeType()))
+            .forEach(node -> queue.add(node.getNodeCode()));
+        Set<String> visited = new HashSet<>(queue);
+        while (!queue.isEmpty()) {
+            for (Skip skip : skipMap.getOrDefault(queue.poll(), Collections.emptyList())) {
+                if (!isPass(skip) || !visited.add(skip.getNextNodeCode())) {
+                    continue;
+                }
+                Node next = nodeMap.get(skip.getNextNodeCode());
+                if (next == null) {
+                    continue;
+                }
+                if (NodeType.BETWEEN.getKey().equals(next.getNodeType())) {
+                    return next.getNodeCode();
+                }
+                queue.add(next.getNodeCode());
+            }
+        }
+        return null;
+    }
+
+    private static boolean isPass(Skip skip) {
+        return StringUtils.isBlank(skip.getSkipType()) || SkipType.PASS.getKey().equals(skip.getSkipType());
+    }
+
+}
@@ -0,0 +1,111 @@
+package org.dromara.workflow.domain;
+
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableName;
+import lombok.Data;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.Date;
+
+/**
+ * 流程消息发件箱实体类
+ * 对应数据库表：flow_message_outbox（流程消息发件箱表）
+ * 消息与流程办理在同一事务写入，事务提交后由后台投递，投递失败按退避策略重试
+ *
+ * @author may
+ */
+@Data
+@TableName("flow_message_outbox")
+public class FlowMessageOutbox implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 待投递
+     */
+    public static final String STATUS_PENDING = "0";
+
+    /**
+     * 投递中
+     */
+    public static final String STATUS_SENDING = "1";
+
+    /**
+     * 已投递
+     */
+    public static final String STATUS_SENT = "2";
+
+    /**
+     * 投递失败（超过最大重试次数）
+     */
+    public static final String STATUS_FAILED = "3";
+
+    /**
+     * 主键ID
+     */
+    @TableId(value = "id")
+    private Long id;
+
+    /**
+     * 租户编号
+     */
+    private String tenantId;
+
+    /**
+     * 流程实例ID
+     */
+    private Long instanceId;
+
+    /**
+     * 消息类型（system:系统消息, email:邮件, sms:短信）
+     */
+    private String messageType;
+
+    /**
+     * 消息标题
+     */
+    private String subject;
+
+    /**
+     * 消息内容
+     */
+    private String content;
+
+    /**
+     * 接收人，逗号分隔（系统消息为用户ID，邮件为邮箱）
+     */
+    private String recipients;
+
+    /**
+     * 状态（0待投递 1投递中 2已投递 3投递失败）
+     */
+    private String status;
+
+    /**
+     * 已重试次数
+     */
+    private Integer retryCount;
+
+    /**
+     * 下次投递时间
+     */
+    private Date nextTime;
+
+    /**
+     * 最近一次失败原因
+     */
+    private String errorMsg;
+
+    /**
+     * 创建时间
+     */
+    private Date createTime;
+
+    /**
+     * 更新时间
+     */
+    private Date updateTime;
+
+}
@@ -0,0 +1,57 @@
+package org.dromara.workflow.domain.bo;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+import org.dromara.common.core.validate.AddGroup;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 批量办理任务请求业务对象
+ *
+ * @author may
+ */
+@Data
+public class CompleteTaskBatchBo implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 任务id
+     */
+    @NotEmpty(message = "任务id不能为空", groups = AddGroup.class)
+    @Size(max = 5000, message = "单次最多办理{max}个任务", groups = AddGroup.class)
+    private List<Long> taskIdList;
+
+    /**
+     * 附件id
+     */
+    private String fileId;
+
+    /**
+     * 消息类型
+     */
+    private List<String> messageType;
+
+    /**
+     * 办理意见
+     */
+    private String message;
+
+    /**
+     * 消息通知
+     */
+    private String notice;
+
+    /**
+     * 流程变量，对每个任务生效
+     */
+    private Map<String, Object> variables = new HashMap<>();
+
+}
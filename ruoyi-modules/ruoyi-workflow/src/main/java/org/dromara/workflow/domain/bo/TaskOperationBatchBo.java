@@ -0,0 +1,49 @@
+package org.dromara.workflow.domain.bo;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * 批量转办/委派任务业务对象
+ *
+ * @author may
+ */
+@Data
+public class TaskOperationBatchBo implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 任务id，为空时处理原办理人的全部待办任务
+     */
+    @Size(max = 5000, message = "单次最多处理{max}个任务")
+    private List<Long> taskIdList;
+
+    /**
+     * 原办理人id，为空时为当前用户，非管理员只能处理自己的任务
+     */
+    private String fromUserId;
+
+    /**
+     * 转办/委派人id
+     */
+    @NotBlank(message = "转办/委派人id不能为空")
+    private String userId;
+
+    /**
+     * 消息类型，为空则不通知
+     */
+    private List<String> messageType;
+
+    /**
+     * 意见或备注
+     */
+    private String message;
+
+}
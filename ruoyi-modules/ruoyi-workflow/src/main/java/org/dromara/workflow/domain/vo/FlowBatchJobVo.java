@@ -0,0 +1,56 @@
+package org.dromara.workflow.domain.vo;
+
+import lombok.Data;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 批量任务进度视图对象
+ *
+ * @author may
+ */
+@Data
+public class FlowBatchJobVo implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 批量任务id
+     */
+    private String jobId;
+
+    /**
+     * 操作人id
+     */
+    private Long operatorId;
+
+    /**
+     * 任务总数
+     */
+    private int total;
+
+    /**
+     * 已处理数
+     */
+    private int done;
+
+    /**
+     * 成功数
+     */
+    private int success;
+
+    /**
+     * 办理失败的任务id及原因
+     */
+    private Map<Long, String> failures = new LinkedHashMap<>();
+
+    /**
+     * 是否已全部处理
+     */
+    private boolean finished;
+
+}
@@ -9,6 +9,8 @@ import org.dromara.common.tenant.helper.TenantHelper;
 import org.dromara.warm.flow.core.entity.Instance;
 import org.dromara.workflow.common.ConditionalOnEnable;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.Map;
 
@@ -25,6 +27,8 @@ public class FlowProcessEventHandler {
 
     /**
      * 总体流程监听(例如: 草稿，撤销，退回，作废，终止，已完成等)
+     * 业务方通常在此同步更新业务单据状态，因此在办理事务内发布，与流程状态一同提交或回滚
+     * 只需在提交后处理的监听可使用 {@code @TransactionalEventListener}
      *
      * @param flowCode   流程定义编码
      * @param instance   实例数据
@@ -52,6 +56,7 @@ public class FlowProcessEventHandler {
 
     /**
      * 执行创建任务监听
+     * 存在事务时在事务提交后发布，监听方不占用办理事务，且只会收到已提交的任务
      *
      * @param flowCode   流程定义编码
      * @param instance   实例数据
@@ -73,7 +78,7 @@ public class FlowProcessEventHandler {
         processTaskEvent.setTaskId(taskId);
         processTaskEvent.setStatus(instance.getFlowStatus());
         processTaskEvent.setParams(params);
-        SpringUtils.context().publishEvent(processTaskEvent);
+        publishAfterCommit(processTaskEvent);
     }
 
     /**
@@ -92,4 +97,22 @@ public class FlowProcessEventHandler {
         SpringUtils.context().publishEvent(processDeleteEvent);
     }
 
+    /**
+     * 事务提交后发布事件，无事务时立即发布
+     *
+     * @param event 事件
+     */
+    private void publishAfterCommit(Object event) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            SpringUtils.context().publishEvent(event);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                SpringUtils.context().publishEvent(event);
+            }
+        });
+    }
+
 }
@@ -1,21 +1,31 @@
 package org.dromara.workflow.handler;
 
+import cn.dev33.satoken.stp.StpUtil;
 import cn.hutool.core.collection.CollUtil;
 import cn.hutool.core.convert.Convert;
-import lombok.RequiredArgsConstructor;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import lombok.extern.slf4j.Slf4j;
+import org.dromara.common.core.domain.dto.PostDTO;
+import org.dromara.common.core.domain.dto.RoleDTO;
 import org.dromara.common.core.domain.dto.UserDTO;
+import org.dromara.common.core.domain.model.LoginUser;
 import org.dromara.common.core.utils.StreamUtils;
 import org.dromara.common.core.utils.StringUtils;
 import org.dromara.common.satoken.utils.LoginHelper;
 import org.dromara.warm.flow.core.dto.FlowParams;
 import org.dromara.warm.flow.core.handler.PermissionHandler;
 import org.dromara.workflow.common.ConditionalOnEnable;
+import org.dromara.workflow.common.enums.TaskAssigneeEnum;
+import org.dromara.workflow.config.properties.WorkflowProperties;
 import org.dromara.workflow.service.IFlwTaskAssigneeService;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * 办理人权限处理器
@@ -23,21 +33,38 @@ import java.util.List;
  * @author AprilWind
  */
 @ConditionalOnEnable
-@RequiredArgsConstructor
 @Component
 @Slf4j
 public class WorkflowPermissionHandler implements PermissionHandler {
 
     private final IFlwTaskAssigneeService flwTaskAssigneeService;
+    private final WorkflowProperties workflowProperties;
+
+    /**
+     * 用户办理人标识快照，key为登录token，登录信息变化时随token失效
+     */
+    private final Cache<String, List<String>> permissionCache;
+
+    public WorkflowPermissionHandler(IFlwTaskAssigneeService flwTaskAssigneeService, WorkflowProperties workflowProperties) {
+        this.flwTaskAssigneeService = flwTaskAssigneeService;
+        this.workflowProperties = workflowProperties;
+        this.permissionCache = Caffeine.newBuilder()
+            .expireAfterWrite(workflowProperties.getPermissionCacheTtl())
+            .maximumSize(workflowProperties.getPermissionCacheSize())
+            .build();
+    }
 
     /**
      * 办理人权限标识，比如用户，角色，部门等，用于校验是否有权限办理任务
      * 后续在{@link FlowParams#getPermissionFlag}  中获取
-     * 返回当前用户权限集合
+     * 返回当前用户权限集合，按组分配时包含用户所属的角色、部门、岗位标识
      */
     @Override
     public List<String> permissions() {
-        return Collections.singletonList(LoginHelper.getUserIdStr());
+        if (!workflowProperties.isGroupAssign()) {
+            return Collections.singletonList(LoginHelper.getUserIdStr());
+        }
+        return permissionCache.get(StpUtil.getTokenValue(), key -> buildPermissions(LoginHelper.getLoginUser()));
     }
 
     /**
@@ -52,14 +79,58 @@ public class WorkflowPermissionHandler implements PermissionHandler {
 
     /**
      * 转换办理人，比如设计器中预设了能办理的人，如果其中包含角色或者部门id等，可以通过此接口进行转换成用户id
+     * 按组分配时角色、部门、岗位标识原样保留，只转换用户与SpEL表达式
      */
     @Override
     public List<String> convertPermissions(List<String> permissions) {
         if (CollUtil.isEmpty(permissions)) {
             return permissions;
         }
-        String storageIds = CollUtil.join(permissions, StringUtils.SEPARATOR);
-        List<UserDTO> users = flwTaskAssigneeService.fetchUsersByStorageIds(storageIds);
-        return StreamUtils.toList(users, userDTO -> Convert.toStr(userDTO.getUserId()));
+        List<String> groups = new ArrayList<>();
+        List<String> others = new ArrayList<>();
+        for (String permission : permissions) {
+            if (workflowProperties.isGroupAssign() && isGroup(permission)) {
+                groups.add(permission);
+            } else {
+                others.add(permission);
+            }
+        }
+        Set<String> result = new LinkedHashSet<>(groups);
+        if (CollUtil.isNotEmpty(others)) {
+            String storageIds = CollUtil.join(others, StringUtils.SEPARATOR);
+            List<UserDTO> users = flwTaskAssigneeService.fetchUsersByStorageIds(storageIds);
+            result.addAll(StreamUtils.toList(users, userDTO -> Convert.toStr(userDTO.getUserId())));
+        }
+        return new ArrayList<>(result);
+    }
+
+    /**
+     * 是否为角色、部门、岗位标识
+     *
+     * @param permission 办理人标识
+     */
+    public static boolean isGroup(String permission) {
+        return StringUtils.startsWithAny(permission, TaskAssigneeEnum.ROLE.getCode(),
+            TaskAssigneeEnum.DEPT.getCode(), TaskAssigneeEnum.POST.getCode());
+    }
+
+    /**
+     * 由登录信息构建用户的办理人标识：用户id、role:角色id、dept:部门id、post:岗位id
+     *
+     * @param loginUser 登录用户
+     */
+    private static List<String> buildPermissions(LoginUser loginUser) {
+        List<String> permissions = new ArrayList<>();
+        permissions.add(Convert.toStr(loginUser.getUserId()));
+        for (RoleDTO role : CollUtil.emptyIfNull(loginUser.getRoles())) {
+            permissions.add(TaskAssigneeEnum.ROLE.getCode() + role.getRoleId());
+        }
+        if (loginUser.getDeptId() != null) {
+            permissions.add(TaskAssigneeEnum.DEPT.getCode() + loginUser.getDeptId());
+        }
+        for (PostDTO post : CollUtil.emptyIfNull(loginUser.getPosts())) {
+            permissions.add(TaskAssigneeEnum.POST.getCode() + post.getPostId());
+        }
+        return Collections.unmodifiableList(permissions);
     }
 }
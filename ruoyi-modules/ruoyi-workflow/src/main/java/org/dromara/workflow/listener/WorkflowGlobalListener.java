@@ -27,6 +27,7 @@ import org.dromara.workflow.handler.FlowProcessEventHandler;
 import org.dromara.workflow.service.IFlwCommonService;
 import org.dromara.workflow.service.IFlwInstanceService;
 import org.dromara.workflow.service.IFlwNodeExtService;
+import org.dromara.workflow.service.IFlwTaskInboxService;
 import org.dromara.workflow.service.IFlwTaskService;
 import org.springframework.stereotype.Component;
 
@@ -52,6 +53,7 @@ public class WorkflowGlobalListener implements GlobalListener {
     private final IFlwCommonService flwCommonService;
     private final IFlwNodeExtService nodeExtService;
     private final UserService userService;
+    private final IFlwTaskInboxService flwTaskInboxService;
 
     /**
      * 创建监听器，任务创建时执行
@@ -60,7 +62,11 @@ public class WorkflowGlobalListener implements GlobalListener {
      */
     @Override
     public void create(ListenerVariable listenerVariable) {
-
+        // 新任务及办理人在事务提交前写入收件箱
+        Instance instance = listenerVariable.getInstance();
+        if (ObjectUtil.isNotNull(instance)) {
+            flwTaskInboxService.markDirty(instance.getId());
+        }
     }
 
     /**
@@ -116,6 +122,8 @@ public class WorkflowGlobalListener implements GlobalListener {
                 flowTask.setPermissionList(List.of(instance.getCreateBy()));
             }
         }
+        // 办理人变更后刷新收件箱
+        flwTaskInboxService.markDirty(instance.getId());
     }
 
     /**
@@ -129,6 +137,8 @@ public class WorkflowGlobalListener implements GlobalListener {
         Definition definition = listenerVariable.getDefinition();
         Task task = listenerVariable.getTask();
         List<Task> nextTasks = listenerVariable.getNextTasks();
+        // 当前任务完成、流程状态变更后刷新收件箱
+        flwTaskInboxService.markDirty(instance.getId());
         Map<String, Object> params = new HashMap<>();
         FlowParams flowParams = listenerVariable.getFlowParams();
         Map<String, Object> variable = new HashMap<>();
@@ -0,0 +1,65 @@
+package org.dromara.workflow.mapper;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.conditions.update.LambdaUpdateWrapper;
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import org.dromara.common.mybatis.core.mapper.BaseMapperPlus;
+import org.dromara.workflow.domain.FlowMessageOutbox;
+
+import java.util.Date;
+import java.util.List;
+
+/**
+ * 流程消息发件箱Mapper接口
+ *
+ * @author may
+ */
+public interface FlwMessageOutboxMapper extends BaseMapperPlus<FlowMessageOutbox, FlowMessageOutbox> {
+
+    /**
+     * 查询到期待投递的消息，包含投递超时的消息
+     *
+     * @param now         当前时间
+     * @param staleBefore 投递中状态早于该时间视为超时
+     * @param size        最大条数
+     * @return 消息列表
+     */
+    default List<FlowMessageOutbox> selectDueList(Date now, Date staleBefore, int size) {
+        return this.selectList(new Page<>(1, size, false), new LambdaQueryWrapper<FlowMessageOutbox>()
+            .and(w -> w.eq(FlowMessageOutbox::getStatus, FlowMessageOutbox.STATUS_PENDING)
+                .le(FlowMessageOutbox::getNextTime, now)
+                .or()
+                .eq(FlowMessageOutbox::getStatus, FlowMessageOutbox.STATUS_SENDING)
+                .lt(FlowMessageOutbox::getUpdateTime, staleBefore))
+            .orderByAsc(FlowMessageOutbox::getId));
+    }
+
+    /**
+     * 抢占消息，仅当状态与更新时间仍为读取时的值才成功，保证多节点下同一消息只投递一次
+     *
+     * @param outbox 读取到的消息
+     * @param now    当前时间
+     * @return 是否抢占成功
+     */
+    default boolean claim(FlowMessageOutbox outbox, Date now) {
+        return this.update(null, new LambdaUpdateWrapper<FlowMessageOutbox>()
+            .set(FlowMessageOutbox::getStatus, FlowMessageOutbox.STATUS_SENDING)
+            .set(FlowMessageOutbox::getUpdateTime, now)
+            .eq(FlowMessageOutbox::getId, outbox.getId())
+            .eq(FlowMessageOutbox::getStatus, outbox.getStatus())
+            .eq(FlowMessageOutbox::getUpdateTime, outbox.getUpdateTime())) > 0;
+    }
+
+    /**
+     * 删除早于指定时间的已投递消息
+     *
+     * @param before 更新时间上限
+     * @return 删除的行数
+     */
+    default int deleteSentBefore(Date before) {
+        return this.delete(new LambdaQueryWrapper<FlowMessageOutbox>()
+            .eq(FlowMessageOutbox::getStatus, FlowMessageOutbox.STATUS_SENT)
+            .lt(FlowMessageOutbox::getUpdateTime, before));
+    }
+
+}
@@ -0,0 +1,40 @@
+package org.dromara.workflow.mapper;
+
+import org.apache.ibatis.annotations.Param;
+
+import java.util.Collection;
+
+/**
+ * 待办收件箱Mapper接口
+ * 收件箱表 flow_task_inbox 为待办、抄送列表的冗余投影，每个(任务, 办理人, 人员类型)一行
+ * 按流程实例整体重建，数据来源于 flow_task、flow_his_task、flow_user 及流程定义、实例、业务扩展表
+ *
+ * @author may
+ */
+public interface FlwTaskInboxMapper {
+
+    /**
+     * 删除流程实例的收件箱记录
+     *
+     * @param instanceIds 流程实例ID
+     * @return 删除的行数
+     */
+    int deleteByInstanceIds(@Param("instanceIds") Collection<Long> instanceIds);
+
+    /**
+     * 按待办任务及其审批、转办、委托人员写入收件箱
+     *
+     * @param instanceIds 流程实例ID
+     * @return 写入的行数
+     */
+    int insertRunTask(@Param("instanceIds") Collection<Long> instanceIds);
+
+    /**
+     * 按抄送历史任务及其抄送人员写入收件箱
+     *
+     * @param instanceIds 流程实例ID
+     * @return 写入的行数
+     */
+    int insertCopyTask(@Param("instanceIds") Collection<Long> instanceIds);
+
+}
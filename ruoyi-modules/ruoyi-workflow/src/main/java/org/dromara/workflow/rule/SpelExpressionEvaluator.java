@@ -0,0 +1,106 @@
+package org.dromara.workflow.rule;
+
+import cn.hutool.core.convert.Convert;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.dromara.common.core.utils.StreamUtils;
+import org.dromara.common.core.utils.StringUtils;
+import org.dromara.workflow.common.ConditionalOnEnable;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.context.expression.BeanFactoryResolver;
+import org.springframework.expression.BeanResolver;
+import org.springframework.expression.Expression;
+import org.springframework.expression.ExpressionParser;
+import org.springframework.expression.common.TemplateParserContext;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelParserConfiguration;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.expression.spel.support.StandardEvaluationContext;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * spel表达式求值器
+ * <p>
+ * 按表达式文本缓存解析结果，并开启混合编译模式，多次求值后编译为字节码，编译失败时自动回退为解释执行
+ * 同一表达式在高频流转中只解析一次，不再每次求值都重新解析
+ *
+ * @author may
+ */
+@ConditionalOnEnable
+@Component
+public class SpelExpressionEvaluator {
+
+    /**
+     * spel表达式前缀，如 #{@spelRuleComponent.selectDeptLeaderById(#initiatorDeptId)}
+     */
+    public static final String SPEL_PREFIX = "#{";
+
+    /**
+     * 模板解析上下文，与流程引擎一致使用 #{ } 包裹表达式
+     */
+    private static final TemplateParserContext TEMPLATE = new TemplateParserContext();
+
+    private final ExpressionParser parser = new SpelExpressionParser(
+        new SpelParserConfiguration(SpelCompilerMode.MIXED, SpelExpressionEvaluator.class.getClassLoader()));
+
+    private final Cache<String, Expression> expressionCache = Caffeine.newBuilder()
+        .maximumSize(1000)
+        .build();
+
+    private final BeanResolver beanResolver;
+
+    public SpelExpressionEvaluator(BeanFactory beanFactory) {
+        this.beanResolver = new BeanFactoryResolver(beanFactory);
+    }
+
+    /**
+     * 是否为spel表达式
+     *
+     * @param expression 表达式
+     */
+    public static boolean isSpel(String expression) {
+        return StringUtils.startsWith(StringUtils.trim(expression), SPEL_PREFIX);
+    }
+
+    /**
+     * 表达式求值
+     *
+     * @param expression 表达式，如 #{@bean.method(#var)}
+     * @param variable   流程变量
+     * @return 求值结果
+     */
+    public Object eval(String expression, Map<String, Object> variable) {
+        Expression compiled = expressionCache.get(StringUtils.trim(expression),
+            key -> parser.parseExpression(key, TEMPLATE));
+        StandardEvaluationContext context = new StandardEvaluationContext();
+        context.setBeanResolver(beanResolver);
+        if (variable != null) {
+            context.setVariables(variable);
+        }
+        return compiled.getValue(context);
+    }
+
+    /**
+     * 办理人表达式求值，结果统一转换为办理人标识列表
+     *
+     * @param expression 表达式
+     * @param variable   流程变量
+     * @return 办理人标识，结果为空返回空列表
+     */
+    public List<String> evalVariable(String expression, Map<String, Object> variable) {
+        Object value = eval(expression, variable);
+        if (value == null) {
+            return Collections.emptyList();
+        }
+        if (value instanceof Collection<?> collection) {
+            return StreamUtils.toList(collection, Convert::toStr);
+        }
+        return StringUtils.splitList(Convert.toStr(value));
+    }
+
+}
@@ -1,5 +1,7 @@
 package org.dromara.workflow.rule;
 
+import cn.dev33.satoken.context.SaHolder;
+import cn.dev33.satoken.context.model.SaStorage;
 import cn.hutool.core.util.ObjectUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -8,10 +10,13 @@ import org.dromara.common.core.service.DeptService;
 import org.dromara.workflow.common.ConditionalOnEnable;
 import org.springframework.stereotype.Component;
 
+import java.util.function.Supplier;
+
 /**
  * spel表达式规则组件
  * <p>
  *     通过该组件统一管理流程定义中的spel表达式
+ *     同一请求内相同参数的结果会被复用，批量办理、网关判断时不再重复查询
  * </p>
  *
  * @author Michelle.Chung
@@ -22,17 +27,51 @@ import org.springframework.stereotype.Component;
 @RequiredArgsConstructor
 public class SpelRuleComponent {
 
+    /**
+     * 请求内结果缓存key前缀
+     */
+    private static final String STORAGE_KEY = "spel_rule:";
+
     private final DeptService deptService;
 
     /**
      * 通过发起人部门id获取部门负责人
      */
     public Long selectDeptLeaderById(Long initiatorDeptId) {
-        Long leaderId = deptService.selectDeptLeaderById(initiatorDeptId);
+        Long leaderId = memoize("dept_leader:" + initiatorDeptId, () -> deptService.selectDeptLeaderById(initiatorDeptId));
         if (ObjectUtil.isNull(leaderId)) {
             throw new ServiceException("当前部门未设置负责人，请联系管理员操作。");
         }
         return leaderId;
     }
 
+    /**
+     * 在当前请求内缓存结果，非Web上下文（如定时任务、异步线程）直接查询
+     */
+    @SuppressWarnings("unchecked")
+    private <T> T memoize(String key, Supplier<T> loader) {
+        SaStorage storage = getStorage();
+        if (storage == null) {
+            return loader.get();
+        }
+        String storageKey = STORAGE_KEY + key;
+        Object value = storage.get(storageKey);
+        if (value != null) {
+            return (T) value;
+        }
+        T result = loader.get();
+        if (result != null) {
+            storage.set(storageKey, result);
+        }
+        return result;
+    }
+
+    private static SaStorage getStorage() {
+        try {
+            return SaHolder.getStorage();
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
 }
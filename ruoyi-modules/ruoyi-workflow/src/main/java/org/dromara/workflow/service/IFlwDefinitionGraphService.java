@@ -0,0 +1,43 @@
+package org.dromara.workflow.service;
+
+import org.dromara.workflow.domain.FlowDefinitionGraph;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * 流程定义图缓存 服务层
+ *
+ * @author may
+ */
+public interface IFlwDefinitionGraphService {
+
+    /**
+     * 获取编译后的流程定义图
+     *
+     * @param definitionId 流程定义id
+     * @return 流程定义图，定义不存在返回null
+     */
+    FlowDefinitionGraph getGraph(Long definitionId);
+
+    /**
+     * 批量获取编译后的流程定义图
+     *
+     * @param definitionIds 流程定义id
+     * @return key为流程定义id，不存在的定义不包含在结果中
+     */
+    Map<Long, FlowDefinitionGraph> getGraphs(Collection<Long> definitionIds);
+
+    /**
+     * 清除流程定义图缓存，存在事务时在提交后再清除一次
+     *
+     * @param definitionIds 流程定义id
+     */
+    void evict(Collection<Long> definitionIds);
+
+    /**
+     * 清除全部流程定义图缓存，发布会同时使同编码的其他版本失效，直接整体清除
+     */
+    void evictAll();
+
+}
@@ -0,0 +1,30 @@
+package org.dromara.workflow.service;
+
+import org.dromara.common.core.domain.dto.UserDTO;
+
+import java.util.List;
+
+/**
+ * 流程消息发件箱 服务层
+ *
+ * @author may
+ */
+public interface IFlwMessageOutboxService {
+
+    /**
+     * 写入待发送消息，与当前事务一同提交，提交后异步投递
+     *
+     * @param instanceId  流程实例ID
+     * @param messageType 消息类型列表（system:系统消息, email:邮件, sms:短信）
+     * @param message     消息内容
+     * @param subject     邮件标题
+     * @param userList    接收用户列表
+     */
+    void enqueue(Long instanceId, List<String> messageType, String message, String subject, List<UserDTO> userList);
+
+    /**
+     * 投递到期消息
+     */
+    void dispatch();
+
+}
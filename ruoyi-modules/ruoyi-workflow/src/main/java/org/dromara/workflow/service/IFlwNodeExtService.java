@@ -1,7 +1,9 @@
 package org.dromara.workflow.service;
 
+import org.dromara.workflow.domain.vo.ButtonPermissionVo;
 import org.dromara.workflow.domain.vo.NodeExtVo;
 
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -32,4 +34,12 @@ public interface IFlwNodeExtService {
      */
     NodeExtVo parseNodeExt(String ext, Map<String, Object> variable);
 
+    /**
+     * 仅解析扩展属性中的按钮权限，按钮权限与流程变量无关，可随流程定义缓存
+     *
+     * @param ext 扩展属性 JSON 字符串
+     * @return 按钮权限列表，未配置返回空列表
+     */
+    List<ButtonPermissionVo> parseButtonPermissions(String ext);
+
 }
@@ -0,0 +1,41 @@
+package org.dromara.workflow.service;
+
+import org.dromara.workflow.domain.bo.CompleteTaskBatchBo;
+import org.dromara.workflow.domain.bo.TaskOperationBatchBo;
+import org.dromara.workflow.domain.vo.FlowBatchJobVo;
+
+/**
+ * 批量任务操作 服务层
+ *
+ * @author may
+ */
+public interface IFlwTaskBatchService {
+
+    /**
+     * 批量转办/委派任务
+     * 按批次在独立事务中改写办理人，后台执行，进度通过SSE推送给操作人
+     *
+     * @param bo            参数
+     * @param taskOperation 操作类型，委派 delegateTask、转办 transferTask
+     * @return 待处理的任务数
+     */
+    int taskOperationBatch(TaskOperationBatchBo bo, String taskOperation);
+
+    /**
+     * 批量办理任务
+     * 后台逐个在独立事务中办理，单个任务失败只回滚该任务，进度通过SSE推送给操作人
+     *
+     * @param bo 批量办理参数
+     * @return 批量任务id，用于查询进度与失败原因
+     */
+    String completeTaskBatch(CompleteTaskBatchBo bo);
+
+    /**
+     * 查询批量任务进度
+     *
+     * @param jobId 批量任务id
+     * @return 批量任务进度
+     */
+    FlowBatchJobVo getBatchJob(String jobId);
+
+}
@@ -0,0 +1,34 @@
+package org.dromara.workflow.service;
+
+import java.util.Collection;
+
+/**
+ * 待办收件箱 服务层
+ *
+ * @author may
+ */
+public interface IFlwTaskInboxService {
+
+    /**
+     * 标记流程实例的收件箱需要刷新
+     * 存在事务时在事务提交前统一刷新一次，无事务时立即刷新
+     *
+     * @param instanceId 流程实例id
+     */
+    void markDirty(Long instanceId);
+
+    /**
+     * 标记流程实例的收件箱需要刷新
+     *
+     * @param instanceIds 流程实例id
+     */
+    void markDirty(Collection<Long> instanceIds);
+
+    /**
+     * 立即按流程实例重建收件箱
+     *
+     * @param instanceIds 流程实例id
+     */
+    void refresh(Collection<Long> instanceIds);
+
+}
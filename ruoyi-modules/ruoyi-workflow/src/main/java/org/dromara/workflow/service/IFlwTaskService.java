@@ -273,7 +273,7 @@ public interface IFlwTaskService {
 
     /**
      * 催办任务
-     * 发送催办通知给任务办理人
+     * 发送催办通知给任务办理人，同一接收人的多条待办合并为一条消息
      *
      * @param bo 催办参数
      * @return 是否催办成功
@@ -0,0 +1,246 @@
+package org.dromara.workflow.service.impl;
+
+import cn.hutool.core.collection.CollUtil;
+import cn.hutool.core.convert.Convert;
+import com.baomidou.mybatisplus.core.toolkit.Wrappers;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.dromara.common.core.constant.GlobalConstants;
+import org.dromara.common.core.utils.StreamUtils;
+import org.dromara.common.core.utils.StringUtils;
+import org.dromara.common.redis.utils.RedisUtils;
+import org.dromara.warm.flow.core.entity.Definition;
+import org.dromara.warm.flow.core.enums.PublishStatus;
+import org.dromara.warm.flow.core.service.DefService;
+import org.dromara.warm.flow.orm.entity.FlowNode;
+import org.dromara.warm.flow.orm.entity.FlowSkip;
+import org.dromara.warm.flow.orm.mapper.FlowNodeMapper;
+import org.dromara.warm.flow.orm.mapper.FlowSkipMapper;
+import org.dromara.workflow.common.ConditionalOnEnable;
+import org.dromara.workflow.config.properties.WorkflowProperties;
+import org.dromara.workflow.domain.FlowDefinitionGraph;
+import org.dromara.workflow.domain.vo.ButtonPermissionVo;
+import org.dromara.workflow.service.IFlwDefinitionGraphService;
+import org.dromara.workflow.service.IFlwNodeExtService;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 流程定义图缓存 服务层实现
+ * <p>
+ * 办理、查询任务时反复按流程定义ID查询定义、节点与跳转线，这些数据在发布后不再变化
+ * 因此按定义ID缓存编译后的定义图；未发布的定义仍可在设计器中修改，每次重新加载不缓存
+ * 发布、取消发布、修改、激活挂起、删除时主动清除，并通过Redis主题通知其他节点清除
+ *
+ * @author may
+ */
+@ConditionalOnEnable
+@Slf4j
+@Service
+public class FlwDefinitionGraphServiceImpl implements IFlwDefinitionGraphService, ApplicationRunner {
+
+    /**
+     * 每次加载的流程定义数量，受 Oracle IN 条件数量限制
+     */
+    private static final int BATCH_SIZE = 500;
+
+    /**
+     * 缓存清除通知主题，消息为逗号分隔的流程定义id，清除全部时为 *
+     */
+    private static final String EVICT_TOPIC = GlobalConstants.GLOBAL_REDIS_KEY + "flow_definition_graph:evict";
+
+    private static final String EVICT_ALL = "*";
+
+    private final DefService defService;
+    private final FlowNodeMapper flowNodeMapper;
+    private final FlowSkipMapper flowSkipMapper;
+    private final IFlwNodeExtService flwNodeExtService;
+
+    private final Cache<Long, FlowDefinitionGraph> graphCache;
+
+    /**
+     * 清除次数，加载期间发生清除时不写入缓存，避免旧数据覆盖清除结果
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    public FlwDefinitionGraphServiceImpl(DefService defService, FlowNodeMapper flowNodeMapper, FlowSkipMapper flowSkipMapper,
+                                         IFlwNodeExtService flwNodeExtService, WorkflowProperties workflowProperties) {
+        this.defService = defService;
+        this.flowNodeMapper = flowNodeMapper;
+        this.flowSkipMapper = flowSkipMapper;
+        this.flwNodeExtService = flwNodeExtService;
+        this.graphCache = Caffeine.newBuilder()
+            .expireAfterWrite(workflowProperties.getDefinitionCacheTtl())
+            .maximumSize(workflowProperties.getDefinitionCacheSize())
+            .build();
+    }
+
+    /**
+     * 获取编译后的流程定义图
+     *
+     * @param definitionId 流程定义id
+     * @return 流程定义图，定义不存在返回null
+     */
+    @Override
+    public FlowDefinitionGraph getGraph(Long definitionId) {
+        if (definitionId == null) {
+            return null;
+        }
+        FlowDefinitionGraph graph = graphCache.getIfPresent(definitionId);
+        if (graph != null) {
+            return graph;
+        }
+        return getGraphs(List.of(definitionId)).get(definitionId);
+    }
+
+    /**
+     * 批量获取编译后的流程定义图
+     *
+     * @param definitionIds 流程定义id
+     * @return key为流程定义id，不存在的定义不包含在结果中
+     */
+    @Override
+    public Map<Long, FlowDefinitionGraph> getGraphs(Collection<Long> definitionIds) {
+        if (CollUtil.isEmpty(definitionIds)) {
+            return Collections.emptyMap();
+        }
+        Set<Long> ids = new LinkedHashSet<>(definitionIds);
+        ids.remove(null);
+        Map<Long, FlowDefinitionGraph> result = new HashMap<>(graphCache.getAllPresent(ids));
+        List<Long> missing = StreamUtils.filter(ids, id -> !result.containsKey(id));
+        for (List<Long> batch : CollUtil.split(missing, BATCH_SIZE)) {
+            long gen = generation.get();
+            for (FlowDefinitionGraph graph : load(batch)) {
+                result.put(graph.getDefinitionId(), graph);
+                if (isCacheable(graph.getDefinition()) && gen == generation.get()) {
+                    graphCache.put(graph.getDefinitionId(), graph);
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 清除流程定义图缓存，存在事务时在提交后再清除一次
+     *
+     * @param definitionIds 流程定义id
+     */
+    @Override
+    public void evict(Collection<Long> definitionIds) {
+        if (CollUtil.isEmpty(definitionIds)) {
+            return;
+        }
+        List<Long> ids = StreamUtils.filter(definitionIds, Objects::nonNull);
+        invalidate(() -> graphCache.invalidateAll(ids), StringUtils.join(ids, StringUtils.SEPARATOR));
+    }
+
+    /**
+     * 清除全部流程定义图缓存
+     */
+    @Override
+    public void evictAll() {
+        invalidate(graphCache::invalidateAll, EVICT_ALL);
+    }
+
+    /**
+     * 启动时订阅缓存清除主题，其他节点修改流程定义后清除本节点缓存
+     *
+     * @param args 应用程序参数
+     */
+    @Override
+    public void run(ApplicationArguments args) {
+        RedisUtils.subscribe(EVICT_TOPIC, String.class, message -> {
+            generation.incrementAndGet();
+            if (EVICT_ALL.equals(message)) {
+                graphCache.invalidateAll();
+            } else {
+                graphCache.invalidateAll(StringUtils.splitTo(message, Convert::toLong));
+            }
+        });
+        log.info("初始化流程定义图缓存清除主题订阅成功");
+    }
+
+    /**
+     * 立即清除，事务提交后再清除一次，避免提交前其他请求读到旧数据重新写入缓存
+     * 提交后通知其他节点清除，提交前通知时其他节点可能重新读到旧数据
+     */
+    private void invalidate(Runnable action, String message) {
+        generation.incrementAndGet();
+        action.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    generation.incrementAndGet();
+                    action.run();
+                    publish(message);
+                }
+            });
+        } else {
+            publish(message);
+        }
+    }
+
+    /**
+     * 发布缓存清除通知，发布失败时由过期时间兜底，不影响业务操作
+     */
+    private void publish(String message) {
+        try {
+            RedisUtils.publish(EVICT_TOPIC, message);
+        } catch (Exception e) {
+            log.warn("发布流程定义图缓存清除通知失败 message => {}", message, e);
+        }
+    }
+
+    /**
+     * 一次查询定义、节点、跳转线并编译
+     */
+    private List<FlowDefinitionGraph> load(List<Long> definitionIds) {
+        List<Definition> definitions = defService.getByIds(definitionIds);
+        if (CollUtil.isEmpty(definitions)) {
+            return Collections.emptyList();
+        }
+        List<Long> ids = StreamUtils.toList(definitions, Definition::getId);
+        Map<Long, List<FlowNode>> nodeMap = StreamUtils.groupByKey(
+            flowNodeMapper.selectList(Wrappers.<FlowNode>lambdaQuery().in(FlowNode::getDefinitionId, ids).orderByAsc(FlowNode::getId)),
+            FlowNode::getDefinitionId);
+        Map<Long, List<FlowSkip>> skipMap = StreamUtils.groupByKey(
+            flowSkipMapper.selectList(Wrappers.<FlowSkip>lambdaQuery().in(FlowSkip::getDefinitionId, ids).orderByAsc(FlowSkip::getId)),
+            FlowSkip::getDefinitionId);
+        List<FlowDefinitionGraph> graphs = new ArrayList<>(definitions.size());
+        for (Definition definition : definitions) {
+            List<FlowNode> nodes = nodeMap.getOrDefault(definition.getId(), Collections.emptyList());
+            Map<String, List<ButtonPermissionVo>> buttonMap = new HashMap<>();
+            for (FlowNode node : nodes) {
+                buttonMap.put(node.getNodeCode(), flwNodeExtService.parseButtonPermissions(node.getExt()));
+            }
+            graphs.add(new FlowDefinitionGraph(definition, nodes,
+                skipMap.getOrDefault(definition.getId(), Collections.emptyList()), buttonMap));
+        }
+        log.debug("加载流程定义图 definitionIds => {}", ids);
+        return graphs;
+    }
+
+    /**
+     * 未发布的定义可在设计器中修改，不缓存
+     */
+    private static boolean isCacheable(Definition definition) {
+        return !PublishStatus.UNPUBLISHED.getKey().equals(definition.getIsPublish());
+    }
+
+}
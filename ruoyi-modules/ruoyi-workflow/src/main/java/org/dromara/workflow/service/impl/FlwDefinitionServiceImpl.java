@@ -69,6 +69,8 @@ import org.dromara.workflow.domain.vo.FlowDefinitionVo;
 import org.dromara.workflow.mapper.FlwCategoryMapper;
 // 工作流服务接口：工作流通用服务接口
 import org.dromara.workflow.service.IFlwCommonService;
+// 工作流服务接口：流程定义图缓存服务接口
+import org.dromara.workflow.service.IFlwDefinitionGraphService;
 // 工作流服务接口：流程定义服务接口
 import org.dromara.workflow.service.IFlwDefinitionService;
 // Spring服务注解：标记为服务类，交由Spring容器管理
@@ -121,6 +123,8 @@ public class FlwDefinitionServiceImpl implements IFlwDefinitionService {
     private final FlwCategoryMapper flwCategoryMapper;
     // 工作流通用服务，用于查询申请人节点等通用功能
     private final IFlwCommonService flwCommonService;
+    // 流程定义图缓存服务，发布、删除时清除缓存
+    private final IFlwDefinitionGraphService flwDefinitionGraphService;
 
     /**
      * 查询已发布的流程定义列表
@@ -209,7 +213,7 @@ public class FlwDefinitionServiceImpl implements IFlwDefinitionService {
         List<String> errorMsg = new ArrayList<>();
         // 如果节点列表不为空
         if (CollUtil.isNotEmpty(flowNodes)) {
-            // 获取申请人节点编码（第一个审批节点）
+            // 获取申请人节点编码（第一个审批节点），未发布的定义不缓存，取到的是最新节点
             String applyNodeCode = flwCommonService.applyNodeCode(id);
             // 遍历所有节点，检查审批节点是否配置了办理人
             for (FlowNode flowNode : flowNodes) {
@@ -225,7 +229,10 @@ public class FlwDefinitionServiceImpl implements IFlwDefinitionService {
             }
         }
         // 调用Warm-Flow服务发布流程定义
-        return defService.publish(id);
+        boolean publish = defService.publish(id);
+        // 发布会使同编码的其他版本失效，清除全部流程定义图缓存
+        flwDefinitionGraphService.evictAll();
+        return publish;
     }
 
     /**
@@ -310,6 +317,8 @@ public class FlwDefinitionServiceImpl implements IFlwDefinitionService {
         try {
             // 调用Warm-Flow服务删除流程定义
             defService.removeDef(ids);
+            // 清除流程定义图缓存
+            flwDefinitionGraphService.evict(ids);
         } catch (Exception e) {
             // 记录错误日志
             log.error("Error removing flow definitions: {}", e.getMessage(), e);
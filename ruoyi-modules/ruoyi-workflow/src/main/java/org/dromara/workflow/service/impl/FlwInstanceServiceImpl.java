@@ -53,8 +53,6 @@ import org.dromara.warm.flow.core.entity.Task;
 import org.dromara.warm.flow.core.entity.User;
 // Warm-Flow流程引擎核心枚举：节点类型枚举
 import org.dromara.warm.flow.core.enums.NodeType;
-// Warm-Flow流程引擎核心服务：流程定义服务
-import org.dromara.warm.flow.core.service.DefService;
 // Warm-Flow流程引擎核心服务：流程实例服务
 import org.dromara.warm.flow.core.service.InsService;
 // Warm-Flow流程引擎核心服务：任务服务
@@ -73,6 +71,8 @@ import org.dromara.warm.flow.orm.mapper.FlowInstanceMapper;
 import org.dromara.workflow.common.ConditionalOnEnable;
 // 工作流公共枚举：任务状态枚举
 import org.dromara.workflow.common.enums.TaskStatusEnum;
+// 工作流领域模型：编译后的流程定义图
+import org.dromara.workflow.domain.FlowDefinitionGraph;
 // 工作流业务对象：流程撤销参数
 import org.dromara.workflow.domain.bo.FlowCancelBo;
 // 工作流业务对象：流程实例查询参数
@@ -92,8 +92,10 @@ import org.dromara.workflow.mapper.FlwCategoryMapper;
 // 工作流Mapper接口：流程实例Mapper
 import org.dromara.workflow.mapper.FlwInstanceMapper;
 // 工作流服务接口：流程实例服务接口
+import org.dromara.workflow.service.IFlwDefinitionGraphService;
 import org.dromara.workflow.service.IFlwInstanceService;
 // 工作流服务接口：任务服务接口
+import org.dromara.workflow.service.IFlwTaskInboxService;
 import org.dromara.workflow.service.IFlwTaskService;
 // Spring服务注解：标记为服务类，交由Spring容器管理
 import org.springframework.stereotype.Service;
@@ -102,8 +104,6 @@ import org.springframework.transaction.annotation.Transactional;
 
 // Java集合工具类
 import java.util.*;
-// Java函数式接口
-import java.util.function.Function;
 
 /**
  * 流程实例 服务层实现
@@ -117,7 +117,7 @@ import java.util.function.Function;
 public class FlwInstanceServiceImpl implements IFlwInstanceService {
 
     private final InsService insService;
-    private final DefService defService;
+    private final IFlwDefinitionGraphService flwDefinitionGraphService;
     private final TaskService taskService;
     private final FlowHisTaskMapper flowHisTaskMapper;
     private final FlowInstanceMapper flowInstanceMapper;
@@ -125,6 +125,7 @@ public class FlwInstanceServiceImpl implements IFlwInstanceService {
     private final IFlwTaskService flwTaskService;
     private final FlwInstanceMapper flwInstanceMapper;
     private final FlwCategoryMapper flwCategoryMapper;
+    private final IFlwTaskInboxService flwTaskInboxService;
 
     /**
      * 分页查询正在运行的流程实例
@@ -164,7 +165,7 @@ public class FlwInstanceServiceImpl implements IFlwInstanceService {
     public FlowInstanceVo queryByBusinessId(Long businessId) {
         FlowInstance instance = this.selectInstByBusinessId(Convert.toStr(businessId));
         FlowInstanceVo instanceVo = BeanUtil.toBean(instance, FlowInstanceVo.class);
-        Definition definition = defService.getById(instanceVo.getDefinitionId());
+        Definition definition = flwDefinitionGraphService.getGraph(instanceVo.getDefinitionId()).getDefinition();
         instanceVo.setFlowName(definition.getFlowName());
         instanceVo.setFlowCode(definition.getFlowCode());
         instanceVo.setVersion(definition.getVersion());
@@ -239,7 +240,9 @@ public class FlwInstanceServiceImpl implements IFlwInstanceService {
             log.warn("未找到对应的流程实例信息，无法执行删除操作。");
             return false;
         }
-        return insService.remove(StreamUtils.toList(flowInstances, FlowInstance::getId));
+        List<Long> instanceIds = StreamUtils.toList(flowInstances, FlowInstance::getId);
+        flwTaskInboxService.markDirty(instanceIds);
+        return insService.remove(instanceIds);
     }
 
     /**
@@ -258,9 +261,8 @@ public class FlwInstanceServiceImpl implements IFlwInstanceService {
         }
         // 获取定义信息
         Map<Long, Definition> definitionMap = StreamUtils.toMap(
-            defService.getByIds(StreamUtils.toList(instances, Instance::getDefinitionId)),
-            Definition::getId,
-            Function.identity()
+            flwDefinitionGraphService.getGraphs(StreamUtils.toList(instances, Instance::getDefinitionId)),
+            (id, graph) -> graph.getDefinition()
         );
 
         try {
@@ -274,6 +276,7 @@ public class FlwInstanceServiceImpl implements IFlwInstanceService {
                 flowProcessEventHandler.processDeleteHandler(definition.getFlowCode(), instance.getBusinessId());
             });
             // 删除实例
+            flwTaskInboxService.markDirty(instanceIds);
             boolean remove = insService.remove(instanceIds);
             if (!remove) {
                 log.warn("删除流程实例失败!");
@@ -302,9 +305,8 @@ public class FlwInstanceServiceImpl implements IFlwInstanceService {
         }
         // 获取定义信息
         Map<Long, Definition> definitionMap = StreamUtils.toMap(
-            defService.getByIds(StreamUtils.toList(instances, Instance::getDefinitionId)),
-            Definition::getId,
-            Function.identity()
+            flwDefinitionGraphService.getGraphs(StreamUtils.toList(instances, Instance::getDefinitionId)),
+            (id, graph) -> graph.getDefinition()
         );
         try {
             // 逐一触发删除事件
@@ -323,6 +325,7 @@ public class FlwInstanceServiceImpl implements IFlwInstanceService {
             FlowEngine.taskService().deleteByInsIds(instanceIds);
             FlowEngine.hisTaskService().deleteByInsIds(instanceIds);
             FlowEngine.insService().removeByIds(instanceIds);
+            flwTaskInboxService.markDirty(instanceIds);
         } catch (Exception e) {
             log.warn("操作失败!{}", e.getMessage());
             throw new ServiceException(e.getMessage());
@@ -343,8 +346,8 @@ public class FlwInstanceServiceImpl implements IFlwInstanceService {
             if (instance == null) {
                 throw new ServiceException(ExceptionCons.NOT_FOUNT_INSTANCE);
             }
-            Definition definition = defService.getById(instance.getDefinitionId());
-            if (definition == null) {
+            FlowDefinitionGraph graph = flwDefinitionGraphService.getGraph(instance.getDefinitionId());
+            if (graph == null) {
                 throw new ServiceException(ExceptionCons.NOT_FOUNT_DEF);
             }
             String message = bo.getMessage();
@@ -357,6 +360,7 @@ public class FlwInstanceServiceImpl implements IFlwInstanceService {
                 .handler(userIdStr)
                 .ignore(true);
             taskService.revoke(instance.getId(), flowParams);
+            flwTaskInboxService.markDirty(instance.getId());
         } catch (Exception e) {
             log.error("撤销失败: {}", e.getMessage(), e);
             throw new ServiceException(e.getMessage());
@@ -445,6 +449,8 @@ public class FlwInstanceServiceImpl implements IFlwInstanceService {
         wrapper.set(FlowInstance::getFlowStatus, status);
         wrapper.eq(FlowInstance::getId, instanceId);
         flowInstanceMapper.update(wrapper);
+        // 流程状态冗余在收件箱中
+        flwTaskInboxService.markDirty(instanceId);
     }
 
     /**
@@ -543,6 +549,7 @@ public class FlwInstanceServiceImpl implements IFlwInstanceService {
                 .hisStatus(TaskStatusEnum.INVALID.getStatus())
                 .ignore(true);
             taskService.terminationByInsId(bo.getId(), flowParams);
+            flwTaskInboxService.markDirty(bo.getId());
             return true;
         } catch (Exception e) {
             log.error(e.getMessage(), e);
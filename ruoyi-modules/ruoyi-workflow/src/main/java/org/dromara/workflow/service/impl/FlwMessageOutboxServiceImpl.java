@@ -0,0 +1,348 @@
+package org.dromara.workflow.service.impl;
+
+import cn.hutool.core.collection.CollUtil;
+import cn.hutool.core.convert.Convert;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.dromara.common.core.constant.GlobalConstants;
+import org.dromara.common.core.domain.dto.UserDTO;
+import org.dromara.common.core.utils.StreamUtils;
+import org.dromara.common.core.utils.StringUtils;
+import org.dromara.common.mail.utils.MailUtils;
+import org.dromara.common.redis.utils.RedisUtils;
+import org.dromara.common.sse.dto.SseMessageDto;
+import org.dromara.common.sse.utils.SseMessageUtils;
+import org.dromara.common.tenant.helper.TenantHelper;
+import org.dromara.workflow.common.ConditionalOnEnable;
+import org.dromara.workflow.common.enums.MessageTypeEnum;
+import org.dromara.workflow.config.properties.WorkflowProperties;
+import org.dromara.workflow.domain.FlowMessageOutbox;
+import org.dromara.workflow.mapper.FlwMessageOutboxMapper;
+import org.dromara.workflow.service.IFlwMessageOutboxService;
+import org.redisson.api.RateType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 流程消息发件箱 服务层实现
+ * <p>
+ * 邮件等外部渠道耗时不可控，不在流程办理事务内发送：办理时只写入发件箱，事务提交后由独立的投递线程投递
+ * 同一租户、同一流程实例下相同内容的消息合并投递，邮件按收件人逐个发送，避免接收人互相看到邮箱地址
+ * 按消息类型限流，失败按指数退避重试，多节点通过抢占保证只投递一次
+ *
+ * @author may
+ */
+@ConditionalOnEnable
+@Slf4j
+@RequiredArgsConstructor
+@Service
+public class FlwMessageOutboxServiceImpl implements IFlwMessageOutboxService {
+
+    /**
+     * 限流 key 前缀
+     */
+    private static final String RATE_LIMIT_KEY = GlobalConstants.GLOBAL_REDIS_KEY + "flow_outbox_limit:";
+
+    /**
+     * 已投递消息清理间隔
+     */
+    private static final long CLEAN_INTERVAL = TimeUnit.HOURS.toMillis(1);
+
+    private final FlwMessageOutboxMapper baseMapper;
+    private final WorkflowProperties workflowProperties;
+    private final ScheduledExecutorService scheduledExecutorService;
+
+    /**
+     * 本节点投递中标志，避免提交触发与轮询并发投递
+     */
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    /**
+     * 投递期间有新的投递请求，本轮结束后再投递一次
+     */
+    private final AtomicBoolean again = new AtomicBoolean();
+
+    private volatile long lastCleanTime;
+
+    /**
+     * 投递线程，SMTP等阻塞调用不占用公共定时任务线程池
+     * 本节点同一时间只有一轮投递，排队已有投递请求时丢弃新的请求即可
+     */
+    private ThreadPoolExecutor dispatchExecutor;
+
+    @PostConstruct
+    public void init() {
+        dispatchExecutor = new ThreadPoolExecutor(1, 1, 60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(1),
+            new BasicThreadFactory.Builder().namingPattern("flow-outbox-%d").daemon(true).build(),
+            new ThreadPoolExecutor.DiscardPolicy());
+        dispatchExecutor.allowCoreThreadTimeOut(true);
+        long interval = workflowProperties.getOutbox().getPollInterval().toMillis();
+        scheduledExecutorService.scheduleWithFixedDelay(this::dispatchAsync, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void destroy() {
+        dispatchExecutor.shutdown();
+    }
+
+    /**
+     * 提交到投递线程执行
+     */
+    private void dispatchAsync() {
+        dispatchExecutor.execute(this::dispatch);
+    }
+
+    /**
+     * 写入待发送消息，与当前事务一同提交，提交后异步投递
+     *
+     * @param instanceId  流程实例ID
+     * @param messageType 消息类型列表（system:系统消息, email:邮件, sms:短信）
+     * @param message     消息内容
+     * @param subject     邮件标题
+     * @param userList    接收用户列表
+     */
+    @Override
+    public void enqueue(Long instanceId, List<String> messageType, String message, String subject, List<UserDTO> userList) {
+        if (CollUtil.isEmpty(messageType) || CollUtil.isEmpty(userList)) {
+            return;
+        }
+        String userIds = StringUtils.joinComma(StreamUtils.toSet(userList, UserDTO::getUserId));
+        String emails = StringUtils.joinComma(StreamUtils.toSet(
+            StreamUtils.filter(userList, user -> StringUtils.isNotBlank(user.getEmail())), UserDTO::getEmail));
+        String tenantId = TenantHelper.getTenantId();
+        Date now = new Date();
+        List<FlowMessageOutbox> list = new ArrayList<>();
+        for (String code : messageType) {
+            MessageTypeEnum messageTypeEnum = MessageTypeEnum.getByCode(code);
+            if (messageTypeEnum == null) {
+                continue;
+            }
+            String recipients = messageTypeEnum == MessageTypeEnum.EMAIL_MESSAGE ? emails : userIds;
+            if (StringUtils.isBlank(recipients)) {
+                continue;
+            }
+            FlowMessageOutbox outbox = new FlowMessageOutbox();
+            outbox.setTenantId(tenantId);
+            outbox.setInstanceId(instanceId);
+            outbox.setMessageType(messageTypeEnum.getCode());
+            outbox.setSubject(subject);
+            outbox.setContent(message);
+            outbox.setRecipients(recipients);
+            outbox.setStatus(FlowMessageOutbox.STATUS_PENDING);
+            outbox.setRetryCount(0);
+            outbox.setNextTime(now);
+            outbox.setCreateTime(now);
+            outbox.setUpdateTime(now);
+            list.add(outbox);
+        }
+        if (list.isEmpty()) {
+            return;
+        }
+        baseMapper.insertBatch(list);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            dispatchAsync();
+            return;
+        }
+        // 同一事务只注册一次，提交后立即投递，回滚则消息随事务撤销
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof DispatchSynchronization) {
+                return;
+            }
+        }
+        TransactionSynchronizationManager.registerSynchronization(new DispatchSynchronization());
+    }
+
+    /**
+     * 投递到期消息
+     */
+    @Override
+    public void dispatch() {
+        if (!running.compareAndSet(false, true)) {
+            again.set(true);
+            return;
+        }
+        try {
+            WorkflowProperties.Outbox config = workflowProperties.getOutbox();
+            Date now = new Date();
+            Date staleBefore = new Date(now.getTime() - config.getSendingTimeout().toMillis());
+            List<FlowMessageOutbox> list = baseMapper.selectDueList(now, staleBefore, config.getBatchSize());
+            // 同一租户、同一流程实例下相同类型、标题、内容的消息合并投递
+            Map<MessageKey, List<FlowMessageOutbox>> groups = new LinkedHashMap<>();
+            for (FlowMessageOutbox outbox : list) {
+                MessageKey key = new MessageKey(outbox.getTenantId(), outbox.getInstanceId(),
+                    outbox.getMessageType(), outbox.getSubject(), outbox.getContent());
+                groups.computeIfAbsent(key, k -> new ArrayList<>()).add(outbox);
+            }
+            groups.forEach((key, outboxes) -> {
+                if (!tryAcquire(key.messageType())) {
+                    return;
+                }
+                List<FlowMessageOutbox> claimed = StreamUtils.filter(outboxes, outbox -> baseMapper.claim(outbox, now));
+                if (claimed.isEmpty()) {
+                    return;
+                }
+                Set<String> recipients = new LinkedHashSet<>();
+                for (FlowMessageOutbox outbox : claimed) {
+                    recipients.addAll(StringUtils.splitList(outbox.getRecipients()));
+                }
+                try {
+                    Map<String, String> failed = send(key, recipients);
+                    if (failed.isEmpty()) {
+                        markSent(claimed);
+                        return;
+                    }
+                    // 只重试发送失败的接收人，已送达的不再重复发送
+                    List<FlowMessageOutbox> sent = new ArrayList<>();
+                    List<FlowMessageOutbox> retry = new ArrayList<>();
+                    for (FlowMessageOutbox outbox : claimed) {
+                        List<String> remain = StreamUtils.filter(StringUtils.splitList(outbox.getRecipients()), failed::containsKey);
+                        if (remain.isEmpty()) {
+                            sent.add(outbox);
+                        } else {
+                            outbox.setRecipients(StringUtils.joinComma(remain));
+                            retry.add(outbox);
+                        }
+                    }
+                    String error = failed.values().iterator().next();
+                    log.warn("流程消息部分投递失败 type => {}, recipients => {}, error => {}", key.messageType(), failed.keySet(), error);
+                    markSent(sent);
+                    markFailed(retry, error, config);
+                } catch (Exception e) {
+                    log.warn("流程消息投递失败 type => {}, ids => {}, error => {}", key.messageType(),
+                        StreamUtils.join(claimed, outbox -> Convert.toStr(outbox.getId())), e.getMessage());
+                    markFailed(claimed, e.getMessage(), config);
+                }
+            });
+            if (now.getTime() - lastCleanTime > CLEAN_INTERVAL) {
+                lastCleanTime = now.getTime();
+                baseMapper.deleteSentBefore(new Date(now.getTime() - config.getRetention().toMillis()));
+            }
+        } catch (Exception e) {
+            log.error("流程消息发件箱投递异常: {}", e.getMessage(), e);
+        } finally {
+            running.set(false);
+            if (again.getAndSet(false)) {
+                dispatchAsync();
+            }
+        }
+    }
+
+    /**
+     * 按消息类型发送
+     *
+     * @return 发送失败的接收人及失败原因
+     */
+    private Map<String, String> send(MessageKey key, Collection<String> recipients) {
+        MessageTypeEnum messageTypeEnum = MessageTypeEnum.getByCode(key.messageType());
+        if (messageTypeEnum == null) {
+            throw new IllegalStateException("Unexpected value: " + key.messageType());
+        }
+        switch (messageTypeEnum) {
+            case SYSTEM_MESSAGE -> {
+                SseMessageDto dto = new SseMessageDto();
+                dto.setUserIds(StreamUtils.toList(recipients, Convert::toLong));
+                dto.setMessage(key.content());
+                SseMessageUtils.publishMessage(dto);
+            }
+            case EMAIL_MESSAGE -> {
+                // 每个收件人单独一封，不同用户之间不暴露邮箱地址
+                Map<String, String> failed = new LinkedHashMap<>();
+                for (String recipient : recipients) {
+                    try {
+                        MailUtils.sendText(recipient, key.subject(), key.content());
+                    } catch (Exception e) {
+                        failed.put(recipient, StringUtils.blankToDefault(e.getMessage(), e.getClass().getName()));
+                    }
+                }
+                return failed;
+            }
+            case SMS_MESSAGE -> {
+                // TODO: 短信发送功能待实现
+            }
+            default -> throw new IllegalStateException("Unexpected value: " + messageTypeEnum);
+        }
+        return Map.of();
+    }
+
+    /**
+     * 按消息类型限流，超出时本轮跳过，下次轮询再投递
+     */
+    private boolean tryAcquire(String messageType) {
+        Integer rate = workflowProperties.getOutbox().getRateLimit().get(messageType);
+        if (rate == null || rate <= 0) {
+            return true;
+        }
+        return RedisUtils.rateLimiter(RATE_LIMIT_KEY + messageType, RateType.OVERALL, rate, 1) != -1;
+    }
+
+    private void markSent(List<FlowMessageOutbox> outboxes) {
+        Date now = new Date();
+        for (FlowMessageOutbox outbox : outboxes) {
+            FlowMessageOutbox update = new FlowMessageOutbox();
+            update.setId(outbox.getId());
+            update.setStatus(FlowMessageOutbox.STATUS_SENT);
+            update.setUpdateTime(now);
+            baseMapper.updateById(update);
+        }
+    }
+
+    private void markFailed(List<FlowMessageOutbox> outboxes, String errorMsg, WorkflowProperties.Outbox config) {
+        Date now = new Date();
+        String error = StringUtils.substring(errorMsg, 0, 2000);
+        for (FlowMessageOutbox outbox : outboxes) {
+            int retryCount = outbox.getRetryCount() == null ? 1 : outbox.getRetryCount() + 1;
+            FlowMessageOutbox update = new FlowMessageOutbox();
+            update.setId(outbox.getId());
+            update.setRecipients(outbox.getRecipients());
+            update.setRetryCount(retryCount);
+            update.setErrorMsg(error);
+            update.setUpdateTime(now);
+            if (retryCount >= config.getMaxRetries()) {
+                update.setStatus(FlowMessageOutbox.STATUS_FAILED);
+            } else {
+                // 指数退避，避免外部服务故障期间反复重试
+                long delay = config.getRetryDelay().toMillis() << Math.min(retryCount - 1, 10);
+                update.setStatus(FlowMessageOutbox.STATUS_PENDING);
+                update.setNextTime(new Date(now.getTime() + delay));
+            }
+            baseMapper.updateById(update);
+        }
+    }
+
+    /**
+     * 合并发送的消息分组键
+     */
+    private record MessageKey(String tenantId, Long instanceId, String messageType, String subject, String content) {
+    }
+
+    /**
+     * 事务提交后触发一次投递
+     */
+    private final class DispatchSynchronization implements TransactionSynchronization {
+
+        @Override
+        public void afterCommit() {
+            dispatchAsync();
+        }
+
+    }
+
+}
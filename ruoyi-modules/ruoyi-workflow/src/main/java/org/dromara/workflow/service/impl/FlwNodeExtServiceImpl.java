@@ -14,14 +14,16 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 // 字典类型DTO：封装字典类型信息
 import org.dromara.common.core.domain.dto.DictTypeDTO;
+// 用户DTO：封装用户信息
+import org.dromara.common.core.domain.dto.UserDTO;
 // 字典服务接口：提供字典数据查询功能
 import org.dromara.common.core.service.DictService;
+// 流处理工具类：提供集合转换工具方法
+import org.dromara.common.core.utils.StreamUtils;
 // 字符串工具类：提供字符串操作工具方法
 import org.dromara.common.core.utils.StringUtils;
 // JSON工具类：提供JSON序列化/反序列化功能
 import org.dromara.common.json.utils.JsonUtils;
-// Warm-Flow流程引擎核心：流程引擎入口
-import org.dromara.warm.flow.core.FlowEngine;
 // Warm-Flow工具类：集合工具类
 import org.dromara.warm.flow.core.utils.CollUtil;
 // Warm-Flow工具类：表达式工具类，用于解析SpEL表达式
@@ -44,8 +46,12 @@ import org.dromara.workflow.common.enums.VariablesEnum;
 import org.dromara.workflow.domain.vo.ButtonPermissionVo;
 // 节点扩展视图对象：封装节点扩展属性信息
 import org.dromara.workflow.domain.vo.NodeExtVo;
+// spel表达式求值器：缓存表达式解析结果
+import org.dromara.workflow.rule.SpelExpressionEvaluator;
 // 节点扩展服务接口：定义节点扩展属性服务接口
 import org.dromara.workflow.service.IFlwNodeExtService;
+// 办理人服务接口：解析用户、角色、部门、岗位等办理人标识
+import org.dromara.workflow.service.IFlwTaskAssigneeService;
 // Spring服务注解：标记为服务类，交由Spring容器管理
 import org.springframework.stereotype.Service;
 
@@ -117,6 +123,12 @@ public class FlwNodeExtServiceImpl implements NodeExtService, IFlwNodeExtService
     // 字典服务接口，用于查询字典数据
     private final DictService dictService;
 
+    // 办理人服务接口，用于将抄送对象解析为用户
+    private final IFlwTaskAssigneeService flwTaskAssigneeService;
+
+    // spel表达式求值器，缓存表达式解析结果
+    private final SpelExpressionEvaluator spelExpressionEvaluator;
+
     /**
      * 获取节点扩展属性
      * 为流程设计器提供节点扩展属性配置
@@ -295,36 +307,18 @@ public class FlwNodeExtServiceImpl implements NodeExtService, IFlwNodeExtService
 
             // 如果是按钮权限枚举
             if (ButtonPermissionEnum.class.getSimpleName().equals(code)) {
-                // 解析按钮权限
-                // 将 value 拆分为 Set<String>，便于精确匹配
-                Set<String> buttonSet = StringUtils.str2Set(value, StringUtils.SEPARATOR);
-
-                // 获取按钮字典配置
-                NodeExt.ChildNode childNode = buildChildNode(ButtonPermissionEnum.class);
-
-                // 构建 ButtonPermissionVo 列表
-                List<ButtonPermissionVo> buttonList = Optional.ofNullable(childNode)
-                    // 获取字典项
-                    .map(NodeExt.ChildNode::getDict)
-                    // 如果为空返回空列表
-                    .orElse(List.of())
-                    // 流式处理
-                    .stream()
-                    // 构建ButtonPermissionVo对象，标记是否勾选
-                    .map(dict -> new ButtonPermissionVo(dict.getValue(), buttonSet.contains(dict.getValue())))
-                    // 收集为列表
-                    .toList();
-
-                // 设置按钮权限列表
-                nodeExtVo.setButtonPermissions(buttonList);
+                // 解析按钮权限并设置按钮权限列表
+                nodeExtVo.setButtonPermissions(buildButtonPermissions(value));
 
             } else if (CopySettingEnum.class.getSimpleName().equals(code)) {
                 // 如果是抄送设置枚举
                 // 智能分割SpEL表达式
                 List<String> permissions = spelSmartSplit(value).stream()
-                    // 解析SpEL表达式
+                    // 解析SpEL表达式，spel表达式使用缓存的编译结果，其余交由流程引擎解析
                     .map(s -> {
-                        List<String> result = ExpressionUtil.evalVariable(s, variable);
+                        List<String> result = SpelExpressionEvaluator.isSpel(s)
+                            ? spelExpressionEvaluator.evalVariable(s, variable)
+                            : ExpressionUtil.evalVariable(s, variable);
                         if (CollUtil.isNotEmpty(result)) {
                             return result;
                         }
@@ -336,8 +330,9 @@ public class FlwNodeExtServiceImpl implements NodeExtService, IFlwNodeExtService
                     .distinct()
                     // 收集为列表
                     .collect(Collectors.toList());
-                // 转换权限标识
-                List<String> copySettings = FlowEngine.permissionHandler().convertPermissions(permissions);
+                // 解析为用户ID，抄送对象始终为具体用户，不受按组分配影响
+                List<UserDTO> users = flwTaskAssigneeService.fetchUsersByStorageIds(StringUtils.joinComma(permissions));
+                List<String> copySettings = StreamUtils.toList(users, user -> Convert.toStr(user.getUserId()));
                 // 解析抄送对象 ID 集合
                 nodeExtVo.setCopySettings(new HashSet<>(copySettings));
 
@@ -363,6 +358,56 @@ public class FlwNodeExtServiceImpl implements NodeExtService, IFlwNodeExtService
         return nodeExtVo;
     }
 
+    /**
+     * 仅解析扩展属性中的按钮权限
+     * 按钮权限与流程变量无关，可在流程定义加载时预先解析
+     *
+     * @param ext 扩展属性 JSON 字符串
+     * @return 按钮权限列表，未配置返回空列表
+     */
+    @Override
+    public List<ButtonPermissionVo> parseButtonPermissions(String ext) {
+        // 解析 JSON 为 Dict 列表
+        List<Dict> nodeExtMap = JsonUtils.parseArrayMap(ext);
+        // 如果解析结果为空，返回空列表
+        if (ObjectUtil.isEmpty(nodeExtMap)) {
+            return List.of();
+        }
+        // 查找按钮权限配置
+        return nodeExtMap.stream()
+            .filter(nodeExt -> ButtonPermissionEnum.class.getSimpleName().equals(nodeExt.getStr("code")))
+            .findFirst()
+            .map(nodeExt -> buildButtonPermissions(nodeExt.getStr("value")))
+            .orElse(List.of());
+    }
+
+    /**
+     * 构建按钮权限列表
+     *
+     * @param value 勾选的按钮编码，逗号分隔
+     * @return 按钮权限列表，标记每个按钮是否勾选
+     */
+    private List<ButtonPermissionVo> buildButtonPermissions(String value) {
+        // 将 value 拆分为 Set<String>，便于精确匹配
+        Set<String> buttonSet = StringUtils.str2Set(value, StringUtils.SEPARATOR);
+
+        // 获取按钮字典配置
+        NodeExt.ChildNode childNode = buildChildNode(ButtonPermissionEnum.class);
+
+        // 构建 ButtonPermissionVo 列表
+        return Optional.ofNullable(childNode)
+            // 获取字典项
+            .map(NodeExt.ChildNode::getDict)
+            // 如果为空返回空列表
+            .orElse(List.of())
+            // 流式处理
+            .stream()
+            // 构建ButtonPermissionVo对象，标记是否勾选
+            .map(dict -> new ButtonPermissionVo(dict.getValue(), buttonSet.contains(dict.getValue())))
+            // 收集为列表
+            .toList();
+    }
+
     /**
      * 按逗号分割字符串，但保留 #{...} 表达式和字符串常量中的逗号
      * 智能分割SpEL表达式，避免在表达式内部进行错误分割
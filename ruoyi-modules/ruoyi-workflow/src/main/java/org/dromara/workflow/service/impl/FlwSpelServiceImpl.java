@@ -4,6 +4,9 @@ package org.dromara.workflow.service.impl;
 
 // Hutool工具类：集合操作工具，提供集合判空、转换等方法
 import cn.hutool.core.collection.CollUtil;
+// Caffeine本地缓存：缓存spel表达式注册表
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 // MyBatis-Plus核心组件：Lambda查询包装器，支持类型安全查询
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 // MyBatis-Plus核心组件：查询条件构建工具类
@@ -45,10 +48,14 @@ import org.dromara.workflow.service.IFlwSpelService;
 // Spring服务注解：标记为服务类，交由Spring容器管理
 import org.springframework.stereotype.Service;
 
+// Java时间工具类：缓存有效期
+import java.time.Duration;
 // Java集合工具类：提供集合操作
 import java.util.Collection;
 // Java集合工具类：提供不可变集合
 import java.util.Collections;
+// Java HashMap：用于存储查询结果
+import java.util.HashMap;
 // Java List接口：用于存储列表数据
 import java.util.List;
 // Java Map接口：用于存储键值对数据
@@ -74,9 +81,22 @@ import java.util.Map;
 @Service
 public class FlwSpelServiceImpl implements IFlwSpelService {
 
+    /**
+     * 注册表缓存key，flow_spel 为全局表，整表只有一份
+     */
+    private static final String REGISTRY_KEY = "registry";
+
     // SpEL表达式Mapper，提供数据持久化操作
     private final FlwSpelMapper baseMapper;
 
+    /**
+     * spel表达式注册表，key为预览表达式，value为备注
+     * 数据量小且很少变动，整表加载到内存，本节点新增、修改、删除时清除，有效期兜底其他节点上的修改
+     */
+    private final Cache<String, Map<String, String>> registryCache = Caffeine.newBuilder()
+        .expireAfterWrite(Duration.ofMinutes(10))
+        .build();
+
     /**
      * 查询流程spel达式定义
      * 根据ID查询单条SpEL表达式记录
@@ -167,6 +187,7 @@ public class FlwSpelServiceImpl implements IFlwSpelService {
         validEntityBeforeSave(add);
         // 插入数据
         boolean flag = baseMapper.insert(add) > 0;
+        registryCache.invalidateAll();
         // 如果插入成功，设置ID回写到BO
         if (flag) {
             bo.setId(add.getId());
@@ -188,7 +209,9 @@ public class FlwSpelServiceImpl implements IFlwSpelService {
         // 保存前数据校验
         validEntityBeforeSave(update);
         // 更新数据
-        return baseMapper.updateById(update) > 0;
+        boolean flag = baseMapper.updateById(update) > 0;
+        registryCache.invalidateAll();
+        return flag;
     }
 
     /**
@@ -216,7 +239,9 @@ public class FlwSpelServiceImpl implements IFlwSpelService {
             //TODO 做一些业务上的校验,判断是否需要校验
         }
         // 执行删除
-        return baseMapper.deleteByIds(ids) > 0;
+        boolean flag = baseMapper.deleteByIds(ids) > 0;
+        registryCache.invalidateAll();
+        return flag;
     }
 
     /**
@@ -266,16 +291,32 @@ public class FlwSpelServiceImpl implements IFlwSpelService {
         if (CollUtil.isEmpty(viewSpels)) {
             return Collections.emptyMap();
         }
-        // 查询SpEL表达式列表，只查询视图SpEL和备注字段
+        // 从内存注册表中查找，不再每次查询数据库
+        Map<String, String> registry = registryCache.get(REGISTRY_KEY, key -> loadRegistry());
+        Map<String, String> result = new HashMap<>(viewSpels.size());
+        for (String viewSpel : viewSpels) {
+            String remark = registry.get(viewSpel);
+            if (remark != null) {
+                result.put(viewSpel, remark);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 加载全部spel表达式定义
+     *
+     * @return key为预览表达式，value为备注
+     */
+    private Map<String, String> loadRegistry() {
         List<FlowSpel> list = baseMapper.selectList(
             new LambdaQueryWrapper<FlowSpel>()
                 .select(FlowSpel::getViewSpel, FlowSpel::getRemark)
-                .in(FlowSpel::getViewSpel, viewSpels)
+                .isNotNull(FlowSpel::getViewSpel)
         );
-        // 转换为Map，key为视图SpEL，value为备注
-        return StreamUtils.toMap(list, FlowSpel::getViewSpel, x ->
+        return Collections.unmodifiableMap(StreamUtils.toMap(list, FlowSpel::getViewSpel, x ->
             StringUtils.isEmpty(x.getRemark()) ? "" : x.getRemark()
-        );
+        ));
     }
 
 }
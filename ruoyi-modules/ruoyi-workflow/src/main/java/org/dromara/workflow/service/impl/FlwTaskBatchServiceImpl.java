@@ -0,0 +1,369 @@
+package org.dromara.workflow.service.impl;
+
+import cn.dev33.satoken.context.mock.SaTokenContextMockUtil;
+import cn.dev33.satoken.stp.StpUtil;
+import cn.hutool.core.collection.CollUtil;
+import cn.hutool.core.convert.Convert;
+import cn.hutool.core.util.IdUtil;
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.toolkit.Wrappers;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.concurrent.BasicThreadFactory;
+import org.dromara.common.core.domain.dto.UserDTO;
+import org.dromara.common.core.exception.ServiceException;
+import org.dromara.common.core.service.UserService;
+import org.dromara.common.core.utils.StreamUtils;
+import org.dromara.common.core.utils.StringUtils;
+import org.dromara.common.redis.utils.RedisUtils;
+import org.dromara.common.satoken.utils.LoginHelper;
+import org.dromara.common.sse.dto.SseMessageDto;
+import org.dromara.common.sse.utils.SseMessageUtils;
+import org.dromara.common.tenant.helper.TenantHelper;
+import org.dromara.warm.flow.core.FlowEngine;
+import org.dromara.warm.flow.core.dto.FlowParams;
+import org.dromara.warm.flow.core.entity.HisTask;
+import org.dromara.warm.flow.core.entity.User;
+import org.dromara.warm.flow.core.enums.CooperateType;
+import org.dromara.warm.flow.core.enums.SkipType;
+import org.dromara.warm.flow.core.service.HisTaskService;
+import org.dromara.warm.flow.orm.entity.FlowNode;
+import org.dromara.warm.flow.orm.entity.FlowTask;
+import org.dromara.warm.flow.orm.entity.FlowUser;
+import org.dromara.warm.flow.orm.mapper.FlowTaskMapper;
+import org.dromara.warm.flow.orm.mapper.FlowUserMapper;
+import org.dromara.workflow.common.ConditionalOnEnable;
+import org.dromara.workflow.common.enums.TaskAssigneeType;
+import org.dromara.workflow.common.enums.TaskStatusEnum;
+import org.dromara.workflow.config.properties.WorkflowProperties;
+import org.dromara.workflow.domain.bo.CompleteTaskBatchBo;
+import org.dromara.workflow.domain.bo.CompleteTaskBo;
+import org.dromara.workflow.domain.bo.TaskOperationBatchBo;
+import org.dromara.workflow.domain.vo.FlowBatchJobVo;
+import org.dromara.workflow.service.IFlwCommonService;
+import org.dromara.workflow.service.IFlwTaskBatchService;
+import org.dromara.workflow.service.IFlwTaskInboxService;
+import org.dromara.workflow.service.IFlwTaskService;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.dromara.workflow.common.constant.FlowConstant.DELEGATE_TASK;
+import static org.dromara.workflow.common.constant.FlowConstant.TRANSFER_TASK;
+
+/**
+ * 批量任务操作 服务层实现
+ * <p>
+ * 离职交接等场景一次需要转办数千条待办，逐条调用引擎会超出请求超时
+ * 这里按批次一次查询任务与办理人，批量改写 flow_user 并写入历史记录，每批一个事务，失败只影响本批
+ * 通知按接收人合并为一条摘要消息
+ * 批量办理需要经过引擎逐个流转，在后台线程中以操作人身份逐个办理，进度写入Redis供查询
+ *
+ * @author may
+ */
+@ConditionalOnEnable
+@Slf4j
+@RequiredArgsConstructor
+@Service
+public class FlwTaskBatchServiceImpl implements IFlwTaskBatchService {
+
+    /**
+     * 每批处理的任务数，每批一个事务
+     */
+    private static final int CHUNK_SIZE = 200;
+
+    /**
+     * 批量任务进度 key 前缀，按租户隔离
+     */
+    private static final String JOB_KEY = "flow_batch_job:";
+
+    /**
+     * 批量任务进度保留时长
+     */
+    private static final Duration JOB_TTL = Duration.ofDays(1);
+
+    /**
+     * 批量办理每处理多少个任务更新一次进度
+     */
+    private static final int PROGRESS_STEP = 100;
+
+    /**
+     * 待办办理人类型：审批、转办、委派
+     */
+    private static final List<String> PENDING_TYPES = List.of(TaskAssigneeType.APPROVER.getCode(),
+        TaskAssigneeType.TRANSFER.getCode(), TaskAssigneeType.DELEGATE.getCode());
+
+    private final FlowTaskMapper flowTaskMapper;
+    private final FlowUserMapper flowUserMapper;
+    private final HisTaskService hisTaskService;
+    private final UserService userService;
+    private final IFlwCommonService flwCommonService;
+    private final IFlwTaskInboxService flwTaskInboxService;
+    private final IFlwTaskService flwTaskService;
+    private final TransactionTemplate transactionTemplate;
+    private final WorkflowProperties workflowProperties;
+
+    /**
+     * 批量任务执行线程池
+     * 单次批量可能持续数分钟，使用独立的有界线程池，避免占满公共定时任务线程池影响定时与重试任务
+     */
+    private ThreadPoolExecutor batchExecutor;
+
+    @PostConstruct
+    public void init() {
+        int threads = Math.max(1, workflowProperties.getBatchThreads());
+        batchExecutor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(Math.max(1, workflowProperties.getBatchQueueCapacity())),
+            new BasicThreadFactory.Builder().namingPattern("flow-batch-%d").daemon(true).build(),
+            new ThreadPoolExecutor.AbortPolicy());
+        batchExecutor.allowCoreThreadTimeOut(true);
+    }
+
+    @PreDestroy
+    public void destroy() {
+        batchExecutor.shutdown();
+    }
+
+    /**
+     * 批量转办/委派任务
+     *
+     * @param bo            参数
+     * @param taskOperation 操作类型，委派 delegateTask、转办 transferTask
+     * @return 待处理的任务数
+     */
+    @Override
+    public int taskOperationBatch(TaskOperationBatchBo bo, String taskOperation) {
+        if (!DELEGATE_TASK.equals(taskOperation) && !TRANSFER_TASK.equals(taskOperation)) {
+            log.error("Invalid operation type:{} ", taskOperation);
+            throw new ServiceException("Invalid operation type " + taskOperation);
+        }
+        Long operatorId = LoginHelper.getUserId();
+        String fromUserId = StringUtils.blankToDefault(bo.getFromUserId(), Convert.toStr(operatorId));
+        if (!fromUserId.equals(Convert.toStr(operatorId)) && !LoginHelper.isSuperAdmin() && !LoginHelper.isTenantAdmin()) {
+            throw new ServiceException("只能转办/委派自己的任务");
+        }
+        if (fromUserId.equals(bo.getUserId())) {
+            throw new ServiceException("转办/委派人不能是原办理人");
+        }
+        List<Long> taskIds = selectPendingTaskIds(fromUserId, bo.getTaskIdList());
+        if (taskIds.isEmpty()) {
+            return 0;
+        }
+        String tenantId = TenantHelper.getTenantId();
+        try {
+            batchExecutor.execute(() -> TenantHelper.dynamic(tenantId,
+                () -> execute(taskIds, bo, taskOperation, fromUserId, operatorId)));
+        } catch (RejectedExecutionException e) {
+            throw new ServiceException("批量任务排队已满，请稍后重试");
+        }
+        return taskIds.size();
+    }
+
+    /**
+     * 批量办理任务
+     *
+     * @param bo 批量办理参数
+     * @return 批量任务id
+     */
+    @Override
+    public String completeTaskBatch(CompleteTaskBatchBo bo) {
+        List<Long> taskIds = new ArrayList<>(new LinkedHashSet<>(bo.getTaskIdList()));
+        String tenantId = TenantHelper.getTenantId();
+        String token = StpUtil.getTokenValue();
+        FlowBatchJobVo job = new FlowBatchJobVo();
+        job.setJobId(IdUtil.fastSimpleUUID());
+        job.setOperatorId(LoginHelper.getUserId());
+        job.setTotal(taskIds.size());
+        saveJob(job);
+        try {
+            batchExecutor.execute(() -> SaTokenContextMockUtil.setMockContext(() -> {
+                // 后台线程没有请求上下文，使用操作人的token办理，权限校验与逐个办理一致
+                StpUtil.getStpLogic().setTokenValueToStorage(token);
+                TenantHelper.dynamic(tenantId, () -> completeAll(taskIds, bo, job));
+            }));
+        } catch (RejectedExecutionException e) {
+            RedisUtils.deleteObject(JOB_KEY + job.getJobId());
+            throw new ServiceException("批量任务排队已满，请稍后重试");
+        }
+        return job.getJobId();
+    }
+
+    /**
+     * 查询批量任务进度，只允许操作人或管理员查询
+     *
+     * @param jobId 批量任务id
+     * @return 批量任务进度
+     */
+    @Override
+    public FlowBatchJobVo getBatchJob(String jobId) {
+        FlowBatchJobVo job = RedisUtils.getCacheObject(JOB_KEY + jobId);
+        if (job == null || (!LoginHelper.getUserId().equals(job.getOperatorId())
+            && !LoginHelper.isSuperAdmin() && !LoginHelper.isTenantAdmin())) {
+            throw new ServiceException("批量任务不存在或已过期");
+        }
+        return job;
+    }
+
+    /**
+     * 逐个办理任务，每个任务通过代理调用 {@link IFlwTaskService#completeTask} 在独立事务中办理
+     */
+    private void completeAll(List<Long> taskIds, CompleteTaskBatchBo bo, FlowBatchJobVo job) {
+        for (Long taskId : taskIds) {
+            CompleteTaskBo completeTaskBo = new CompleteTaskBo();
+            completeTaskBo.setTaskId(taskId);
+            completeTaskBo.setFileId(bo.getFileId());
+            completeTaskBo.setMessageType(bo.getMessageType());
+            completeTaskBo.setMessage(bo.getMessage());
+            completeTaskBo.setNotice(bo.getNotice());
+            // 办理过程会写入变量，每个任务使用独立副本
+            completeTaskBo.setVariables(bo.getVariables() == null ? new HashMap<>() : new HashMap<>(bo.getVariables()));
+            try {
+                flwTaskService.completeTask(completeTaskBo);
+                job.setSuccess(job.getSuccess() + 1);
+            } catch (Exception e) {
+                job.getFailures().put(taskId, e.getMessage());
+            }
+            job.setDone(job.getDone() + 1);
+            if (job.getDone() % PROGRESS_STEP == 0 && job.getDone() < job.getTotal()) {
+                saveJob(job);
+                progress(job.getOperatorId(), StringUtils.format("批量办理任务进度：{}/{}", job.getDone(), job.getTotal()));
+            }
+        }
+        job.setFinished(true);
+        saveJob(job);
+        progress(job.getOperatorId(), StringUtils.format("批量办理任务完成，成功{}条，失败{}条",
+            job.getSuccess(), job.getFailures().size()));
+        log.info("批量办理任务完成 jobId => {}, 总数: {}, 失败: {}", job.getJobId(), job.getTotal(), job.getFailures().size());
+    }
+
+    private void saveJob(FlowBatchJobVo job) {
+        RedisUtils.setCacheObject(JOB_KEY + job.getJobId(), job, JOB_TTL);
+    }
+
+    /**
+     * 查询原办理人的待办任务id，一次查询办理人表
+     */
+    private List<Long> selectPendingTaskIds(String fromUserId, List<Long> taskIdList) {
+        Set<Long> taskIds = new LinkedHashSet<>();
+        if (CollUtil.isEmpty(taskIdList)) {
+            taskIds.addAll(StreamUtils.toList(flowUserMapper.selectList(pendingWrapper(fromUserId, null)), FlowUser::getAssociated));
+        } else {
+            for (List<Long> ids : CollUtil.split(new LinkedHashSet<>(taskIdList), 1000)) {
+                taskIds.addAll(StreamUtils.toList(flowUserMapper.selectList(pendingWrapper(fromUserId, ids)), FlowUser::getAssociated));
+            }
+        }
+        return new ArrayList<>(taskIds);
+    }
+
+    private LambdaQueryWrapper<FlowUser> pendingWrapper(String processedBy, Collection<Long> taskIds) {
+        return Wrappers.<FlowUser>lambdaQuery()
+            .eq(FlowUser::getProcessedBy, processedBy)
+            .in(FlowUser::getType, PENDING_TYPES)
+            .in(CollUtil.isNotEmpty(taskIds), FlowUser::getAssociated, taskIds);
+    }
+
+    /**
+     * 分批执行，每批结束推送进度，全部结束后发送摘要通知
+     */
+    private void execute(List<Long> taskIds, TaskOperationBatchBo bo, String taskOperation, String fromUserId, Long operatorId) {
+        String operationName = TRANSFER_TASK.equals(taskOperation) ? "转办" : "委派";
+        int total = taskIds.size();
+        int done = 0;
+        int success = 0;
+        for (List<Long> chunk : CollUtil.split(taskIds, CHUNK_SIZE)) {
+            try {
+                Integer count = transactionTemplate.execute(status -> operateChunk(chunk, bo, taskOperation, fromUserId, operatorId));
+                success += count == null ? 0 : count;
+            } catch (Exception e) {
+                log.error("批量{}任务失败 taskIds => {}, error => {}", operationName, chunk, e.getMessage(), e);
+            }
+            done += chunk.size();
+            progress(operatorId, StringUtils.format("批量{}任务进度：{}/{}", operationName, done, total));
+        }
+        progress(operatorId, StringUtils.format("批量{}任务完成，成功{}条，跳过或失败{}条", operationName, success, total - success));
+        log.info("批量{}任务完成，总数: {}, 成功: {}", operationName, total, success);
+        if (success > 0 && CollUtil.isNotEmpty(bo.getMessageType())) {
+            List<UserDTO> userList = userService.selectListByIds(List.of(Convert.toLong(bo.getUserId())));
+            String message = StringUtils.format("您有{}条待办任务由他人{}给您", success, operationName);
+            if (StringUtils.isNotBlank(bo.getMessage())) {
+                message += "，备注：" + bo.getMessage();
+            }
+            flwCommonService.sendMessage(bo.getMessageType(), message, "单据审批提醒", userList);
+        }
+    }
+
+    /**
+     * 推送进度给操作人，操作人的连接可能在其他节点，经消息主题广播
+     */
+    private void progress(Long operatorId, String message) {
+        SseMessageDto dto = new SseMessageDto();
+        dto.setUserIds(List.of(operatorId));
+        dto.setMessage(message);
+        SseMessageUtils.publishMessage(dto);
+    }
+
+    /**
+     * 处理一批任务：一次查询任务与办理人，批量删除原办理人、写入新办理人与历史记录
+     *
+     * @return 实际处理的任务数，期间已被办理或已转出的任务跳过
+     */
+    private int operateChunk(List<Long> taskIds, TaskOperationBatchBo bo, String taskOperation, String fromUserId, Long operatorId) {
+        Set<Long> owned = StreamUtils.toSet(flowUserMapper.selectList(pendingWrapper(fromUserId, taskIds)), FlowUser::getAssociated);
+        List<FlowTask> tasks = StreamUtils.filter(flowTaskMapper.selectByIds(taskIds), task -> owned.contains(task.getId()));
+        if (tasks.isEmpty()) {
+            return 0;
+        }
+        List<Long> ids = StreamUtils.toList(tasks, FlowTask::getId);
+        // 新办理人已在的任务不重复写入
+        Set<Long> existing = StreamUtils.toSet(flowUserMapper.selectList(pendingWrapper(bo.getUserId(), ids)), FlowUser::getAssociated);
+        flowUserMapper.delete(pendingWrapper(fromUserId, ids));
+
+        boolean transfer = TRANSFER_TASK.equals(taskOperation);
+        String type = transfer ? TaskAssigneeType.TRANSFER.getCode() : TaskAssigneeType.DELEGATE.getCode();
+        List<User> userList = new ArrayList<>();
+        List<HisTask> hisTaskList = new ArrayList<>(tasks.size());
+        for (FlowTask task : tasks) {
+            if (!existing.contains(task.getId())) {
+                // 委派办理后回到原办理人，创建人记录为原办理人
+                userList.add(new FlowUser()
+                    .setType(type)
+                    .setProcessedBy(bo.getUserId())
+                    .setAssociated(task.getId())
+                    .setCreateBy(fromUserId));
+            }
+            FlowNode flowNode = new FlowNode();
+            flowNode.setNodeCode(task.getNodeCode());
+            flowNode.setNodeName(task.getNodeName());
+            FlowParams flowParams = FlowParams.build()
+                .handler(Convert.toStr(operatorId))
+                .skipType(SkipType.NONE.getKey())
+                .hisStatus(transfer ? TaskStatusEnum.TRANSFER.getStatus() : TaskStatusEnum.DEPUTE.getStatus())
+                .message(bo.getMessage());
+            HisTask hisTask = hisTaskService.setSkipHisTask(task, flowNode, flowParams);
+            hisTask.setCooperateType(transfer ? CooperateType.TRANSFER.getKey() : CooperateType.DEPUTE.getKey());
+            hisTask.setCollaborator(bo.getUserId());
+            hisTaskList.add(hisTask);
+        }
+        if (CollUtil.isNotEmpty(userList)) {
+            FlowEngine.userService().saveBatch(userList);
+        }
+        hisTaskService.saveBatch(hisTaskList);
+        // 办理人变更，事务提交前刷新收件箱
+        flwTaskInboxService.markDirty(StreamUtils.toSet(tasks, FlowTask::getInstanceId));
+        return tasks.size();
+    }
+
+}
@@ -0,0 +1,112 @@
+package org.dromara.workflow.service.impl;
+
+import cn.hutool.core.collection.CollUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.dromara.common.core.utils.SpringUtils;
+import org.dromara.workflow.common.ConditionalOnEnable;
+import org.dromara.workflow.mapper.FlwTaskInboxMapper;
+import org.dromara.workflow.service.IFlwTaskInboxService;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 待办收件箱 服务层实现
+ * <p>
+ * 流程引擎在一次办理中会多次写入任务与办理人，收件箱不跟随每次写入更新
+ * 而是记录本次事务涉及的流程实例，在事务提交前按实例整体重建，与引擎数据在同一事务内保持一致
+ *
+ * @author may
+ */
+@ConditionalOnEnable
+@Slf4j
+@RequiredArgsConstructor
+@Service
+public class FlwTaskInboxServiceImpl implements IFlwTaskInboxService {
+
+    /**
+     * 每次重建的流程实例数量，受 Oracle IN 条件数量限制
+     */
+    private static final int BATCH_SIZE = 1000;
+
+    private final FlwTaskInboxMapper flwTaskInboxMapper;
+
+    /**
+     * 标记流程实例的收件箱需要刷新
+     *
+     * @param instanceId 流程实例id
+     */
+    @Override
+    public void markDirty(Long instanceId) {
+        if (instanceId != null) {
+            markDirty(List.of(instanceId));
+        }
+    }
+
+    /**
+     * 标记流程实例的收件箱需要刷新
+     *
+     * @param instanceIds 流程实例id
+     */
+    @Override
+    public void markDirty(Collection<Long> instanceIds) {
+        if (CollUtil.isEmpty(instanceIds)) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            SpringUtils.getAopProxy(this).refresh(instanceIds);
+            return;
+        }
+        // 同一事务只注册一次，提交前统一刷新
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof InboxSynchronization inbox) {
+                inbox.instanceIds.addAll(instanceIds);
+                return;
+            }
+        }
+        InboxSynchronization inbox = new InboxSynchronization();
+        inbox.instanceIds.addAll(instanceIds);
+        TransactionSynchronizationManager.registerSynchronization(inbox);
+    }
+
+    /**
+     * 立即按流程实例重建收件箱
+     *
+     * @param instanceIds 流程实例id
+     */
+    @Override
+    @Transactional(rollbackFor = Exception.class)
+    public void refresh(Collection<Long> instanceIds) {
+        if (CollUtil.isEmpty(instanceIds)) {
+            return;
+        }
+        for (List<Long> ids : CollUtil.split(instanceIds, BATCH_SIZE)) {
+            flwTaskInboxMapper.deleteByInstanceIds(ids);
+            flwTaskInboxMapper.insertRunTask(ids);
+            flwTaskInboxMapper.insertCopyTask(ids);
+        }
+        log.debug("刷新待办收件箱 instanceIds => {}", instanceIds);
+    }
+
+    /**
+     * 事务提交前刷新本次事务涉及的流程实例
+     */
+    private final class InboxSynchronization implements TransactionSynchronization {
+
+        private final Set<Long> instanceIds = new LinkedHashSet<>();
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            refresh(instanceIds);
+        }
+
+    }
+
+}
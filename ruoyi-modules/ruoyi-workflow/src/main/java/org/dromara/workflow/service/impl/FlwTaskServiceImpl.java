@@ -16,7 +16,6 @@ import org.dromara.common.core.domain.dto.StartProcessReturnDTO;
 import org.dromara.common.core.domain.dto.UserDTO;
 import org.dromara.common.core.enums.BusinessStatusEnum;
 import org.dromara.common.core.exception.ServiceException;
-import org.dromara.common.core.service.UserService;
 import org.dromara.common.core.utils.StreamUtils;
 import org.dromara.common.core.utils.StringUtils;
 import org.dromara.common.core.utils.ValidatorUtils;
@@ -24,7 +23,9 @@ import org.dromara.common.core.validate.AddGroup;
 import org.dromara.common.core.validate.EditGroup;
 import org.dromara.common.json.utils.JsonUtils;
 import org.dromara.common.mybatis.core.page.PageQuery;
+import org.dromara.common.mybatis.core.page.SeekCursor;
 import org.dromara.common.mybatis.core.page.TableDataInfo;
+import org.dromara.common.mybatis.enums.PageCountMode;
 import org.dromara.common.satoken.utils.LoginHelper;
 import org.dromara.warm.flow.core.FlowEngine;
 import org.dromara.warm.flow.core.dto.FlowParams;
@@ -38,24 +39,27 @@ import org.dromara.warm.flow.core.utils.MapUtil;
 import org.dromara.warm.flow.orm.entity.*;
 import org.dromara.warm.flow.orm.mapper.FlowHisTaskMapper;
 import org.dromara.warm.flow.orm.mapper.FlowInstanceMapper;
-import org.dromara.warm.flow.orm.mapper.FlowNodeMapper;
 import org.dromara.warm.flow.orm.mapper.FlowTaskMapper;
 import org.dromara.workflow.common.ConditionalOnEnable;
 import org.dromara.workflow.common.constant.FlowConstant;
 import org.dromara.workflow.common.enums.TaskAssigneeType;
 import org.dromara.workflow.common.enums.TaskStatusEnum;
+import org.dromara.workflow.domain.FlowDefinitionGraph;
 import org.dromara.workflow.domain.FlowInstanceBizExt;
 import org.dromara.workflow.domain.bo.*;
 import org.dromara.workflow.domain.vo.FlowCopyVo;
 import org.dromara.workflow.domain.vo.FlowHisTaskVo;
 import org.dromara.workflow.domain.vo.FlowTaskVo;
 import org.dromara.workflow.domain.vo.NodeExtVo;
+import org.dromara.workflow.handler.WorkflowPermissionHandler;
 import org.dromara.workflow.mapper.FlwCategoryMapper;
 import org.dromara.workflow.mapper.FlwInstanceBizExtMapper;
 import org.dromara.workflow.mapper.FlwTaskMapper;
 import org.dromara.workflow.service.IFlwCommonService;
+import org.dromara.workflow.service.IFlwDefinitionGraphService;
 import org.dromara.workflow.service.IFlwNodeExtService;
 import org.dromara.workflow.service.IFlwTaskAssigneeService;
+import org.dromara.workflow.service.IFlwTaskInboxService;
 import org.dromara.workflow.service.IFlwTaskService;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -76,23 +80,27 @@ import static org.dromara.workflow.common.constant.FlowConstant.*;
 @Service
 public class FlwTaskServiceImpl implements IFlwTaskService {
 
+    /**
+     * 单次办理最多连续自动审批的任务数，防止流程配置成环时无限循环
+     */
+    private static final int MAX_AUTO_PASS = 200;
+
     private final TaskService taskService;
     private final InsService insService;
-    private final DefService defService;
     private final HisTaskService hisTaskService;
     private final NodeService nodeService;
     private final FlowInstanceMapper flowInstanceMapper;
     private final FlowTaskMapper flowTaskMapper;
     private final FlowHisTaskMapper flowHisTaskMapper;
     private final IdentifierGenerator identifierGenerator;
-    private final UserService userService;
     private final FlwTaskMapper flwTaskMapper;
     private final FlwCategoryMapper flwCategoryMapper;
-    private final FlowNodeMapper flowNodeMapper;
     private final IFlwTaskAssigneeService flwTaskAssigneeService;
     private final IFlwCommonService flwCommonService;
+    private final IFlwDefinitionGraphService flwDefinitionGraphService;
     private final IFlwNodeExtService flwNodeExtService;
     private final FlwInstanceBizExtMapper flwInstanceBizExtMapper;
+    private final IFlwTaskInboxService flwTaskInboxService;
 
     /**
      * 启动任务
@@ -188,6 +196,8 @@ public class FlwTaskServiceImpl implements IFlwTaskService {
         bizExt.setInstanceId(instance.getId());
         bizExt.setBusinessId(instance.getBusinessId());
         flwInstanceBizExtMapper.saveOrUpdateByInstanceId(bizExt);
+        // 业务编码、标题冗余在收件箱中
+        flwTaskInboxService.markDirty(instance.getId());
     }
 
     /**
@@ -248,6 +258,7 @@ public class FlwTaskServiceImpl implements IFlwTaskService {
 
     /**
      * 流程办理
+     * 开启自动审批时，办理后若当前用户仍是新任务的办理人则继续办理，循环推进直到没有可自动审批的任务
      *
      * @param taskId     任务ID
      * @param flowParams 参数
@@ -257,30 +268,52 @@ public class FlwTaskServiceImpl implements IFlwTaskService {
     private void skipTask(Long taskId, FlowParams flowParams, Long instanceId, Boolean autoPass) {
         // 执行任务跳转，并根据返回的处理人设置下一步处理人
         taskService.skip(taskId, flowParams);
-        List<FlowTask> flowTaskList = selectByInstId(instanceId);
-        if (CollUtil.isEmpty(flowTaskList)) {
+        if (!Boolean.TRUE.equals(autoPass)) {
             return;
         }
-        List<User> userList = FlowEngine.userService()
-            .getByAssociateds(StreamUtils.toList(flowTaskList, FlowTask::getId));
-        if (CollUtil.isEmpty(userList)) {
+        List<String> permissions = FlowEngine.permissionHandler().permissions();
+        Set<Long> handled = new HashSet<>();
+        handled.add(taskId);
+        Long nextTaskId = findAutoPassTask(instanceId, permissions, handled);
+        if (nextTaskId == null) {
             return;
         }
-        for (FlowTask task : flowTaskList) {
-            if (!task.getId().equals(taskId) && autoPass) {
-                List<User> users = StreamUtils.filter(userList, e -> ObjectUtil.equals(task.getId(), e.getAssociated()) && ObjectUtil.equal(e.getProcessedBy(), LoginHelper.getUserIdStr()));
-                if (CollUtil.isEmpty(users)) {
-                    continue;
-                }
-                flowParams.
-                    message("流程引擎自动审批！").
-                    variable(Map.of(
-                        FlowConstant.SUBMIT, false,
-                        FlowConstant.FLOW_COPY_LIST, Collections.emptyList(),
-                        FlowConstant.MESSAGE_NOTICE, StringUtils.EMPTY));
-                skipTask(task.getId(), flowParams, instanceId, true);
+        flowParams.
+            message("流程引擎自动审批！").
+            variable(Map.of(
+                FlowConstant.SUBMIT, false,
+                FlowConstant.FLOW_COPY_LIST, Collections.emptyList(),
+                FlowConstant.MESSAGE_NOTICE, StringUtils.EMPTY));
+        // 逐个办理并重新查询待办，避免递归过深，也避免办理已被并行合并或会签移除的任务
+        while (nextTaskId != null) {
+            if (handled.size() > MAX_AUTO_PASS) {
+                throw new ServiceException("自动审批超过最大次数【{}】，请检查流程配置！", MAX_AUTO_PASS);
             }
+            taskService.skip(nextTaskId, flowParams);
+            handled.add(nextTaskId);
+            nextTaskId = findAutoPassTask(instanceId, permissions, handled);
+        }
+    }
+
+    /**
+     * 查询当前用户可自动审批的待办任务
+     *
+     * @param instanceId  实例ID
+     * @param permissions 当前用户的办理人标识
+     * @param handled     本次已办理的任务ID
+     * @return 任务ID，不存在时返回null
+     */
+    private Long findAutoPassTask(Long instanceId, List<String> permissions, Set<Long> handled) {
+        List<FlowTask> flowTaskList = StreamUtils.filter(selectByInstId(instanceId), task -> !handled.contains(task.getId()));
+        if (CollUtil.isEmpty(flowTaskList)) {
+            return null;
         }
+        List<User> userList = FlowEngine.userService()
+            .getByAssociateds(StreamUtils.toList(flowTaskList, FlowTask::getId));
+        Set<Long> taskIds = StreamUtils.toSet(StreamUtils.filter(userList, e -> permissions.contains(e.getProcessedBy())), User::getAssociated);
+        return StreamUtils.findFirst(flowTaskList, task -> taskIds.contains(task.getId()))
+            .map(FlowTask::getId)
+            .orElse(null);
     }
 
     /**
@@ -363,9 +396,20 @@ public class FlwTaskServiceImpl implements IFlwTaskService {
     @Override
     public TableDataInfo<FlowTaskVo> pageByTaskWait(FlowTaskBo flowTaskBo, PageQuery pageQuery) {
         QueryWrapper<FlowTaskBo> queryWrapper = buildQueryWrapper(flowTaskBo);
+        queryWrapper.in("t.type", TaskAssigneeType.APPROVER.getCode(), TaskAssigneeType.TRANSFER.getCode(), TaskAssigneeType.DELEGATE.getCode());
         queryWrapper.eq("t.node_type", NodeType.BETWEEN.getKey());
-        queryWrapper.in("t.processed_by", LoginHelper.getUserIdStr());
-        queryWrapper.in("t.flow_status", BusinessStatusEnum.WAITING.getStatus());
+        // 按组分配时办理人可能为用户所属的角色、部门、岗位
+        queryWrapper.in("t.processed_by", FlowEngine.permissionHandler().permissions());
+        queryWrapper.eq("t.flow_status", BusinessStatusEnum.WAITING.getStatus());
+        if (pageQuery.isSeek()) {
+            // 游标分页按创建时间、任务ID降序，命中收件箱 (租户, 办理人, 状态, 创建时间) 索引
+            SeekCursor seek = SeekCursor.of(queryWrapper, "t.id", pageQuery.getCursor());
+            List<FlowTaskVo> list = flwTaskMapper.getListRunTask(seek.page(pageQuery.getSeekSize()), queryWrapper).getRecords();
+            String next = seek.next(list);
+            this.wrapAssigneeInfo(list);
+            return TableDataInfo.buildSeek(list, next);
+        }
+        queryWrapper.orderByDesc("t.update_time");
         Page<FlowTaskVo> page = flwTaskMapper.getListRunTask(pageQuery.build(), queryWrapper);
         this.wrapAssigneeInfo(page.getRecords());
         return TableDataInfo.build(page);
@@ -382,8 +426,7 @@ public class FlwTaskServiceImpl implements IFlwTaskService {
         QueryWrapper<FlowTaskBo> queryWrapper = buildQueryWrapper(flowTaskBo);
         queryWrapper.eq("t.node_type", NodeType.BETWEEN.getKey());
         queryWrapper.in("t.approver", LoginHelper.getUserIdStr());
-        Page<FlowHisTaskVo> page = flwTaskMapper.getListFinishTask(pageQuery.build(), queryWrapper);
-        return TableDataInfo.build(page);
+        return pageFinishTask(queryWrapper, pageQuery);
     }
 
     /**
@@ -395,7 +438,9 @@ public class FlwTaskServiceImpl implements IFlwTaskService {
     @Override
     public TableDataInfo<FlowTaskVo> pageByAllTaskWait(FlowTaskBo flowTaskBo, PageQuery pageQuery) {
         QueryWrapper<FlowTaskBo> queryWrapper = buildQueryWrapper(flowTaskBo);
+        queryWrapper.in("t.type", TaskAssigneeType.APPROVER.getCode(), TaskAssigneeType.TRANSFER.getCode(), TaskAssigneeType.DELEGATE.getCode());
         queryWrapper.eq("t.node_type", NodeType.BETWEEN.getKey());
+        queryWrapper.orderByDesc("t.update_time");
         Page<FlowTaskVo> page = flwTaskMapper.getListRunTask(pageQuery.build(), queryWrapper);
         this.wrapAssigneeInfo(page.getRecords());
         return TableDataInfo.build(page);
@@ -428,8 +473,27 @@ public class FlwTaskServiceImpl implements IFlwTaskService {
     @Override
     public TableDataInfo<FlowHisTaskVo> pageByAllTaskFinish(FlowTaskBo flowTaskBo, PageQuery pageQuery) {
         QueryWrapper<FlowTaskBo> queryWrapper = buildQueryWrapper(flowTaskBo);
-        Page<FlowHisTaskVo> page = flwTaskMapper.getListFinishTask(pageQuery.build(), queryWrapper);
-        return TableDataInfo.build(page);
+        return pageFinishTask(queryWrapper, pageQuery);
+    }
+
+    /**
+     * 分页查询已办任务
+     * 传入游标时按创建时间、历史任务ID降序做游标分页，避免历史任务表的深分页扫描与COUNT
+     *
+     * @param queryWrapper 查询条件
+     * @param pageQuery    分页
+     */
+    private TableDataInfo<FlowHisTaskVo> pageFinishTask(QueryWrapper<FlowTaskBo> queryWrapper, PageQuery pageQuery) {
+        if (!pageQuery.isSeek()) {
+            queryWrapper.orderByDesc("t.update_time");
+            // 翻页时条件不变，短时缓存总数避免历史任务表重复统计
+            Page<FlowHisTaskVo> page = flwTaskMapper.getListFinishTask(pageQuery.build(PageCountMode.CACHED), queryWrapper);
+            return TableDataInfo.build(page);
+        }
+        // update_time可能为空，游标分页以历史任务ID作为第二排序键
+        SeekCursor seek = SeekCursor.of(queryWrapper, "t.id", pageQuery.getCursor());
+        List<FlowHisTaskVo> list = flwTaskMapper.getListFinishTask(seek.page(pageQuery.getSeekSize()), queryWrapper).getRecords();
+        return TableDataInfo.buildSeek(list, seek.next(list));
     }
 
     /**
@@ -441,7 +505,15 @@ public class FlwTaskServiceImpl implements IFlwTaskService {
     @Override
     public TableDataInfo<FlowTaskVo> pageByTaskCopy(FlowTaskBo flowTaskBo, PageQuery pageQuery) {
         QueryWrapper<FlowTaskBo> queryWrapper = buildQueryWrapper(flowTaskBo);
-        queryWrapper.in("t.processed_by", LoginHelper.getUserIdStr());
+        queryWrapper.eq("t.type", TaskAssigneeType.COPY.getCode());
+        queryWrapper.in("t.processed_by", FlowEngine.permissionHandler().permissions());
+        if (pageQuery.isSeek()) {
+            // 游标分页按抄送时间、历史任务ID降序
+            SeekCursor seek = SeekCursor.of(queryWrapper, "t.id", pageQuery.getCursor());
+            List<FlowTaskVo> list = flwTaskMapper.getTaskCopyByPage(seek.page(pageQuery.getSeekSize()), queryWrapper).getRecords();
+            return TableDataInfo.buildSeek(list, seek.next(list));
+        }
+        queryWrapper.orderByDesc("t.update_time");
         Page<FlowTaskVo> page = flwTaskMapper.getTaskCopyByPage(pageQuery.build(), queryWrapper);
         return TableDataInfo.build(page);
     }
@@ -456,7 +528,7 @@ public class FlwTaskServiceImpl implements IFlwTaskService {
             List<Long> categoryIds = flwCategoryMapper.selectCategoryIdsByParentId(Convert.toLong(flowTaskBo.getCategory()));
             wrapper.in("t.category", StreamUtils.toList(categoryIds, Convert::toStr));
         }
-        wrapper.orderByDesc("t.create_time").orderByDesc("t.update_time");
+        wrapper.orderByDesc("t.create_time");
         return wrapper;
     }
 
@@ -513,22 +585,23 @@ public class FlwTaskServiceImpl implements IFlwTaskService {
     @Override
     public List<Node> getBackTaskNode(Long taskId, String nowNodeCode) {
         FlowTask task = flowTaskMapper.selectById(taskId);
-        List<Node> nodeCodes = nodeService.getByNodeCodes(Collections.singletonList(nowNodeCode), task.getDefinitionId());
-        if (!CollUtil.isNotEmpty(nodeCodes)) {
-            return nodeCodes;
+        FlowDefinitionGraph graph = flwDefinitionGraphService.getGraph(task.getDefinitionId());
+        Node node = graph.getNode(nowNodeCode);
+        if (node == null) {
+            return Collections.emptyList();
         }
         List<User> userList = FlowEngine.userService()
             .getByAssociateds(Collections.singletonList(task.getId()), UserType.DEPUTE.getKey());
         if (CollUtil.isNotEmpty(userList)) {
-            return nodeCodes;
+            return Collections.singletonList(node);
         }
         //判断是否配置了固定驳回节点
-        Node node = nodeCodes.get(0);
         if (StringUtils.isNotBlank(node.getAnyNodeSkip())) {
-            return nodeService.getByNodeCodes(Collections.singletonList(node.getAnyNodeSkip()), task.getDefinitionId());
+            Node anyNode = graph.getNode(node.getAnyNodeSkip());
+            return anyNode == null ? Collections.emptyList() : Collections.singletonList(anyNode);
         }
         //获取可驳回的前置节点
-        List<Node> nodes = nodeService.previousNodeList(task.getDefinitionId(), nowNodeCode);
+        List<Node> nodes = graph.previousNodeList(nowNodeCode);
         if (CollUtil.isNotEmpty(nodes)) {
             return StreamUtils.filter(nodes, e -> NodeType.BETWEEN.getKey().equals(e.getNodeType()));
         }
@@ -558,6 +631,7 @@ public class FlwTaskServiceImpl implements IFlwTaskService {
                 .flowStatus(BusinessStatusEnum.TERMINATION.getStatus())
                 .hisStatus(TaskStatusEnum.TERMINATION.getStatus());
             taskService.termination(taskId, flowParams);
+            flwTaskInboxService.markDirty(task.getInstanceId());
             return true;
         } catch (Exception e) {
             log.error(e.getMessage(), e);
@@ -588,23 +662,20 @@ public class FlwTaskServiceImpl implements IFlwTaskService {
         }
         FlowTaskVo flowTaskVo = BeanUtil.toBean(task, FlowTaskVo.class);
         Instance instance = insService.getById(task.getInstanceId());
-        Definition definition = defService.getById(task.getDefinitionId());
+        FlowDefinitionGraph graph = flwDefinitionGraphService.getGraph(task.getDefinitionId());
+        Definition definition = graph.getDefinition();
         flowTaskVo.setFlowStatus(instance.getFlowStatus());
         flowTaskVo.setVersion(definition.getVersion());
         flowTaskVo.setFlowCode(definition.getFlowCode());
         flowTaskVo.setFlowName(definition.getFlowName());
         flowTaskVo.setBusinessId(instance.getBusinessId());
-        FlowNode flowNode = this.getByNodeCode(flowTaskVo.getNodeCode(), instance.getDefinitionId());
+        FlowNode flowNode = (FlowNode) graph.getNode(flowTaskVo.getNodeCode());
         if (ObjectUtil.isNull(flowNode)) {
             throw new NullPointerException("当前【" + flowTaskVo.getNodeCode() + "】节点编码不存在");
         }
         NodeExtVo nodeExtVo = flwNodeExtService.parseNodeExt(flowNode.getExt(), instance.getVariableMap());
-        //设置按钮权限
-        if (CollUtil.isNotEmpty(nodeExtVo.getButtonPermissions())) {
-            flowTaskVo.setButtonList(nodeExtVo.getButtonPermissions());
-        } else {
-            flowTaskVo.setButtonList(new ArrayList<>());
-        }
+        //设置按钮权限，按钮权限与流程变量无关，使用流程定义图中预先解析的结果
+        flowTaskVo.setButtonList(new ArrayList<>(graph.getButtonPermissions(flowNode.getNodeCode())));
         if (CollUtil.isNotEmpty(nodeExtVo.getCopySettings())) {
             List<FlowCopyVo> list = StreamUtils.toList(nodeExtVo.getCopySettings(), x -> new FlowCopyVo(Convert.toLong(x)));
             flowTaskVo.setCopyList(list);
@@ -617,7 +688,7 @@ public class FlwTaskServiceImpl implements IFlwTaskService {
             flowTaskVo.setVarList(new HashMap<>());
         }
         flowTaskVo.setNodeRatio(flowNode.getNodeRatio());
-        flowTaskVo.setApplyNode(flowNode.getNodeCode().equals(flwCommonService.applyNodeCode(task.getDefinitionId())));
+        flowTaskVo.setApplyNode(flowNode.getNodeCode().equals(graph.getApplyNodeCode()));
         return flowTaskVo;
     }
 
@@ -632,7 +703,7 @@ public class FlwTaskServiceImpl implements IFlwTaskService {
         Map<String, Object> variables = bo.getVariables();
         Task task = taskService.getById(taskId);
         Instance instance = insService.getById(task.getInstanceId());
-        Definition definition = defService.getById(task.getDefinitionId());
+        Definition definition = flwDefinitionGraphService.getGraph(task.getDefinitionId()).getDefinition();
         Map<String, Object> mergeVariable = MapUtil.mergeAll(instance.getVariableMap(), variables);
         // 获取下一节点列表
         List<Node> nextNodeList = nodeService.getNextNodeList(task.getDefinitionId(), task.getNodeCode(), null, SkipType.PASS.getKey(), mergeVariable);
@@ -743,6 +814,8 @@ public class FlwTaskServiceImpl implements IFlwTaskService {
                 throw new ServiceException(task.getNodeName() + "不是会签节点！");
             }
         }
+        // 办理人变更，事务提交前刷新收件箱
+        flwTaskInboxService.markDirty(task.getInstanceId());
         // 设置任务状态并执行对应的任务操作
         switch (taskOperation) {
             //委派任务
@@ -797,6 +870,7 @@ public class FlwTaskServiceImpl implements IFlwTaskService {
                 if (CollUtil.isNotEmpty(userList)) {
                     FlowEngine.userService().saveBatch(userList);
                 }
+                flwTaskInboxService.markDirty(StreamUtils.toSet(flowTasks, FlowTask::getInstanceId));
             }
         } catch (Exception e) {
             log.error(e.getMessage(), e);
@@ -817,7 +891,8 @@ public class FlwTaskServiceImpl implements IFlwTaskService {
         if (CollUtil.isEmpty(userList)) {
             return Collections.emptyList();
         }
-        return userService.selectListByIds(StreamUtils.toList(userList, e -> Convert.toLong(e.getProcessedBy())));
+        // 办理人可能为角色、部门、岗位标识，统一解析为用户
+        return flwTaskAssigneeService.fetchUsersByStorageIds(StreamUtils.join(userList, User::getProcessedBy));
     }
 
     /**
@@ -828,13 +903,13 @@ public class FlwTaskServiceImpl implements IFlwTaskService {
      */
     @Override
     public FlowNode getByNodeCode(String nodeCode, Long definitionId) {
-        return flowNodeMapper.selectOne(new LambdaQueryWrapper<FlowNode>()
-            .eq(FlowNode::getNodeCode, nodeCode)
-            .eq(FlowNode::getDefinitionId, definitionId));
+        FlowDefinitionGraph graph = flwDefinitionGraphService.getGraph(definitionId);
+        return graph == null ? null : (FlowNode) graph.getNode(nodeCode);
     }
 
     /**
      * 催办任务
+     * 一次查询全部任务的办理人，按接收人合并，每人只收到一条注明待办数量的摘要消息
      *
      * @param bo 参数
      */
@@ -844,13 +919,45 @@ public class FlwTaskServiceImpl implements IFlwTaskService {
             if (CollUtil.isEmpty(bo.getTaskIdList())) {
                 return false;
             }
-            List<UserDTO> userList = this.currentTaskAllUser(bo.getTaskIdList());
-            if (CollUtil.isEmpty(userList)) {
+            List<User> assignees = FlowEngine.userService().getByAssociateds(bo.getTaskIdList());
+            if (CollUtil.isEmpty(assignees)) {
+                return false;
+            }
+            // 按办理人标识归集任务
+            Map<String, Set<Long>> storageTasks = new LinkedHashMap<>();
+            for (User assignee : assignees) {
+                storageTasks.computeIfAbsent(assignee.getProcessedBy(), k -> new HashSet<>()).add(assignee.getAssociated());
+            }
+            // 用户标识一次批量查询，角色、部门、岗位标识逐个展开
+            Map<Long, UserDTO> userMap = new HashMap<>();
+            Map<Long, Set<Long>> userTasks = new HashMap<>();
+            List<String> userIds = StreamUtils.filter(storageTasks.keySet(), id -> !WorkflowPermissionHandler.isGroup(id));
+            for (UserDTO user : flwTaskAssigneeService.fetchUsersByStorageIds(StringUtils.joinComma(userIds))) {
+                userMap.put(user.getUserId(), user);
+                userTasks.computeIfAbsent(user.getUserId(), k -> new HashSet<>())
+                    .addAll(storageTasks.getOrDefault(Convert.toStr(user.getUserId()), Collections.emptySet()));
+            }
+            storageTasks.forEach((storageId, taskIds) -> {
+                if (!WorkflowPermissionHandler.isGroup(storageId)) {
+                    return;
+                }
+                for (UserDTO user : flwTaskAssigneeService.fetchUsersByStorageIds(storageId)) {
+                    userMap.putIfAbsent(user.getUserId(), user);
+                    userTasks.computeIfAbsent(user.getUserId(), k -> new HashSet<>()).addAll(taskIds);
+                }
+            });
+            if (userMap.isEmpty()) {
                 return false;
             }
+            // 待办数量相同的接收人内容相同，合并发送
+            Map<Integer, List<UserDTO>> countUsers = new TreeMap<>();
+            userTasks.forEach((userId, taskIds) ->
+                countUsers.computeIfAbsent(taskIds.size(), k -> new ArrayList<>()).add(userMap.get(userId)));
             List<String> messageType = bo.getMessageType();
-            String message = bo.getMessage();
-            flwCommonService.sendMessage(messageType, message, "单据审批提醒", userList);
+            countUsers.forEach((count, userList) -> {
+                String message = count > 1 ? StringUtils.format("{}（共{}条待办）", bo.getMessage(), count) : bo.getMessage();
+                flwCommonService.sendMessage(messageType, message, "单据审批提醒", userList);
+            });
         } catch (Exception e) {
             log.error(e.getMessage(), e);
             throw new ServiceException(e.getMessage());
@@ -412,6 +412,99 @@ COMMENT ON COLUMN flow_instance_biz_ext.del_flag  IS '删除标志（0代表存
 COMMENT ON COLUMN flow_instance_biz_ext.instance_id  IS '流程实例Id';
 COMMENT ON COLUMN flow_instance_biz_ext.business_id  IS '业务Id';
 
+-- ----------------------------
+-- 待办收件箱表
+-- ----------------------------
+CREATE TABLE flow_task_inbox (
+    id             int8          NOT NULL,
+    processed_by   VARCHAR(80)   NOT NULL,
+    type           CHAR(1)       NOT NULL,
+    instance_id    int8          NOT NULL,
+    definition_id  int8,
+    node_code      VARCHAR(100),
+    node_name      VARCHAR(100),
+    node_type      int2,
+    form_custom    CHAR(1),
+    form_path      VARCHAR(100),
+    flow_name      VARCHAR(100),
+    flow_code      VARCHAR(40),
+    category       VARCHAR(100),
+    version        VARCHAR(20),
+    business_id    VARCHAR(40),
+    flow_status    VARCHAR(20),
+    create_by      VARCHAR(64),
+    business_code  VARCHAR(255),
+    business_title VARCHAR(1000),
+    create_time    TIMESTAMP,
+    update_time    TIMESTAMP,
+    tenant_id      VARCHAR(40),
+    PRIMARY KEY (id, processed_by, type)
+);
+
+CREATE INDEX idx_flow_task_inbox_user ON flow_task_inbox (tenant_id, processed_by, flow_status, create_time);
+CREATE INDEX idx_flow_task_inbox_ins ON flow_task_inbox (instance_id);
+
+COMMENT ON TABLE flow_task_inbox IS '待办收件箱表';
+COMMENT ON COLUMN flow_task_inbox.id IS '任务id（抄送为历史任务id）';
+COMMENT ON COLUMN flow_task_inbox.processed_by IS '办理人';
+COMMENT ON COLUMN flow_task_inbox.type IS '人员类型（1审批人 2转办人 3委托人 4抄送人）';
+COMMENT ON COLUMN flow_task_inbox.instance_id IS '流程实例id';
+COMMENT ON COLUMN flow_task_inbox.definition_id IS '流程定义id';
+COMMENT ON COLUMN flow_task_inbox.node_code IS '节点编码';
+COMMENT ON COLUMN flow_task_inbox.node_name IS '节点名称';
+COMMENT ON COLUMN flow_task_inbox.node_type IS '节点类型';
+COMMENT ON COLUMN flow_task_inbox.form_custom IS '审批表单是否自定义（Y是 N否）';
+COMMENT ON COLUMN flow_task_inbox.form_path IS '审批表单路径';
+COMMENT ON COLUMN flow_task_inbox.flow_name IS '流程名称';
+COMMENT ON COLUMN flow_task_inbox.flow_code IS '流程编码';
+COMMENT ON COLUMN flow_task_inbox.category IS '流程类别';
+COMMENT ON COLUMN flow_task_inbox.version IS '流程版本';
+COMMENT ON COLUMN flow_task_inbox.business_id IS '业务id';
+COMMENT ON COLUMN flow_task_inbox.flow_status IS '流程状态';
+COMMENT ON COLUMN flow_task_inbox.create_by IS '流程发起人';
+COMMENT ON COLUMN flow_task_inbox.business_code IS '业务编码';
+COMMENT ON COLUMN flow_task_inbox.business_title IS '业务标题';
+COMMENT ON COLUMN flow_task_inbox.create_time IS '创建时间';
+COMMENT ON COLUMN flow_task_inbox.update_time IS '更新时间';
+COMMENT ON COLUMN flow_task_inbox.tenant_id IS '租户编号';
+
+-- ----------------------------
+-- 流程消息发件箱表
+-- ----------------------------
+CREATE TABLE flow_message_outbox (
+    id             int8          NOT NULL,
+    tenant_id      VARCHAR(20)   DEFAULT '000000'::varchar,
+    instance_id    int8,
+    message_type   VARCHAR(20)   NOT NULL,
+    subject        VARCHAR(255),
+    content        VARCHAR(2000),
+    recipients     text,
+    status         CHAR(1)       DEFAULT '0'::bpchar NOT NULL,
+    retry_count    int4          DEFAULT 0 NOT NULL,
+    next_time      TIMESTAMP,
+    error_msg      VARCHAR(2000),
+    create_time    TIMESTAMP,
+    update_time    TIMESTAMP,
+    PRIMARY KEY (id)
+);
+
+CREATE INDEX idx_flow_message_outbox_status ON flow_message_outbox (status, next_time);
+
+COMMENT ON TABLE flow_message_outbox IS '流程消息发件箱表';
+COMMENT ON COLUMN flow_message_outbox.id IS '主键id';
+COMMENT ON COLUMN flow_message_outbox.tenant_id IS '租户编号';
+COMMENT ON COLUMN flow_message_outbox.instance_id IS '流程实例id';
+COMMENT ON COLUMN flow_message_outbox.message_type IS '消息类型（system系统消息 email邮件 sms短信）';
+COMMENT ON COLUMN flow_message_outbox.subject IS '消息标题';
+COMMENT ON COLUMN flow_message_outbox.content IS '消息内容';
+COMMENT ON COLUMN flow_message_outbox.recipients IS '接收人（逗号分隔）';
+COMMENT ON COLUMN flow_message_outbox.status IS '状态（0待投递 1投递中 2已投递 3投递失败）';
+COMMENT ON COLUMN flow_message_outbox.retry_count IS '已重试次数';
+COMMENT ON COLUMN flow_message_outbox.next_time IS '下次投递时间';
+COMMENT ON COLUMN flow_message_outbox.error_msg IS '最近一次失败原因';
+COMMENT ON COLUMN flow_message_outbox.create_time IS '创建时间';
+COMMENT ON COLUMN flow_message_outbox.update_time IS '更新时间';
+
 -- ----------------------------
 -- 请假单信息
 -- ----------------------------
@@ -563,6 +563,25 @@ create table sys_role_dept (
     primary key(role_id, dept_id)
 ) engine=innodb comment = '角色和部门关联表';
 
+-- ----------------------------
+-- 8.1、部门层级关系表  祖先1-N后代（包含自身）
+-- ----------------------------
+create table sys_dept_closure (
+    ancestor_id   bigint(20) not null comment '祖先部门ID',
+    descendant_id bigint(20) not null comment '后代部门ID',
+    depth         int(4)     not null comment '层级距离（自身为0）',
+    primary key(ancestor_id, descendant_id),
+    key idx_sys_dept_closure_d (descendant_id)
+) engine=innodb comment = '部门层级关系表';
+
+insert into sys_dept_closure (ancestor_id, descendant_id, depth)
+with recursive t (ancestor_id, descendant_id, depth) as (
+    select dept_id, dept_id, 0 from sys_dept where del_flag = '0'
+    union all
+    select t.ancestor_id, d.dept_id, t.depth + 1 from t join sys_dept d on d.parent_id = t.descendant_id and d.del_flag = '0'
+)
+select ancestor_id, descendant_id, depth from t;
+
 -- ----------------------------
 -- 9、用户与岗位关联表  用户1-N岗位
 -- ----------------------------
@@ -721,6 +740,7 @@ insert into sys_config values(2, '000000', '用户管理-账号初始密码',
 insert into sys_config values(3, '000000', '主框架页-侧边栏主题',          'sys.index.sideTheme',           'theme-dark',    'Y', 103, 1, sysdate(), null, null, '深色主题theme-dark，浅色主题theme-light' );
 insert into sys_config values(5, '000000', '账号自助-是否开启用户注册功能',  'sys.account.registerUser',      'false',         'Y', 103, 1, sysdate(), null, null, '是否开启注册用户功能（true开启，false关闭）');
 insert into sys_config values(11, '000000', 'OSS预览列表资源开关',         'sys.oss.previewListResource',   'true',          'Y', 103, 1, sysdate(), null, null, 'true:开启, false:关闭');
+insert into sys_config values(12, '000000', 'OSS下载重定向开关',          'sys.oss.downloadRedirect',      'false',         'Y', 103, 1, sysdate(), null, null, 'true:下载直接重定向到存储服务, false:经应用服务器转发');
 
 
 -- ----------------------------
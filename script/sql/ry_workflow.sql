@@ -237,6 +237,58 @@ create table flow_instance_biz_ext (
     PRIMARY KEY (id)
 )  ENGINE = InnoDB COMMENT '流程实例业务扩展表';
 
+-- ----------------------------
+-- 待办收件箱表
+-- ----------------------------
+create table flow_task_inbox (
+    id             bigint                       not null comment '任务id（抄送为历史任务id）',
+    processed_by   varchar(80)                  not null comment '办理人',
+    type           char(1)                      not null comment '人员类型（1审批人 2转办人 3委托人 4抄送人）',
+    instance_id    bigint                       not null comment '流程实例id',
+    definition_id  bigint                       null comment '流程定义id',
+    node_code      varchar(100)                 null comment '节点编码',
+    node_name      varchar(100)                 null comment '节点名称',
+    node_type      tinyint(1)                   null comment '节点类型',
+    form_custom    char(1)                      null comment '审批表单是否自定义（Y是 N否）',
+    form_path      varchar(100)                 null comment '审批表单路径',
+    flow_name      varchar(100)                 null comment '流程名称',
+    flow_code      varchar(40)                  null comment '流程编码',
+    category       varchar(100)                 null comment '流程类别',
+    version        varchar(20)                  null comment '流程版本',
+    business_id    varchar(40)                  null comment '业务id',
+    flow_status    varchar(20)                  null comment '流程状态',
+    create_by      varchar(64)                  null comment '流程发起人',
+    business_code  varchar(255)                 null comment '业务编码',
+    business_title varchar(1000)                null comment '业务标题',
+    create_time    datetime                     null comment '创建时间',
+    update_time    datetime                     null comment '更新时间',
+    tenant_id      varchar(40)                  null comment '租户编号',
+    PRIMARY KEY (id, processed_by, type),
+    KEY idx_flow_task_inbox_user (tenant_id, processed_by, flow_status, create_time),
+    KEY idx_flow_task_inbox_ins (instance_id)
+) ENGINE = InnoDB COMMENT '待办收件箱表';
+
+-- ----------------------------
+-- 流程消息发件箱表
+-- ----------------------------
+create table flow_message_outbox (
+    id             bigint                       not null comment '主键id',
+    tenant_id      varchar(20) default '000000' null comment '租户编号',
+    instance_id    bigint                       null comment '流程实例id',
+    message_type   varchar(20)                  not null comment '消息类型（system系统消息 email邮件 sms短信）',
+    subject        varchar(255)                 null comment '消息标题',
+    content        varchar(2000)                null comment '消息内容',
+    recipients     text                         null comment '接收人（逗号分隔）',
+    status         char(1)     default '0'      not null comment '状态（0待投递 1投递中 2已投递 3投递失败）',
+    retry_count    int         default 0        not null comment '已重试次数',
+    next_time      datetime                     null comment '下次投递时间',
+    error_msg      varchar(2000)                null comment '最近一次失败原因',
+    create_time    datetime                     null comment '创建时间',
+    update_time    datetime                     null comment '更新时间',
+    PRIMARY KEY (id),
+    KEY idx_flow_message_outbox_status (status, next_time)
+) ENGINE = InnoDB COMMENT '流程消息发件箱表';
+
 -- ----------------------------
 -- 请假单信息
 -- ----------------------------
@@ -923,6 +923,8 @@ INSERT sys_config VALUES (5, N'000000', N'账号自助-是否开启用户注册
 GO
 INSERT sys_config VALUES (11, N'000000', N'OSS预览列表资源开关', N'sys.oss.previewListResource', N'true', N'Y', 103, 1, getdate(), NULL, NULL, N'true:开启, false:关闭');
 GO
+INSERT sys_config VALUES (12, N'000000', N'OSS下载重定向开关', N'sys.oss.downloadRedirect', N'false', N'Y', 103, 1, getdate(), NULL, NULL, N'true:下载直接重定向到存储服务, false:经应用服务器转发');
+GO
 
 CREATE TABLE sys_dept
 (
@@ -2436,6 +2438,53 @@ EXEC sys.sp_addextendedproperty
     'TABLE', N'sys_role_dept'
 GO
 
+CREATE TABLE sys_dept_closure
+(
+    ancestor_id   bigint NOT NULL,
+    descendant_id bigint NOT NULL,
+    depth         int    NOT NULL,
+    CONSTRAINT PK__sys_dept_closure PRIMARY KEY CLUSTERED (ancestor_id, descendant_id)
+        WITH (PAD_INDEX = OFF, STATISTICS_NORECOMPUTE = OFF, IGNORE_DUP_KEY = OFF, ALLOW_ROW_LOCKS = ON, ALLOW_PAGE_LOCKS = ON)
+        ON [PRIMARY]
+)
+ON [PRIMARY]
+GO
+
+CREATE NONCLUSTERED INDEX idx_sys_dept_closure_d ON sys_dept_closure (descendant_id)
+GO
+
+EXEC sys.sp_addextendedproperty
+    'MS_Description', N'祖先部门ID' ,
+    'SCHEMA', N'dbo',
+    'TABLE', N'sys_dept_closure',
+    'COLUMN', N'ancestor_id'
+GO
+EXEC sys.sp_addextendedproperty
+    'MS_Description', N'后代部门ID' ,
+    'SCHEMA', N'dbo',
+    'TABLE', N'sys_dept_closure',
+    'COLUMN', N'descendant_id'
+GO
+EXEC sys.sp_addextendedproperty
+    'MS_Description', N'层级距离（自身为0）' ,
+    'SCHEMA', N'dbo',
+    'TABLE', N'sys_dept_closure',
+    'COLUMN', N'depth'
+GO
+EXEC sys.sp_addextendedproperty
+    'MS_Description', N'部门层级关系表' ,
+    'SCHEMA', N'dbo',
+    'TABLE', N'sys_dept_closure'
+GO
+
+WITH t (ancestor_id, descendant_id, depth) AS (
+    SELECT dept_id, dept_id, 0 FROM sys_dept WHERE del_flag = N'0'
+    UNION ALL
+    SELECT t.ancestor_id, d.dept_id, t.depth + 1 FROM t JOIN sys_dept d ON d.parent_id = t.descendant_id AND d.del_flag = N'0'
+)
+INSERT sys_dept_closure (ancestor_id, descendant_id, depth) SELECT ancestor_id, descendant_id, depth FROM t;
+GO
+
 CREATE TABLE sys_role_menu
 (
     role_id bigint NOT NULL,
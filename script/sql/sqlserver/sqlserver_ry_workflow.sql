@@ -1451,6 +1451,321 @@ EXEC sp_addextendedproperty
     'COLUMN', N'business_id'
 GO
 
+CREATE TABLE flow_task_inbox (
+   id             BIGINT         NOT NULL,
+   processed_by   VARCHAR(80)    NOT NULL,
+   type           CHAR(1)        NOT NULL,
+   instance_id    BIGINT         NOT NULL,
+   definition_id  BIGINT,
+   node_code      VARCHAR(100),
+   node_name      VARCHAR(100),
+   node_type      TINYINT,
+   form_custom    CHAR(1),
+   form_path      VARCHAR(100),
+   flow_name      VARCHAR(100),
+   flow_code      VARCHAR(40),
+   category       VARCHAR(100),
+   version        VARCHAR(20),
+   business_id    VARCHAR(40),
+   flow_status    VARCHAR(20),
+   create_by      VARCHAR(64),
+   business_code  VARCHAR(255),
+   business_title VARCHAR(1000),
+   create_time    DATETIME,
+   update_time    DATETIME,
+   tenant_id      VARCHAR(40),
+   CONSTRAINT PK__flow_task_inbox PRIMARY KEY CLUSTERED (id, processed_by, type)
+   WITH (PAD_INDEX = OFF, STATISTICS_NORECOMPUTE = OFF, IGNORE_DUP_KEY = OFF, ALLOW_ROW_LOCKS = ON, ALLOW_PAGE_LOCKS = ON)
+   ON [PRIMARY]
+);
+GO
+
+CREATE NONCLUSTERED INDEX idx_flow_task_inbox_user ON flow_task_inbox (tenant_id, processed_by, flow_status, create_time)
+GO
+
+CREATE NONCLUSTERED INDEX idx_flow_task_inbox_ins ON flow_task_inbox (instance_id)
+GO
+
+EXEC sp_addextendedproperty
+    'MS_Description', N'待办收件箱表',
+    'SCHEMA', N'dbo',
+    'TABLE', N'flow_task_inbox'
+GO
+
+EXEC sp_addextendedproperty
+    'MS_Description', N'任务id（抄送为历史任务id）',
+    'SCHEMA', N'dbo',
+    'TABLE', N'flow_task_inbox',
+    'COLUMN', N'id'
+GO
+
+EXEC sp_addextendedproperty
+    'MS_Description', N'办理人',
+    'SCHEMA', N'dbo',
+    'TABLE', N'flow_task_inbox',
+    'COLUMN', N'processed_by'
+GO
+
+EXEC sp_addextendedproperty
+    'MS_Description', N'人员类型（1审批人 2转办人 3委托人 4抄送人）',
+    'SCHEMA', N'dbo',
+    'TABLE', N'flow_task_inbox',
+    'COLUMN', N'type'
+GO
+
+EXEC sp_addextendedproperty
+    'MS_Description', N'流程实例id',
+    'SCHEMA', N'dbo',
+    'TABLE', N'flow_task_inbox',
+    'COLUMN', N'instance_id'
+GO
+
+EXEC sp_addextendedproperty
+    'MS_Description', N'流程定义id',
+    'SCHEMA', N'dbo',
+    'TABLE', N'flow_task_inbox',
+    'COLUMN', N'definition_id'
+GO
+
+EXEC sp_addextendedproperty
+    'MS_Description', N'节点编码',
+    'SCHEMA', N'dbo',
+    'TABLE', N'flow_task_inbox',
+    'COLUMN', N'node_code'
+GO
+
+EXEC sp_addextendedproperty
+    'MS_Description', N'节点名称',
+    'SCHEMA', N'dbo',
+    'TABLE', N'flow_task_inbox',
+    'COLUMN', N'node_name'
+GO
+
+EXEC sp_addextendedproperty
+    'MS_Description', N'节点类型',
+    'SCHEMA', N'dbo',
+    'TABLE', N'flow_task_inbox',
+    'COLUMN', N'node_type'
+GO
+
+EXEC sp_addextendedproperty
+    'MS_Description', N'审批表单是否自定义（Y是 N否）',
+    'SCHEMA', N'dbo',
+    'TABLE', N'flow_task_inbox',
+    'COLUMN', N'form_custom'
+GO
+
+EXEC sp_addextendedproperty
+    'MS_Description', N'审批表单路径',
+    'SCHEMA', N'dbo',
+    'TABLE', N'flow_task_inbox',
+    'COLUMN', N'form_path'
+GO
+
+EXEC sp_addextendedproperty
+    'MS_Description', N'流程名称',
+    'SCHEMA', N'dbo',
+    'TABLE', N'flow_task_inbox',
+    'COLUMN', N'flow_name'
+GO
+
+EXEC sp_addextendedproperty
+    'MS_Description', N'流程编码',
+    'SCHEMA', N'dbo',
+    'TABLE', N'flow_task_inbox',
+    'COLUMN', N'flow_code'
+GO
+
+EXEC sp_addextendedproperty
+    'MS_Description', N'流程类别',
+    'SCHEMA', N'dbo',
+    'TABLE', N'flow_task_inbox',
+    'COLUMN', N'category'
+GO
+
+EXEC sp_addextendedproperty
+    'MS_Description', N'流程版本',
+    'SCHEMA', N'dbo',
+    'TABLE', N'flow_task_inbox',
+    'COLUMN', N'version'
+GO
+
+EXEC sp_addextendedproperty
+    'MS_Description', N'业务id',
+    'SCHEMA', N'dbo',
+    'TABLE', N'flow_task_inbox',
+    'COLUMN', N'business_id'
+GO
+
+EXEC sp_addextendedproperty
+    'MS_Description', N'流程状态',
+    'SCHEMA', N'dbo',
+    'TABLE', N'flow_task_inbox',
+    'COLUMN', N'flow_status'
+GO
+
+EXEC sp_addextendedproperty
+    'MS_Description', N'流程发起人',
+    'SCHEMA', N'dbo',
+    'TABLE', N'flow_task_inbox',
+    'COLUMN', N'create_by'
+GO
+
+EXEC sp_addextendedproperty
+    'MS_Description', N'业务编码',
+    'SCHEMA', N'dbo',
+    'TABLE', N'flow_task_inbox',
+    'COLUMN', N'business_code'
+GO
+
+EXEC sp_addextendedproperty
+    'MS_Description', N'业务标题',
+    'SCHEMA', N'dbo',
+    'TABLE', N'flow_task_inbox',
+    'COLUMN', N'business_title'
+GO
+
+EXEC sp_addextendedproperty
+    'MS_Description', N'创建时间',
+    'SCHEMA', N'dbo',
+    'TABLE', N'flow_task_inbox',
+    'COLUMN', N'create_time'
+GO
+
+EXEC sp_addextendedproperty
+    'MS_Description', N'更新时间',
+    'SCHEMA', N'dbo',
+    'TABLE', N'flow_task_inbox',
+    'COLUMN', N'update_time'
+GO
+
+EXEC sp_addextendedproperty
+    'MS_Description', N'租户编号',
+    'SCHEMA', N'dbo',
+    'TABLE', N'flow_task_inbox',
+    'COLUMN', N'tenant_id'
+GO
+
+CREATE TABLE flow_message_outbox (
+   id             BIGINT         NOT NULL,
+   tenant_id      VARCHAR(20)    DEFAULT ('000000'),
+   instance_id    BIGINT,
+   message_type   VARCHAR(20)    NOT NULL,
+   subject        NVARCHAR(255),
+   content        NVARCHAR(2000),
+   recipients     NVARCHAR(max),
+   status         CHAR(1)        DEFAULT ('0') NOT NULL,
+   retry_count    INT            DEFAULT ((0)) NOT NULL,
+   next_time      DATETIME,
+   error_msg      NVARCHAR(2000),
+   create_time    DATETIME,
+   update_time    DATETIME,
+   CONSTRAINT PK__flow_message_outbox PRIMARY KEY CLUSTERED (id)
+   WITH (PAD_INDEX = OFF, STATISTICS_NORECOMPUTE = OFF, IGNORE_DUP_KEY = OFF, ALLOW_ROW_LOCKS = ON, ALLOW_PAGE_LOCKS = ON)
+   ON [PRIMARY]
+);
+GO
+
+CREATE NONCLUSTERED INDEX idx_flow_message_outbox_status ON flow_message_outbox (status, next_time)
+GO
+
+EXEC sp_addextendedproperty
+    'MS_Description', N'流程消息发件箱表',
+    'SCHEMA', N'dbo',
+    'TABLE', N'flow_message_outbox'
+GO
+
+EXEC sp_addextendedproperty
+    'MS_Description', N'主键id',
+    'SCHEMA', N'dbo',
+    'TABLE', N'flow_message_outbox',
+    'COLUMN', N'id'
+GO
+
+EXEC sp_addextendedproperty
+    'MS_Description', N'租户编号',
+    'SCHEMA', N'dbo',
+    'TABLE', N'flow_message_outbox',
+    'COLUMN', N'tenant_id'
+GO
+
+EXEC sp_addextendedproperty
+    'MS_Description', N'流程实例id',
+    'SCHEMA', N'dbo',
+    'TABLE', N'flow_message_outbox',
+    'COLUMN', N'instance_id'
+GO
+
+EXEC sp_addextendedproperty
+    'MS_Description', N'消息类型（system系统消息 email邮件 sms短信）',
+    'SCHEMA', N'dbo',
+    'TABLE', N'flow_message_outbox',
+    'COLUMN', N'message_type'
+GO
+
+EXEC sp_addextendedproperty
+    'MS_Description', N'消息标题',
+    'SCHEMA', N'dbo',
+    'TABLE', N'flow_message_outbox',
+    'COLUMN', N'subject'
+GO
+
+EXEC sp_addextendedproperty
+    'MS_Description', N'消息内容',
+    'SCHEMA', N'dbo',
+    'TABLE', N'flow_message_outbox',
+    'COLUMN', N'content'
+GO
+
+EXEC sp_addextendedproperty
+    'MS_Description', N'接收人（逗号分隔）',
+    'SCHEMA', N'dbo',
+    'TABLE', N'flow_message_outbox',
+    'COLUMN', N'recipients'
+GO
+
+EXEC sp_addextendedproperty
+    'MS_Description', N'状态（0待投递 1投递中 2已投递 3投递失败）',
+    'SCHEMA', N'dbo',
+    'TABLE', N'flow_message_outbox',
+    'COLUMN', N'status'
+GO
+
+EXEC sp_addextendedproperty
+    'MS_Description', N'已重试次数',
+    'SCHEMA', N'dbo',
+    'TABLE', N'flow_message_outbox',
+    'COLUMN', N'retry_count'
+GO
+
+EXEC sp_addextendedproperty
+    'MS_Description', N'下次投递时间',
+    'SCHEMA', N'dbo',
+    'TABLE', N'flow_message_outbox',
+    'COLUMN', N'next_time'
+GO
+
+EXEC sp_addextendedproperty
+    'MS_Description', N'最近一次失败原因',
+    'SCHEMA', N'dbo',
+    'TABLE', N'flow_message_outbox',
+    'COLUMN', N'error_msg'
+GO
+
+EXEC sp_addextendedproperty
+    'MS_Description', N'创建时间',
+    'SCHEMA', N'dbo',
+    'TABLE', N'flow_message_outbox',
+    'COLUMN', N'create_time'
+GO
+
+EXEC sp_addextendedproperty
+    'MS_Description', N'更新时间',
+    'SCHEMA', N'dbo',
+    'TABLE', N'flow_message_outbox',
+    'COLUMN', N'update_time'
+GO
+
 CREATE TABLE test_leave (
     id bigint NOT NULL,
     tenant_id nvarchar(20) DEFAULT('000000') NULL,
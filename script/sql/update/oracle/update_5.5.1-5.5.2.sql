@@ -0,0 +1,149 @@
+insert into sys_config values(12, '000000', 'OSS下载重定向开关', 'sys.oss.downloadRedirect', 'false', 'Y', 103, 1, sysdate, null, null, 'true:下载直接重定向到存储服务, false:经应用服务器转发');
+
+-- ----------------------------
+-- 8.1、部门层级关系表  祖先1-N后代（包含自身）
+-- ----------------------------
+create table sys_dept_closure (
+  ancestor_id    number(20)  not null,
+  descendant_id  number(20)  not null,
+  depth          number(4)   not null
+);
+
+alter table sys_dept_closure add constraint pk_sys_dept_closure primary key (ancestor_id, descendant_id);
+create index idx_sys_dept_closure_d on sys_dept_closure (descendant_id);
+
+comment on table  sys_dept_closure                is '部门层级关系表';
+comment on column sys_dept_closure.ancestor_id    is '祖先部门ID';
+comment on column sys_dept_closure.descendant_id  is '后代部门ID';
+comment on column sys_dept_closure.depth          is '层级距离（自身为0）';
+
+insert into sys_dept_closure (ancestor_id, descendant_id, depth)
+with t (ancestor_id, descendant_id, depth) as (
+    select dept_id, dept_id, 0 from sys_dept where del_flag = '0'
+    union all
+    select t.ancestor_id, d.dept_id, t.depth + 1 from t join sys_dept d on d.parent_id = t.descendant_id and d.del_flag = '0'
+)
+select ancestor_id, descendant_id, depth from t;
+
+-- ----------------------------
+-- 待办收件箱表
+-- ----------------------------
+CREATE TABLE flow_task_inbox (
+   id             NUMBER(20)     NOT NULL,
+   processed_by   VARCHAR2(80)   NOT NULL,
+   type           CHAR(1)        NOT NULL,
+   instance_id    NUMBER(20)     NOT NULL,
+   definition_id  NUMBER(20),
+   node_code      VARCHAR2(100),
+   node_name      VARCHAR2(100),
+   node_type      NUMBER(1),
+   form_custom    CHAR(1),
+   form_path      VARCHAR2(100),
+   flow_name      VARCHAR2(100),
+   flow_code      VARCHAR2(40),
+   category       VARCHAR2(100),
+   version        VARCHAR2(20),
+   business_id    VARCHAR2(40),
+   flow_status    VARCHAR2(20),
+   create_by      VARCHAR2(64),
+   business_code  VARCHAR2(255),
+   business_title VARCHAR2(1000),
+   create_time    TIMESTAMP,
+   update_time    TIMESTAMP,
+   tenant_id      VARCHAR2(40)
+);
+
+alter table flow_task_inbox add constraint pk_flow_task_inbox primary key (id, processed_by, type);
+create index idx_flow_task_inbox_user on flow_task_inbox (tenant_id, processed_by, flow_status, create_time);
+create index idx_flow_task_inbox_ins on flow_task_inbox (instance_id);
+
+COMMENT ON TABLE flow_task_inbox IS '待办收件箱表';
+COMMENT ON COLUMN flow_task_inbox.id IS '任务id（抄送为历史任务id）';
+COMMENT ON COLUMN flow_task_inbox.processed_by IS '办理人';
+COMMENT ON COLUMN flow_task_inbox.type IS '人员类型（1审批人 2转办人 3委托人 4抄送人）';
+COMMENT ON COLUMN flow_task_inbox.instance_id IS '流程实例id';
+COMMENT ON COLUMN flow_task_inbox.definition_id IS '流程定义id';
+COMMENT ON COLUMN flow_task_inbox.node_code IS '节点编码';
+COMMENT ON COLUMN flow_task_inbox.node_name IS '节点名称';
+COMMENT ON COLUMN flow_task_inbox.node_type IS '节点类型';
+COMMENT ON COLUMN flow_task_inbox.form_custom IS '审批表单是否自定义（Y是 N否）';
+COMMENT ON COLUMN flow_task_inbox.form_path IS '审批表单路径';
+COMMENT ON COLUMN flow_task_inbox.flow_name IS '流程名称';
+COMMENT ON COLUMN flow_task_inbox.flow_code IS '流程编码';
+COMMENT ON COLUMN flow_task_inbox.category IS '流程类别';
+COMMENT ON COLUMN flow_task_inbox.version IS '流程版本';
+COMMENT ON COLUMN flow_task_inbox.business_id IS '业务id';
+COMMENT ON COLUMN flow_task_inbox.flow_status IS '流程状态';
+COMMENT ON COLUMN flow_task_inbox.create_by IS '流程发起人';
+COMMENT ON COLUMN flow_task_inbox.business_code IS '业务编码';
+COMMENT ON COLUMN flow_task_inbox.business_title IS '业务标题';
+COMMENT ON COLUMN flow_task_inbox.create_time IS '创建时间';
+COMMENT ON COLUMN flow_task_inbox.update_time IS '更新时间';
+COMMENT ON COLUMN flow_task_inbox.tenant_id IS '租户编号';
+
+insert into flow_task_inbox (id, processed_by, type, instance_id, definition_id, node_code, node_name, node_type, form_custom, form_path, flow_name, flow_code, category, version, business_id, flow_status, create_by, business_code, business_title, create_time, update_time, tenant_id)
+select distinct t.id, uu.processed_by, uu.type, t.instance_id, t.definition_id, t.node_code, t.node_name, t.node_type,
+       d.form_custom, COALESCE(t.form_path, d.form_path), d.flow_name, d.flow_code, d.category, d.version,
+       i.business_id, i.flow_status, i.create_by, biz.business_code, biz.business_title, t.create_time, t.update_time, t.tenant_id
+from flow_task t
+         inner join flow_user uu on uu.associated = t.id
+         left join flow_definition d on t.definition_id = d.id
+         left join flow_instance i on t.instance_id = i.id
+         left join flow_instance_biz_ext biz on biz.instance_id = i.id and biz.del_flag = '0'
+where t.node_type = 1
+  and t.del_flag = '0'
+  and uu.del_flag = '0'
+  and uu.type in ('1', '2', '3')
+  and uu.processed_by is not null;
+
+insert into flow_task_inbox (id, processed_by, type, instance_id, definition_id, node_code, node_name, node_type, form_custom, form_path, flow_name, flow_code, category, version, business_id, flow_status, create_by, business_code, business_title, create_time, update_time, tenant_id)
+select distinct b.id, a.processed_by, a.type, b.instance_id, b.definition_id, b.node_code, b.node_name, b.node_type,
+       b.form_custom, b.form_path, d.flow_name, d.flow_code, d.category, d.version,
+       c.business_id, c.flow_status, c.create_by, biz.business_code, biz.business_title, a.create_time, b.update_time, a.tenant_id
+from flow_user a
+         inner join flow_his_task b on a.associated = b.task_id
+         left join flow_instance c on b.instance_id = c.id
+         left join flow_definition d on c.definition_id = d.id
+         left join flow_instance_biz_ext biz on biz.instance_id = c.id and biz.del_flag = '0'
+where a.type = '4'
+  and a.del_flag = '0'
+  and b.del_flag = '0'
+  and d.del_flag = '0'
+  and a.processed_by is not null;
+
+-- ----------------------------
+-- 流程消息发件箱表
+-- ----------------------------
+CREATE TABLE flow_message_outbox (
+   id             NUMBER(20)     NOT NULL,
+   tenant_id      VARCHAR2(20)   DEFAULT '000000',
+   instance_id    NUMBER(20),
+   message_type   VARCHAR2(20)   NOT NULL,
+   subject        VARCHAR2(255),
+   content        VARCHAR2(2000),
+   recipients     CLOB,
+   status         CHAR(1)        DEFAULT '0' NOT NULL,
+   retry_count    NUMBER(10)     DEFAULT 0 NOT NULL,
+   next_time      TIMESTAMP,
+   error_msg      VARCHAR2(2000),
+   create_time    TIMESTAMP,
+   update_time    TIMESTAMP
+);
+
+alter table flow_message_outbox add constraint pk_flow_message_outbox primary key (id);
+create index idx_flow_message_outbox_status on flow_message_outbox (status, next_time);
+
+COMMENT ON TABLE flow_message_outbox IS '流程消息发件箱表';
+COMMENT ON COLUMN flow_message_outbox.id IS '主键id';
+COMMENT ON COLUMN flow_message_outbox.tenant_id IS '租户编号';
+COMMENT ON COLUMN flow_message_outbox.instance_id IS '流程实例id';
+COMMENT ON COLUMN flow_message_outbox.message_type IS '消息类型（system系统消息 email邮件 sms短信）';
+COMMENT ON COLUMN flow_message_outbox.subject IS '消息标题';
+COMMENT ON COLUMN flow_message_outbox.content IS '消息内容';
+COMMENT ON COLUMN flow_message_outbox.recipients IS '接收人（逗号分隔）';
+COMMENT ON COLUMN flow_message_outbox.status IS '状态（0待投递 1投递中 2已投递 3投递失败）';
+COMMENT ON COLUMN flow_message_outbox.retry_count IS '已重试次数';
+COMMENT ON COLUMN flow_message_outbox.next_time IS '下次投递时间';
+COMMENT ON COLUMN flow_message_outbox.error_msg IS '最近一次失败原因';
+COMMENT ON COLUMN flow_message_outbox.create_time IS '创建时间';
+COMMENT ON COLUMN flow_message_outbox.update_time IS '更新时间';
@@ -0,0 +1,396 @@
+INSERT sys_config VALUES (12, N'000000', N'OSS下载重定向开关', N'sys.oss.downloadRedirect', N'false', N'Y', 103, 1, getdate(), NULL, NULL, N'true:下载直接重定向到存储服务, false:经应用服务器转发');
+GO
+
+CREATE TABLE sys_dept_closure
+(
+    ancestor_id   bigint NOT NULL,
+    descendant_id bigint NOT NULL,
+    depth         int    NOT NULL,
+    CONSTRAINT PK__sys_dept_closure PRIMARY KEY CLUSTERED (ancestor_id, descendant_id)
+        WITH (PAD_INDEX = OFF, STATISTICS_NORECOMPUTE = OFF, IGNORE_DUP_KEY = OFF, ALLOW_ROW_LOCKS = ON, ALLOW_PAGE_LOCKS = ON)
+        ON [PRIMARY]
+)
+ON [PRIMARY]
+GO
+
+CREATE NONCLUSTERED INDEX idx_sys_dept_closure_d ON sys_dept_closure (descendant_id)
+GO
+
+EXEC sys.sp_addextendedproperty
+    'MS_Description', N'祖先部门ID' ,
+    'SCHEMA', N'dbo',
+    'TABLE', N'sys_dept_closure',
+    'COLUMN', N'ancestor_id'
+GO
+EXEC sys.sp_addextendedproperty
+    'MS_Description', N'后代部门ID' ,
+    'SCHEMA', N'dbo',
+    'TABLE', N'sys_dept_closure',
+    'COLUMN', N'descendant_id'
+GO
+EXEC sys.sp_addextendedproperty
+    'MS_Description', N'层级距离（自身为0）' ,
+    'SCHEMA', N'dbo',
+    'TABLE', N'sys_dept_closure',
+    'COLUMN', N'depth'
+GO
+EXEC sys.sp_addextendedproperty
+    'MS_Description', N'部门层级关系表' ,
+    'SCHEMA', N'dbo',
+    'TABLE', N'sys_dept_closure'
+GO
+
+WITH t (ancestor_id, descendant_id, depth) AS (
+    SELECT dept_id, dept_id, 0 FROM sys_dept WHERE del_flag = N'0'
+    UNION ALL
+    SELECT t.ancestor_id, d.dept_id, t.depth + 1 FROM t JOIN sys_dept d ON d.parent_id = t.descendant_id AND d.del_flag = N'0'
+)
+INSERT sys_dept_closure (ancestor_id, descendant_id, depth) SELECT ancestor_id, descendant_id, depth FROM t;
+GO
+
+CREATE TABLE flow_task_inbox (
+   id             BIGINT         NOT NULL,
+   processed_by   VARCHAR(80)    NOT NULL,
+   type           CHAR(1)        NOT NULL,
+   instance_id    BIGINT         NOT NULL,
+   definition_id  BIGINT,
+   node_code      VARCHAR(100),
+   node_name      VARCHAR(100),
+   node_type      TINYINT,
+   form_custom    CHAR(1),
+   form_path      VARCHAR(100),
+   flow_name      VARCHAR(100),
+   flow_code      VARCHAR(40),
+   category       VARCHAR(100),
+   version        VARCHAR(20),
+   business_id    VARCHAR(40),
+   flow_status    VARCHAR(20),
+   create_by      VARCHAR(64),
+   business_code  VARCHAR(255),
+   business_title VARCHAR(1000),
+   create_time    DATETIME,
+   update_time    DATETIME,
+   tenant_id      VARCHAR(40),
+   CONSTRAINT PK__flow_task_inbox PRIMARY KEY CLUSTERED (id, processed_by, type)
+   WITH (PAD_INDEX = OFF, STATISTICS_NORECOMPUTE = OFF, IGNORE_DUP_KEY = OFF, ALLOW_ROW_LOCKS = ON, ALLOW_PAGE_LOCKS = ON)
+   ON [PRIMARY]
+);
+GO
+
+CREATE NONCLUSTERED INDEX idx_flow_task_inbox_user ON flow_task_inbox (tenant_id, processed_by, flow_status, create_time)
+GO
+
+CREATE NONCLUSTERED INDEX idx_flow_task_inbox_ins ON flow_task_inbox (instance_id)
+GO
+
+EXEC sp_addextendedproperty
+    'MS_Description', N'待办收件箱表',
+    'SCHEMA', N'dbo',
+    'TABLE', N'flow_task_inbox'
+GO
+
+EXEC sp_addextendedproperty
+    'MS_Description', N'任务id（抄送为历史任务id）',
+    'SCHEMA', N'dbo',
+    'TABLE', N'flow_task_inbox',
+    'COLUMN', N'id'
+GO
+
+EXEC sp_addextendedproperty
+    'MS_Description', N'办理人',
+    'SCHEMA', N'dbo',
+    'TABLE', N'flow_task_inbox',
+    'COLUMN', N'processed_by'
+GO
+
+EXEC sp_addextendedproperty
+    'MS_Description', N'人员类型（1审批人 2转办人 3委托人 4抄送人）',
+    'SCHEMA', N'dbo',
+    'TABLE', N'flow_task_inbox',
+    'COLUMN', N'type'
+GO
+
+EXEC sp_addextendedproperty
+    'MS_Description', N'流程实例id',
+    'SCHEMA', N'dbo',
+    'TABLE', N'flow_task_inbox',
+    'COLUMN', N'instance_id'
+GO
+
+EXEC sp_addextendedproperty
+    'MS_Description', N'流程定义id',
+    'SCHEMA', N'dbo',
+    'TABLE', N'flow_task_inbox',
+    'COLUMN', N'definition_id'
+GO
+
+EXEC sp_addextendedproperty
+    'MS_Description', N'节点编码',
+    'SCHEMA', N'dbo',
+    'TABLE', N'flow_task_inbox',
+    'COLUMN', N'node_code'
+GO
+
+EXEC sp_addextendedproperty
+    'MS_Description', N'节点名称',
+    'SCHEMA', N'dbo',
+    'TABLE', N'flow_task_inbox',
+    'COLUMN', N'node_name'
+GO
+
+EXEC sp_addextendedproperty
+    'MS_Description', N'节点类型',
+    'SCHEMA', N'dbo',
+    'TABLE', N'flow_task_inbox',
+    'COLUMN', N'node_type'
+GO
+
+EXEC sp_addextendedproperty
+    'MS_Description', N'审批表单是否自定义（Y是 N否）',
+    'SCHEMA', N'dbo',
+    'TABLE', N'flow_task_inbox',
+    'COLUMN', N'form_custom'
+GO
+
+EXEC sp_addextendedproperty
+    'MS_Description', N'审批表单路径',
+    'SCHEMA', N'dbo',
+    'TABLE', N'flow_task_inbox',
+    'COLUMN', N'form_path'
+GO
+
+EXEC sp_addextendedproperty
+    'MS_Description', N'流程名称',
+    'SCHEMA', N'dbo',
+    'TABLE', N'flow_task_inbox',
+    'COLUMN', N'flow_name'
+GO
+
+EXEC sp_addextendedproperty
+    'MS_Description', N'流程编码',
+    'SCHEMA', N'dbo',
+    'TABLE', N'flow_task_inbox',
+    'COLUMN', N'flow_code'
+GO
+
+EXEC sp_addextendedproperty
+    'MS_Description', N'流程类别',
+    'SCHEMA', N'dbo',
+    'TABLE', N'flow_task_inbox',
+    'COLUMN', N'category'
+GO
+
+EXEC sp_addextendedproperty
+    'MS_Description', N'流程版本',
+    'SCHEMA', N'dbo',
+    'TABLE', N'flow_task_inbox',
+    'COLUMN', N'version'
+GO
+
+EXEC sp_addextendedproperty
+    'MS_Description', N'业务id',
+    'SCHEMA', N'dbo',
+    'TABLE', N'flow_task_inbox',
+    'COLUMN', N'business_id'
+GO
+
+EXEC sp_addextendedproperty
+    'MS_Description', N'流程状态',
+    'SCHEMA', N'dbo',
+    'TABLE', N'flow_task_inbox',
+    'COLUMN', N'flow_status'
+GO
+
+EXEC sp_addextendedproperty
+    'MS_Description', N'流程发起人',
+    'SCHEMA', N'dbo',
+    'TABLE', N'flow_task_inbox',
+    'COLUMN', N'create_by'
+GO
+
+EXEC sp_addextendedproperty
+    'MS_Description', N'业务编码',
+    'SCHEMA', N'dbo',
+    'TABLE', N'flow_task_inbox',
+    'COLUMN', N'business_code'
+GO
+
+EXEC sp_addextendedproperty
+    'MS_Description', N'业务标题',
+    'SCHEMA', N'dbo',
+    'TABLE', N'flow_task_inbox',
+    'COLUMN', N'business_title'
+GO
+
+EXEC sp_addextendedproperty
+    'MS_Description', N'创建时间',
+    'SCHEMA', N'dbo',
+    'TABLE', N'flow_task_inbox',
+    'COLUMN', N'create_time'
+GO
+
+EXEC sp_addextendedproperty
+    'MS_Description', N'更新时间',
+    'SCHEMA', N'dbo',
+    'TABLE', N'flow_task_inbox',
+    'COLUMN', N'update_time'
+GO
+
+EXEC sp_addextendedproperty
+    'MS_Description', N'租户编号',
+    'SCHEMA', N'dbo',
+    'TABLE', N'flow_task_inbox',
+    'COLUMN', N'tenant_id'
+GO
+
+INSERT flow_task_inbox (id, processed_by, type, instance_id, definition_id, node_code, node_name, node_type, form_custom, form_path, flow_name, flow_code, category, version, business_id, flow_status, create_by, business_code, business_title, create_time, update_time, tenant_id)
+select distinct t.id, uu.processed_by, uu.type, t.instance_id, t.definition_id, t.node_code, t.node_name, t.node_type,
+       d.form_custom, COALESCE(t.form_path, d.form_path), d.flow_name, d.flow_code, d.category, d.version,
+       i.business_id, i.flow_status, i.create_by, biz.business_code, biz.business_title, t.create_time, t.update_time, t.tenant_id
+from flow_task t
+         inner join flow_user uu on uu.associated = t.id
+         left join flow_definition d on t.definition_id = d.id
+         left join flow_instance i on t.instance_id = i.id
+         left join flow_instance_biz_ext biz on biz.instance_id = i.id and biz.del_flag = '0'
+where t.node_type = 1
+  and t.del_flag = '0'
+  and uu.del_flag = '0'
+  and uu.type in ('1', '2', '3')
+  and uu.processed_by is not null
+GO
+
+INSERT flow_task_inbox (id, processed_by, type, instance_id, definition_id, node_code, node_name, node_type, form_custom, form_path, flow_name, flow_code, category, version, business_id, flow_status, create_by, business_code, business_title, create_time, update_time, tenant_id)
+select distinct b.id, a.processed_by, a.type, b.instance_id, b.definition_id, b.node_code, b.node_name, b.node_type,
+       b.form_custom, b.form_path, d.flow_name, d.flow_code, d.category, d.version,
+       c.business_id, c.flow_status, c.create_by, biz.business_code, biz.business_title, a.create_time, b.update_time, a.tenant_id
+from flow_user a
+         inner join flow_his_task b on a.associated = b.task_id
+         left join flow_instance c on b.instance_id = c.id
+         left join flow_definition d on c.definition_id = d.id
+         left join flow_instance_biz_ext biz on biz.instance_id = c.id and biz.del_flag = '0'
+where a.type = '4'
+  and a.del_flag = '0'
+  and b.del_flag = '0'
+  and d.del_flag = '0'
+  and a.processed_by is not null
+GO
+
+CREATE TABLE flow_message_outbox (
+   id             BIGINT         NOT NULL,
+   tenant_id      VARCHAR(20)    DEFAULT ('000000'),
+   instance_id    BIGINT,
+   message_type   VARCHAR(20)    NOT NULL,
+   subject        NVARCHAR(255),
+   content        NVARCHAR(2000),
+   recipients     NVARCHAR(max),
+   status         CHAR(1)        DEFAULT ('0') NOT NULL,
+   retry_count    INT            DEFAULT ((0)) NOT NULL,
+   next_time      DATETIME,
+   error_msg      NVARCHAR(2000),
+   create_time    DATETIME,
+   update_time    DATETIME,
+   CONSTRAINT PK__flow_message_outbox PRIMARY KEY CLUSTERED (id)
+   WITH (PAD_INDEX = OFF, STATISTICS_NORECOMPUTE = OFF, IGNORE_DUP_KEY = OFF, ALLOW_ROW_LOCKS = ON, ALLOW_PAGE_LOCKS = ON)
+   ON [PRIMARY]
+);
+GO
+
+CREATE NONCLUSTERED INDEX idx_flow_message_outbox_status ON flow_message_outbox (status, next_time)
+GO
+
+EXEC sp_addextendedproperty
+    'MS_Description', N'流程消息发件箱表',
+    'SCHEMA', N'dbo',
+    'TABLE', N'flow_message_outbox'
+GO
+
+EXEC sp_addextendedproperty
+    'MS_Description', N'主键id',
+    'SCHEMA', N'dbo',
+    'TABLE', N'flow_message_outbox',
+    'COLUMN', N'id'
+GO
+
+EXEC sp_addextendedproperty
+    'MS_Description', N'租户编号',
+    'SCHEMA', N'dbo',
+    'TABLE', N'flow_message_outbox',
+    'COLUMN', N'tenant_id'
+GO
+
+EXEC sp_addextendedproperty
+    'MS_Description', N'流程实例id',
+    'SCHEMA', N'dbo',
+    'TABLE', N'flow_message_outbox',
+    'COLUMN', N'instance_id'
+GO
+
+EXEC sp_addextendedproperty
+    'MS_Description', N'消息类型（system系统消息 email邮件 sms短信）',
+    'SCHEMA', N'dbo',
+    'TABLE', N'flow_message_outbox',
+    'COLUMN', N'message_type'
+GO
+
+EXEC sp_addextendedproperty
+    'MS_Description', N'消息标题',
+    'SCHEMA', N'dbo',
+    'TABLE', N'flow_message_outbox',
+    'COLUMN', N'subject'
+GO
+
+EXEC sp_addextendedproperty
+    'MS_Description', N'消息内容',
+    'SCHEMA', N'dbo',
+    'TABLE', N'flow_message_outbox',
+    'COLUMN', N'content'
+GO
+
+EXEC sp_addextendedproperty
+    'MS_Description', N'接收人（逗号分隔）',
+    'SCHEMA', N'dbo',
+    'TABLE', N'flow_message_outbox',
+    'COLUMN', N'recipients'
+GO
+
+EXEC sp_addextendedproperty
+    'MS_Description', N'状态（0待投递 1投递中 2已投递 3投递失败）',
+    'SCHEMA', N'dbo',
+    'TABLE', N'flow_message_outbox',
+    'COLUMN', N'status'
+GO
+
+EXEC sp_addextendedproperty
+    'MS_Description', N'已重试次数',
+    'SCHEMA', N'dbo',
+    'TABLE', N'flow_message_outbox',
+    'COLUMN', N'retry_count'
+GO
+
+EXEC sp_addextendedproperty
+    'MS_Description', N'下次投递时间',
+    'SCHEMA', N'dbo',
+    'TABLE', N'flow_message_outbox',
+    'COLUMN', N'next_time'
+GO
+
+EXEC sp_addextendedproperty
+    'MS_Description', N'最近一次失败原因',
+    'SCHEMA', N'dbo',
+    'TABLE', N'flow_message_outbox',
+    'COLUMN', N'error_msg'
+GO
+
+EXEC sp_addextendedproperty
+    'MS_Description', N'创建时间',
+    'SCHEMA', N'dbo',
+    'TABLE', N'flow_message_outbox',
+    'COLUMN', N'create_time'
+GO
+
+EXEC sp_addextendedproperty
+    'MS_Description', N'更新时间',
+    'SCHEMA', N'dbo',
+    'TABLE', N'flow_message_outbox',
+    'COLUMN', N'update_time'
+GO
@@ -0,0 +1,102 @@
+insert into sys_config values(12, '000000', 'OSS下载重定向开关', 'sys.oss.downloadRedirect', 'false', 'Y', 103, 1, sysdate(), null, null, 'true:下载直接重定向到存储服务, false:经应用服务器转发');
+
+-- ----------------------------
+-- 8.1、部门层级关系表  祖先1-N后代（包含自身）
+-- ----------------------------
+create table sys_dept_closure (
+    ancestor_id   bigint(20) not null comment '祖先部门ID',
+    descendant_id bigint(20) not null comment '后代部门ID',
+    depth         int(4)     not null comment '层级距离（自身为0）',
+    primary key(ancestor_id, descendant_id),
+    key idx_sys_dept_closure_d (descendant_id)
+) engine=innodb comment = '部门层级关系表';
+
+insert into sys_dept_closure (ancestor_id, descendant_id, depth)
+with recursive t (ancestor_id, descendant_id, depth) as (
+    select dept_id, dept_id, 0 from sys_dept where del_flag = '0'
+    union all
+    select t.ancestor_id, d.dept_id, t.depth + 1 from t join sys_dept d on d.parent_id = t.descendant_id and d.del_flag = '0'
+)
+select ancestor_id, descendant_id, depth from t;
+
+-- ----------------------------
+-- 待办收件箱表
+-- ----------------------------
+create table flow_task_inbox (
+    id             bigint                       not null comment '任务id（抄送为历史任务id）',
+    processed_by   varchar(80)                  not null comment '办理人',
+    type           char(1)                      not null comment '人员类型（1审批人 2转办人 3委托人 4抄送人）',
+    instance_id    bigint                       not null comment '流程实例id',
+    definition_id  bigint                       null comment '流程定义id',
+    node_code      varchar(100)                 null comment '节点编码',
+    node_name      varchar(100)                 null comment '节点名称',
+    node_type      tinyint(1)                   null comment '节点类型',
+    form_custom    char(1)                      null comment '审批表单是否自定义（Y是 N否）',
+    form_path      varchar(100)                 null comment '审批表单路径',
+    flow_name      varchar(100)                 null comment '流程名称',
+    flow_code      varchar(40)                  null comment '流程编码',
+    category       varchar(100)                 null comment '流程类别',
+    version        varchar(20)                  null comment '流程版本',
+    business_id    varchar(40)                  null comment '业务id',
+    flow_status    varchar(20)                  null comment '流程状态',
+    create_by      varchar(64)                  null comment '流程发起人',
+    business_code  varchar(255)                 null comment '业务编码',
+    business_title varchar(1000)                null comment '业务标题',
+    create_time    datetime                     null comment '创建时间',
+    update_time    datetime                     null comment '更新时间',
+    tenant_id      varchar(40)                  null comment '租户编号',
+    PRIMARY KEY (id, processed_by, type),
+    KEY idx_flow_task_inbox_user (tenant_id, processed_by, flow_status, create_time),
+    KEY idx_flow_task_inbox_ins (instance_id)
+) ENGINE = InnoDB COMMENT '待办收件箱表';
+
+insert into flow_task_inbox (id, processed_by, type, instance_id, definition_id, node_code, node_name, node_type, form_custom, form_path, flow_name, flow_code, category, version, business_id, flow_status, create_by, business_code, business_title, create_time, update_time, tenant_id)
+select distinct t.id, uu.processed_by, uu.type, t.instance_id, t.definition_id, t.node_code, t.node_name, t.node_type,
+       d.form_custom, COALESCE(t.form_path, d.form_path), d.flow_name, d.flow_code, d.category, d.version,
+       i.business_id, i.flow_status, i.create_by, biz.business_code, biz.business_title, t.create_time, t.update_time, t.tenant_id
+from flow_task t
+         inner join flow_user uu on uu.associated = t.id
+         left join flow_definition d on t.definition_id = d.id
+         left join flow_instance i on t.instance_id = i.id
+         left join flow_instance_biz_ext biz on biz.instance_id = i.id and biz.del_flag = '0'
+where t.node_type = 1
+  and t.del_flag = '0'
+  and uu.del_flag = '0'
+  and uu.type in ('1', '2', '3')
+  and uu.processed_by is not null;
+
+insert into flow_task_inbox (id, processed_by, type, instance_id, definition_id, node_code, node_name, node_type, form_custom, form_path, flow_name, flow_code, category, version, business_id, flow_status, create_by, business_code, business_title, create_time, update_time, tenant_id)
+select distinct b.id, a.processed_by, a.type, b.instance_id, b.definition_id, b.node_code, b.node_name, b.node_type,
+       b.form_custom, b.form_path, d.flow_name, d.flow_code, d.category, d.version,
+       c.business_id, c.flow_status, c.create_by, biz.business_code, biz.business_title, a.create_time, b.update_time, a.tenant_id
+from flow_user a
+         inner join flow_his_task b on a.associated = b.task_id
+         left join flow_instance c on b.instance_id = c.id
+         left join flow_definition d on c.definition_id = d.id
+         left join flow_instance_biz_ext biz on biz.instance_id = c.id and biz.del_flag = '0'
+where a.type = '4'
+  and a.del_flag = '0'
+  and b.del_flag = '0'
+  and d.del_flag = '0'
+  and a.processed_by is not null;
+
+-- ----------------------------
+-- 流程消息发件箱表
+-- ----------------------------
+create table flow_message_outbox (
+    id             bigint                       not null comment '主键id',
+    tenant_id      varchar(20) default '000000' null comment '租户编号',
+    instance_id    bigint                       null comment '流程实例id',
+    message_type   varchar(20)                  not null comment '消息类型（system系统消息 email邮件 sms短信）',
+    subject        varchar(255)                 null comment '消息标题',
+    content        varchar(2000)                null comment '消息内容',
+    recipients     text                         null comment '接收人（逗号分隔）',
+    status         char(1)     default '0'      not null comment '状态（0待投递 1投递中 2已投递 3投递失败）',
+    retry_count    int         default 0        not null comment '已重试次数',
+    next_time      datetime                     null comment '下次投递时间',
+    error_msg      varchar(2000)                null comment '最近一次失败原因',
+    create_time    datetime                     null comment '创建时间',
+    update_time    datetime                     null comment '更新时间',
+    PRIMARY KEY (id),
+    KEY idx_flow_message_outbox_status (status, next_time)
+) ENGINE = InnoDB COMMENT '流程消息发件箱表';